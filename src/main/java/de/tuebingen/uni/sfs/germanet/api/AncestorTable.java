@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A precomputed table mapping each <code>Synset</code> to its ancestors at a
+ * fixed set of depths, e.g. to use the ancestors at depth 2, 3 and 4 below
+ * <code>GNROOT_ID</code> as coarse semantic classes.<br><br>
+ * <p>
+ * The ancestors of a <code>Synset</code> at depth <code>d</code> are all its
+ * transitive hypernyms, and the <code>Synset</code> itself, whose
+ * <code>getDepth()</code> is <code>d</code>. A <code>Synset</code> at depth
+ * <code>d</code> is therefore its own ancestor at <code>d</code>. As
+ * <code>getDepth()</code> is the length of the shortest path to the root, a
+ * hypernym on a longer branch can be as deep as or deeper than the
+ * <code>Synset</code>. A <code>Synset</code> may have several ancestors at one
+ * depth because of multiple inheritance. Ancestors are sorted by synset ID.<br><br>
+ * <p>
+ * All lookups are array accesses:<br><br>
+ * <code>
+ * AncestorTable table = new AncestorTable(gnet, 2, 3, 4);<br>
+ * int supersense = table.getAncestor(aSynset.getId(), 3);<br>
+ * </code><br>
+ * <p>
+ * A table can be saved to a stream and loaded again for the same GermaNet data,
+ * which is checked with a fingerprint over all synset IDs and hypernym relations.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class AncestorTable {
+    private static final int MAGIC = 0x474E4154; // "GNAT"
+    private static final int VERSION = 2;
+
+    private final SynsetIdIndex index;
+    private final long fingerprint;
+    private final int[] depths;
+    // per depth slot: CSR offsets over dense ids and ancestor synset IDs
+    private final int[][] offsets;
+    private final int[][] ancestors;
+
+    /**
+     * Constructs an <code>AncestorTable</code> for all <code>Synsets</code> of
+     * <code>gnet</code> and the given depths.
+     *
+     * @param gnet   the <code>GermaNet</code> object
+     * @param depths the depths to compute ancestors for (0 is the root)
+     */
+    public AncestorTable(GermaNet gnet, int... depths) {
+        List<Synset> synsets = gnet.getSynsets();
+        this.index = SynsetIdIndex.of(synsets);
+        this.fingerprint = fingerprint(synsets);
+        this.depths = sortedDepths(depths);
+
+        int numNodes = index.size();
+        Synset[] synsetArray = new Synset[numNodes];
+        for (Synset synset : synsets) {
+            synsetArray[index.getDenseId(synset.getId())] = synset;
+        }
+
+        this.offsets = new int[this.depths.length][numNodes + 1];
+        this.ancestors = new int[this.depths.length][];
+        IntArrayList[] ancestorLists = new IntArrayList[this.depths.length];
+        for (int d = 0; d < this.depths.length; d++) {
+            ancestorLists[d] = new IntArrayList(numNodes);
+        }
+
+        int maxDepth = this.depths.length == 0 ? -1 : this.depths[this.depths.length - 1];
+        for (int node = 0; node < numNodes; node++) {
+            Synset synset = synsetArray[node];
+            int synsetId = synset.getId();
+            int ownSlot = depthSlot(synset.getDepth(), maxDepth);
+            if (ownSlot >= 0) {
+                ancestorLists[ownSlot].add(synsetId);
+            }
+            // getDepth() is the shortest path to the root, so a hypernym on a longer
+            // branch can be deeper than the synset itself
+            IntIterator iterator = synset.getHypernymIds().iterator();
+            while (iterator.hasNext()) {
+                int hypernymId = iterator.nextInt();
+                if (hypernymId == synsetId) {
+                    continue;
+                }
+                int slot = depthSlot(gnet.getSynsetByID(hypernymId).getDepth(), maxDepth);
+                if (slot >= 0) {
+                    ancestorLists[slot].add(hypernymId);
+                }
+            }
+            for (int d = 0; d < this.depths.length; d++) {
+                IntArrayList list = ancestorLists[d];
+                int start = offsets[d][node];
+                Arrays.sort(list.elements(), start, list.size());
+                offsets[d][node + 1] = list.size();
+            }
+        }
+        for (int d = 0; d < this.depths.length; d++) {
+            ancestors[d] = ancestorLists[d].toIntArray();
+        }
+    }
+
+    private AncestorTable(SynsetIdIndex index, long fingerprint, int[] depths, int[][] offsets, int[][] ancestors) {
+        this.index = index;
+        this.fingerprint = fingerprint;
+        this.depths = depths;
+        this.offsets = offsets;
+        this.ancestors = ancestors;
+    }
+
+    /**
+     * Returns the slot of <code>depth</code> while the table is built, or a negative
+     * value if it is not one of the depths.
+     */
+    private int depthSlot(int depth, int maxDepth) {
+        return (depth >= 0 && depth <= maxDepth) ? Arrays.binarySearch(depths, depth) : -1;
+    }
+
+    private static int[] sortedDepths(int[] depths) {
+        int[] sorted = depths.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] < 0) {
+                throw new IllegalArgumentException("depth must not be negative: " + sorted[i]);
+            }
+            if (size == 0 || sorted[size - 1] != sorted[i]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+
+    /**
+     * Returns the depths of this table, in ascending order.
+     *
+     * @return the depths of this table
+     */
+    public int[] getDepths() {
+        return depths.clone();
+    }
+
+    /**
+     * Returns the number of ancestors of a <code>Synset</code> at a depth.
+     *
+     * @param synsetId the synset ID
+     * @param depth    one of the depths of this table
+     * @return the number of ancestors of <code>synsetId</code> at <code>depth</code>,
+     * or 0 if the synset ID is unknown
+     * @throws IllegalArgumentException if <code>depth</code> is not a depth of this table
+     */
+    public int numAncestors(int synsetId, int depth) {
+        int node = index.getDenseId(synsetId);
+        if (node < 0) {
+            return 0;
+        }
+        int[] slotOffsets = offsets[slot(depth)];
+        return slotOffsets[node + 1] - slotOffsets[node];
+    }
+
+    /**
+     * Returns the ancestor with the lowest synset ID of a <code>Synset</code>
+     * at a depth, or -1 if there is none.
+     *
+     * @param synsetId the synset ID
+     * @param depth    one of the depths of this table
+     * @return the first ancestor of <code>synsetId</code> at <code>depth</code>, or -1
+     * @throws IllegalArgumentException if <code>depth</code> is not a depth of this table
+     */
+    public int getAncestor(int synsetId, int depth) {
+        return getAncestor(synsetId, depth, 0);
+    }
+
+    /**
+     * Returns the <code>k</code>-th ancestor (by ascending synset ID) of a
+     * <code>Synset</code> at a depth, or -1 if there is none.
+     *
+     * @param synsetId the synset ID
+     * @param depth    one of the depths of this table
+     * @param k        the index of the ancestor, starting at 0
+     * @return the <code>k</code>-th ancestor of <code>synsetId</code> at <code>depth</code>, or -1
+     * @throws IllegalArgumentException if <code>depth</code> is not a depth of this table
+     */
+    public int getAncestor(int synsetId, int depth, int k) {
+        int slot = slot(depth);
+        int node = index.getDenseId(synsetId);
+        if (node < 0 || k < 0) {
+            return -1;
+        }
+        int pos = offsets[slot][node] + k;
+        return (pos < offsets[slot][node + 1]) ? ancestors[slot][pos] : -1;
+    }
+
+    /**
+     * Returns all ancestors of a <code>Synset</code> at a depth, sorted by synset ID.
+     *
+     * @param synsetId the synset ID
+     * @param depth    one of the depths of this table
+     * @return the ancestors of <code>synsetId</code> at <code>depth</code>, possibly empty
+     * @throws IllegalArgumentException if <code>depth</code> is not a depth of this table
+     */
+    public int[] getAncestors(int synsetId, int depth) {
+        int slot = slot(depth);
+        int node = index.getDenseId(synsetId);
+        if (node < 0) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(ancestors[slot], offsets[slot][node], offsets[slot][node + 1]);
+    }
+
+    /**
+     * Looks up the first ancestor at a depth for a batch of synset IDs.
+     * <code>result[i]</code> is set to <code>getAncestor(synsetIds[i], depth)</code>.
+     *
+     * @param synsetIds the synset IDs
+     * @param depth     one of the depths of this table
+     * @param result    receives the ancestors, at least as long as <code>synsetIds</code>
+     * @throws IllegalArgumentException if <code>depth</code> is not a depth of this table
+     */
+    public void getAncestors(int[] synsetIds, int depth, int[] result) {
+        int slot = slot(depth);
+        int[] slotOffsets = offsets[slot];
+        int[] slotAncestors = ancestors[slot];
+        for (int i = 0; i < synsetIds.length; i++) {
+            int node = index.getDenseId(synsetIds[i]);
+            result[i] = (node >= 0 && slotOffsets[node] < slotOffsets[node + 1])
+                    ? slotAncestors[slotOffsets[node]] : -1;
+        }
+    }
+
+    private int slot(int depth) {
+        int slot = Arrays.binarySearch(depths, depth);
+        if (slot < 0) {
+            throw new IllegalArgumentException("depth " + depth + " is not part of this table: "
+                    + Arrays.toString(depths));
+        }
+        return slot;
+    }
+
+    /**
+     * Writes this table to <code>out</code>. <code>out</code> is flushed, but
+     * not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void save(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeLong(fingerprint);
+        int numNodes = index.size();
+        data.writeInt(numNodes);
+        for (int node = 0; node < numNodes; node++) {
+            data.writeInt(index.getSynsetId(node));
+        }
+        data.writeInt(depths.length);
+        for (int d = 0; d < depths.length; d++) {
+            data.writeInt(depths[d]);
+            writeInts(data, offsets[d]);
+            data.writeInt(ancestors[d].length);
+            writeInts(data, ancestors[d]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a table written by <code>save</code>. <code>in</code> is not closed.
+     *
+     * @param in   the stream to read from
+     * @param gnet the <code>GermaNet</code> object the table was computed for
+     * @return the table read from <code>in</code>
+     * @throws IOException if an I/O error occurs, the data is not a saved
+     *                     <code>AncestorTable</code>, or it was computed for different GermaNet data
+     */
+    public static AncestorTable load(InputStream in, GermaNet gnet) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an AncestorTable file.");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported AncestorTable version: " + version);
+        }
+        long fingerprint = data.readLong();
+        if (fingerprint != fingerprint(gnet.getSynsets())) {
+            throw new IOException("AncestorTable was computed for different GermaNet data.");
+        }
+        int numNodes = data.readInt();
+        SynsetIdIndex index = new SynsetIdIndex(readInts(data, numNodes));
+        int numDepths = data.readInt();
+        int[] depths = new int[numDepths];
+        int[][] offsets = new int[numDepths][];
+        int[][] ancestors = new int[numDepths][];
+        for (int d = 0; d < numDepths; d++) {
+            depths[d] = data.readInt();
+            offsets[d] = readInts(data, numNodes + 1);
+            ancestors[d] = readInts(data, data.readInt());
+        }
+        return new AncestorTable(index, fingerprint, depths, offsets, ancestors);
+    }
+
+    private static void writeInts(DataOutputStream data, int[] values) throws IOException {
+        for (int value : values) {
+            data.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream data, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = data.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Computes a fingerprint of the taxonomy: a CRC over all synset IDs and
+     * their direct hypernym IDs, in ascending order.
+     *
+     * @param synsets all <code>Synsets</code>
+     * @return a fingerprint of the taxonomy
+     */
+    static long fingerprint(Collection<Synset> synsets) {
+        Synset[] sorted = synsets.toArray(new Synset[0]);
+        Arrays.sort(sorted, (s1, s2) -> Integer.compare(s1.getId(), s2.getId()));
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[4];
+        for (Synset synset : sorted) {
+            updateInt(crc, buffer, synset.getId());
+            List<Synset> hypernyms = synset.getRelatedSynsets(ConRel.has_hypernym);
+            int[] hypernymIds = new int[hypernyms.size()];
+            for (int i = 0; i < hypernymIds.length; i++) {
+                hypernymIds[i] = hypernyms.get(i).getId();
+            }
+            Arrays.sort(hypernymIds);
+            updateInt(crc, buffer, hypernymIds.length);
+            for (int hypernymId : hypernymIds) {
+                updateInt(crc, buffer, hypernymId);
+            }
+        }
+        return ((long) sorted.length << 32) ^ crc.getValue();
+    }
+
+    private static void updateInt(CRC32 crc, byte[] buffer, int value) {
+        buffer[0] = (byte) (value >>> 24);
+        buffer[1] = (byte) (value >>> 16);
+        buffer[2] = (byte) (value >>> 8);
+        buffer[3] = (byte) value;
+        crc.update(buffer, 0, 4);
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The changes between two GermaNet releases, as computed by
+ * <code>GermaNetDiff</code>. Each <code>Change</code> adds, removes or modifies
+ * one entity, identified by an ID and, for entities which belong to a
+ * <code>Synset</code> or <code>LexUnit</code>, a key:<br>
+ * <code>Synset</code>: the synset ID, no key<br>
+ * <code>LexUnit</code>: the lex unit ID, no key<br>
+ * <code>OrthForm</code>: the lex unit ID and the <code>OrthFormVariant</code>, e.g. "orthVar"<br>
+ * <code>ConRel</code>: the ID of the source synset and the relation and target
+ * synset ID, separated by a space, e.g. "has_hypernym 51001"<br>
+ * <code>LexRel</code>: the ID of the source lex unit and the relation and target
+ * lex unit ID, e.g. "has_antonym 12"<br>
+ * <code>IliRecord</code>: the lex unit ID and the EWN relation and PWN 3.0 ID,
+ * e.g. "synonym ENG30-12345678-n"<br>
+ * <code>CompoundInfo</code>: the lex unit ID, no key<br><br>
+ * <p>
+ * Modified entities list the fields which changed, with their old and new
+ * values. Added entities list all fields which are set, so that the entity can
+ * be recreated from the change alone; removed entities list no fields. Field
+ * values are <code>Strings</code>, <code>Integers</code>, <code>Booleans</code>
+ * or <code>Lists</code> of <code>Strings</code>, and enum values are given by
+ * name.<br><br>
+ * <p>
+ * Changes are ordered by entity: all changes of a <code>Synset</code> and its
+ * outgoing conceptual relations in ascending synset ID order, followed by all
+ * changes of a <code>LexUnit</code>, its orthographic forms, outgoing lexical
+ * relations, ILI records and compound information in ascending lex unit ID order.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class ChangeSet {
+
+    /**
+     * The kinds of entities which are compared.
+     */
+    public enum EntityType {
+        Synset,
+        LexUnit,
+        OrthForm,
+        ConRel,
+        LexRel,
+        IliRecord,
+        CompoundInfo
+    }
+
+    /**
+     * The kinds of changes.
+     */
+    public enum ChangeType {
+        Added,
+        Removed,
+        Modified
+    }
+
+    /**
+     * The old and new value of a field of a changed entity.
+     */
+    public static final class FieldChange {
+        private final String name;
+        private final Object oldValue;
+        private final Object newValue;
+
+        FieldChange(String name, Object oldValue, Object newValue) {
+            this.name = name;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        /**
+         * Returns the name of the field.
+         *
+         * @return the name of the field
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the value of the field in the old release, or null if the
+         * entity was added or the field was not set.
+         *
+         * @return the old value of the field
+         */
+        public Object getOldValue() {
+            return oldValue;
+        }
+
+        /**
+         * Returns the value of the field in the new release, or null if the
+         * field is not set anymore.
+         *
+         * @return the new value of the field
+         */
+        public Object getNewValue() {
+            return newValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            FieldChange that = (FieldChange) o;
+
+            if (!name.equals(that.name)) return false;
+            if (oldValue != null ? !oldValue.equals(that.oldValue) : that.oldValue != null) return false;
+            return newValue != null ? newValue.equals(that.newValue) : that.newValue == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = name.hashCode();
+            result = 31 * result + (oldValue != null ? oldValue.hashCode() : 0);
+            result = 31 * result + (newValue != null ? newValue.hashCode() : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + oldValue + " -> " + newValue;
+        }
+    }
+
+    /**
+     * A single added, removed or modified entity.
+     */
+    public static final class Change {
+        private final EntityType entityType;
+        private final ChangeType changeType;
+        private final int id;
+        private final String key;
+        private final List<FieldChange> fieldChanges;
+
+        Change(EntityType entityType, ChangeType changeType, int id, String key, List<FieldChange> fieldChanges) {
+            this.entityType = entityType;
+            this.changeType = changeType;
+            this.id = id;
+            this.key = key;
+            this.fieldChanges = fieldChanges.isEmpty()
+                    ? Collections.<FieldChange>emptyList() : Collections.unmodifiableList(fieldChanges);
+        }
+
+        /**
+         * Returns the kind of the changed entity.
+         *
+         * @return the kind of the changed entity
+         */
+        public EntityType getEntityType() {
+            return entityType;
+        }
+
+        /**
+         * Returns the kind of change.
+         *
+         * @return the kind of change
+         */
+        public ChangeType getChangeType() {
+            return changeType;
+        }
+
+        /**
+         * Returns the ID of the changed <code>Synset</code> or <code>LexUnit</code>,
+         * or of the <code>Synset</code> or <code>LexUnit</code> the changed entity
+         * belongs to.
+         *
+         * @return the ID of the changed entity
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Returns the key of the changed entity within its <code>Synset</code> or
+         * <code>LexUnit</code>, or null if the ID identifies it alone.
+         *
+         * @return the key of the changed entity, or null
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the changed fields (all set fields for added entities).
+         *
+         * @return the changed fields
+         */
+        public List<FieldChange> getFieldChanges() {
+            return fieldChanges;
+        }
+
+        /**
+         * Returns the <code>FieldChange</code> of the field with the given name,
+         * or null if that field did not change.
+         *
+         * @param name the name of the field
+         * @return the <code>FieldChange</code> of the field, or null
+         */
+        public FieldChange getFieldChange(String name) {
+            for (FieldChange fieldChange : fieldChanges) {
+                if (fieldChange.getName().equals(name)) {
+                    return fieldChange;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Change that = (Change) o;
+
+            if (id != that.id) return false;
+            if (entityType != that.entityType) return false;
+            if (changeType != that.changeType) return false;
+            if (key != null ? !key.equals(that.key) : that.key != null) return false;
+            return fieldChanges.equals(that.fieldChanges);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = entityType.hashCode();
+            result = 31 * result + changeType.hashCode();
+            result = 31 * result + id;
+            result = 31 * result + (key != null ? key.hashCode() : 0);
+            result = 31 * result + fieldChanges.hashCode();
+            return result;
+        }
+
+        /**
+         * Returns this change as a single line of JSON, as written by
+         * <code>ChangeSet.writeNdjson()</code>.
+         *
+         * @return this change as a single line of JSON
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            appendJson(sb);
+            return sb.toString();
+        }
+
+        void appendJson(StringBuilder sb) {
+            sb.append("{\"entity\":\"").append(entityType.name())
+                    .append("\",\"change\":\"").append(changeType.name())
+                    .append("\",\"id\":").append(id);
+            if (key != null) {
+                sb.append(",\"key\":");
+                appendJsonValue(sb, key);
+            }
+            if (!fieldChanges.isEmpty()) {
+                sb.append(",\"fields\":{");
+                for (int i = 0; i < fieldChanges.size(); i++) {
+                    FieldChange fieldChange = fieldChanges.get(i);
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    appendJsonValue(sb, fieldChange.getName());
+                    sb.append(":{\"old\":");
+                    appendJsonValue(sb, fieldChange.getOldValue());
+                    sb.append(",\"new\":");
+                    appendJsonValue(sb, fieldChange.getNewValue());
+                    sb.append('}');
+                }
+                sb.append('}');
+            }
+            sb.append('}');
+        }
+    }
+
+    private final List<Change> changes;
+
+    ChangeSet(List<Change> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Returns all changes, in the order described above.
+     *
+     * @return all changes
+     */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns all changes of entities of the given kind.
+     *
+     * @param entityType the kind of entities
+     * @return all changes of entities of the given kind
+     */
+    public List<Change> getChanges(EntityType entityType) {
+        List<Change> rval = new ArrayList<>();
+        for (Change change : changes) {
+            if (change.getEntityType() == entityType) {
+                rval.add(change);
+            }
+        }
+        return rval;
+    }
+
+    /**
+     * Returns the number of changes of the given kind to entities of the given kind.
+     *
+     * @param entityType the kind of entities
+     * @param changeType the kind of changes
+     * @return the number of matching changes
+     */
+    public int count(EntityType entityType, ChangeType changeType) {
+        int count = 0;
+        for (Change change : changes) {
+            if (change.getEntityType() == entityType && change.getChangeType() == changeType) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of changes.
+     *
+     * @return the number of changes
+     */
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Returns true if both releases are equal.
+     *
+     * @return true if there are no changes
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Writes all changes to <code>out</code> as newline-delimited JSON in UTF-8,
+     * one change per line (see <code>Change.toString()</code>). <code>out</code> is
+     * flushed, but not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeNdjson(OutputStream out) throws IOException {
+        writeNdjson(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes all changes to <code>out</code> as newline-delimited JSON, one change
+     * per line. <code>out</code> is flushed, but not closed.
+     *
+     * @param out the writer to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeNdjson(Writer out) throws IOException {
+        Writer writer = new BufferedWriter(out, 1 << 16);
+        StringBuilder sb = new StringBuilder();
+        for (Change change : changes) {
+            sb.setLength(0);
+            change.appendJson(sb);
+            sb.append('\n');
+            writer.append(sb);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the number of added, removed and modified entities of each kind.
+     *
+     * @return a summary of this <code>ChangeSet</code>
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ChangeSet{");
+        for (EntityType entityType : EntityType.values()) {
+            if (entityType.ordinal() > 0) {
+                sb.append(", ");
+            }
+            sb.append(entityType.name()).append("=+").append(count(entityType, ChangeType.Added))
+                    .append("/-").append(count(entityType, ChangeType.Removed))
+                    .append("/~").append(count(entityType, ChangeType.Modified));
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void appendJsonValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Integer || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof List) {
+            sb.append('[');
+            List<?> list = (List<?>) value;
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendJsonValue(sb, list.get(i));
+            }
+            sb.append(']');
+        } else {
+            String str = value.toString();
+            sb.append('"');
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                switch (c) {
+                    case '"':
+                        sb.append("\\\"");
+                        break;
+                    case '\\':
+                        sb.append("\\\\");
+                        break;
+                    case '\n':
+                        sb.append("\\n");
+                        break;
+                    case '\r':
+                        sb.append("\\r");
+                        break;
+                    case '\t':
+                        sb.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                }
+            }
+            sb.append('"');
+        }
+    }
+}
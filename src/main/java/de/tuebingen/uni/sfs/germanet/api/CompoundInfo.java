@@ -318,4 +318,22 @@ public class CompoundInfo {
 
         return compAsString;
     }
+
+    /**
+     * Replaces all strings of this <code>CompoundInfo</code> by their pooled instances.
+     *
+     * @param pool the pool to use
+     */
+    void share(SharedDataPool pool) {
+        modifier1 = pool.string(modifier1);
+        mod1LexUnitId1 = pool.string(mod1LexUnitId1);
+        mod1LexUnitId2 = pool.string(mod1LexUnitId2);
+        mod1LexUnitId3 = pool.string(mod1LexUnitId3);
+        modifier2 = pool.string(modifier2);
+        mod2LexUnitId1 = pool.string(mod2LexUnitId1);
+        mod2LexUnitId2 = pool.string(mod2LexUnitId2);
+        mod2LexUnitId3 = pool.string(mod2LexUnitId3);
+        head = pool.string(head);
+        headLexUnitId = pool.string(headLexUnitId);
+    }
 }
@@ -0,0 +1,428 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An index over the transitive hyponyms (descendants) of all <code>Synsets</code>.<br><br>
+ * <p>
+ * The <code>Synsets</code> are laid out in depth-first pre-order of a spanning
+ * tree of the hyponym graph. Because of multiple inheritance, the descendants of a
+ * <code>Synset</code> are not always a single contiguous range of that layout, so
+ * each <code>Synset</code> stores a short, sorted list of disjoint pre-order
+ * intervals which together cover exactly its descendants and itself. Every
+ * descendant is counted once, no matter over how many paths it is reached.<br><br>
+ * <p>
+ * This gives O(1) descendant counts and fast enumeration without walking
+ * <code>getRelatedSynsets(ConRel.has_hyponym)</code>:<br><br>
+ * <code>
+ * DescendantIndex index = gnet.getDescendantIndex();<br>
+ * int count = index.countDescendants(aSynset);<br>
+ * index.forEachDescendant(aSynset.getId(), WordCategory.nomen, id -&gt; ...);<br>
+ * </code>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class DescendantIndex {
+    private static final WordCategory[] WORD_CATEGORIES = WordCategory.values();
+
+    private final SynsetIdIndex index;
+    private final Synset[] synsetArray;
+
+    // hyponym edges over dense ids
+    private final int[] childOffsets;
+    private final int[] children;
+
+    // dense ids with all hyponyms before their hypernyms
+    private final int[] postOrder;
+
+    // pre-order layout: preOrder[dense] = position, order[position] = dense
+    private final int[] preOrder;
+    private final int[] order;
+
+    // per dense id: disjoint, sorted pre-order intervals [start, end) covering descendants and itself
+    private final int[] intervalOffsets;
+    private final int[] intervalStarts;
+    private final int[] intervalEnds;
+    private final int[] descendantCounts;
+
+    // catPrefixCounts[cat][p] = number of positions before p with word category cat
+    private final int[][] catPrefixCounts;
+
+    /**
+     * Constructs a <code>DescendantIndex</code> over all <code>Synsets</code>
+     * of <code>gnet</code>.
+     *
+     * @param gnet the <code>GermaNet</code> object to index
+     */
+    public DescendantIndex(GermaNet gnet) {
+        this(gnet.getSynsets());
+    }
+
+    /**
+     * Constructs a <code>DescendantIndex</code> over <code>synsets</code>.
+     * Hyponyms which are not in <code>synsets</code> are ignored.
+     *
+     * @param synsets the <code>Synsets</code> to index
+     */
+    DescendantIndex(Collection<Synset> synsets) {
+        this.index = SynsetIdIndex.of(synsets);
+        int numNodes = index.size();
+
+        this.synsetArray = new Synset[numNodes];
+        for (Synset synset : synsets) {
+            synsetArray[index.getDenseId(synset.getId())] = synset;
+        }
+
+        // hyponym CSR, children sorted by dense id for a deterministic layout
+        this.childOffsets = new int[numNodes + 1];
+        IntArrayList childList = new IntArrayList(numNodes);
+        for (int node = 0; node < numNodes; node++) {
+            int start = childList.size();
+            List<Synset> hyponyms = synsetArray[node].getRelatedSynsets(ConRel.has_hyponym);
+            for (int i = 0; i < hyponyms.size(); i++) {
+                int child = index.getDenseId(hyponyms.get(i).getId());
+                if (child >= 0) {
+                    childList.add(child);
+                }
+            }
+            Arrays.sort(childList.elements(), start, childList.size());
+            childOffsets[node + 1] = childList.size();
+        }
+        this.children = childList.toIntArray();
+
+        this.preOrder = new int[numNodes];
+        this.order = new int[numNodes];
+        this.postOrder = new int[numNodes];
+        traverse();
+
+        // merge the intervals of all children in post-order
+        this.intervalOffsets = new int[numNodes + 1];
+        this.descendantCounts = new int[numNodes];
+        int[][] nodeIntervals = new int[numNodes][];
+        LongArrayList scratch = new LongArrayList();
+        int totalIntervals = 0;
+        for (int node : postOrder) {
+            scratch.clear();
+            scratch.add(((long) preOrder[node] << 32) | (preOrder[node] + 1));
+            for (int i = childOffsets[node]; i < childOffsets[node + 1]; i++) {
+                int[] childIntervals = nodeIntervals[children[i]];
+                if (childIntervals == null) {
+                    // hyponym edge closing a cycle
+                    continue;
+                }
+                for (int j = 0; j < childIntervals.length; j += 2) {
+                    scratch.add(((long) childIntervals[j] << 32) | childIntervals[j + 1]);
+                }
+            }
+            int[] merged = mergeIntervals(scratch);
+            nodeIntervals[node] = merged;
+            totalIntervals += merged.length / 2;
+
+            int count = 0;
+            for (int j = 0; j < merged.length; j += 2) {
+                count += merged[j + 1] - merged[j];
+            }
+            descendantCounts[node] = count - 1;
+        }
+
+        this.intervalStarts = new int[totalIntervals];
+        this.intervalEnds = new int[totalIntervals];
+        int pos = 0;
+        for (int node = 0; node < numNodes; node++) {
+            int[] intervals = nodeIntervals[node];
+            for (int j = 0; j < intervals.length; j += 2) {
+                intervalStarts[pos] = intervals[j];
+                intervalEnds[pos] = intervals[j + 1];
+                pos++;
+            }
+            intervalOffsets[node + 1] = pos;
+        }
+
+        this.catPrefixCounts = new int[WORD_CATEGORIES.length][numNodes + 1];
+        for (int p = 0; p < numNodes; p++) {
+            int cat = synsetArray[order[p]].getWordCategory().ordinal();
+            for (int c = 0; c < WORD_CATEGORIES.length; c++) {
+                catPrefixCounts[c][p + 1] = catPrefixCounts[c][p] + ((c == cat) ? 1 : 0);
+            }
+        }
+    }
+
+    /**
+     * Iterative depth-first traversal from every node without a hypernym (and
+     * then from any node not reached yet), filling <code>preOrder</code>,
+     * <code>order</code> and <code>postOrder</code>. Edges closing a cycle
+     * are skipped.
+     */
+    private void traverse() {
+        int numNodes = index.size();
+        boolean[] hasParent = new boolean[numNodes];
+        for (int child : children) {
+            hasParent[child] = true;
+        }
+
+        // 0 = unvisited, 1 = on stack, 2 = done
+        byte[] state = new byte[numNodes];
+        int[] stack = new int[numNodes];
+        int[] nextChild = new int[numNodes];
+        int preCount = 0;
+        int postCount = 0;
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int start = 0; start < numNodes; start++) {
+                if (state[start] != 0 || (pass == 0 && hasParent[start])) {
+                    continue;
+                }
+                int top = 0;
+                stack[0] = start;
+                state[start] = 1;
+                nextChild[start] = childOffsets[start];
+                preOrder[start] = preCount;
+                order[preCount++] = start;
+
+                while (top >= 0) {
+                    int node = stack[top];
+                    if (nextChild[node] < childOffsets[node + 1]) {
+                        int child = children[nextChild[node]++];
+                        if (state[child] == 0) {
+                            state[child] = 1;
+                            nextChild[child] = childOffsets[child];
+                            preOrder[child] = preCount;
+                            order[preCount++] = child;
+                            stack[++top] = child;
+                        }
+                    } else {
+                        state[node] = 2;
+                        postOrder[postCount++] = node;
+                        top--;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts and merges intervals packed as <code>start &lt;&lt; 32 | end</code>
+     * into a flat array of <code>start, end</code> pairs.
+     */
+    private static int[] mergeIntervals(LongArrayList packed) {
+        long[] elements = packed.elements();
+        int size = packed.size();
+        Arrays.sort(elements, 0, size);
+        IntArrayList merged = new IntArrayList(2);
+        for (int i = 0; i < size; i++) {
+            int start = (int) (elements[i] >>> 32);
+            int end = (int) elements[i];
+            int last = merged.size() - 1;
+            if (last > 0 && start <= merged.getInt(last)) {
+                merged.set(last, Math.max(merged.getInt(last), end));
+            } else {
+                merged.add(start);
+                merged.add(end);
+            }
+        }
+        return merged.toIntArray();
+    }
+
+    /**
+     * Returns the number of transitive hyponyms of a <code>Synset</code>, not
+     * counting the <code>Synset</code> itself. Each descendant is counted once.
+     *
+     * @param synset the <code>Synset</code>
+     * @return the number of transitive hyponyms of <code>synset</code>
+     */
+    public int countDescendants(Synset synset) {
+        return countDescendants(synset.getId());
+    }
+
+    /**
+     * Returns the number of transitive hyponyms of a <code>Synset</code>, not
+     * counting the <code>Synset</code> itself, or -1 if the synset ID is not
+     * indexed.
+     *
+     * @param synsetId the synset ID
+     * @return the number of transitive hyponyms, or -1 if <code>synsetId</code>
+     * is not indexed
+     */
+    public int countDescendants(int synsetId) {
+        int node = index.getDenseId(synsetId);
+        return (node < 0) ? -1 : descendantCounts[node];
+    }
+
+    /**
+     * Returns the number of transitive hyponyms of a <code>Synset</code> with
+     * the given <code>WordCategory</code>, not counting the <code>Synset</code>
+     * itself, or -1 if the synset ID is not indexed.
+     *
+     * @param synsetId     the synset ID
+     * @param wordCategory the <code>WordCategory</code> to count
+     * @return the number of transitive hyponyms with <code>wordCategory</code>,
+     * or -1 if <code>synsetId</code> is not indexed
+     */
+    public int countDescendants(int synsetId, WordCategory wordCategory) {
+        int node = index.getDenseId(synsetId);
+        if (node < 0) {
+            return -1;
+        }
+        int[] prefix = catPrefixCounts[wordCategory.ordinal()];
+        int count = 0;
+        for (int i = intervalOffsets[node]; i < intervalOffsets[node + 1]; i++) {
+            count += prefix[intervalEnds[i]] - prefix[intervalStarts[i]];
+        }
+        // the synset itself is part of its own intervals
+        int self = preOrder[node];
+        count -= prefix[self + 1] - prefix[self];
+        return count;
+    }
+
+    /**
+     * Returns true if <code>descendantId</code> is a transitive hyponym of
+     * <code>ancestorId</code>.
+     *
+     * @param ancestorId   the synset ID of the possible hypernym
+     * @param descendantId the synset ID of the possible hyponym
+     * @return true if <code>descendantId</code> is a transitive hyponym of <code>ancestorId</code>
+     */
+    public boolean isDescendant(int ancestorId, int descendantId) {
+        int ancestor = index.getDenseId(ancestorId);
+        int descendant = index.getDenseId(descendantId);
+        if (ancestor < 0 || descendant < 0 || ancestor == descendant) {
+            return false;
+        }
+        int pos = preOrder[descendant];
+        int from = intervalOffsets[ancestor];
+        int to = intervalOffsets[ancestor + 1];
+        // find the last interval starting at or before pos
+        int i = Arrays.binarySearch(intervalStarts, from, to, pos);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return i >= from && pos < intervalEnds[i];
+    }
+
+    /**
+     * Calls <code>consumer</code> with the synset ID of each transitive hyponym
+     * of a <code>Synset</code>, excluding the <code>Synset</code> itself. Each
+     * descendant is reported once, in pre-order of the index.
+     *
+     * @param synsetId the synset ID
+     * @param consumer receives the synset IDs of the descendants
+     */
+    public void forEachDescendant(int synsetId, IntConsumer consumer) {
+        forEachDescendant(synsetId, null, consumer);
+    }
+
+    /**
+     * Calls <code>consumer</code> with the synset ID of each transitive hyponym
+     * of a <code>Synset</code> with the given <code>WordCategory</code>,
+     * excluding the <code>Synset</code> itself. Each descendant is reported once,
+     * in pre-order of the index.
+     *
+     * @param synsetId     the synset ID
+     * @param wordCategory the <code>WordCategory</code> to report, or null for all
+     * @param consumer     receives the synset IDs of the descendants
+     */
+    public void forEachDescendant(int synsetId, WordCategory wordCategory, IntConsumer consumer) {
+        int node = index.getDenseId(synsetId);
+        if (node < 0) {
+            return;
+        }
+        int[] prefix = (wordCategory == null) ? null : catPrefixCounts[wordCategory.ordinal()];
+        int self = preOrder[node];
+        for (int i = intervalOffsets[node]; i < intervalOffsets[node + 1]; i++) {
+            int end = intervalEnds[i];
+            for (int p = intervalStarts[i]; p < end; p++) {
+                if (p == self || (prefix != null && prefix[p + 1] == prefix[p])) {
+                    continue;
+                }
+                consumer.accept(index.getSynsetId(order[p]));
+            }
+        }
+    }
+
+    /**
+     * Returns all transitive hyponyms of a <code>Synset</code>, excluding the
+     * <code>Synset</code> itself, in pre-order of the index.
+     *
+     * @param synset the <code>Synset</code>
+     * @return all transitive hyponyms of <code>synset</code>
+     */
+    public List<Synset> getDescendants(Synset synset) {
+        int count = Math.max(countDescendants(synset.getId()), 0);
+        List<Synset> descendants = new ObjectArrayList<>(count);
+        forEachDescendant(synset.getId(), id -> descendants.add(synsetArray[index.getDenseId(id)]));
+        return descendants;
+    }
+
+    /**
+     * Returns the indexed synset IDs.
+     *
+     * @return the indexed synset IDs
+     */
+    SynsetIdIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the <code>Synset</code> of a dense id.
+     *
+     * @param node a dense id
+     * @return the <code>Synset</code> of <code>node</code>
+     */
+    Synset getSynset(int node) {
+        return synsetArray[node];
+    }
+
+    /**
+     * Returns the dense ids of all synsets, with every hyponym before its hypernyms.
+     *
+     * @return the dense ids of all synsets in post-order
+     */
+    int[] getPostOrder() {
+        return postOrder;
+    }
+
+    /**
+     * Returns the offset of the first hyponym of a dense id in <code>getChildren()</code>.
+     *
+     * @param node a dense id between 0 and <code>index.size()</code> (inclusive)
+     * @return the offset of the first hyponym of <code>node</code>
+     */
+    int getChildOffset(int node) {
+        return childOffsets[node];
+    }
+
+    /**
+     * Returns the dense ids of all hyponyms, grouped by hypernym.
+     *
+     * @return the dense ids of all hyponyms, grouped by hypernym
+     */
+    int[] getChildren() {
+        return children;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A word frequency list, used to compute the Information Content of
+ * <code>Synsets</code>. Each line holds an orthographic form and its frequency,
+ * separated by whitespace; lines with a different number of fields are ignored, and
+ * the frequencies of repeated forms are added up. The file is read as UTF-8.<br><br>
+ * <p>
+ * Plain files are memory-mapped, gzip compressed files (recognized by their
+ * content, not their name) are decompressed while reading. Lines are split on
+ * the raw bytes, without regular expressions, and forms are looked up in an index
+ * of the forms of interest before any <code>String</code> is created, so only the
+ * frequencies of forms which occur in GermaNet are kept.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class FrequencySource {
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int MAP_WINDOW = 1 << 30;
+
+    private final File file;
+
+    private FrequencySource(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns a <code>FrequencySource</code> for a plain or gzip compressed file.
+     * The file is not read until the frequencies are needed.
+     *
+     * @param file the frequency file
+     * @return a <code>FrequencySource</code> for <code>file</code>
+     */
+    public static FrequencySource of(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file must not be null");
+        }
+        return new FrequencySource(file);
+    }
+
+    /**
+     * Returns the frequency file.
+     *
+     * @return the frequency file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the frequencies of the forms in <code>orthForms</code>. Forms which
+     * do not occur in the file are not contained in the result.
+     *
+     * @param orthForms the forms to keep
+     * @return the frequency of each form in <code>orthForms</code> that occurs in the file
+     * @throws IOException if the file can not be read, or a frequency is not a number
+     */
+    Object2LongMap<String> load(OrthFormTable orthForms) throws IOException {
+        LineParser parser = new LineParser(orthForms);
+        if (isGzip()) {
+            try (InputStream in = new GZIPInputStream(new FileInputStream(file), 1 << 16)) {
+                byte[] buf = new byte[CHUNK_SIZE];
+                int fill = 0;
+                int read;
+                while ((read = in.read(buf, fill, buf.length - fill)) >= 0) {
+                    fill += read;
+                    int consumed = parser.parse(buf, fill, false);
+                    System.arraycopy(buf, consumed, buf, 0, fill - consumed);
+                    fill -= consumed;
+                    if (fill == buf.length) {
+                        buf = Arrays.copyOf(buf, buf.length * 2);
+                    }
+                }
+                parser.parse(buf, fill, true);
+            }
+        } else {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long size = channel.size();
+                byte[] buf = new byte[CHUNK_SIZE];
+                int fill = 0;
+                for (long windowStart = 0; windowStart < size; windowStart += MAP_WINDOW) {
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                            Math.min(MAP_WINDOW, size - windowStart));
+                    while (window.hasRemaining()) {
+                        if (fill == buf.length) {
+                            buf = Arrays.copyOf(buf, buf.length * 2);
+                        }
+                        int length = Math.min(window.remaining(), buf.length - fill);
+                        window.get(buf, fill, length);
+                        fill += length;
+                        int consumed = parser.parse(buf, fill, false);
+                        System.arraycopy(buf, consumed, buf, 0, fill - consumed);
+                        fill -= consumed;
+                    }
+                }
+                parser.parse(buf, fill, true);
+            }
+        }
+        return parser.getFrequencies();
+    }
+
+    private boolean isGzip() throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 2)) {
+            return in.read() == 0x1F && in.read() == 0x8B;
+        }
+    }
+
+    /**
+     * Return true if the other <code>FrequencySource</code> reads the same file,
+     * compared by absolute path.
+     *
+     * @param o the <code>FrequencySource</code> to compare to
+     * @return true if both read the same file
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        FrequencySource that = (FrequencySource) o;
+
+        return file.getAbsoluteFile().equals(that.file.getAbsoluteFile());
+    }
+
+    @Override
+    public int hashCode() {
+        return file.getAbsoluteFile().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return file.getPath();
+    }
+
+    /**
+     * Splits UTF-8 bytes into lines of two whitespace separated fields, and sums up the
+     * frequencies of the forms found in an <code>OrthFormTable</code>.
+     */
+    private static final class LineParser {
+        private final OrthFormTable orthForms;
+        private final long[] frequencies;
+        private final boolean[] found;
+        private long lineNumber;
+
+        LineParser(OrthFormTable orthForms) {
+            this.orthForms = orthForms;
+            this.frequencies = new long[orthForms.size()];
+            this.found = new boolean[orthForms.size()];
+        }
+
+        /**
+         * Parses the complete lines in <code>buf[0, length)</code>, and the remaining
+         * partial line as well if <code>last</code> is true.
+         *
+         * @return the number of bytes consumed
+         */
+        int parse(byte[] buf, int length, boolean last) throws IOException {
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                byte b = buf[i];
+                if (b == '\n' || b == '\r') {
+                    parseLine(buf, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (last && lineStart < length) {
+                parseLine(buf, lineStart, length);
+                lineStart = length;
+            }
+            return lineStart;
+        }
+
+        private void parseLine(byte[] buf, int start, int end) throws IOException {
+            lineNumber++;
+            // first field, which must start at the beginning of the line
+            int pos = start;
+            while (pos < end && !isWhitespace(buf[pos])) {
+                pos++;
+            }
+            int formEnd = pos;
+            while (pos < end && isWhitespace(buf[pos])) {
+                pos++;
+            }
+            int numberStart = pos;
+            while (pos < end && !isWhitespace(buf[pos])) {
+                pos++;
+            }
+            int numberEnd = pos;
+            while (pos < end && isWhitespace(buf[pos])) {
+                pos++;
+            }
+            if (formEnd == start || numberStart == numberEnd || pos != end) {
+                return;
+            }
+            int index = orthForms.indexOf(buf, start, formEnd - start);
+            if (index < 0) {
+                return;
+            }
+            long frequency = parseLong(buf, numberStart, numberEnd);
+            long current = frequencies[index];
+            frequencies[index] = (found[index] && current > 0) ? current + frequency : frequency;
+            found[index] = true;
+        }
+
+        private long parseLong(byte[] buf, int start, int end) throws IOException {
+            int pos = start;
+            boolean negative = false;
+            if (buf[pos] == '-' || buf[pos] == '+') {
+                negative = buf[pos] == '-';
+                pos++;
+            }
+            if (pos == end) {
+                throw new IOException("Invalid frequency in line " + lineNumber);
+            }
+            long value = 0;
+            for (; pos < end; pos++) {
+                int digit = buf[pos] - '0';
+                if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                    throw new IOException("Invalid frequency in line " + lineNumber);
+                }
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\f' || b == 0x0B;
+        }
+
+        Object2LongMap<String> getFrequencies() {
+            Object2LongMap<String> freqMap = new Object2LongOpenHashMap<>();
+            for (int i = 0; i < frequencies.length; i++) {
+                if (found[i]) {
+                    freqMap.put(orthForms.getForm(i), frequencies[i]);
+                }
+            }
+            return freqMap;
+        }
+    }
+}
@@ -28,6 +28,12 @@ import org.slf4j.LoggerFactory;
 import javax.xml.stream.XMLStreamException;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -89,7 +95,18 @@ import java.util.zip.ZipFile;
  * <code>java -Xms1g -Xmx1g MyApplication</code><br><br>
  * <p>
  * Depending on the memory needs of the application itself, the 1g's may
- * need to be changed to something higher.
+ * need to be changed to something higher.<br><br>
+ *
+ * <b>Thread safety:</b><br>
+ * At the end of loading, all <code>Synsets</code> and <code>LexUnits</code> are
+ * frozen: values that would otherwise be computed on demand are precomputed and
+ * all collections are replaced by unmodifiable arrays. Nothing reachable from a
+ * <code>GermaNet</code> object is modified after its constructor has returned,
+ * and all of its data is reachable from final fields, so a <code>GermaNet</code>
+ * object can be shared by any number of threads without locking, even if the
+ * reference to it is published without synchronization. The
+ * <code>SemanticUtils</code> and <code>DescendantIndex</code> objects are created
+ * on demand at most once and are published through volatile fields.
  *
  * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
  * @version 13.0
@@ -168,25 +185,30 @@ public class GermaNet {
     //for ZIP files
     public static final String ZIP_PATH_SEPARATOR = "/";
 
-    private Map<WordCategory, Map<String, Set<LexUnit>>> wordCategoryMapAllOrthForms;
-    private Object2ObjectMap<String, ObjectSet<String>> lowerToUpperMap;
-    private List<Synset> synsets;
-    private Map<WordCategory, Set<Synset>> catSynsetMap;
-    private Map<WordCategory, Set<LexUnit>> catLexUnitMap;
-    private List<IliRecord> iliRecords;
-    private List<WiktionaryParaphrase> wiktionaryParaphrases;
-    private Int2ObjectMap<LexUnit> lexUnitIDMap;
-    private Int2ObjectMap<Synset> synsetIDMap;
-
-    private File dir = null;
-    private boolean ignoreCase;
+    // all loaded data is reachable from final fields and is never modified
+    // after the constructor, see the note on thread safety in the class comment
+    private final Map<WordCategory, Map<String, Set<LexUnit>>> wordCategoryMapAllOrthForms;
+    private final Object2ObjectMap<String, ObjectSet<String>> lowerToUpperMap;
+    private final List<Synset> synsets;
+    private final Map<WordCategory, Set<Synset>> catSynsetMap;
+    private final Map<WordCategory, Set<LexUnit>> catLexUnitMap;
+    private final List<IliRecord> iliRecords;
+    private final List<WiktionaryParaphrase> wiktionaryParaphrases;
+    private final Int2ObjectMap<LexUnit> lexUnitIDMap;
+    private final Int2ObjectMap<Synset> synsetIDMap;
+    private final ValidationReport validationReport;
+
+    private final File dir;
+    private final boolean ignoreCase;
 
     // semanticUtils
-    private File nounFreqFile;
-    private File verbFreqFile;
-    private File adjFreqFile;
-    private Object2IntMap<WordCategory> catMaxHypernymDistanceMap;
-    private SemanticUtils semanticUtils;
+    private final FrequencySource nounFreqSource;
+    private final FrequencySource verbFreqSource;
+    private final FrequencySource adjFreqSource;
+    private final Object2IntMap<WordCategory> catMaxHypernymDistanceMap;
+    // initialized at most once, see getSemanticUtilsAsync()
+    private volatile CompletableFuture<SemanticUtils> semanticUtils;
+    private volatile DescendantIndex descendantIndex;
 
     /**
      * Constructs a new <code>GermaNet</code> object by loading the the data
@@ -214,10 +236,7 @@ public class GermaNet {
      * @throws java.io.IOException                 if there is a file error
      */
     public GermaNet(String dirName, String nounFreqPath, String verbFreqPath, String adjFreqPath) throws IOException, XMLStreamException {
-        this(new File(dirName), false);
-        this.nounFreqFile = new File(nounFreqPath);
-        this.verbFreqFile = new File(verbFreqPath);
-        this.adjFreqFile = new File(adjFreqPath);
+        this(new File(dirName), new File(nounFreqPath), new File(verbFreqPath), new File(adjFreqPath));
     }
 
     /**
@@ -260,10 +279,39 @@ public class GermaNet {
      * @throws java.io.IOException                 if there is a file error
      */
     public GermaNet(File dir, File nounFreqFile, File verbFreqFile, File adjFreqFile) throws XMLStreamException, IOException {
-        this(dir, false);
-        this.nounFreqFile = nounFreqFile;
-        this.verbFreqFile = verbFreqFile;
-        this.adjFreqFile = adjFreqFile;
+        this(dir, toFrequencySource(nounFreqFile), toFrequencySource(verbFreqFile), toFrequencySource(adjFreqFile));
+    }
+
+    private static FrequencySource toFrequencySource(File freqFile) {
+        return (freqFile == null) ? null : FrequencySource.of(freqFile);
+    }
+
+    private static LoadOptions toLoadOptions(boolean ignoreCase, FrequencySource nounFreqSource,
+                                             FrequencySource verbFreqSource, FrequencySource adjFreqSource) {
+        LoadOptions options = new LoadOptions();
+        options.setIgnoreCase(ignoreCase);
+        if (nounFreqSource != null && verbFreqSource != null && adjFreqSource != null) {
+            options.setFrequencySources(nounFreqSource, verbFreqSource, adjFreqSource);
+        }
+        return options;
+    }
+
+    /**
+     * Constructs a new <code>GermaNet</code> object by loading the the data
+     * files in the specified directory/archive File. The frequency lists, which
+     * may be gzip compressed, are required for the Information Content based
+     * algorithms of <code>SemanticUtils</code>.
+     *
+     * @param dir location of the GermaNet data files
+     * @param nounFreqSource noun frequency list
+     * @param verbFreqSource verb frequency list
+     * @param adjFreqSource adj frequency list
+     * @throws javax.xml.stream.XMLStreamException if there is a file error
+     * @throws java.io.IOException                 if there is a file error
+     */
+    public GermaNet(File dir, FrequencySource nounFreqSource, FrequencySource verbFreqSource,
+                    FrequencySource adjFreqSource) throws XMLStreamException, IOException {
+        this(dir, toLoadOptions(false, nounFreqSource, verbFreqSource, adjFreqSource));
     }
 
     /**
@@ -277,50 +325,71 @@ public class GermaNet {
      * @throws java.io.IOException                 if there is a file error
      */
     public GermaNet(File dir, boolean ignoreCase) throws XMLStreamException, IOException {
-        this(dir, ignoreCase, true);
+        this(dir, toLoadOptions(ignoreCase, null, null, null));
     }
 
-    private GermaNet(File dir, boolean ignoreCase, boolean load) throws XMLStreamException, IOException {
-        checkMemory();
-        this.ignoreCase = ignoreCase;
+    /**
+     * Constructs a new <code>GermaNet</code> object by loading the the data
+     * files in the specified directory/archive File, with the given
+     * <code>LoadOptions</code>. If <code>initSemanticUtils</code> is set, the
+     * <code>SemanticUtils</code> object is initialized in the common
+     * <code>ForkJoinPool</code> after the data has been loaded.
+     *
+     * @param dir     location of the GermaNet data files
+     * @param options the options for loading
+     * @throws javax.xml.stream.XMLStreamException if there is a file error
+     * @throws java.io.IOException                 if there is a file error
+     */
+    public GermaNet(File dir, LoadOptions options) throws XMLStreamException, IOException {
+        this(dir, options, new LoaderData(options.getProgressListener()));
+    }
 
-        this.iliRecords = new ArrayList<>();
-        this.wiktionaryParaphrases = new ArrayList<>();
-        semanticUtils = null;
+    GermaNet(File dir, LoadOptions options, LoaderData loaderData) throws XMLStreamException, IOException {
+        checkMemory();
+        this.ignoreCase = options.isIgnoreCase();
+        this.nounFreqSource = options.getNounFreqSource();
+        this.verbFreqSource = options.getVerbFreqSource();
+        this.adjFreqSource = options.getAdjFreqSource();
 
         // create streams for all GermaNet xml data files
         // and store the streams and the file names in the
-        // LoaderData object
-        LoaderData loaderData = new LoaderData();
+        // LoaderData object, which closes them when loading
+        // is done or cancelled
         long startTime = System.currentTimeMillis();
-        if (!dir.isDirectory() && isZipFile(dir)) {
-            ZipFile zipFile = new ZipFile(dir);
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
-
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = (ZipEntry) entries.nextElement();
-                String name = entry.getName();
-                String[] nameSplit = name.split(ZIP_PATH_SEPARATOR);
-                if (nameSplit.length > 1) {
-                    name = nameSplit[nameSplit.length - 1];
+        boolean zip = !dir.isDirectory() && isZipFile(dir);
+        this.dir = zip ? null : dir;
+        try {
+            if (zip) {
+                ZipFile zipFile = new ZipFile(dir);
+                loaderData.addResource(zipFile);
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = (ZipEntry) entries.nextElement();
+                    String name = entry.getName();
+                    String[] nameSplit = name.split(ZIP_PATH_SEPARATOR);
+                    if (nameSplit.length > 1) {
+                        name = nameSplit[nameSplit.length - 1];
+                    }
+                    InputStream stream = zipFile.getInputStream(entry);
+                    loaderData.addStreamToLists(name, stream);
+                }
+            } else {
+                File[] allFiles = dir.listFiles();
+                for (int i = 0; i < allFiles.length; i++) {
+                    InputStream stream = new FileInputStream(allFiles[i]);
+                    String name = allFiles[i].getName();
+                    loaderData.addStreamToLists(name, stream);
                 }
-                InputStream stream = zipFile.getInputStream(entry);
-                loaderData.addStreamToLists(name, stream);
-            }
-        } else {
-            this.dir = dir;
-            File[] allFiles = dir.listFiles();
-            for (int i = 0; i < allFiles.length; i++) {
-                InputStream stream = new FileInputStream(allFiles[i]);
-                String name = allFiles[i].getName();
-                loaderData.addStreamToLists(name, stream);
             }
-        }
 
-        // load all data from the xml streams, creating maps along
-        // the way for fast lookup later
-        LOGGER.info("Loading GermaNet data from {}...", dir.getPath());
-        load(loaderData);
+            // load all data from the xml streams, creating maps along
+            // the way for fast lookup later
+            LOGGER.info("Loading GermaNet data from {}...", dir.getPath());
+            load(loaderData, options);
+        } finally {
+            loaderData.close();
+        }
 
         // transfer data and maps to this GermaNet object
         synsets = loaderData.getSynsets();
@@ -330,13 +399,91 @@ public class GermaNet {
         catLexUnitMap = loaderData.getCatLexUnitMap();
         wordCategoryMapAllOrthForms = loaderData.getWordCategoryMapAllOrthForms();
         lowerToUpperMap = loaderData.getLowerToUpperMap();
-        iliRecords = loaderData.getIliRecords();
-        wiktionaryParaphrases = loaderData.getWiktionaryParaphrases();
+        iliRecords = (loaderData.getIliRecords() != null)
+                ? loaderData.getIliRecords() : new ArrayList<>();
+        wiktionaryParaphrases = (loaderData.getWiktionaryParaphrases() != null)
+                ? loaderData.getWiktionaryParaphrases() : new ArrayList<>();
         catMaxHypernymDistanceMap = loaderData.getCatMaxHypernymDistanceMap();
+        validationReport = loaderData.getValidationReport();
 
         long endTime = System.currentTimeMillis();
         double processingTime = (double) (endTime - startTime) / 1000;
         LOGGER.info("Done loading GermaNet data ({} seconds).", processingTime);
+
+        if (options.isInitSemanticUtils()) {
+            getSemanticUtilsAsync();
+        }
+    }
+
+    /**
+     * Loads the GermaNet data files in the directory/archive File
+     * <code>source</code> on <code>executor</code> and returns a future for the
+     * <code>GermaNet</code> object. Progress is reported to the
+     * <code>LoadProgressListener</code> of <code>options</code>, if any.<br>
+     * Cancelling the returned future while the data is being parsed closes all
+     * open data streams, so that loading stops quickly and the partially loaded
+     * data can be garbage collected.<br>
+     * If <code>initSemanticUtils</code> is set in <code>options</code>, the
+     * <code>SemanticUtils</code> object is initialized as a later stage on
+     * <code>executor</code>, and the returned future completes only after that
+     * stage (a <code>SemanticUtils</code> initialization that has already started is
+     * not interrupted by cancelling). If loading fails, the future completes
+     * exceptionally with the <code>IOException</code> or
+     * <code>XMLStreamException</code> that caused the failure.
+     *
+     * @param source   location of the GermaNet data files
+     * @param options  the options for loading
+     * @param executor the executor on which the data is loaded
+     * @return a future for the loaded <code>GermaNet</code> object
+     * @throws IllegalArgumentException if one of the arguments is null
+     */
+    public static CompletableFuture<GermaNet> loadAsync(File source, LoadOptions options, Executor executor) {
+        if (source == null || options == null || executor == null) {
+            throw new IllegalArgumentException("source, options and executor must not be null");
+        }
+        // the warm-up is run as a separate stage of the returned future
+        LoadOptions loadOptions = new LoadOptions(options);
+        loadOptions.setInitSemanticUtils(false);
+        LoaderData loaderData = new LoaderData(loadOptions.getProgressListener());
+
+        CompletableFuture<GermaNet> loading = new CompletableFuture<>();
+        loading.whenComplete((gnet, ex) -> {
+            if (loading.isCancelled()) {
+                loaderData.cancel();
+            }
+        });
+        try {
+            executor.execute(() -> {
+                if (loading.isDone()) {
+                    return;
+                }
+                try {
+                    loading.complete(new GermaNet(source, loadOptions, loaderData));
+                } catch (Throwable ex) {
+                    loading.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            loading.completeExceptionally(ex);
+        }
+
+        if (!options.isInitSemanticUtils()) {
+            return loading;
+        }
+        CompletableFuture<GermaNet> warmedUp = loading.thenApplyAsync(gnet -> {
+            try {
+                gnet.getSemanticUtils();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return gnet;
+        }, executor);
+        warmedUp.whenComplete((gnet, ex) -> {
+            if (warmedUp.isCancelled()) {
+                loading.cancel(false);
+            }
+        });
+        return warmedUp;
     }
 
     /**
@@ -355,10 +502,14 @@ public class GermaNet {
      * should have all streams and file names already specified.
      *
      * @param loaderData a LoaderData object with all streams specified
-     * @throws IOException if there is a file error
+     * @param options    the options for loading, for the patch to apply before
+     *                   the data is frozen and the validation mode
+     * @throws IOException if there is a file error, or a
+     * <code>GermaNetValidationException</code> if the data is validated in strict
+     * mode and has integrity problems
      * @throws XMLStreamException if there is an error with an XML stream
      */
-    private static void load(LoaderData loaderData) throws IOException, XMLStreamException {
+    private static void load(LoaderData loaderData, LoadOptions options) throws IOException, XMLStreamException {
         String oldVal = null;
 
         // use xerces xml parser
@@ -366,6 +517,13 @@ public class GermaNet {
         System.setProperty("javax.xml.stream.XMLInputFactory",
                 "com.sun.xml.internal.stream.XMLInputFactoryImpl");
 
+        // relations to unknown IDs are skipped and reported if the data is
+        // validated, and fail loading otherwise
+        GermaNetValidator.Mode validationMode = options.getValidationMode();
+        if (validationMode != GermaNetValidator.Mode.Off) {
+            loaderData.setDanglingRelations(new ArrayList<>());
+        }
+
         // load all synsets, lexunits, and relations
         // and create lookup maps
         StaxLoader.load(loaderData);
@@ -380,7 +538,25 @@ public class GermaNet {
         // which are needed for creating a SemanticUtils object if requested at a later point
         SynsetDistanceMapLoader.loadDistanceMaps(loaderData);
 
-        loaderData.trimAll();
+        // apply the patch, if any, updating only the changed parts of the
+        // lookup maps and distance maps
+        GermaNetPatch patch = options.getPatch();
+        if (patch != null) {
+            patch.apply(loaderData);
+        }
+
+        // validate the final data, if requested
+        if (validationMode != GermaNetValidator.Mode.Off) {
+            ValidationReport report = new GermaNetValidator().validate(loaderData);
+            if (validationMode == GermaNetValidator.Mode.Strict && !report.isEmpty()) {
+                throw new GermaNetValidationException(report);
+            }
+            loaderData.setValidationReport(report);
+        }
+
+        // precompute all values that are otherwise computed on demand and make
+        // the data read-only, see the note on thread safety in the class comment
+        loaderData.freeze();
 
         // set parser back to whatever it was before
         if (oldVal != null) {
@@ -920,6 +1096,18 @@ public class GermaNet {
         return new ArrayList<>(wiktionaryParaphrases);
     }
 
+    /**
+     * Returns the integrity problems found when the data was loaded with a
+     * <code>GermaNetValidator.Mode</code> other than <code>Off</code> (see
+     * <code>LoadOptions.setValidationMode()</code>), or null if the data was not
+     * validated.
+     *
+     * @return the integrity problems found when loading, or null
+     */
+    public ValidationReport getValidationReport() {
+        return validationReport;
+    }
+
     public HashMap<LexUnit, CompoundInfo> getLexUnitsWithCompoundInfo() {
         HashMap<LexUnit, CompoundInfo> lexUnitsWithCompounds = new HashMap<>();
         for (LexUnit lu : getLexUnits()) {
@@ -935,16 +1123,126 @@ public class GermaNet {
      * based on several algorithms. Some algorithms require frequency lists for each word category.
      * To use those algorithms, frequency files must specified in the <code>GermaNet</code> constructor.
      * Frequency lists with wide coverage of words in GermaNet are available for download from the GermaNet website<br>
+     * The object is created on the first call. This method is thread safe: concurrent callers
+     * wait for the same initialization instead of starting their own.
      *
      * @return the <code>SemanticUtils</code> object
      * @throws IOException if any of the frequency list files do not exist or can not be read
      */
     public SemanticUtils getSemanticUtils() throws IOException {
-        if (semanticUtils == null) {
-            semanticUtils = new SemanticUtils(catMaxHypernymDistanceMap, catSynsetMap, synsetIDMap,
-                        nounFreqFile, verbFreqFile, adjFreqFile);
+        CompletableFuture<SemanticUtils> future = semanticUtils;
+        if (future == null || future.isCompletedExceptionally()) {
+            CompletableFuture<SemanticUtils> started = new CompletableFuture<>();
+            future = startSemanticUtils(started);
+            if (future == started) {
+                // this thread won: initialize here instead of waiting for another thread
+                initSemanticUtils(started);
+            }
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for SemanticUtils");
+        }
+    }
+
+    /**
+     * Get the <code>SemanticUtils</code> object asynchronously, initializing it in the
+     * common <code>ForkJoinPool</code>. See
+     * <code>getSemanticUtilsAsync(Executor)</code>.
+     *
+     * @return a future which completes with the <code>SemanticUtils</code> object
+     */
+    public CompletableFuture<SemanticUtils> getSemanticUtilsAsync() {
+        return getSemanticUtilsAsync(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Get the <code>SemanticUtils</code> object asynchronously. The first call starts the
+     * initialization on <code>executor</code>; all calls (from any thread, including
+     * <code>getSemanticUtils()</code>) share the same initialization, which therefore runs
+     * at most once. If it fails, or <code>executor</code> rejects it, the returned future
+     * completes exceptionally, and the next call starts a new attempt.<br>
+     * Cancelling the returned future does not affect the initialization.
+     *
+     * @param executor the executor on which <code>SemanticUtils</code> is initialized,
+     *                 if no initialization is pending or done yet
+     * @return a future which completes with the <code>SemanticUtils</code> object
+     * @throws IllegalArgumentException if <code>executor</code> is null
+     */
+    public CompletableFuture<SemanticUtils> getSemanticUtilsAsync(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        CompletableFuture<SemanticUtils> future = semanticUtils;
+        if (future == null || future.isCompletedExceptionally()) {
+            CompletableFuture<SemanticUtils> started = new CompletableFuture<>();
+            future = startSemanticUtils(started);
+            if (future == started) {
+                try {
+                    executor.execute(() -> initSemanticUtils(started));
+                } catch (RejectedExecutionException ex) {
+                    started.completeExceptionally(ex);
+                }
+            }
+        }
+        return future.thenApply(Function.identity());
+    }
+
+    /**
+     * Installs <code>started</code> as the pending initialization unless another one is
+     * pending or done, and returns the initialization in effect.
+     */
+    private synchronized CompletableFuture<SemanticUtils> startSemanticUtils(CompletableFuture<SemanticUtils> started) {
+        CompletableFuture<SemanticUtils> future = semanticUtils;
+        if (future == null || future.isCompletedExceptionally()) {
+            semanticUtils = started;
+            return started;
+        }
+        return future;
+    }
+
+    private void initSemanticUtils(CompletableFuture<SemanticUtils> future) {
+        try {
+            future.complete(new SemanticUtils(this, catMaxHypernymDistanceMap, catSynsetMap, synsetIDMap,
+                    getDescendantIndex(), nounFreqSource, verbFreqSource, adjFreqSource));
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Get the <code>DescendantIndex</code> object, which can be used to count and
+     * enumerate the transitive hyponyms of <code>Synsets</code>. The index is
+     * built on the first call.
+     *
+     * @return the <code>DescendantIndex</code> object
+     */
+    public DescendantIndex getDescendantIndex() {
+        DescendantIndex index = descendantIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = descendantIndex;
+                if (index == null) {
+                    index = new DescendantIndex(synsets);
+                    descendantIndex = index;
+                }
+            }
         }
-        return semanticUtils;
+        return index;
     }
 
     /**
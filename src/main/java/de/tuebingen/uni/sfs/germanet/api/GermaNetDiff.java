@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import de.tuebingen.uni.sfs.germanet.api.ChangeSet.Change;
+import de.tuebingen.uni.sfs.germanet.api.ChangeSet.ChangeType;
+import de.tuebingen.uni.sfs.germanet.api.ChangeSet.EntityType;
+import de.tuebingen.uni.sfs.germanet.api.ChangeSet.FieldChange;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the <code>ChangeSet</code> between two loaded GermaNet releases:
+ * which synsets, lex units, orthographic forms, conceptual and lexical relations,
+ * ILI records and compound information were added, removed or modified.<br><br>
+ * <p>
+ * Entities are matched by ID (see <code>ChangeSet</code> for the keys of
+ * dependent entities), so a lex unit which moved to another synset is reported
+ * as a modification of its <code>synsetId</code> field. Relations are compared as
+ * the outgoing edges of each synset and lex unit, including the inverse edges
+ * which are added when the data is loaded. Wiktionary paraphrases are not
+ * compared.<br><br>
+ * <p>
+ * The union of the synset IDs and the union of the lex unit IDs of both releases
+ * are split into ranges of consecutive IDs, which are compared in parallel. The
+ * result does not depend on the number of threads. Both <code>GermaNet</code>
+ * objects are only read, so they can be used by other threads at the same
+ * time.<br><br>
+ * <p>
+ * Default values:<br>
+ * numThreads: the number of available processors<br>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class GermaNetDiff {
+    private static final int CHUNK_SIZE = 2048;
+
+    private int numThreads;
+
+    /**
+     * Constructs a <code>GermaNetDiff</code> with the default values.
+     */
+    public GermaNetDiff() {
+        this.numThreads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the number of threads used to compare the releases.
+     *
+     * @return the number of threads
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Set the number of threads used to compare the releases.
+     *
+     * @param numThreads the number of threads (at least 1)
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be at least 1: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Returns the changes from <code>oldGermaNet</code> to <code>newGermaNet</code>.
+     *
+     * @param oldGermaNet the old release
+     * @param newGermaNet the new release
+     * @return the changes from <code>oldGermaNet</code> to <code>newGermaNet</code>
+     */
+    public ChangeSet compare(GermaNet oldGermaNet, GermaNet newGermaNet) {
+        int[] synsetIds = union(synsetIds(oldGermaNet), synsetIds(newGermaNet));
+        int[] lexUnitIds = union(lexUnitIds(oldGermaNet), lexUnitIds(newGermaNet));
+        int numSynsetChunks = (synsetIds.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = numSynsetChunks + (lexUnitIds.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<List<Change>> results = new ArrayList<>(Collections.<List<Change>>nCopies(numTasks, null));
+
+        AtomicInteger nextTask = new AtomicInteger();
+        Runnable worker = () -> {
+            int task;
+            while ((task = nextTask.getAndIncrement()) < numTasks) {
+                List<Change> changes = new ArrayList<>();
+                if (task < numSynsetChunks) {
+                    int start = task * CHUNK_SIZE;
+                    int end = Math.min(start + CHUNK_SIZE, synsetIds.length);
+                    for (int i = start; i < end; i++) {
+                        compareSynsets(oldGermaNet.getSynsetByID(synsetIds[i]),
+                                newGermaNet.getSynsetByID(synsetIds[i]), changes);
+                    }
+                } else {
+                    int start = (task - numSynsetChunks) * CHUNK_SIZE;
+                    int end = Math.min(start + CHUNK_SIZE, lexUnitIds.length);
+                    for (int i = start; i < end; i++) {
+                        compareLexUnits(oldGermaNet.getLexUnitByID(lexUnitIds[i]),
+                                newGermaNet.getLexUnitByID(lexUnitIds[i]), changes);
+                    }
+                }
+                synchronized (results) {
+                    results.set(task, changes);
+                }
+            }
+        };
+
+        int threads = Math.min(numThreads, Math.max(numTasks, 1));
+        if (threads == 1) {
+            worker.run();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                Future<?>[] futures = new Future<?>[threads];
+                for (int i = 0; i < threads; i++) {
+                    futures[i] = executor.submit(worker);
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while comparing releases", ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<Change> changes = new ArrayList<>();
+        synchronized (results) {
+            for (List<Change> result : results) {
+                changes.addAll(result);
+            }
+        }
+        return new ChangeSet(changes);
+    }
+
+    private static void compareSynsets(Synset oldSynset, Synset newSynset, List<Change> changes) {
+        int id = (oldSynset != null) ? oldSynset.getId() : newSynset.getId();
+        Map<String, Object> oldFields = (oldSynset != null) ? synsetFields(oldSynset) : null;
+        Map<String, Object> newFields = (newSynset != null) ? synsetFields(newSynset) : null;
+        addChange(EntityType.Synset, id, null, oldFields, newFields, changes);
+
+        for (ConRel rel : ConRel.values()) {
+            int[] oldTargets = (oldSynset != null) ? synsetIds(oldSynset.getRelatedSynsets(rel)) : new int[0];
+            int[] newTargets = (newSynset != null) ? synsetIds(newSynset.getRelatedSynsets(rel)) : new int[0];
+            compareEdges(EntityType.ConRel, id, rel.name(), oldTargets, newTargets, changes);
+        }
+    }
+
+    private static void compareLexUnits(LexUnit oldLexUnit, LexUnit newLexUnit, List<Change> changes) {
+        int id = (oldLexUnit != null) ? oldLexUnit.getId() : newLexUnit.getId();
+        Map<String, Object> oldFields = (oldLexUnit != null) ? lexUnitFields(oldLexUnit) : null;
+        Map<String, Object> newFields = (newLexUnit != null) ? lexUnitFields(newLexUnit) : null;
+        addChange(EntityType.LexUnit, id, null, oldFields, newFields, changes);
+
+        for (OrthFormVariant variant : OrthFormVariant.values()) {
+            String oldOrthForm = (oldLexUnit != null) ? oldLexUnit.getOrthForm(variant) : null;
+            String newOrthForm = (newLexUnit != null) ? newLexUnit.getOrthForm(variant) : null;
+            addChange(EntityType.OrthForm, id, variant.name(),
+                    (oldOrthForm != null) ? Collections.<String, Object>singletonMap("value", oldOrthForm) : null,
+                    (newOrthForm != null) ? Collections.<String, Object>singletonMap("value", newOrthForm) : null,
+                    changes);
+        }
+
+        for (LexRel rel : LexRel.values()) {
+            // synonyms are derived from synset membership, which is covered by synsetId
+            if (rel == LexRel.has_synonym) {
+                continue;
+            }
+            int[] oldTargets = (oldLexUnit != null) ? lexUnitIds(oldLexUnit.getRelatedLexUnits(rel)) : new int[0];
+            int[] newTargets = (newLexUnit != null) ? lexUnitIds(newLexUnit.getRelatedLexUnits(rel)) : new int[0];
+            compareEdges(EntityType.LexRel, id, rel.name(), oldTargets, newTargets, changes);
+        }
+
+        Map<String, Map<String, Object>> oldIliRecords = (oldLexUnit != null)
+                ? iliRecordFields(oldLexUnit.getIliRecords()) : Collections.<String, Map<String, Object>>emptyMap();
+        Map<String, Map<String, Object>> newIliRecords = (newLexUnit != null)
+                ? iliRecordFields(newLexUnit.getIliRecords()) : Collections.<String, Map<String, Object>>emptyMap();
+        for (Map.Entry<String, Map<String, Object>> entry : oldIliRecords.entrySet()) {
+            addChange(EntityType.IliRecord, id, entry.getKey(), entry.getValue(), newIliRecords.get(entry.getKey()), changes);
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : newIliRecords.entrySet()) {
+            if (!oldIliRecords.containsKey(entry.getKey())) {
+                addChange(EntityType.IliRecord, id, entry.getKey(), null, entry.getValue(), changes);
+            }
+        }
+
+        CompoundInfo oldCompoundInfo = (oldLexUnit != null) ? oldLexUnit.getCompoundInfo() : null;
+        CompoundInfo newCompoundInfo = (newLexUnit != null) ? newLexUnit.getCompoundInfo() : null;
+        addChange(EntityType.CompoundInfo, id, null,
+                (oldCompoundInfo != null) ? compoundInfoFields(oldCompoundInfo) : null,
+                (newCompoundInfo != null) ? compoundInfoFields(newCompoundInfo) : null,
+                changes);
+    }
+
+    /**
+     * Adds the change from <code>oldFields</code> to <code>newFields</code>, if
+     * any. A null map means that the entity does not exist in that release.
+     */
+    private static void addChange(EntityType entityType, int id, String key,
+                                  Map<String, Object> oldFields, Map<String, Object> newFields,
+                                  List<Change> changes) {
+        if (oldFields == null && newFields == null) {
+            return;
+        }
+        List<FieldChange> fieldChanges = new ArrayList<>();
+        if (oldFields == null) {
+            for (Map.Entry<String, Object> entry : newFields.entrySet()) {
+                if (isSet(entry.getValue())) {
+                    fieldChanges.add(new FieldChange(entry.getKey(), null, entry.getValue()));
+                }
+            }
+            changes.add(new Change(entityType, ChangeType.Added, id, key, fieldChanges));
+        } else if (newFields == null) {
+            changes.add(new Change(entityType, ChangeType.Removed, id, key, fieldChanges));
+        } else {
+            for (Map.Entry<String, Object> entry : oldFields.entrySet()) {
+                Object newValue = newFields.get(entry.getKey());
+                if (!Objects.equals(entry.getValue(), newValue)) {
+                    fieldChanges.add(new FieldChange(entry.getKey(), entry.getValue(), newValue));
+                }
+            }
+            if (!fieldChanges.isEmpty()) {
+                changes.add(new Change(entityType, ChangeType.Modified, id, key, fieldChanges));
+            }
+        }
+    }
+
+    private static boolean isSet(Object value) {
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return false;
+        }
+        return !(value instanceof List) || !((List<?>) value).isEmpty();
+    }
+
+    /**
+     * Adds the added and removed edges from <code>id</code>, given the sorted
+     * target IDs in both releases.
+     */
+    private static void compareEdges(EntityType entityType, int id, String relation,
+                                     int[] oldTargets, int[] newTargets, List<Change> changes) {
+        int i = 0;
+        int j = 0;
+        while (i < oldTargets.length || j < newTargets.length) {
+            if (j == newTargets.length || (i < oldTargets.length && oldTargets[i] < newTargets[j])) {
+                changes.add(new Change(entityType, ChangeType.Removed, id, relation + " " + oldTargets[i++],
+                        Collections.<FieldChange>emptyList()));
+            } else if (i == oldTargets.length || newTargets[j] < oldTargets[i]) {
+                changes.add(new Change(entityType, ChangeType.Added, id, relation + " " + newTargets[j++],
+                        Collections.<FieldChange>emptyList()));
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    static Map<String, Object> synsetFields(Synset synset) {
+        Map<String, Object> fields = new Object2ObjectLinkedOpenHashMap<>();
+        fields.put("wordCategory", synset.getWordCategory().name());
+        fields.put("wordClass", synset.getWordClass().name());
+        fields.put("paraphrase", synset.getParaphrase());
+        return fields;
+    }
+
+    static Map<String, Object> lexUnitFields(LexUnit lexUnit) {
+        Map<String, Object> fields = new Object2ObjectLinkedOpenHashMap<>();
+        fields.put("synsetId", lexUnit.getSynset().getId());
+        fields.put("sense", lexUnit.getSense());
+        fields.put("source", lexUnit.getSource());
+        fields.put("styleMarking", lexUnit.isStyleMarking());
+        fields.put("artificial", lexUnit.isArtificial());
+        fields.put("namedEntity", lexUnit.isNamedEntity());
+        fields.put("comment", lexUnit.getComment());
+        fields.put("particle", lexUnit.getParticle());
+        fields.put("baseVerb", lexUnit.getBaseVerb());
+
+        List<String> frames = new ArrayList<>();
+        for (Frame frame : lexUnit.getFrames()) {
+            frames.add(frame.getData());
+        }
+        fields.put("frames", frames);
+        List<String> examples = new ArrayList<>();
+        List<String> exampleFrames = new ArrayList<>();
+        for (Example example : lexUnit.getExamples()) {
+            examples.add(example.getText());
+            exampleFrames.add(example.getFrame());
+        }
+        fields.put("examples", examples);
+        fields.put("exampleFrames", exampleFrames);
+        return fields;
+    }
+
+    /**
+     * Returns the fields of the given ILI records by key (EWN relation and PWN
+     * 3.0 ID).
+     */
+    static Map<String, Map<String, Object>> iliRecordFields(List<IliRecord> iliRecords) {
+        Map<String, Map<String, Object>> records = new Object2ObjectLinkedOpenHashMap<>();
+        for (IliRecord iliRecord : iliRecords) {
+            Map<String, Object> fields = new Object2ObjectLinkedOpenHashMap<>();
+            fields.put("pwnWord", iliRecord.getPwnWord());
+            fields.put("pwn20Id", iliRecord.getPwn20Id());
+            fields.put("pwn20paraphrase", iliRecord.getPwn20paraphrase());
+            fields.put("source", iliRecord.getSource());
+            fields.put("englishSynonyms", new ArrayList<>(iliRecord.getEnglishSynonyms()));
+            records.put(iliRecord.getEwnRelation().name() + " " + iliRecord.getPwn30Id(), fields);
+        }
+        return records;
+    }
+
+    static Map<String, Object> compoundInfoFields(CompoundInfo compoundInfo) {
+        Map<String, Object> fields = new Object2ObjectLinkedOpenHashMap<>();
+        fields.put("modifier1", compoundInfo.getModifier1());
+        fields.put("mod1LexUnitId1", compoundInfo.getMod1LexUnitId1());
+        fields.put("mod1LexUnitId2", compoundInfo.getMod1LexUnitId2());
+        fields.put("mod1LexUnitId3", compoundInfo.getMod1LexUnitId3());
+        fields.put("modifier1Property", name(compoundInfo.getModifier1Property()));
+        fields.put("modifier1Category", name(compoundInfo.getModifier1Category()));
+        fields.put("modifier2", compoundInfo.getModifier2());
+        fields.put("mod2LexUnitId1", compoundInfo.getMod2LexUnitId1());
+        fields.put("mod2LexUnitId2", compoundInfo.getMod2LexUnitId2());
+        fields.put("mod2LexUnitId3", compoundInfo.getMod2LexUnitId3());
+        fields.put("modifier2Property", name(compoundInfo.getModifier2Property()));
+        fields.put("modifier2Category", name(compoundInfo.getModifier2Category()));
+        fields.put("head", compoundInfo.getHead());
+        fields.put("headLexUnitId", compoundInfo.getHeadLexUnitId());
+        fields.put("headProperty", name(compoundInfo.getHeadProperty()));
+        return fields;
+    }
+
+    private static String name(Enum<?> value) {
+        return (value != null) ? value.name() : null;
+    }
+
+    private static int[] synsetIds(GermaNet germaNet) {
+        return synsetIds(germaNet.getSynsets());
+    }
+
+    private static int[] synsetIds(List<Synset> synsets) {
+        int[] ids = new int[synsets.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = synsets.get(i).getId();
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static int[] lexUnitIds(GermaNet germaNet) {
+        return lexUnitIds(germaNet.getLexUnits());
+    }
+
+    private static int[] lexUnitIds(List<LexUnit> lexUnits) {
+        int[] ids = new int[lexUnits.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = lexUnits.get(i).getId();
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Returns the sorted union of two sorted arrays without duplicates.
+     */
+    private static int[] union(int[] first, int[] second) {
+        int[] rval = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < first.length || j < second.length) {
+            int next;
+            if (j == second.length || (i < first.length && first[i] <= second[j])) {
+                next = first[i++];
+            } else {
+                next = second[j++];
+            }
+            if (size == 0 || rval[size - 1] != next) {
+                rval[size++] = next;
+            }
+        }
+        return Arrays.copyOf(rval, size);
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A handle to the current version of the GermaNet data, which can be replaced
+ * by a new version (e.g. a new release or a corrected data set) while the
+ * application keeps running.<br><br>
+ * <p>
+ * Readers acquire a <code>Lease</code> on the current version and use its
+ * <code>GermaNet</code> object until they close the lease:<br>
+ * <code>
+ * try (GermaNetHandle.Lease lease = handle.acquire()) {<br>
+ * &nbsp;&nbsp;&nbsp;List&lt;Synset&gt; synsets = lease.getGermaNet().getSynsets("Bank");<br>
+ * }<br><br>
+ * </code>
+ * A new version is loaded in the background with <code>loadAsync()</code>, or an
+ * already loaded <code>GermaNet</code> object is installed with
+ * <code>swap()</code>. The new version replaces the current one atomically:
+ * leases acquired afterwards get the new version, while leases acquired before
+ * keep the version they pinned. A replaced version is released as soon as its
+ * last lease is closed, so that its data can be garbage collected.<br><br>
+ * <p>
+ * Each <code>Version</code> has an ID, which increases by one with every swap
+ * (starting at 1), and timestamps for the start and end of loading and for its
+ * activation. Acquiring and closing leases is lock-free.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class GermaNetHandle {
+
+    /**
+     * One version of the GermaNet data, installed in a <code>GermaNetHandle</code>.
+     */
+    public static final class Version {
+        private final long versionId;
+        private final File source;
+        private final long loadStartTime;
+        private final long loadEndTime;
+        private final long activationTime;
+        private volatile GermaNet germaNet;
+        // one reference for the handle while this is the current version, plus one per lease
+        private final AtomicInteger references;
+        private final AtomicBoolean retired;
+        private final CompletableFuture<Version> released;
+
+        private Version(long versionId, GermaNet germaNet, File source, long loadStartTime, long loadEndTime) {
+            this.versionId = versionId;
+            this.germaNet = germaNet;
+            this.source = source;
+            this.loadStartTime = loadStartTime;
+            this.loadEndTime = loadEndTime;
+            this.activationTime = System.currentTimeMillis();
+            this.references = new AtomicInteger(1);
+            this.retired = new AtomicBoolean(false);
+            this.released = new CompletableFuture<>();
+        }
+
+        /**
+         * Returns the ID of this version. IDs increase by one with every swap.
+         *
+         * @return the ID of this version
+         */
+        public long getVersionId() {
+            return versionId;
+        }
+
+        /**
+         * Returns the location the data of this version was loaded from.
+         *
+         * @return the data location, or null if the <code>GermaNet</code> object was
+         * installed with <code>swap(GermaNet)</code>
+         */
+        public File getSource() {
+            return source;
+        }
+
+        /**
+         * Returns the time loading of this version started, in milliseconds since
+         * the epoch.
+         *
+         * @return the time loading started
+         */
+        public long getLoadStartTime() {
+            return loadStartTime;
+        }
+
+        /**
+         * Returns the time loading of this version ended, in milliseconds since
+         * the epoch.
+         *
+         * @return the time loading ended
+         */
+        public long getLoadEndTime() {
+            return loadEndTime;
+        }
+
+        /**
+         * Returns the time this version became the current version, in
+         * milliseconds since the epoch.
+         *
+         * @return the time this version was activated
+         */
+        public long getActivationTime() {
+            return activationTime;
+        }
+
+        /**
+         * Returns the number of open leases on this version.
+         *
+         * @return the number of open leases
+         */
+        public int getNumLeases() {
+            int count = references.get();
+            // the handle's reference is only held while this version is current
+            return (count > 0 && !isRetired()) ? count - 1 : count;
+        }
+
+        /**
+         * Returns true if this version has been replaced by a newer one.
+         *
+         * @return true if this version has been replaced
+         */
+        public boolean isRetired() {
+            return retired.get();
+        }
+
+        /**
+         * Returns true if this version has been replaced and all of its leases
+         * have been closed. The data of a released version is no longer
+         * referenced by the handle.
+         *
+         * @return true if this version has been released
+         */
+        public boolean isReleased() {
+            return released.isDone();
+        }
+
+        /**
+         * Returns a future which completes with this version when it is released.
+         *
+         * @return a future which completes when this version is released
+         */
+        public CompletableFuture<Version> whenReleased() {
+            return released.thenApply(version -> version);
+        }
+
+        private boolean tryRetain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                germaNet = null;
+                released.complete(this);
+            }
+        }
+
+        private void retire() {
+            if (retired.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Version " + versionId + ((source != null) ? " (" + source.getPath() + ")" : "");
+        }
+    }
+
+    /**
+     * A lease on one <code>Version</code>, which keeps it from being released.
+     * Leases must be closed when they are no longer needed; closing a lease more
+     * than once has no effect.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final Version version;
+        private volatile GermaNet germaNet;
+        private final AtomicBoolean closed;
+
+        private Lease(Version version, GermaNet germaNet) {
+            this.version = version;
+            this.germaNet = germaNet;
+            this.closed = new AtomicBoolean(false);
+        }
+
+        /**
+         * Returns the version pinned by this lease.
+         *
+         * @return the version pinned by this lease
+         */
+        public Version getVersion() {
+            return version;
+        }
+
+        /**
+         * Returns the <code>GermaNet</code> object of the pinned version.
+         *
+         * @return the <code>GermaNet</code> object of the pinned version
+         * @throws IllegalStateException if this lease has been closed
+         */
+        public GermaNet getGermaNet() {
+            GermaNet gnet = germaNet;
+            if (gnet == null) {
+                throw new IllegalStateException("Lease on " + version + " has been closed");
+            }
+            return gnet;
+        }
+
+        /**
+         * Closes this lease. The pinned version is released if it has been replaced
+         * and this was its last lease.
+         */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                germaNet = null;
+                version.release();
+            }
+        }
+    }
+
+    private final AtomicReference<Version> current;
+    private long lastVersionId; // guarded by this
+
+    /**
+     * Constructs a <code>GermaNetHandle</code> whose first version is
+     * <code>germaNet</code>.
+     *
+     * @param germaNet the first version of the data
+     * @throws IllegalArgumentException if <code>germaNet</code> is null
+     */
+    public GermaNetHandle(GermaNet germaNet) {
+        if (germaNet == null) {
+            throw new IllegalArgumentException("germaNet must not be null");
+        }
+        long now = System.currentTimeMillis();
+        this.lastVersionId = 1;
+        this.current = new AtomicReference<>(new Version(lastVersionId, germaNet, null, now, now));
+    }
+
+    /**
+     * Constructs a <code>GermaNetHandle</code> by loading its first version from
+     * the directory/archive File <code>source</code> with the given
+     * <code>LoadOptions</code>.
+     *
+     * @param source  location of the GermaNet data files
+     * @param options the options for loading
+     * @throws javax.xml.stream.XMLStreamException if there is a file error
+     * @throws java.io.IOException                 if there is a file error
+     */
+    public GermaNetHandle(File source, LoadOptions options) throws XMLStreamException, IOException {
+        long start = System.currentTimeMillis();
+        GermaNet germaNet = new GermaNet(source, options);
+        this.lastVersionId = 1;
+        this.current = new AtomicReference<>(new Version(lastVersionId, germaNet, source,
+                start, System.currentTimeMillis()));
+    }
+
+    /**
+     * Returns the current version. Use <code>acquire()</code> to use its data.
+     *
+     * @return the current version
+     */
+    public Version getCurrentVersion() {
+        return current.get();
+    }
+
+    /**
+     * Acquires a lease on the current version. The lease must be closed when
+     * the data is no longer needed.
+     *
+     * @return a lease on the current version
+     */
+    public Lease acquire() {
+        while (true) {
+            Version version = current.get();
+            // fails only if the version was swapped out and released meanwhile
+            if (version.tryRetain()) {
+                GermaNet germaNet = version.germaNet;
+                return new Lease(version, germaNet);
+            }
+        }
+    }
+
+    /**
+     * Installs <code>germaNet</code> as the new current version. The replaced
+     * version is released when its last lease is closed.
+     *
+     * @param germaNet the new version of the data
+     * @return the new current version
+     * @throws IllegalArgumentException if <code>germaNet</code> is null
+     */
+    public Version swap(GermaNet germaNet) {
+        if (germaNet == null) {
+            throw new IllegalArgumentException("germaNet must not be null");
+        }
+        long now = System.currentTimeMillis();
+        return swap(germaNet, null, now, now);
+    }
+
+    private Version swap(GermaNet germaNet, File source, long loadStartTime, long loadEndTime) {
+        Version version;
+        Version replaced;
+        // IDs follow the order of activation
+        synchronized (this) {
+            lastVersionId++;
+            version = new Version(lastVersionId, germaNet, source, loadStartTime, loadEndTime);
+            replaced = current.getAndSet(version);
+        }
+        replaced.retire();
+        return version;
+    }
+
+    /**
+     * Loads a new version from the directory/archive File <code>source</code> on
+     * <code>executor</code> (see <code>GermaNet.loadAsync()</code>) and installs it
+     * as the current version once it is loaded (and, if
+     * <code>initSemanticUtils</code> is set, its <code>SemanticUtils</code> object
+     * is initialized). The current version stays in use until then, and also if
+     * loading fails or is cancelled. If several loads overlap, the one that
+     * completes last becomes the current version.
+     *
+     * @param source   location of the GermaNet data files
+     * @param options  the options for loading
+     * @param executor the executor on which the data is loaded
+     * @return a future for the new version
+     * @throws IllegalArgumentException if one of the arguments is null
+     */
+    public CompletableFuture<Version> loadAsync(File source, LoadOptions options, Executor executor) {
+        long start = System.currentTimeMillis();
+        CompletableFuture<GermaNet> loading = GermaNet.loadAsync(source, options, executor);
+        CompletableFuture<Version> swapped = loading.thenApply(
+                germaNet -> swap(germaNet, source, start, System.currentTimeMillis()));
+        swapped.whenComplete((version, ex) -> {
+            if (swapped.isCancelled()) {
+                loading.cancel(false);
+            }
+        });
+        return swapped;
+    }
+
+    @Override
+    public String toString() {
+        return "GermaNetHandle: " + current.get();
+    }
+}
@@ -0,0 +1,1003 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import de.tuebingen.uni.sfs.germanet.api.ChangeSet.Change;
+import de.tuebingen.uni.sfs.germanet.api.ChangeSet.ChangeType;
+import de.tuebingen.uni.sfs.germanet.api.ChangeSet.FieldChange;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static de.tuebingen.uni.sfs.germanet.api.GermaNet.GNROOT_ID;
+
+/**
+ * A patch which turns one GermaNet release into another, so that small
+ * corrections can be shipped without the full data.<br><br>
+ * <p>
+ * A patch is the <code>ChangeSet</code> between two releases, as computed by
+ * <code>GermaNetDiff</code>, and is stored in the same NDJSON format (see
+ * <code>write()</code> and <code>read()</code>). To apply it, load the old release
+ * with the patch set in the <code>LoadOptions</code>:<br>
+ * <code>
+ * &nbsp;&nbsp;&nbsp;LoadOptions options = new LoadOptions();<br>
+ * &nbsp;&nbsp;&nbsp;options.setPatch(GermaNetPatch.read(in));<br>
+ * &nbsp;&nbsp;&nbsp;GermaNet newRelease = new GermaNet(oldReleaseDir, options);<br><br>
+ * </code>
+ * The patch is applied in place after the old release has been parsed and
+ * before the data is frozen. Only the lookup maps of the changed synsets and lex
+ * units are updated, and only the distance maps of the synsets whose hypernym
+ * ancestry changed (synsets with added or removed hypernyms and all their
+ * hyponyms) are rebuilt.<br><br>
+ * <p>
+ * Before a change is applied, the old values it records are compared with the
+ * loaded data; if they differ, the patch was made for another release and
+ * loading fails with an <code>IllegalArgumentException</code>. Wiktionary
+ * paraphrases are not part of a patch. As when loading a release, ILI records
+ * and Wiktionary paraphrases of removed lex units are kept in the global lists,
+ * and those of added lex units are attached to them.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class GermaNetPatch {
+    private final ChangeSet changeSet;
+
+    private GermaNetPatch(ChangeSet changeSet) {
+        this.changeSet = changeSet;
+    }
+
+    /**
+     * Returns a patch which applies <code>changeSet</code>.
+     *
+     * @param changeSet the changes between two releases
+     * @return a patch which applies <code>changeSet</code>
+     * @throws IllegalArgumentException if <code>changeSet</code> is null
+     */
+    public static GermaNetPatch of(ChangeSet changeSet) {
+        if (changeSet == null) {
+            throw new IllegalArgumentException("changeSet must not be null");
+        }
+        return new GermaNetPatch(changeSet);
+    }
+
+    /**
+     * Reads a patch in NDJSON format, as written by <code>write()</code> or
+     * <code>ChangeSet.writeNdjson()</code>. <code>in</code> is not closed.
+     *
+     * @param in the stream to read from
+     * @return the patch
+     * @throws IOException if an I/O error occurs or a line is not a valid change
+     */
+    public static GermaNetPatch read(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Change> changes = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                changes.add(toChange(new JsonParser(line).parseLine()));
+            } catch (RuntimeException ex) {
+                throw new IOException("Invalid change in line " + lineNumber + ": " + ex.getMessage(), ex);
+            }
+        }
+        return new GermaNetPatch(new ChangeSet(changes));
+    }
+
+    /**
+     * Writes this patch to <code>out</code> as newline-delimited JSON in UTF-8.
+     * <code>out</code> is flushed, but not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(OutputStream out) throws IOException {
+        changeSet.writeNdjson(out);
+    }
+
+    /**
+     * Returns the changes applied by this patch.
+     *
+     * @return the changes applied by this patch
+     */
+    public ChangeSet getChangeSet() {
+        return changeSet;
+    }
+
+    /**
+     * Returns the number of changes in this patch.
+     *
+     * @return the number of changes in this patch
+     */
+    public int size() {
+        return changeSet.size();
+    }
+
+    /**
+     * Applies this patch to the parsed, not yet frozen data in
+     * <code>loaderData</code>, whose distance maps have already been computed.
+     *
+     * @param loaderData the loaded data
+     * @throws IllegalArgumentException if the patch does not apply to the data
+     */
+    void apply(LoaderData loaderData) {
+        new Applier(loaderData).apply(changeSet.getChanges());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        GermaNetPatch that = (GermaNetPatch) o;
+
+        return changeSet.getChanges().equals(that.changeSet.getChanges());
+    }
+
+    @Override
+    public int hashCode() {
+        return changeSet.getChanges().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "GermaNetPatch{" + changeSet + "}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Change toChange(Map<String, Object> json) {
+        ChangeSet.EntityType entityType = ChangeSet.EntityType.valueOf((String) Objects.requireNonNull(json.get("entity"), "entity"));
+        ChangeType changeType = ChangeType.valueOf((String) Objects.requireNonNull(json.get("change"), "change"));
+        int id = (Integer) Objects.requireNonNull(json.get("id"), "id");
+        String key = (String) json.get("key");
+        List<FieldChange> fieldChanges = new ArrayList<>();
+        Map<String, Object> fields = (Map<String, Object>) json.get("fields");
+        if (fields != null) {
+            for (Map.Entry<String, Object> entry : fields.entrySet()) {
+                Map<String, Object> values = (Map<String, Object>) entry.getValue();
+                fieldChanges.add(new FieldChange(entry.getKey(), values.get("old"), values.get("new")));
+            }
+        }
+        return new Change(entityType, changeType, id, key, fieldChanges);
+    }
+
+    /**
+     * Applies the changes to the loader data, in an order which ensures that all
+     * entities exist when they are referenced: added and modified synsets and
+     * lex units first, then relations, ILI records and compound information, and
+     * removed lex units and synsets last.
+     */
+    private static final class Applier {
+        private final LoaderData loaderData;
+        private final Int2ObjectMap<Synset> synsetIdMap;
+        private final Int2ObjectMap<LexUnit> lexUnitIdMap;
+        private final Map<WordCategory, Set<Synset>> catSynsetMap;
+        private final Map<WordCategory, Set<LexUnit>> catLexUnitMap;
+        private final Map<WordCategory, Map<String, Set<LexUnit>>> wordCategoryMapAllOrthForms;
+        private final Object2ObjectMap<String, ObjectSet<String>> lowerToUpperMap;
+        private final List<IliRecord> iliRecords;
+        private final Set<Object> removedRecords;
+        // ILI records and Wiktionary paraphrases without a lex unit, by lex unit ID
+        private Int2ObjectMap<List<Object>> orphanRecords;
+        // synsets whose own hypernyms changed
+        private final IntSet changedHypernyms;
+        private final IntSet touchedSynsets;
+
+        Applier(LoaderData loaderData) {
+            this.loaderData = loaderData;
+            this.synsetIdMap = loaderData.getSynsetIdMap();
+            this.lexUnitIdMap = loaderData.getLexUnitIdMap();
+            this.catSynsetMap = loaderData.getCatSynsetMap();
+            this.catLexUnitMap = loaderData.getCatLexUnitMap();
+            this.wordCategoryMapAllOrthForms = loaderData.getWordCategoryMapAllOrthForms();
+            this.lowerToUpperMap = loaderData.getLowerToUpperMap();
+            if (loaderData.getIliRecords() == null) {
+                loaderData.setIliRecords(new ArrayList<>());
+            }
+            this.iliRecords = loaderData.getIliRecords();
+            this.removedRecords = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.changedHypernyms = new IntOpenHashSet();
+            this.touchedSynsets = new IntOpenHashSet();
+        }
+
+        void apply(List<Change> changes) {
+            List<Change> synsetChanges = new ArrayList<>();
+            List<Change> lexUnitChanges = new ArrayList<>();
+            Int2ObjectMap<Map<OrthFormVariant, Change>> orthFormChanges = new Int2ObjectOpenHashMap<>();
+            List<Change> relationChanges = new ArrayList<>();
+            List<Change> otherChanges = new ArrayList<>();
+            IntArrayList removedSynsets = new IntArrayList();
+            IntSet removedLexUnits = new IntOpenHashSet();
+
+            for (Change change : changes) {
+                switch (change.getEntityType()) {
+                    case Synset:
+                        if (change.getChangeType() == ChangeType.Removed) {
+                            removedSynsets.add(change.getId());
+                        } else {
+                            synsetChanges.add(change);
+                        }
+                        break;
+                    case LexUnit:
+                        if (change.getChangeType() == ChangeType.Removed) {
+                            removedLexUnits.add(change.getId());
+                        } else {
+                            lexUnitChanges.add(change);
+                        }
+                        break;
+                    case OrthForm:
+                        Map<OrthFormVariant, Change> variants = orthFormChanges.get(change.getId());
+                        if (variants == null) {
+                            variants = new EnumMap<>(OrthFormVariant.class);
+                            orthFormChanges.put(change.getId(), variants);
+                        }
+                        variants.put(OrthFormVariant.valueOf(change.getKey()), change);
+                        break;
+                    case ConRel:
+                    case LexRel:
+                        relationChanges.add(change);
+                        break;
+                    default:
+                        otherChanges.add(change);
+                }
+            }
+
+            for (Change change : synsetChanges) {
+                if (change.getChangeType() == ChangeType.Added) {
+                    addSynset(change);
+                } else {
+                    modifySynset(change);
+                }
+            }
+            for (Change change : lexUnitChanges) {
+                if (change.getChangeType() == ChangeType.Added) {
+                    addLexUnit(change, orthFormChanges.remove(change.getId()));
+                } else {
+                    modifyLexUnit(change);
+                }
+            }
+            for (Int2ObjectMap.Entry<Map<OrthFormVariant, Change>> entry : orthFormChanges.int2ObjectEntrySet()) {
+                if (!removedLexUnits.contains(entry.getIntKey())) {
+                    changeOrthForms(entry.getIntKey(), entry.getValue());
+                }
+            }
+            for (Change change : relationChanges) {
+                if (change.getChangeType() == ChangeType.Removed) {
+                    changeRelation(change, removedLexUnits);
+                }
+            }
+            for (Change change : relationChanges) {
+                if (change.getChangeType() == ChangeType.Added) {
+                    changeRelation(change, removedLexUnits);
+                }
+            }
+            for (Change change : otherChanges) {
+                if (removedLexUnits.contains(change.getId())) {
+                    continue;
+                }
+                if (change.getEntityType() == ChangeSet.EntityType.IliRecord) {
+                    changeIliRecord(change);
+                } else {
+                    changeCompoundInfo(change);
+                }
+            }
+            for (int id : removedLexUnits) {
+                removeLexUnit(id);
+            }
+            for (int i = 0; i < removedSynsets.size(); i++) {
+                removeSynset(removedSynsets.getInt(i));
+            }
+
+            if (!removedLexUnits.isEmpty()) {
+                loaderData.getLexUnits().removeIf(lexUnit -> removedLexUnits.contains(lexUnit.getId()));
+            }
+            if (!removedSynsets.isEmpty()) {
+                IntSet removed = new IntOpenHashSet(removedSynsets);
+                loaderData.getSynsets().removeIf(synset -> removed.contains(synset.getId()));
+            }
+            if (!removedRecords.isEmpty()) {
+                iliRecords.removeIf(removedRecords::contains);
+                if (loaderData.getWiktionaryParaphrases() != null) {
+                    loaderData.getWiktionaryParaphrases().removeIf(removedRecords::contains);
+                }
+            }
+            updateDistanceMaps();
+
+            SharedDataPool pool = loaderData.getPool();
+            if (pool != null) {
+                for (int id : touchedSynsets) {
+                    Synset synset = synsetIdMap.get(id);
+                    if (synset != null) {
+                        synset.share(pool);
+                    }
+                }
+            }
+        }
+
+        private void addSynset(Change change) {
+            int id = change.getId();
+            if (synsetIdMap.containsKey(id)) {
+                throw doesNotApply(change, "synset exists");
+            }
+            Map<String, Object> fields = newValues(Collections.<String, Object>emptyMap(), change);
+            Synset synset = new Synset(id, WordCategory.valueOf((String) fields.get("wordCategory")),
+                    WordClass.valueOf((String) fields.get("wordClass")));
+            if (fields.get("paraphrase") != null) {
+                synset.setParaphrase((String) fields.get("paraphrase"));
+            }
+            synsetIdMap.put(id, synset);
+            loaderData.getSynsets().add(synset);
+            attach(synset);
+            changedHypernyms.add(id);
+            touchedSynsets.add(id);
+        }
+
+        private void modifySynset(Change change) {
+            Synset synset = getSynset(change.getId(), change);
+            Map<String, Object> fields = newValues(GermaNetDiff.synsetFields(synset), change);
+            // equals() and hashCode() depend on the word category and class
+            List<LexUnit> lexUnits = synset.getLexUnits();
+            for (LexUnit lexUnit : lexUnits) {
+                detach(lexUnit);
+            }
+            detach(synset);
+            synset.setWordCategory(WordCategory.valueOf((String) fields.get("wordCategory")));
+            synset.setWordClass(WordClass.valueOf((String) fields.get("wordClass")));
+            synset.setParaphrase((String) fields.get("paraphrase"));
+            attach(synset);
+            for (LexUnit lexUnit : lexUnits) {
+                attach(lexUnit);
+            }
+            touchedSynsets.add(synset.getId());
+        }
+
+        private void removeSynset(int id) {
+            Synset synset = synsetIdMap.get(id);
+            if (synset == null || synset.numLexUnits() > 0) {
+                throw new IllegalArgumentException("Patch does not apply: cannot remove synset " + id);
+            }
+            detach(synset);
+            synsetIdMap.remove(id);
+        }
+
+        private void addLexUnit(Change change, Map<OrthFormVariant, Change> orthForms) {
+            int id = change.getId();
+            if (lexUnitIdMap.containsKey(id)) {
+                throw doesNotApply(change, "lex unit exists");
+            }
+            Map<String, Object> fields = newValues(Collections.<String, Object>emptyMap(), change);
+            Synset synset = getSynset((Integer) fields.get("synsetId"), change);
+            Map<OrthFormVariant, String> values = new EnumMap<>(OrthFormVariant.class);
+            if (orthForms != null) {
+                for (Map.Entry<OrthFormVariant, Change> entry : orthForms.entrySet()) {
+                    values.put(entry.getKey(), (String) newValues(Collections.<String, Object>emptyMap(),
+                            entry.getValue()).get("value"));
+                }
+            }
+            if (values.get(OrthFormVariant.orthForm) == null) {
+                throw doesNotApply(change, "no orthForm");
+            }
+            LexUnit lexUnit = new LexUnit(id, synset, (Integer) fields.get("sense"),
+                    Boolean.TRUE.equals(fields.get("styleMarking")), Boolean.TRUE.equals(fields.get("artificial")),
+                    values.get(OrthFormVariant.orthForm), values.get(OrthFormVariant.orthVar),
+                    values.get(OrthFormVariant.oldOrthForm), values.get(OrthFormVariant.oldOrthVar),
+                    (String) fields.get("comment"), Boolean.TRUE.equals(fields.get("namedEntity")),
+                    (String) fields.get("source"), (String) fields.get("particle"), (String) fields.get("baseVerb"));
+            setFramesAndExamples(lexUnit, fields);
+            for (Object record : getOrphanRecords(id)) {
+                if (record instanceof WiktionaryParaphrase) {
+                    lexUnit.addWiktionaryParaphrase((WiktionaryParaphrase) record);
+                }
+            }
+            lexUnitIdMap.put(id, lexUnit);
+            loaderData.getLexUnits().add(lexUnit);
+            attach(lexUnit);
+            touchedSynsets.add(synset.getId());
+        }
+
+        private void modifyLexUnit(Change change) {
+            LexUnit lexUnit = getLexUnit(change.getId(), change);
+            Map<String, Object> fields = newValues(GermaNetDiff.lexUnitFields(lexUnit), change);
+            Synset synset = getSynset((Integer) fields.get("synsetId"), change);
+            if (synset != lexUnit.getSynset()) {
+                detach(lexUnit);
+                lexUnit.setSynset(synset);
+                attach(lexUnit);
+            }
+            lexUnit.setSense((Integer) fields.get("sense"));
+            lexUnit.setSource((String) fields.get("source"));
+            lexUnit.setStyleMarking((Boolean) fields.get("styleMarking"));
+            lexUnit.setArtificial((Boolean) fields.get("artificial"));
+            lexUnit.setNamedEntity((Boolean) fields.get("namedEntity"));
+            lexUnit.setComment((String) fields.get("comment"));
+            lexUnit.setParticle((String) fields.get("particle"));
+            lexUnit.setBaseVerb((String) fields.get("baseVerb"));
+            setFramesAndExamples(lexUnit, fields);
+            touchedSynsets.add(synset.getId());
+        }
+
+        private void changeOrthForms(int id, Map<OrthFormVariant, Change> orthForms) {
+            LexUnit lexUnit = null;
+            for (Change change : orthForms.values()) {
+                lexUnit = getLexUnit(id, change);
+                String current = lexUnit.getOrthForm(OrthFormVariant.valueOf(change.getKey()));
+                newValues((current != null) ? Collections.<String, Object>singletonMap("value", current)
+                        : Collections.<String, Object>emptyMap(), change);
+            }
+            // equals() and hashCode() depend on the orthographic form
+            detach(lexUnit);
+            for (Change change : orthForms.values()) {
+                String value = (change.getChangeType() == ChangeType.Removed)
+                        ? null : (String) change.getFieldChange("value").getNewValue();
+                if (change.getKey().equals(OrthFormVariant.orthForm.name()) && value == null) {
+                    throw doesNotApply(change, "orthForm cannot be removed");
+                }
+                lexUnit.setOrthForm(OrthFormVariant.valueOf(change.getKey()), value);
+            }
+            attach(lexUnit);
+            touchedSynsets.add(lexUnit.getSynset().getId());
+        }
+
+        private void removeLexUnit(int id) {
+            LexUnit lexUnit = lexUnitIdMap.get(id);
+            if (lexUnit == null) {
+                throw new IllegalArgumentException("Patch does not apply: cannot remove lex unit " + id);
+            }
+            detach(lexUnit);
+            lexUnitIdMap.remove(id);
+        }
+
+        private List<Object> getOrphanRecords(int lexUnitId) {
+            if (orphanRecords == null) {
+                orphanRecords = new Int2ObjectOpenHashMap<>();
+                for (IliRecord iliRecord : iliRecords) {
+                    if (!lexUnitIdMap.containsKey(iliRecord.getLexUnitId())) {
+                        orphanRecords.computeIfAbsent(iliRecord.getLexUnitId(), k -> new ArrayList<>()).add(iliRecord);
+                    }
+                }
+                if (loaderData.getWiktionaryParaphrases() != null) {
+                    for (WiktionaryParaphrase paraphrase : loaderData.getWiktionaryParaphrases()) {
+                        if (!lexUnitIdMap.containsKey(paraphrase.getLexUnitId())) {
+                            orphanRecords.computeIfAbsent(paraphrase.getLexUnitId(), k -> new ArrayList<>())
+                                    .add(paraphrase);
+                        }
+                    }
+                }
+            }
+            List<Object> records = orphanRecords.get(lexUnitId);
+            return (records != null) ? records : Collections.emptyList();
+        }
+
+        private void changeRelation(Change change, IntSet removedLexUnits) {
+            int split = change.getKey().indexOf(' ');
+            String relation = change.getKey().substring(0, split);
+            int targetId = Integer.parseInt(change.getKey().substring(split + 1));
+            boolean add = change.getChangeType() == ChangeType.Added;
+
+            if (change.getEntityType() == ChangeSet.EntityType.ConRel) {
+                ConRel rel = ConRel.valueOf(relation);
+                Synset source = getSynset(change.getId(), change);
+                Synset target = getSynset(targetId, change);
+                if (add) {
+                    source.addRelation(rel, target, RelDirection.outgoing);
+                    target.addRelation(rel, source, RelDirection.incoming);
+                } else if (source.removeRelation(rel, target, RelDirection.outgoing)) {
+                    target.removeRelation(rel, source, RelDirection.incoming);
+                } else {
+                    throw doesNotApply(change, "no such relation");
+                }
+                if (rel == ConRel.has_hypernym) {
+                    changedHypernyms.add(source.getId());
+                }
+            } else if (!removedLexUnits.contains(change.getId()) || add) {
+                LexRel rel = LexRel.valueOf(relation);
+                LexUnit source = getLexUnit(change.getId(), change);
+                LexUnit target = getLexUnit(targetId, change);
+                if (add) {
+                    source.addRelation(rel, target, RelDirection.outgoing);
+                    target.addRelation(rel, source, RelDirection.incoming);
+                } else if (source.removeRelation(rel, target, RelDirection.outgoing)) {
+                    target.removeRelation(rel, source, RelDirection.incoming);
+                } else {
+                    throw doesNotApply(change, "no such relation");
+                }
+            }
+        }
+
+        private void changeIliRecord(Change change) {
+            LexUnit lexUnit = getLexUnit(change.getId(), change);
+            IliRecord current = null;
+            for (IliRecord iliRecord : lexUnit.getIliRecords()) {
+                if ((iliRecord.getEwnRelation().name() + " " + iliRecord.getPwn30Id()).equals(change.getKey())) {
+                    current = iliRecord;
+                }
+            }
+            if ((current == null) != (change.getChangeType() == ChangeType.Added)) {
+                throw doesNotApply(change, "ILI record " + ((current == null) ? "missing" : "exists"));
+            }
+            Map<String, Object> oldFields = (current != null)
+                    ? GermaNetDiff.iliRecordFields(Collections.singletonList(current)).get(change.getKey())
+                    : Collections.<String, Object>emptyMap();
+            Map<String, Object> fields = newValues(oldFields, change);
+            if (current != null) {
+                lexUnit.removeIliRecord(current);
+                removedRecords.add(current);
+            }
+            if (change.getChangeType() == ChangeType.Removed) {
+                return;
+            }
+            int split = change.getKey().indexOf(' ');
+            String pwn30Id = change.getKey().substring(split + 1);
+            IliRecord iliRecord = new IliRecord(lexUnit.getId(), EwnRel.valueOf(change.getKey().substring(0, split)),
+                    (String) fields.get("pwnWord"), (String) fields.get("pwn20Id"),
+                    pwn30Id.equals("null") ? null : pwn30Id, (String) fields.get("pwn20paraphrase"),
+                    (String) fields.get("source"));
+            Object synonyms = fields.get("englishSynonyms");
+            if (synonyms != null) {
+                for (Object synonym : (List<?>) synonyms) {
+                    iliRecord.addEnglishSynonym((String) synonym);
+                }
+            }
+            for (Object record : getOrphanRecords(lexUnit.getId())) {
+                if (record instanceof IliRecord && !removedRecords.contains(record)
+                        && GermaNetDiff.iliRecordFields(Collections.singletonList((IliRecord) record))
+                        .containsKey(change.getKey())) {
+                    // replaced by the record of the added lex unit
+                    removedRecords.add(record);
+                    break;
+                }
+            }
+            lexUnit.addIliRecord(iliRecord);
+            iliRecords.add(iliRecord);
+        }
+
+        private void changeCompoundInfo(Change change) {
+            LexUnit lexUnit = getLexUnit(change.getId(), change);
+            CompoundInfo current = lexUnit.getCompoundInfo();
+            if ((current == null) != (change.getChangeType() == ChangeType.Added)) {
+                throw doesNotApply(change, "compound info " + ((current == null) ? "missing" : "exists"));
+            }
+            Map<String, Object> fields = newValues((current != null) ? GermaNetDiff.compoundInfoFields(current)
+                    : Collections.<String, Object>emptyMap(), change);
+            if (change.getChangeType() == ChangeType.Removed) {
+                lexUnit.setCompoundInfo(null);
+                return;
+            }
+            lexUnit.setCompoundInfo(new CompoundInfo((String) fields.get("modifier1"),
+                    (String) fields.get("mod1LexUnitId1"), (String) fields.get("mod1LexUnitId2"),
+                    (String) fields.get("mod1LexUnitId3"),
+                    property(fields.get("modifier1Property")), category(fields.get("modifier1Category")),
+                    (String) fields.get("modifier2"),
+                    (String) fields.get("mod2LexUnitId1"), (String) fields.get("mod2LexUnitId2"),
+                    (String) fields.get("mod2LexUnitId3"),
+                    property(fields.get("modifier2Property")), category(fields.get("modifier2Category")),
+                    (String) fields.get("head"), (String) fields.get("headLexUnitId"),
+                    property(fields.get("headProperty"))));
+        }
+
+        /**
+         * Rebuilds the distance maps of all synsets whose hypernym ancestry
+         * changed, i.e. the synsets with changed hypernyms and all their
+         * (transitive) hyponyms, and the maximum hypernym distance per word
+         * category.
+         */
+        private void updateDistanceMaps() {
+            if (changedHypernyms.isEmpty()) {
+                return;
+            }
+            IntSet seen = new IntOpenHashSet();
+            List<Synset> queue = new ArrayList<>();
+            for (int id : changedHypernyms) {
+                Synset synset = synsetIdMap.get(id);
+                if (synset != null && seen.add(id)) {
+                    queue.add(synset);
+                }
+            }
+            for (int i = 0; i < queue.size(); i++) {
+                for (Synset hyponym : queue.get(i).getRelatedSynsets(ConRel.has_hypernym, RelDirection.incoming)) {
+                    if (seen.add(hyponym.getId())) {
+                        queue.add(hyponym);
+                    }
+                }
+            }
+            for (Synset synset : queue) {
+                synset.clearDistanceMap();
+                SynsetDistanceMapLoader.buildHypernymTree(synset, synset, 0);
+            }
+
+            Object2IntMap<WordCategory> catMaxHypernymDistanceMap = loaderData.getCatMaxHypernymDistanceMap();
+            for (WordCategory wordCategory : WordCategory.values()) {
+                int maxHypernymDistance = 0;
+                Set<Synset> synsets = catSynsetMap.get(wordCategory);
+                if (synsets != null) {
+                    for (Synset synset : synsets) {
+                        maxHypernymDistance = Math.max(maxHypernymDistance, synset.getMaxDistance());
+                    }
+                }
+                catMaxHypernymDistanceMap.put(wordCategory, maxHypernymDistance);
+            }
+        }
+
+        /**
+         * Removes <code>synset</code> from all hash based collections.
+         */
+        private void detach(Synset synset) {
+            if (synset.getId() != GNROOT_ID) {
+                catSynsetMap.get(synset.getWordCategory()).remove(synset);
+            }
+            for (ConRel rel : ConRel.values()) {
+                for (Synset target : synset.getRelatedSynsets(rel, RelDirection.outgoing)) {
+                    target.removeRelation(rel, synset, RelDirection.incoming);
+                }
+                for (Synset source : synset.getRelatedSynsets(rel, RelDirection.incoming)) {
+                    source.removeRelation(rel, synset, RelDirection.outgoing);
+                }
+            }
+        }
+
+        private void attach(Synset synset) {
+            if (synset.getId() != GNROOT_ID) {
+                Set<Synset> synsets = catSynsetMap.get(synset.getWordCategory());
+                if (synsets == null) {
+                    synsets = new ObjectOpenHashSet<>();
+                    catSynsetMap.put(synset.getWordCategory(), synsets);
+                }
+                synsets.add(synset);
+            }
+            for (ConRel rel : ConRel.values()) {
+                for (Synset target : synset.getRelatedSynsets(rel, RelDirection.outgoing)) {
+                    target.addRelation(rel, synset, RelDirection.incoming);
+                }
+                for (Synset source : synset.getRelatedSynsets(rel, RelDirection.incoming)) {
+                    source.addRelation(rel, synset, RelDirection.outgoing);
+                }
+            }
+        }
+
+        /**
+         * Removes <code>lexUnit</code> from its <code>Synset</code>, the lookup maps
+         * and the relations of other lex units.
+         */
+        private void detach(LexUnit lexUnit) {
+            Synset synset = lexUnit.getSynset();
+            synset.removeLexUnit(lexUnit);
+            if (synset.getId() != GNROOT_ID) {
+                WordCategory wordCategory = synset.getWordCategory();
+                catLexUnitMap.get(wordCategory).remove(lexUnit);
+                Map<String, Set<LexUnit>> mapAllOrthForms = wordCategoryMapAllOrthForms.get(wordCategory);
+                for (OrthFormVariant variant : OrthFormVariant.values()) {
+                    String orthForm = lexUnit.getOrthForm(variant);
+                    Set<LexUnit> lexUnits = mapAllOrthForms.get(orthForm);
+                    if (lexUnits != null && lexUnits.remove(lexUnit) && lexUnits.isEmpty()) {
+                        mapAllOrthForms.remove(orthForm);
+                        if (orthForm != null) {
+                            removeUnusedOrthForms(orthForm.toLowerCase());
+                        }
+                    }
+                }
+            }
+            for (LexRel rel : LexRel.values()) {
+                if (rel == LexRel.has_synonym) {
+                    continue;
+                }
+                for (LexUnit target : lexUnit.getRelatedLexUnits(rel, RelDirection.outgoing)) {
+                    target.removeRelation(rel, lexUnit, RelDirection.incoming);
+                }
+                for (LexUnit source : lexUnit.getRelatedLexUnits(rel, RelDirection.incoming)) {
+                    source.removeRelation(rel, lexUnit, RelDirection.outgoing);
+                }
+            }
+        }
+
+        private void attach(LexUnit lexUnit) {
+            Synset synset = lexUnit.getSynset();
+            synset.addLexUnit(lexUnit);
+            if (synset.getId() != GNROOT_ID) {
+                WordCategory wordCategory = synset.getWordCategory();
+                Set<LexUnit> lexUnits = catLexUnitMap.get(wordCategory);
+                if (lexUnits == null) {
+                    lexUnits = new ObjectOpenHashSet<>();
+                    catLexUnitMap.put(wordCategory, lexUnits);
+                }
+                lexUnits.add(lexUnit);
+                Map<String, Set<LexUnit>> mapAllOrthForms = wordCategoryMapAllOrthForms.get(wordCategory);
+                if (mapAllOrthForms == null) {
+                    mapAllOrthForms = new Object2ObjectOpenHashMap<>();
+                    wordCategoryMapAllOrthForms.put(wordCategory, mapAllOrthForms);
+                }
+                for (OrthFormVariant variant : OrthFormVariant.values()) {
+                    StaxLoader.processOrthForm(lexUnit.getOrthForm(variant), lexUnit, mapAllOrthForms,
+                            lowerToUpperMap, null);
+                }
+            }
+            for (LexRel rel : LexRel.values()) {
+                if (rel == LexRel.has_synonym) {
+                    continue;
+                }
+                for (LexUnit target : lexUnit.getRelatedLexUnits(rel, RelDirection.outgoing)) {
+                    target.addRelation(rel, lexUnit, RelDirection.incoming);
+                }
+                for (LexUnit source : lexUnit.getRelatedLexUnits(rel, RelDirection.incoming)) {
+                    source.addRelation(rel, lexUnit, RelDirection.outgoing);
+                }
+            }
+        }
+
+        /**
+         * Removes the orthographic forms which are not used by any lex unit anymore
+         * from the entry of <code>lower</code> in the <code>lowerToUpperMap</code>.
+         */
+        private void removeUnusedOrthForms(String lower) {
+            ObjectSet<String> orthForms = lowerToUpperMap.get(lower);
+            if (orthForms == null) {
+                return;
+            }
+            ObjectSet<String> used = new ObjectOpenHashSet<>();
+            for (String orthForm : orthForms) {
+                for (Map<String, Set<LexUnit>> mapAllOrthForms : wordCategoryMapAllOrthForms.values()) {
+                    if (mapAllOrthForms.containsKey(orthForm)) {
+                        used.add(orthForm);
+                        break;
+                    }
+                }
+            }
+            if (used.isEmpty()) {
+                lowerToUpperMap.remove(lower);
+            } else {
+                used.add(lower);
+                lowerToUpperMap.put(lower, used);
+            }
+        }
+
+        private static void setFramesAndExamples(LexUnit lexUnit, Map<String, Object> fields) {
+            List<Frame> frames = new ArrayList<>();
+            if (fields.get("frames") != null) {
+                for (Object data : (List<?>) fields.get("frames")) {
+                    frames.add(new Frame((String) data));
+                }
+            }
+            lexUnit.setFrames(frames);
+
+            List<Example> examples = new ArrayList<>();
+            if (fields.get("examples") != null) {
+                List<?> texts = (List<?>) fields.get("examples");
+                List<?> exampleFrames = (List<?>) fields.get("exampleFrames");
+                for (int i = 0; i < texts.size(); i++) {
+                    Example example = new Example((String) texts.get(i));
+                    if (exampleFrames != null && i < exampleFrames.size() && exampleFrames.get(i) != null) {
+                        example.setFrame(new Frame((String) exampleFrames.get(i)));
+                    }
+                    examples.add(example);
+                }
+            }
+            lexUnit.setExamples(examples);
+        }
+
+        private Synset getSynset(Integer id, Change change) {
+            Synset synset = (id != null) ? synsetIdMap.get(id.intValue()) : null;
+            if (synset == null) {
+                throw doesNotApply(change, "no synset " + id);
+            }
+            return synset;
+        }
+
+        private LexUnit getLexUnit(int id, Change change) {
+            LexUnit lexUnit = lexUnitIdMap.get(id);
+            if (lexUnit == null) {
+                throw doesNotApply(change, "no lex unit " + id);
+            }
+            return lexUnit;
+        }
+
+        /**
+         * Returns <code>current</code> with the new values of <code>change</code>,
+         * after checking that its old values match <code>current</code>.
+         */
+        private static Map<String, Object> newValues(Map<String, Object> current, Change change) {
+            Map<String, Object> fields = new Object2ObjectLinkedOpenHashMap<>(current);
+            for (FieldChange fieldChange : change.getFieldChanges()) {
+                if (!Objects.equals(current.get(fieldChange.getName()), fieldChange.getOldValue())) {
+                    throw doesNotApply(change, fieldChange.getName() + " is " + current.get(fieldChange.getName()));
+                }
+                fields.put(fieldChange.getName(), fieldChange.getNewValue());
+            }
+            return fields;
+        }
+
+        private static CompoundProperty property(Object name) {
+            return (name != null) ? CompoundProperty.valueOf((String) name) : null;
+        }
+
+        private static CompoundCategory category(Object name) {
+            return (name != null) ? CompoundCategory.valueOf((String) name) : null;
+        }
+
+        private static IllegalArgumentException doesNotApply(Change change, String reason) {
+            return new IllegalArgumentException("Patch does not apply: " + change + " (" + reason + ")");
+        }
+    }
+
+    /**
+     * Parses the JSON written by <code>ChangeSet.Change.toString()</code>: objects,
+     * arrays, strings, integers, booleans and null.
+     */
+    private static final class JsonParser {
+        private final String json;
+        private int pos;
+
+        JsonParser(String json) {
+            this.json = json;
+            this.pos = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> parseLine() {
+            Object value = parseValue();
+            skipWhitespace();
+            if (!(value instanceof Map) || pos != json.length()) {
+                throw new IllegalArgumentException("expected a single object");
+            }
+            return (Map<String, Object>) value;
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw new IllegalArgumentException("unexpected end of line");
+            }
+            char c = json.charAt(pos);
+            if (c == '{') {
+                Map<String, Object> object = new Object2ObjectLinkedOpenHashMap<>();
+                pos++;
+                if (!consume('}')) {
+                    do {
+                        skipWhitespace();
+                        String name = parseString();
+                        expect(':');
+                        object.put(name, parseValue());
+                    } while (consume(','));
+                    expect('}');
+                }
+                return object;
+            } else if (c == '[') {
+                List<Object> array = new ArrayList<>();
+                pos++;
+                if (!consume(']')) {
+                    do {
+                        array.add(parseValue());
+                    } while (consume(','));
+                    expect(']');
+                }
+                return array;
+            } else if (c == '"') {
+                return parseString();
+            } else if (json.startsWith("null", pos)) {
+                pos += 4;
+                return null;
+            } else if (json.startsWith("true", pos)) {
+                pos += 4;
+                return Boolean.TRUE;
+            } else if (json.startsWith("false", pos)) {
+                pos += 5;
+                return Boolean.FALSE;
+            }
+            int start = pos;
+            if (c == '-') {
+                pos++;
+            }
+            while (pos < json.length() && Character.isDigit(json.charAt(pos))) {
+                pos++;
+            }
+            if (pos == start) {
+                throw new IllegalArgumentException("unexpected '" + c + "' at " + pos);
+            }
+            return Integer.parseInt(json.substring(start, pos));
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= json.length()) {
+                    throw new IllegalArgumentException("unterminated string");
+                }
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = json.charAt(pos++);
+                switch (escaped) {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'u':
+                        sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped);
+                }
+            }
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (pos < json.length() && json.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException("expected '" + c + "' at " + pos);
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A registry of shared <code>GermaNet</code> objects, so that independent parts
+ * of an application which load the same data use a single instance instead of
+ * one each.<br><br>
+ * <p>
+ * <code>acquire()</code> returns a <code>Lease</code> on the instance for the
+ * given data location and <code>LoadOptions</code>, loading it if it is not
+ * registered yet. Instances are identified by the canonical path of the data,
+ * a fingerprint of its content and the <code>LoadOptions</code>, so that changed
+ * data is loaded anew. The fingerprint is computed from the names, sizes and
+ * modification times of the data files (and, for an archive, the checksums of its
+ * entries) and of the frequency lists, without reading their content.<br>
+ * If several threads acquire the same instance at the same time, it is loaded
+ * only once, by the first of them, while the others wait for it. An instance is
+ * removed from the registry when its last lease is closed; if loading fails, the
+ * failure is reported to all waiting threads and the next <code>acquire()</code>
+ * tries again.<br><br>
+ * <p>
+ * <code>getDefault()</code> returns the process-wide registry.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class GermaNetRegistry {
+    private static final GermaNetRegistry DEFAULT = new GermaNetRegistry();
+
+    /**
+     * A lease on a shared <code>GermaNet</code> object. Leases must be closed when
+     * the object is no longer needed; closing a lease more than once has no
+     * effect.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final Entry entry;
+        private volatile GermaNet germaNet;
+        private final AtomicBoolean closed;
+
+        private Lease(Entry entry, GermaNet germaNet) {
+            this.entry = entry;
+            this.germaNet = germaNet;
+            this.closed = new AtomicBoolean(false);
+        }
+
+        /**
+         * Returns the shared <code>GermaNet</code> object.
+         *
+         * @return the shared <code>GermaNet</code> object
+         * @throws IllegalStateException if this lease has been closed
+         */
+        public GermaNet getGermaNet() {
+            GermaNet gnet = germaNet;
+            if (gnet == null) {
+                throw new IllegalStateException("Lease on " + entry.key.path + " has been closed");
+            }
+            return gnet;
+        }
+
+        /**
+         * Closes this lease. The shared object is removed from the registry if this
+         * was its last lease.
+         */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                germaNet = null;
+                entry.registry.release(entry);
+            }
+        }
+    }
+
+    /**
+     * Identifies a shared instance.
+     */
+    private static final class Key {
+        private final String path;
+        private final String fingerprint;
+        private final LoadOptions options;
+
+        private Key(String path, String fingerprint, LoadOptions options) {
+            this.path = path;
+            this.fingerprint = fingerprint;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            if (!path.equals(key.path)) return false;
+            if (!fingerprint.equals(key.fingerprint)) return false;
+            return options.equals(key.options);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = path.hashCode();
+            result = 31 * result + fingerprint.hashCode();
+            result = 31 * result + options.hashCode();
+            return result;
+        }
+    }
+
+    /**
+     * A shared instance and the number of its open leases (guarded by the registry).
+     */
+    private static final class Entry {
+        private final GermaNetRegistry registry;
+        private final Key key;
+        private final CompletableFuture<GermaNet> germaNet;
+        private int references;
+
+        private Entry(GermaNetRegistry registry, Key key) {
+            this.registry = registry;
+            this.key = key;
+            this.germaNet = new CompletableFuture<>();
+            this.references = 0;
+        }
+    }
+
+    private final Map<Key, Entry> entries;
+
+    /**
+     * Constructs an empty <code>GermaNetRegistry</code>. Most applications use the
+     * process-wide registry returned by <code>getDefault()</code>.
+     */
+    public GermaNetRegistry() {
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Returns the process-wide <code>GermaNetRegistry</code>.
+     *
+     * @return the process-wide registry
+     */
+    public static GermaNetRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a lease on the shared <code>GermaNet</code> object for the data
+     * files in the directory/archive File <code>source</code>, loaded with the
+     * default <code>LoadOptions</code>.
+     *
+     * @param source location of the GermaNet data files
+     * @return a lease on the shared <code>GermaNet</code> object
+     * @throws javax.xml.stream.XMLStreamException if there is a file error
+     * @throws java.io.IOException                 if there is a file error
+     */
+    public Lease acquire(File source) throws XMLStreamException, IOException {
+        return acquire(source, new LoadOptions());
+    }
+
+    /**
+     * Returns a lease on the shared <code>GermaNet</code> object for the data
+     * files in the directory/archive File <code>source</code> and the given
+     * <code>LoadOptions</code>, loading it on the calling thread if it is not
+     * registered yet, or waiting for it if another thread is loading it.<br>
+     * <code>initSemanticUtils</code> and the progress listener do not select
+     * a different instance: if <code>initSemanticUtils</code> is set, the
+     * <code>SemanticUtils</code> object of the shared instance is initialized in
+     * the common <code>ForkJoinPool</code>, and the progress listener is only called if this call loads
+     * the data.
+     *
+     * @param source  location of the GermaNet data files
+     * @param options the options for loading
+     * @return a lease on the shared <code>GermaNet</code> object
+     * @throws javax.xml.stream.XMLStreamException if there is a file error
+     * @throws java.io.IOException                 if there is a file error, or the
+     *                                             thread is interrupted while waiting
+     * @throws IllegalArgumentException            if an argument is null
+     */
+    public Lease acquire(File source, LoadOptions options) throws XMLStreamException, IOException {
+        if (source == null || options == null) {
+            throw new IllegalArgumentException("source and options must not be null");
+        }
+        LoadOptions keyOptions = new LoadOptions(options);
+        keyOptions.setInitSemanticUtils(false);
+        keyOptions.setProgressListener(null);
+        File canonical = source.getCanonicalFile();
+        Key key = new Key(canonical.getPath(), fingerprint(canonical, keyOptions), keyOptions);
+
+        Entry entry;
+        boolean load;
+        synchronized (this) {
+            entry = entries.get(key);
+            load = (entry == null);
+            if (load) {
+                entry = new Entry(this, key);
+                entries.put(key, entry);
+            }
+            entry.references++;
+        }
+
+        if (load) {
+            LoadOptions loadOptions = new LoadOptions(keyOptions);
+            loadOptions.setProgressListener(options.getProgressListener());
+            try {
+                entry.germaNet.complete(new GermaNet(canonical, loadOptions));
+            } catch (Throwable ex) {
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+                entry.germaNet.completeExceptionally(ex);
+            }
+        }
+
+        GermaNet germaNet;
+        try {
+            germaNet = entry.germaNet.get();
+        } catch (InterruptedException ex) {
+            release(entry);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for GermaNet data at " + key.path);
+        } catch (ExecutionException ex) {
+            release(entry);
+            Throwable cause = ex.getCause();
+            if (cause instanceof XMLStreamException) {
+                throw (XMLStreamException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+        if (options.isInitSemanticUtils()) {
+            germaNet.getSemanticUtilsAsync();
+        }
+        return new Lease(entry, germaNet);
+    }
+
+    /**
+     * Returns the number of registered instances (including those being loaded).
+     *
+     * @return the number of registered instances
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.references--;
+        if (entry.references == 0) {
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of the data files in <code>source</code> and of the
+     * frequency lists in <code>options</code> from their metadata.
+     */
+    private static String fingerprint(File source, LoadOptions options) throws IOException {
+        StringBuilder metadata = new StringBuilder();
+        if (source.isDirectory()) {
+            File[] files = source.listFiles();
+            if (files == null) {
+                throw new IOException("Unable to list " + source.getPath());
+            }
+            Arrays.sort(files, Comparator.comparing(File::getName));
+            for (File file : files) {
+                appendFile(metadata, file);
+            }
+        } else if (source.isFile()) {
+            appendFile(metadata, source);
+            if (GermaNet.isZipFile(source)) {
+                try (ZipFile zipFile = new ZipFile(source)) {
+                    Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+                    while (zipEntries.hasMoreElements()) {
+                        ZipEntry zipEntry = zipEntries.nextElement();
+                        metadata.append(zipEntry.getName()).append('\t')
+                                .append(zipEntry.getSize()).append('\t')
+                                .append(zipEntry.getCrc()).append('\n');
+                    }
+                }
+            }
+        } else {
+            throw new IOException("GermaNet data not found at " + source.getPath());
+        }
+        for (FrequencySource freqSource : new FrequencySource[]{options.getNounFreqSource(),
+                options.getVerbFreqSource(), options.getAdjFreqSource()}) {
+            if (freqSource != null) {
+                appendFile(metadata, freqSource.getFile().getCanonicalFile());
+            }
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(metadata.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void appendFile(StringBuilder metadata, File file) {
+        metadata.append(file.getPath()).append('\t')
+                .append(file.length()).append('\t')
+                .append(file.lastModified()).append('\n');
+    }
+}
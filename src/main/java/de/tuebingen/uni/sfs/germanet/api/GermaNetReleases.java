@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A container for several GermaNet releases loaded side by side, for instance
+ * to serve clients pinned to different releases.<br><br>
+ * <p>
+ * All releases loaded into the same container share identical data instead of
+ * storing it once per release: strings (orthographic forms, paraphrases,
+ * compound properties, ILI and Wiktionary fields), <code>Frame</code> and
+ * <code>Example</code> objects, ILI records, Wiktionary paraphrases and
+ * unchanged lists of orthographic forms, frames and examples. Relations
+ * connect the <code>Synset</code> and <code>LexUnit</code> objects of one release
+ * and therefore cannot be shared with other releases. <code>getBytesSaved()</code>
+ * estimates the memory saved compared with loading each release separately.<br><br>
+ * <p>
+ * Each release is an ordinary, immutable <code>GermaNet</code> object. Releases
+ * can be loaded and removed from several threads at once; shared data is only
+ * released when the container itself is no longer referenced.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class GermaNetReleases {
+    private final SharedDataPool pool;
+    private final Map<String, GermaNet> releases;
+
+    /**
+     * Constructs an empty <code>GermaNetReleases</code> container.
+     */
+    public GermaNetReleases() {
+        this.pool = new SharedDataPool();
+        this.releases = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Loads the GermaNet data at <code>source</code> (a directory or archive) as
+     * the release <code>release</code>, sharing identical data with the releases
+     * already loaded. The <code>ignoreCase</code> setting, the frequency lists
+     * and the progress listener of <code>options</code> apply to this release only.
+     *
+     * @param release the name of the release, for instance "R20"
+     * @param source  location of the GermaNet data files
+     * @param options the options for loading
+     * @return the loaded release
+     * @throws IllegalArgumentException            if a release with this name is
+     *                                             already loaded
+     * @throws javax.xml.stream.XMLStreamException if there is a file error
+     * @throws java.io.IOException                 if there is a file error
+     */
+    public GermaNet load(String release, File source, LoadOptions options) throws XMLStreamException, IOException {
+        if (releases.containsKey(release)) {
+            throw new IllegalArgumentException("Release " + release + " is already loaded");
+        }
+        GermaNet germaNet = new GermaNet(source, options, new LoaderData(options.getProgressListener(), pool));
+        if (releases.putIfAbsent(release, germaNet) != null) {
+            throw new IllegalArgumentException("Release " + release + " is already loaded");
+        }
+        return germaNet;
+    }
+
+    /**
+     * Loads the GermaNet data at <code>source</code> as the release
+     * <code>release</code>, with the default <code>LoadOptions</code>.
+     *
+     * @param release the name of the release, for instance "R20"
+     * @param source  location of the GermaNet data files
+     * @return the loaded release
+     * @throws IllegalArgumentException            if a release with this name is
+     *                                             already loaded
+     * @throws javax.xml.stream.XMLStreamException if there is a file error
+     * @throws java.io.IOException                 if there is a file error
+     */
+    public GermaNet load(String release, File source) throws XMLStreamException, IOException {
+        return load(release, source, new LoadOptions());
+    }
+
+    /**
+     * Returns the release with the given name, or null if it is not loaded.
+     *
+     * @param release the name of the release
+     * @return the release with the given name, or null if it is not loaded
+     */
+    public GermaNet get(String release) {
+        return releases.get(release);
+    }
+
+    /**
+     * Returns the names of all loaded releases, in alphabetical order.
+     *
+     * @return the names of all loaded releases
+     */
+    public List<String> getReleaseNames() {
+        List<String> names = new ArrayList<>(releases.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Removes the release with the given name from this container. The data it
+     * shares with other releases remains in memory.
+     *
+     * @param release the name of the release
+     * @return the removed release, or null if it was not loaded
+     */
+    public GermaNet remove(String release) {
+        return releases.remove(release);
+    }
+
+    /**
+     * Returns the number of loaded releases.
+     *
+     * @return the number of loaded releases
+     */
+    public int size() {
+        return releases.size();
+    }
+
+    /**
+     * Returns the number of objects which were loaded but replaced by an
+     * identical object of this or another release.
+     *
+     * @return the number of shared objects
+     */
+    public long getNumSharedObjects() {
+        return pool.getSharedObjects();
+    }
+
+    /**
+     * Returns an estimate of the memory, in bytes, saved by sharing identical
+     * data, compared with loading all releases separately. The estimate assumes
+     * a 64-bit JVM with compressed references and compact strings.
+     *
+     * @return an estimate of the memory saved, in bytes
+     */
+    public long getBytesSaved() {
+        return pool.getBytesSaved();
+    }
+
+    @Override
+    public String toString() {
+        return "GermaNetReleases{releases=" + getReleaseNames()
+                + ", sharedObjects=" + getNumSharedObjects()
+                + ", bytesSaved=" + getBytesSaved() + "}";
+    }
+}
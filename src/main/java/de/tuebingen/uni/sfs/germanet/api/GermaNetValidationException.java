@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.io.IOException;
+
+/**
+ * Thrown when GermaNet data is loaded with <code>GermaNetValidator.Mode.Strict</code>
+ * and the validation pass finds integrity problems. All problems are available
+ * from <code>getReport()</code>.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class GermaNetValidationException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ValidationReport report;
+
+    GermaNetValidationException(ValidationReport report) {
+        super("GermaNet data has " + report.size() + " integrity problems: " + report);
+        this.report = report;
+    }
+
+    /**
+     * Returns the problems which were found.
+     *
+     * @return the problems which were found
+     */
+    public ValidationReport getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,479 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import de.tuebingen.uni.sfs.germanet.api.ValidationReport.Problem;
+import de.tuebingen.uni.sfs.germanet.api.ValidationReport.ProblemType;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static de.tuebingen.uni.sfs.germanet.api.GermaNet.GNROOT_ID;
+
+/**
+ * Checks the integrity of loaded GermaNet data and collects all problems in a
+ * <code>ValidationReport</code>: relations to synsets or lex units which do not
+ * exist, ILI records and Wiktionary paraphrases of lex units which do not exist,
+ * hypernym cycles, synsets which are not connected to the root synset, and
+ * relations without their incoming counterpart or inverse relation.<br><br>
+ * <p>
+ * The validator can be run on a loaded <code>GermaNet</code> object, or as part
+ * of loading by setting a <code>Mode</code> with
+ * <code>LoadOptions.setValidationMode()</code>. Relations to unknown IDs in the
+ * relation file can only be found while loading, as they are never added to the
+ * data.<br><br>
+ * <p>
+ * The synsets and their lex units are split into ranges, which are checked in
+ * parallel with the ILI records, the Wiktionary paraphrases and the two hypernym
+ * graph checks. The result does not depend on the number of threads. The data is
+ * only read, so a <code>GermaNet</code> object can be used by other threads at
+ * the same time.<br><br>
+ * <p>
+ * Default values:<br>
+ * numThreads: the number of available processors<br>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class GermaNetValidator {
+
+    /**
+     * How the data is validated when it is loaded.
+     */
+    public enum Mode {
+        /**
+         * The data is not validated. A relation to an unknown ID in the relation
+         * file fails loading with an <code>XMLStreamException</code>.
+         */
+        Off,
+        /**
+         * Relations to unknown IDs are skipped and the data is validated. If any
+         * problem is found, loading fails with a
+         * <code>GermaNetValidationException</code>.
+         */
+        Strict,
+        /**
+         * Relations to unknown IDs are skipped and the data is validated. The
+         * problems are available from <code>GermaNet.getValidationReport()</code>.
+         */
+        Lenient
+    }
+
+    private static final int CHUNK_SIZE = 2048;
+    // the graph checks run as the first two tasks
+    private static final int NUM_GRAPH_TASKS = 2;
+
+    // relations for which the data has to contain the inverse relation as well
+    private static final Map<ConRel, ConRel> conRelInverses = new EnumMap<>(ConRel.class);
+    private static final Map<LexRel, LexRel> lexRelInverses = new EnumMap<>(LexRel.class);
+
+    static {
+        addInverses(conRelInverses, ConRel.has_hypernym, ConRel.has_hyponym);
+        addInverses(conRelInverses, ConRel.has_component_meronym, ConRel.has_component_holonym);
+        addInverses(conRelInverses, ConRel.has_member_meronym, ConRel.has_member_holonym);
+        addInverses(conRelInverses, ConRel.has_substance_meronym, ConRel.has_substance_holonym);
+        addInverses(conRelInverses, ConRel.has_portion_meronym, ConRel.has_portion_holonym);
+        addInverses(conRelInverses, ConRel.entails, ConRel.is_entailed_by);
+        addInverses(conRelInverses, ConRel.is_related_to, ConRel.is_related_to);
+        addInverses(lexRelInverses, LexRel.has_antonym, LexRel.has_antonym);
+    }
+
+    private int numThreads;
+
+    /**
+     * Constructs a <code>GermaNetValidator</code> with the default values.
+     */
+    public GermaNetValidator() {
+        this.numThreads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the number of threads used to validate the data.
+     *
+     * @return the number of threads
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Set the number of threads used to validate the data.
+     *
+     * @param numThreads the number of threads (at least 1)
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be at least 1: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Returns the integrity problems of <code>germaNet</code>.
+     *
+     * @param germaNet the data to validate
+     * @return the integrity problems of <code>germaNet</code>
+     */
+    public ValidationReport validate(GermaNet germaNet) {
+        return validate(germaNet.getSynsets(), germaNet::getSynsetByID, germaNet::getLexUnitByID,
+                germaNet.getIliRecords(), germaNet.getWiktionaryParaphrases(), Collections.<Problem>emptyList());
+    }
+
+    /**
+     * Returns the integrity problems of the loaded data, including the relations
+     * to unknown IDs which were skipped by the <code>RelationLoader</code>.
+     *
+     * @param loaderData the loaded data
+     * @return the integrity problems of the loaded data
+     */
+    ValidationReport validate(LoaderData loaderData) {
+        List<IliRecord> iliRecords = loaderData.getIliRecords();
+        List<WiktionaryParaphrase> wiktionaryParaphrases = loaderData.getWiktionaryParaphrases();
+        List<Problem> danglingRelations = loaderData.getDanglingRelations();
+        return validate(loaderData.getSynsets(), loaderData.getSynsetIdMap()::get,
+                loaderData.getLexUnitIdMap()::get,
+                (iliRecords != null) ? iliRecords : Collections.<IliRecord>emptyList(),
+                (wiktionaryParaphrases != null) ? wiktionaryParaphrases : Collections.<WiktionaryParaphrase>emptyList(),
+                (danglingRelations != null) ? danglingRelations : Collections.<Problem>emptyList());
+    }
+
+    private ValidationReport validate(List<Synset> synsets, IntFunction<Synset> synsetById,
+                                      IntFunction<LexUnit> lexUnitById, List<IliRecord> iliRecords,
+                                      List<WiktionaryParaphrase> wiktionaryParaphrases, List<Problem> loadProblems) {
+        int numSynsetChunks = (synsets.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numIliChunks = (iliRecords.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = NUM_GRAPH_TASKS + numSynsetChunks + numIliChunks
+                + (wiktionaryParaphrases.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<List<Problem>> results = new ArrayList<>(Collections.<List<Problem>>nCopies(numTasks, null));
+
+        AtomicInteger nextTask = new AtomicInteger();
+        Runnable worker = () -> {
+            int task;
+            while ((task = nextTask.getAndIncrement()) < numTasks) {
+                List<Problem> problems = new ArrayList<>();
+                int chunk = task - NUM_GRAPH_TASKS;
+                if (task == 0) {
+                    findHypernymCycles(synsets, problems);
+                } else if (task == 1) {
+                    findUnreachableSynsets(synsets, synsetById, problems);
+                } else if (chunk < numSynsetChunks) {
+                    int end = Math.min((chunk + 1) * CHUNK_SIZE, synsets.size());
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        checkSynset(synsets.get(i), synsetById, lexUnitById, problems);
+                    }
+                } else if (chunk < numSynsetChunks + numIliChunks) {
+                    chunk -= numSynsetChunks;
+                    int end = Math.min((chunk + 1) * CHUNK_SIZE, iliRecords.size());
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        IliRecord iliRecord = iliRecords.get(i);
+                        if (lexUnitById.apply(iliRecord.getLexUnitId()) == null) {
+                            problems.add(new Problem(ProblemType.OrphanIliRecord, iliRecord.getLexUnitId(),
+                                    iliRecord.getEwnRelation().name() + " " + iliRecord.getPwn30Id()));
+                        }
+                    }
+                } else {
+                    chunk -= numSynsetChunks + numIliChunks;
+                    int end = Math.min((chunk + 1) * CHUNK_SIZE, wiktionaryParaphrases.size());
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        WiktionaryParaphrase paraphrase = wiktionaryParaphrases.get(i);
+                        if (lexUnitById.apply(paraphrase.getLexUnitId()) == null) {
+                            problems.add(new Problem(ProblemType.OrphanWiktionaryParaphrase,
+                                    paraphrase.getLexUnitId(),
+                                    paraphrase.getWiktionaryId() + " " + paraphrase.getWiktionarySenseId()));
+                        }
+                    }
+                }
+                synchronized (results) {
+                    results.set(task, problems);
+                }
+            }
+        };
+
+        int threads = Math.min(numThreads, numTasks);
+        if (threads == 1) {
+            worker.run();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                Future<?>[] futures = new Future<?>[threads];
+                for (int i = 0; i < threads; i++) {
+                    futures[i] = executor.submit(worker);
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while validating GermaNet data", ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<Problem> problems = new ArrayList<>(loadProblems);
+        synchronized (results) {
+            for (List<Problem> result : results) {
+                problems.addAll(result);
+            }
+        }
+        Collections.sort(problems);
+
+        // a relation can be reported from both of its ends
+        List<Problem> rval = new ArrayList<>(problems.size());
+        for (Problem problem : problems) {
+            if (rval.isEmpty() || !rval.get(rval.size() - 1).equals(problem)) {
+                rval.add(problem);
+            }
+        }
+        return new ValidationReport(rval);
+    }
+
+    private static void checkSynset(Synset synset, IntFunction<Synset> synsetById,
+                                    IntFunction<LexUnit> lexUnitById, List<Problem> problems) {
+        int id = synset.getId();
+        for (ConRel rel : ConRel.values()) {
+            ConRel inverse = conRelInverses.get(rel);
+            for (Synset target : synset.getRelatedSynsets(rel, RelDirection.outgoing)) {
+                String key = rel.name() + " " + target.getId();
+                if (synsetById.apply(target.getId()) != target) {
+                    problems.add(new Problem(ProblemType.DanglingConRel, id, key));
+                } else if (!target.hasRelation(rel, synset, RelDirection.incoming)
+                        || (inverse != null && !target.hasRelation(inverse, synset, RelDirection.outgoing))) {
+                    problems.add(new Problem(ProblemType.AsymmetricConRel, id, key));
+                }
+            }
+            for (Synset source : synset.getRelatedSynsets(rel, RelDirection.incoming)) {
+                String key = rel.name() + " " + id;
+                if (synsetById.apply(source.getId()) != source) {
+                    problems.add(new Problem(ProblemType.DanglingConRel, source.getId(), key));
+                } else if (!source.hasRelation(rel, synset, RelDirection.outgoing)) {
+                    problems.add(new Problem(ProblemType.AsymmetricConRel, source.getId(), key));
+                }
+            }
+        }
+
+        for (LexUnit lexUnit : synset.getLexUnits()) {
+            int lexUnitId = lexUnit.getId();
+            for (LexRel rel : LexRel.values()) {
+                // synonyms are derived from synset membership
+                if (rel == LexRel.has_synonym) {
+                    continue;
+                }
+                LexRel inverse = lexRelInverses.get(rel);
+                for (LexUnit target : lexUnit.getRelatedLexUnits(rel, RelDirection.outgoing)) {
+                    String key = rel.name() + " " + target.getId();
+                    if (!isLoaded(target, synsetById, lexUnitById)) {
+                        problems.add(new Problem(ProblemType.DanglingLexRel, lexUnitId, key));
+                    } else if (!target.hasRelation(rel, lexUnit, RelDirection.incoming)
+                            || (inverse != null && !target.hasRelation(inverse, lexUnit, RelDirection.outgoing))) {
+                        problems.add(new Problem(ProblemType.AsymmetricLexRel, lexUnitId, key));
+                    }
+                }
+                for (LexUnit source : lexUnit.getRelatedLexUnits(rel, RelDirection.incoming)) {
+                    String key = rel.name() + " " + lexUnitId;
+                    if (!isLoaded(source, synsetById, lexUnitById)) {
+                        problems.add(new Problem(ProblemType.DanglingLexRel, source.getId(), key));
+                    } else if (!source.hasRelation(rel, lexUnit, RelDirection.outgoing)) {
+                        problems.add(new Problem(ProblemType.AsymmetricLexRel, source.getId(), key));
+                    }
+                }
+            }
+        }
+    }
+
+    // the lex unit of the root synset is not in the lex unit ID map
+    private static boolean isLoaded(LexUnit lexUnit, IntFunction<Synset> synsetById,
+                                    IntFunction<LexUnit> lexUnitById) {
+        if (lexUnitById.apply(lexUnit.getId()) == lexUnit) {
+            return true;
+        }
+        Synset synset = lexUnit.getSynset();
+        return synset.getId() == GNROOT_ID && synsetById.apply(GNROOT_ID) == synset;
+    }
+
+    /**
+     * Finds the synsets from which the root synset cannot be reached by following
+     * hypernym relations.
+     */
+    private static void findUnreachableSynsets(List<Synset> synsets, IntFunction<Synset> synsetById,
+                                               List<Problem> problems) {
+        IntSet reached = new IntOpenHashSet(synsets.size());
+        Synset root = synsetById.apply(GNROOT_ID);
+        if (root != null) {
+            List<Synset> queue = new ArrayList<>();
+            queue.add(root);
+            reached.add(GNROOT_ID);
+            for (int i = 0; i < queue.size(); i++) {
+                for (Synset hyponym : queue.get(i).getRelatedSynsets(ConRel.has_hypernym, RelDirection.incoming)) {
+                    if (reached.add(hyponym.getId())) {
+                        queue.add(hyponym);
+                    }
+                }
+            }
+        }
+        for (Synset synset : synsets) {
+            if (!reached.contains(synset.getId())) {
+                problems.add(new Problem(ProblemType.UnreachableSynset, synset.getId(), null));
+            }
+        }
+    }
+
+    /**
+     * Finds all cycles of hypernym relations. Synsets which cannot be on a cycle
+     * (those without hypernyms or hyponyms, after repeatedly removing such
+     * synsets) are removed first, and the strongly connected components of the
+     * remaining synsets are found with an iterative version of Tarjan's
+     * algorithm.
+     */
+    private static void findHypernymCycles(List<Synset> synsets, List<Problem> problems) {
+        int numSynsets = synsets.size();
+        Int2IntOpenHashMap nodes = new Int2IntOpenHashMap(numSynsets);
+        nodes.defaultReturnValue(-1);
+        for (int i = 0; i < numSynsets; i++) {
+            nodes.put(synsets.get(i).getId(), i);
+        }
+        int[][] hypernyms = new int[numSynsets][];
+        int[] numHyponyms = new int[numSynsets];
+        for (int i = 0; i < numSynsets; i++) {
+            IntArrayList targets = new IntArrayList();
+            for (Synset hypernym : synsets.get(i).getRelatedSynsets(ConRel.has_hypernym, RelDirection.outgoing)) {
+                int node = nodes.get(hypernym.getId());
+                if (node >= 0) {
+                    targets.add(node);
+                    numHyponyms[node]++;
+                }
+            }
+            hypernyms[i] = targets.toIntArray();
+        }
+
+        // remove synsets without hyponyms until none are left; a synset on a
+        // cycle always keeps the hyponym which precedes it on the cycle
+        boolean[] removed = new boolean[numSynsets];
+        IntArrayList queue = new IntArrayList();
+        for (int i = 0; i < numSynsets; i++) {
+            if (numHyponyms[i] == 0) {
+                queue.add(i);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.popInt();
+            removed[node] = true;
+            for (int hypernym : hypernyms[node]) {
+                if (--numHyponyms[hypernym] == 0) {
+                    queue.add(hypernym);
+                }
+            }
+        }
+
+        int[] order = new int[numSynsets];
+        int[] lowLink = new int[numSynsets];
+        int[] nextEdge = new int[numSynsets];
+        boolean[] onStack = new boolean[numSynsets];
+        Arrays.fill(order, -1);
+        IntArrayList stack = new IntArrayList();
+        IntArrayList callStack = new IntArrayList();
+        int counter = 0;
+        for (int start = 0; start < numSynsets; start++) {
+            if (removed[start] || order[start] >= 0) {
+                continue;
+            }
+            order[start] = lowLink[start] = counter++;
+            stack.add(start);
+            onStack[start] = true;
+            callStack.add(start);
+            while (!callStack.isEmpty()) {
+                int node = callStack.topInt();
+                if (nextEdge[node] < hypernyms[node].length) {
+                    int hypernym = hypernyms[node][nextEdge[node]++];
+                    if (removed[hypernym]) {
+                        continue;
+                    }
+                    if (order[hypernym] < 0) {
+                        order[hypernym] = lowLink[hypernym] = counter++;
+                        stack.add(hypernym);
+                        onStack[hypernym] = true;
+                        callStack.add(hypernym);
+                    } else if (onStack[hypernym]) {
+                        lowLink[node] = Math.min(lowLink[node], order[hypernym]);
+                    }
+                    continue;
+                }
+                callStack.popInt();
+                if (!callStack.isEmpty()) {
+                    int caller = callStack.topInt();
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+                }
+                if (lowLink[node] == order[node]) {
+                    IntArrayList component = new IntArrayList();
+                    int member;
+                    do {
+                        member = stack.popInt();
+                        onStack[member] = false;
+                        component.add(synsets.get(member).getId());
+                    } while (member != node);
+                    if (component.size() > 1 || hasSelfLoop(hypernyms[node], node)) {
+                        component.sort(null);
+                        StringBuilder key = new StringBuilder();
+                        for (int i = 0; i < component.size(); i++) {
+                            if (i > 0) {
+                                key.append(' ');
+                            }
+                            key.append(component.getInt(i));
+                        }
+                        problems.add(new Problem(ProblemType.HypernymCycle, component.getInt(0), key.toString()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean hasSelfLoop(int[] hypernyms, int node) {
+        for (int hypernym : hypernyms) {
+            if (hypernym == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <R extends Enum<R>> void addInverses(Map<R, R> inverses, R rel, R inverse) {
+        inverses.put(rel, inverse);
+        inverses.put(inverse, rel);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes a <code>SynsetGraph</code> (or <code>SynsetSubgraph</code>) to an
+ * <code>OutputStream</code> as UTF-8 text, in one of the following formats:<br>
+ * <code>Dot</code>: a GraphViz digraph, with relation names as edge labels<br>
+ * <code>GraphML</code>: a GraphML document with node and edge attributes<br>
+ * <code>EdgeList</code>: a tab-separated edge list with a header line
+ * (source, target, relation, source label, target label)<br><br>
+ * <p>
+ * Nodes and edges are written one at a time while iterating over the graph,
+ * so memory use does not depend on the size of the graph. Nodes are identified
+ * by synset ID and labelled according to the <code>NodeLabel</code>
+ * setting.<br><br>
+ * <p>
+ * Default values:<br>
+ * nodeLabel: FirstOrthForm<br>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class GraphExporter {
+
+    /**
+     * Output formats.
+     */
+    public enum Format {
+        Dot,
+        GraphML,
+        EdgeList
+    }
+
+    /**
+     * How nodes are labelled.
+     */
+    public enum NodeLabel {
+        /**
+         * The alphabetically first orthographic form of the <code>Synset</code>.
+         */
+        FirstOrthForm,
+        /**
+         * All orthographic forms of the <code>Synset</code>, separated by ", ".
+         */
+        AllOrthForms,
+        /**
+         * The synset ID.
+         */
+        Id
+    }
+
+    private final SynsetGraph graph;
+    private NodeLabel nodeLabel;
+
+    /**
+     * Constructs a <code>GraphExporter</code> for <code>graph</code> with the
+     * default values.
+     *
+     * @param graph the graph to export
+     */
+    public GraphExporter(SynsetGraph graph) {
+        this.graph = graph;
+        this.nodeLabel = NodeLabel.FirstOrthForm;
+    }
+
+    /**
+     * Returns how nodes are labelled.
+     *
+     * @return how nodes are labelled
+     */
+    public NodeLabel getNodeLabel() {
+        return nodeLabel;
+    }
+
+    /**
+     * Set how nodes are labelled.
+     *
+     * @param nodeLabel how nodes are labelled
+     */
+    public void setNodeLabel(NodeLabel nodeLabel) {
+        this.nodeLabel = nodeLabel;
+    }
+
+    /**
+     * Writes the graph to <code>out</code> in the given format. <code>out</code>
+     * is flushed, but not closed.
+     *
+     * @param out    the stream to write to
+     * @param format the output format
+     * @throws IOException if an I/O error occurs
+     */
+    public void export(OutputStream out, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        switch (format) {
+            case Dot:
+                writeDot(writer);
+                break;
+            case GraphML:
+                writeGraphML(writer);
+                break;
+            case EdgeList:
+                writeEdgeList(writer);
+                break;
+        }
+        writer.flush();
+    }
+
+    private void writeDot(Writer out) throws IOException {
+        out.write("digraph G {\n");
+        out.write("node [fontname=Helvetica,fontsize=10];\n");
+        for (int node = 0; node < graph.numNodes(); node++) {
+            out.write(Integer.toString(graph.getSynsetId(node)));
+            out.write(" [label=\"");
+            writeEscapedDot(out, getLabel(node));
+            out.write("\"];\n");
+        }
+        for (int node = 0; node < graph.numNodes(); node++) {
+            String source = Integer.toString(graph.getSynsetId(node));
+            for (int edge = graph.getEdgeOffset(node); edge < graph.getEdgeOffset(node + 1); edge++) {
+                out.write(source);
+                out.write(" -> ");
+                out.write(Integer.toString(graph.getSynsetId(graph.getEdgeTarget(edge))));
+                out.write(" [label=\"");
+                out.write(graph.getRelationName(edge));
+                out.write("\"];\n");
+            }
+        }
+        out.write("}\n");
+    }
+
+    private void writeGraphML(Writer out) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        out.write("  <key id=\"label\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>\n");
+        out.write("  <key id=\"category\" for=\"node\" attr.name=\"category\" attr.type=\"string\"/>\n");
+        out.write("  <key id=\"class\" for=\"node\" attr.name=\"class\" attr.type=\"string\"/>\n");
+        out.write("  <key id=\"relation\" for=\"edge\" attr.name=\"relation\" attr.type=\"string\"/>\n");
+        out.write("  <graph id=\"G\" edgedefault=\"directed\">\n");
+        for (int node = 0; node < graph.numNodes(); node++) {
+            Synset synset = graph.getSynset(node);
+            out.write("    <node id=\"n");
+            out.write(Integer.toString(synset.getId()));
+            out.write("\"><data key=\"label\">");
+            writeEscapedXml(out, getLabel(node));
+            out.write("</data><data key=\"category\">");
+            out.write(synset.getWordCategory().name());
+            out.write("</data><data key=\"class\">");
+            out.write(synset.getWordClass().name());
+            out.write("</data></node>\n");
+        }
+        for (int node = 0; node < graph.numNodes(); node++) {
+            String source = Integer.toString(graph.getSynsetId(node));
+            for (int edge = graph.getEdgeOffset(node); edge < graph.getEdgeOffset(node + 1); edge++) {
+                out.write("    <edge source=\"n");
+                out.write(source);
+                out.write("\" target=\"n");
+                out.write(Integer.toString(graph.getSynsetId(graph.getEdgeTarget(edge))));
+                out.write("\"><data key=\"relation\">");
+                out.write(graph.getRelationName(edge));
+                out.write("</data></edge>\n");
+            }
+        }
+        out.write("  </graph>\n");
+        out.write("</graphml>\n");
+    }
+
+    private void writeEdgeList(Writer out) throws IOException {
+        out.write("source\ttarget\trelation\tsource_label\ttarget_label\n");
+        for (int node = 0; node < graph.numNodes(); node++) {
+            String source = Integer.toString(graph.getSynsetId(node));
+            String sourceLabel = getLabel(node);
+            for (int edge = graph.getEdgeOffset(node); edge < graph.getEdgeOffset(node + 1); edge++) {
+                int target = graph.getEdgeTarget(edge);
+                out.write(source);
+                out.write('\t');
+                out.write(Integer.toString(graph.getSynsetId(target)));
+                out.write('\t');
+                out.write(graph.getRelationName(edge));
+                out.write('\t');
+                writeEscapedTsv(out, sourceLabel);
+                out.write('\t');
+                writeEscapedTsv(out, getLabel(target));
+                out.write('\n');
+            }
+        }
+    }
+
+    private String getLabel(int node) {
+        if (nodeLabel == NodeLabel.Id) {
+            return Integer.toString(graph.getSynsetId(node));
+        }
+        List<String> orthForms = graph.getSynset(node).getAllOrthForms();
+        if (orthForms.isEmpty()) {
+            return Integer.toString(graph.getSynsetId(node));
+        }
+        return (nodeLabel == NodeLabel.FirstOrthForm) ? orthForms.get(0) : String.join(", ", orthForms);
+    }
+
+    private static void writeEscapedDot(Writer out, String str) throws IOException {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+            }
+            out.write(c);
+        }
+    }
+
+    private static void writeEscapedXml(Writer out, String str) throws IOException {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '&':
+                    out.write("&amp;");
+                    break;
+                case '<':
+                    out.write("&lt;");
+                    break;
+                case '>':
+                    out.write("&gt;");
+                    break;
+                case '"':
+                    out.write("&quot;");
+                    break;
+                default:
+                    out.write(c);
+            }
+        }
+    }
+
+    private static void writeEscapedTsv(Writer out, String str) throws IOException {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            out.write((c == '\t' || c == '\n' || c == '\r') ? ' ' : c);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.ints.Int2DoubleMap;
+
+/**
+ * The Information Content (IC) of every <code>Synset</code>, computed from one set of
+ * noun, verb and adjective frequency lists, together with the normalization values of
+ * the IC based measures (Resnik, Lin and JiangAndConrath) for each
+ * <code>WordCategory</code>.<br><br>
+ * <p>
+ * A <code>SemanticUtils</code> object can hold several named profiles, e.g. for
+ * different domains, which share all path based information. Profiles are immutable,
+ * and can be passed to the similarity methods of <code>SemanticUtils</code> from
+ * any number of threads.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class ICProfile {
+    private final String name;
+    private final Int2DoubleMap[] catICMaps;
+    private final double[][] normalizationMax;
+
+    /**
+     * Constructs a profile.
+     *
+     * @param name the name of the profile
+     * @param catICMaps the IC of each synset, indexed by <code>WordCategory.ordinal()</code>
+     * @param normalizationMax the maximal raw value of each measure, indexed by
+     *                         <code>WordCategory.ordinal()</code> and <code>SemRelMeasure.ordinal()</code>
+     */
+    ICProfile(String name, Int2DoubleMap[] catICMaps, double[][] normalizationMax) {
+        this.name = name;
+        this.catICMaps = catICMaps;
+        this.normalizationMax = normalizationMax;
+    }
+
+    /**
+     * Returns the name of this profile.
+     *
+     * @return the name of this profile
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the Information Content of <code>synset</code>.
+     *
+     * @param synset the synset
+     * @return the Information Content of <code>synset</code>, or <code>Double.NaN</code>
+     * if it is null or unknown
+     */
+    public double getIC(Synset synset) {
+        if (synset == null) {
+            return Double.NaN;
+        }
+        return catICMaps[synset.getWordCategory().ordinal()].getOrDefault(synset.getId(), Double.NaN);
+    }
+
+    /**
+     * Returns the highest Information Content of any synset in <code>wordCategory</code>.
+     *
+     * @param wordCategory the WordCategory
+     * @return the highest Information Content in <code>wordCategory</code>
+     */
+    public double getMaxIC(WordCategory wordCategory) {
+        return normalizationMax[wordCategory.ordinal()][SemRelMeasure.Resnik.ordinal()];
+    }
+
+    /**
+     * Returns the IC of each synset in <code>wordCategory</code> (and ROOT).
+     */
+    Int2DoubleMap getICMap(WordCategory wordCategory) {
+        return catICMaps[wordCategory.ordinal()];
+    }
+
+    /**
+     * Returns the maximal raw value of an IC measure in <code>wordCategory</code>.
+     */
+    double getNormalizationMax(WordCategory wordCategory, SemRelMeasure semRelMeasure) {
+        return normalizationMax[wordCategory.ordinal()][semRelMeasure.ordinal()];
+    }
+
+    /**
+     * Normalizes the raw value of an IC measure to the range [0, normalizedMax]. The
+     * minimal raw value of all IC measures is 0.
+     */
+    double normalize(WordCategory wordCategory, SemRelMeasure semRelMeasure, double rawValue, int normalizedMax) {
+        double minVal = 0.0;
+        double maxVal = normalizationMax[wordCategory.ordinal()][semRelMeasure.ordinal()];
+
+        return ((rawValue - minVal) / (maxVal - minVal)) * normalizedMax;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
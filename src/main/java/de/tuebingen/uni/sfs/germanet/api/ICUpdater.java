@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntHeapPriorityQueue;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps an <code>ICProfile</code> up to date with a growing corpus. The updater holds
+ * the frequency of each orthForm, and the individual and cumulative frequencies of each
+ * <code>Synset</code>, as primitive counts. Counts are added in batches with
+ * <code>addCount</code> or <code>addCounts</code>; <code>publish</code> then propagates
+ * all changes of the batch up the hypernym graph and registers a new, immutable
+ * snapshot of the profile with <code>SemanticUtils</code>.<br><br>
+ * <p>
+ * Changes which meet at a common hypernym are merged before they are passed on, so
+ * every affected synset is updated once per batch, and only the hypernyms of changed
+ * synsets are visited. The counts are always identical to a full computation from the
+ * summed up frequency lists; as there, a hyponym reachable over several paths
+ * contributes once per path.<br><br>
+ * <p>
+ * Readers are never blocked: they keep using the snapshot they obtained from
+ * <code>SemanticUtils.getICProfile(String)</code> (or <code>getICProfile()</code>)
+ * while a new one is computed. The methods of the updater itself are synchronized.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class ICUpdater {
+    private static final WordCategory[] WORD_CATEGORIES = WordCategory.values();
+
+    private final SemanticUtils semanticUtils;
+    private final String name;
+
+    // post-order of the descendant index, and the position of each dense id in it
+    private final int[] postOrder;
+    private final int[] postPosition;
+    private final int rootNode;
+    private final int[] nodeCategories;
+
+    // hypernym edges along which cumulative frequencies are passed on
+    private final int[] parentOffsets;
+    private final int[] parents;
+
+    // per word category: the dense ids of the synsets of each orthForm, and its frequency
+    private final Object2ObjectMap<String, int[]>[] formNodes;
+    private final Object2LongMap<String>[] formFreqs;
+
+    private final long[] cumulativeFreqs;
+    private final long[] rootCumulativeFreqs;
+
+    // changes of individual frequencies not yet propagated
+    private final long[] pendingDeltas;
+    private final boolean[] queued;
+    private final IntHeapPriorityQueue queue;
+
+    private volatile ICProfile icProfile;
+
+    /**
+     * Constructs an updater which starts from the given orthForm frequencies and
+     * publishes the initial profile.
+     *
+     * @param semanticUtils the <code>SemanticUtils</code> to register the profiles with
+     * @param name the name of the profile
+     * @param catSynsetMap the synsets of each word category
+     * @param descendantIndex the hyponym graph
+     * @param formFreqMaps the initial frequencies of the orthForms of each word category
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ICUpdater(SemanticUtils semanticUtils, String name, Map<WordCategory, Set<Synset>> catSynsetMap,
+              DescendantIndex descendantIndex, Object2ObjectMap<WordCategory, Object2LongMap<String>> formFreqMaps) {
+        this.semanticUtils = semanticUtils;
+        this.name = name;
+
+        SynsetIdIndex index = descendantIndex.getIndex();
+        int numNodes = index.size();
+        this.postOrder = descendantIndex.getPostOrder();
+        this.postPosition = new int[numNodes];
+        for (int pos = 0; pos < numNodes; pos++) {
+            postPosition[postOrder[pos]] = pos;
+        }
+        this.rootNode = index.getDenseId(GermaNet.GNROOT_ID);
+        this.nodeCategories = new int[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            nodeCategories[node] = descendantIndex.getSynset(node).getWordCategory().ordinal();
+        }
+
+        // reverse the hyponym edges; an edge from a hypernym which precedes the hyponym in
+        // post-order closes a cycle and does not contribute to cumulative frequencies
+        int[] children = descendantIndex.getChildren();
+        int[] parentCounts = new int[numNodes + 1];
+        for (int node = 0; node < numNodes; node++) {
+            for (int i = descendantIndex.getChildOffset(node); i < descendantIndex.getChildOffset(node + 1); i++) {
+                if (isPropagated(node, children[i])) {
+                    parentCounts[children[i] + 1]++;
+                }
+            }
+        }
+        this.parentOffsets = new int[numNodes + 1];
+        for (int node = 0; node < numNodes; node++) {
+            parentOffsets[node + 1] = parentOffsets[node] + parentCounts[node + 1];
+        }
+        this.parents = new int[parentOffsets[numNodes]];
+        int[] fill = new int[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            for (int i = descendantIndex.getChildOffset(node); i < descendantIndex.getChildOffset(node + 1); i++) {
+                int child = children[i];
+                if (isPropagated(node, child)) {
+                    parents[parentOffsets[child] + fill[child]++] = node;
+                }
+            }
+        }
+
+        this.formNodes = new Object2ObjectMap[WORD_CATEGORIES.length];
+        this.formFreqs = new Object2LongMap[WORD_CATEGORIES.length];
+        this.cumulativeFreqs = new long[numNodes];
+        this.rootCumulativeFreqs = new long[WORD_CATEGORIES.length];
+        this.pendingDeltas = new long[numNodes];
+        this.queued = new boolean[numNodes];
+        this.queue = new IntHeapPriorityQueue();
+
+        // every synset starts with an individual frequency of 1, and ROOT with a
+        // cumulative frequency of 1 in each word category
+        Arrays.fill(rootCumulativeFreqs, 1L);
+        for (WordCategory wordCategory : WORD_CATEGORIES) {
+            int cat = wordCategory.ordinal();
+            Object2ObjectMap<String, IntArrayList> nodeLists = new Object2ObjectOpenHashMap<>();
+            for (Synset synset : catSynsetMap.get(wordCategory)) {
+                int node = index.getDenseId(synset.getId());
+                if (node == rootNode) {
+                    continue;
+                }
+                addDelta(node, 1L);
+                for (String orthForm : synset.getAllOrthForms()) {
+                    nodeLists.computeIfAbsent(orthForm, k -> new IntArrayList(1)).add(node);
+                }
+            }
+            formNodes[cat] = new Object2ObjectOpenHashMap<>(nodeLists.size());
+            for (Object2ObjectMap.Entry<String, IntArrayList> entry : nodeLists.object2ObjectEntrySet()) {
+                formNodes[cat].put(entry.getKey(), entry.getValue().toIntArray());
+            }
+            formFreqs[cat] = new Object2LongOpenHashMap<>();
+            Object2LongMap<String> initialFreqs = (formFreqMaps != null) ? formFreqMaps.get(wordCategory) : null;
+            if (initialFreqs != null) {
+                for (Object2LongMap.Entry<String> entry : initialFreqs.object2LongEntrySet()) {
+                    addCount(wordCategory, entry.getKey(), entry.getLongValue());
+                }
+            }
+        }
+        publish();
+    }
+
+    private boolean isPropagated(int parent, int child) {
+        return parent == rootNode || postPosition[parent] > postPosition[child];
+    }
+
+    /**
+     * Returns the name of the profile.
+     *
+     * @return the name of the profile
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the most recently published profile.
+     *
+     * @return the most recently published profile
+     */
+    public ICProfile getICProfile() {
+        return icProfile;
+    }
+
+    /**
+     * Returns the current frequency of an orthForm, including changes which have not
+     * been published yet.
+     *
+     * @param wordCategory the WordCategory of the frequency list
+     * @param orthForm the orthForm
+     * @return the frequency of <code>orthForm</code>, 0 if it has none or does not
+     * occur in <code>wordCategory</code>
+     */
+    public synchronized long getCount(WordCategory wordCategory, String orthForm) {
+        return formFreqs[wordCategory.ordinal()].getLong(orthForm);
+    }
+
+    /**
+     * Adds <code>delta</code> (which may be negative) to the frequency of an orthForm.
+     * OrthForms which do not occur in <code>wordCategory</code> are ignored. As in the
+     * frequency lists, only positive frequencies count.
+     *
+     * @param wordCategory the WordCategory of the frequency list
+     * @param orthForm the orthForm
+     * @param delta the change of the frequency
+     */
+    public synchronized void addCount(WordCategory wordCategory, String orthForm, long delta) {
+        int cat = wordCategory.ordinal();
+        int[] nodes = formNodes[cat].get(orthForm);
+        if (nodes == null || delta == 0) {
+            return;
+        }
+        Object2LongMap<String> freqs = formFreqs[cat];
+        long oldFreq = freqs.getLong(orthForm);
+        long newFreq = oldFreq + delta;
+        freqs.put(orthForm, newFreq);
+        long change = Math.max(newFreq, 0L) - Math.max(oldFreq, 0L);
+        if (change != 0) {
+            for (int node : nodes) {
+                addDelta(node, change);
+            }
+        }
+    }
+
+    /**
+     * Adds a batch of frequency changes. See <code>addCount</code>.
+     *
+     * @param wordCategory the WordCategory of the frequency list
+     * @param deltas the change of the frequency of each orthForm
+     */
+    public synchronized void addCounts(WordCategory wordCategory, Object2LongMap<String> deltas) {
+        for (Object2LongMap.Entry<String> entry : deltas.object2LongEntrySet()) {
+            addCount(wordCategory, entry.getKey(), entry.getLongValue());
+        }
+    }
+
+    /**
+     * Propagates all changes since the last call up the hypernym graph, computes a new
+     * snapshot of the profile and registers it with <code>SemanticUtils</code> under the
+     * name of this updater, replacing the previous snapshot.
+     *
+     * @return the new snapshot
+     */
+    public synchronized ICProfile publish() {
+        propagate();
+        ICProfile profile = semanticUtils.initICProfile(name, cumulativeFreqs, rootCumulativeFreqs);
+        semanticUtils.registerICProfile(profile);
+        icProfile = profile;
+        return profile;
+    }
+
+    private void addDelta(int node, long delta) {
+        pendingDeltas[node] += delta;
+        if (!queued[node]) {
+            queued[node] = true;
+            queue.enqueue(postPosition[node]);
+        }
+    }
+
+    /**
+     * Applies the pending changes in post-order, so all changes reaching a synset
+     * are summed up before the synset passes them on to its hypernyms.
+     */
+    private void propagate() {
+        while (!queue.isEmpty()) {
+            int node = postOrder[queue.dequeueInt()];
+            queued[node] = false;
+            long delta = pendingDeltas[node];
+            pendingDeltas[node] = 0L;
+            if (delta == 0L) {
+                continue;
+            }
+            cumulativeFreqs[node] += delta;
+            for (int i = parentOffsets[node]; i < parentOffsets[node + 1]; i++) {
+                int parent = parents[i];
+                if (parent == rootNode) {
+                    // ROOT counts the hyponyms of each word category separately
+                    rootCumulativeFreqs[nodeCategories[node]] += delta;
+                } else {
+                    addDelta(parent, delta);
+                }
+            }
+        }
+    }
+}
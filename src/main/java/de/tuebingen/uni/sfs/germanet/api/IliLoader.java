@@ -66,6 +66,7 @@ class IliLoader {
         String nodeName;
         int iliCnt = 0;
         List<IliRecord> iliRecords = new ObjectArrayList<>();
+        SharedDataPool pool = loaderData.getPool();
 
         LOGGER.info("Loading interLingualIndex_DE-EN.xml...");
 
@@ -80,6 +81,9 @@ class IliLoader {
                     nodeName = parser.getLocalName();
                     if (nodeName.equals(GermaNet.XML_ILI_RECORD)) {
                         IliRecord ili = processIliRecord(parser, namespace);
+                        if (pool != null) {
+                            ili = pool.iliRecord(ili);
+                        }
                         iliRecords.add(ili);
                         int lexUnitId = ili.getLexUnitId();
                         LexUnit lexUnit = lexUnitIDMap.getOrDefault(lexUnitId, null);
@@ -93,6 +97,7 @@ class IliLoader {
             }
         }
         parser.close();
+        loaderData.fileLoaded(loaderData.getIliXmlName());
         LOGGER.info("Done loading {} ILI records.", iliCnt);
 
         loaderData.setIliRecords(iliRecords);
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The precomputed <code>k</code> most similar synsets of every <code>Synset</code>,
+ * as written by <code>KnnGraphBuilder</code>. The file is memory-mapped, so loading
+ * is fast and the neighbors of a synset are read directly from the mapping.<br><br>
+ * <p>
+ * Neighbors are sorted by decreasing similarity. Similarities are stored as
+ * <code>float</code>. A synset may have fewer than <code>k</code> neighbors, e.g. if
+ * its WordCategory is small.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class KnnGraph {
+    private final SynsetIdIndex index;
+    private final SemRelMeasure semRelMeasure;
+    private final int normalizedMax;
+    private final int k;
+    // per synset: k neighbor IDs (-1 if absent), then k float similarities
+    private final ByteBuffer data;
+    private final int recordsStart;
+
+    private KnnGraph(SynsetIdIndex index, SemRelMeasure semRelMeasure, int normalizedMax, int k,
+                     ByteBuffer data, int recordsStart) {
+        this.index = index;
+        this.semRelMeasure = semRelMeasure;
+        this.normalizedMax = normalizedMax;
+        this.k = k;
+        this.data = data;
+        this.recordsStart = recordsStart;
+    }
+
+    /**
+     * Maps a neighbor file written by <code>KnnGraphBuilder</code> for <code>gnet</code>.
+     *
+     * @param file the neighbor file
+     * @param gnet the <code>GermaNet</code> object the file was computed for
+     * @return the neighbor graph
+     * @throws IOException if the file can not be read, is incomplete, or was computed for
+     * different GermaNet data
+     */
+    public static KnnGraph load(File file, GermaNet gnet) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < KnnGraphBuilder.HEADER_SIZE) {
+                throw new IOException("Not a KnnGraph file.");
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.getInt(0) != KnnGraphBuilder.MAGIC) {
+                throw new IOException("Not a KnnGraph file.");
+            }
+            int version = data.getInt(4);
+            if (version != KnnGraphBuilder.VERSION) {
+                throw new IOException("Unsupported KnnGraph version: " + version);
+            }
+            if (data.getLong(8) != AncestorTable.fingerprint(gnet.getSynsets())) {
+                throw new IOException("KnnGraph was computed for different GermaNet data.");
+            }
+            if (data.getInt(KnnGraphBuilder.COMPLETE_OFFSET) != 1) {
+                throw new IOException("KnnGraph file is incomplete; resume the build first.");
+            }
+            SemRelMeasure semRelMeasure = SemRelMeasure.values()[data.getInt(16)];
+            int normalizedMax = data.getInt(20);
+            int k = data.getInt(24);
+            int numNodes = data.getInt(28);
+            long recordsStart = KnnGraphBuilder.HEADER_SIZE + 4L * numNodes;
+            if (channel.size() != recordsStart + 8L * k * numNodes) {
+                throw new IOException("KnnGraph file has the wrong size.");
+            }
+
+            int[] ids = new int[numNodes];
+            for (int node = 0; node < numNodes; node++) {
+                ids[node] = data.getInt(KnnGraphBuilder.HEADER_SIZE + 4 * node);
+            }
+            return new KnnGraph(new SynsetIdIndex(ids), semRelMeasure, normalizedMax, k, data, (int) recordsStart);
+        }
+    }
+
+    /**
+     * Returns the similarity measure the neighbors were computed with.
+     *
+     * @return the similarity measure
+     */
+    public SemRelMeasure getSemRelMeasure() {
+        return semRelMeasure;
+    }
+
+    /**
+     * Returns the value used for maximal similarity.
+     *
+     * @return the value used for maximal similarity (raw values if &lt;= 0)
+     */
+    public int getNormalizedMax() {
+        return normalizedMax;
+    }
+
+    /**
+     * Returns the maximum number of neighbors per synset.
+     *
+     * @return the maximum number of neighbors per synset
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Returns the number of neighbors of a synset.
+     *
+     * @param synsetId the synset ID
+     * @return the number of neighbors, 0 if the synset is unknown
+     */
+    public int numNeighbors(int synsetId) {
+        int node = index.getDenseId(synsetId);
+        if (node < 0) {
+            return 0;
+        }
+        int base = recordsStart + node * 8 * k;
+        int count = 0;
+        while (count < k && data.getInt(base + 4 * count) >= 0) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the ID of the <code>i</code>-th most similar synset.
+     *
+     * @param synsetId the synset ID
+     * @param i the rank of the neighbor, starting at 0
+     * @return the ID of the neighbor, or -1 if the synset is unknown or has fewer neighbors
+     */
+    public int getNeighborId(int synsetId, int i) {
+        int node = index.getDenseId(synsetId);
+        if (node < 0 || i < 0 || i >= k) {
+            return -1;
+        }
+        return data.getInt(recordsStart + node * 8 * k + 4 * i);
+    }
+
+    /**
+     * Returns the similarity of the <code>i</code>-th most similar synset.
+     *
+     * @param synsetId the synset ID
+     * @param i the rank of the neighbor, starting at 0
+     * @return the similarity, or <code>Double.NaN</code> if the synset is unknown or has fewer neighbors
+     */
+    public double getNeighborScore(int synsetId, int i) {
+        int node = index.getDenseId(synsetId);
+        if (node < 0 || i < 0 || i >= k) {
+            return Double.NaN;
+        }
+        return data.getFloat(recordsStart + node * 8 * k + 4 * (k + i));
+    }
+
+    /**
+     * Copies the neighbors of a synset, most similar first.
+     *
+     * @param synsetId the synset ID
+     * @param resultIds receives the neighbor IDs, length at least <code>getK()</code>
+     * @param resultScores receives their similarities, length at least <code>getK()</code>
+     * @return the number of neighbors, 0 if the synset is unknown
+     */
+    public int getNeighbors(int synsetId, int[] resultIds, double[] resultScores) {
+        int node = index.getDenseId(synsetId);
+        if (node < 0) {
+            return 0;
+        }
+        int base = recordsStart + node * 8 * k;
+        int count = 0;
+        for (; count < k; count++) {
+            int id = data.getInt(base + 4 * count);
+            if (id < 0) {
+                break;
+            }
+            resultIds[count] = id;
+            resultScores[count] = data.getFloat(base + 4 * (k + count));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the <code>k</code> most similar synsets of every <code>Synset</code>
+ * under one <code>SemRelMeasure</code>, and writes them to a binary file which can
+ * be opened with <code>KnnGraph.load</code>.<br><br>
+ * <p>
+ * Neighbors are found with
+ * <code>SemanticUtils.mostSimilar(SemRelMeasure, int, int, WordClass, int, int[], double[])</code>,
+ * so they are sorted by decreasing similarity with ties broken by synset ID, and the
+ * result does not depend on the number of threads. The synsets are processed in
+ * chunks; every finished chunk is written to its fixed place in the output file and
+ * recorded in a progress file next to it (<code>&lt;file&gt;.progress</code>). If a
+ * build is interrupted, calling <code>build</code> again with the same settings and
+ * GermaNet data resumes with the missing chunks. The progress file is deleted and the
+ * output marked complete when all chunks are done.<br><br>
+ * <p>
+ * Default values:<br>
+ * semRelMeasure: WuAndPalmer<br>
+ * k: 20<br>
+ * normalizedMax: 0 (raw values)<br>
+ * numThreads: 1<br>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class KnnGraphBuilder {
+    static final int MAGIC = 0x474E4B4E; // "GNKN"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    static final int COMPLETE_OFFSET = 32;
+    static final int PROGRESS_MAGIC = 0x474E4B50; // "GNKP"
+    static final int PROGRESS_HEADER_SIZE = 36;
+    static final int CHUNK_SIZE = 256;
+
+    private final GermaNet gnet;
+    private SemRelMeasure semRelMeasure;
+    private int k;
+    private int normalizedMax;
+    private int numThreads;
+
+    /**
+     * Constructs a <code>KnnGraphBuilder</code> for <code>gnet</code> with the
+     * default values.
+     *
+     * @param gnet the <code>GermaNet</code> object
+     */
+    public KnnGraphBuilder(GermaNet gnet) {
+        this.gnet = gnet;
+        this.semRelMeasure = SemRelMeasure.WuAndPalmer;
+        this.k = 20;
+        this.normalizedMax = 0;
+        this.numThreads = 1;
+    }
+
+    /**
+     * Returns the similarity measure.
+     *
+     * @return the similarity measure
+     */
+    public SemRelMeasure getSemRelMeasure() {
+        return semRelMeasure;
+    }
+
+    /**
+     * Set the similarity measure.
+     *
+     * @param semRelMeasure the similarity measure
+     */
+    public void setSemRelMeasure(SemRelMeasure semRelMeasure) {
+        if (semRelMeasure == null) {
+            throw new IllegalArgumentException("semRelMeasure must not be null");
+        }
+        this.semRelMeasure = semRelMeasure;
+    }
+
+    /**
+     * Returns the number of neighbors per synset.
+     *
+     * @return the number of neighbors per synset
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Set the number of neighbors per synset.
+     *
+     * @param k the number of neighbors per synset (at least 1)
+     */
+    public void setK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1: " + k);
+        }
+        this.k = k;
+    }
+
+    /**
+     * Returns the value used for maximal similarity.
+     *
+     * @return the value used for maximal similarity (raw values if &lt;= 0)
+     */
+    public int getNormalizedMax() {
+        return normalizedMax;
+    }
+
+    /**
+     * Set the value used for maximal similarity.
+     *
+     * @param normalizedMax value to use for maximal similarity (raw values are stored if &lt;= 0)
+     */
+    public void setNormalizedMax(int normalizedMax) {
+        this.normalizedMax = normalizedMax;
+    }
+
+    /**
+     * Returns the number of threads used.
+     *
+     * @return the number of threads used
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Set the number of threads used.
+     *
+     * @param numThreads the number of threads (at least 1)
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be at least 1: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Computes the neighbors of all synsets and writes them to <code>file</code>,
+     * resuming an interrupted build of the same file if possible.
+     *
+     * @param file the output file
+     * @throws IOException if an I/O error occurs, or the frequency files needed by
+     * the measure can not be read
+     */
+    public void build(File file) throws IOException {
+        SemanticUtils semanticUtils = gnet.getSemanticUtils();
+        List<Synset> synsets = gnet.getSynsets();
+        SynsetIdIndex index = SynsetIdIndex.of(synsets);
+        long fingerprint = AncestorTable.fingerprint(synsets);
+        int numNodes = index.size();
+        int numChunks = (numNodes + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        long recordsStart = HEADER_SIZE + 4L * numNodes;
+        long fileSize = recordsStart + 8L * k * numNodes;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Neighbor file would exceed 2 GB; reduce k: " + k);
+        }
+
+        File progressFile = new File(file.getPath() + ".progress");
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putLong(8, fingerprint);
+        header.putInt(16, semRelMeasure.ordinal());
+        header.putInt(20, normalizedMax);
+        header.putInt(24, k);
+        header.putInt(28, numNodes);
+
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw");
+             RandomAccessFile progress = new RandomAccessFile(progressFile, "rw")) {
+            FileChannel outputChannel = output.getChannel();
+            FileChannel progressChannel = progress.getChannel();
+
+            boolean[] done = readProgress(progressChannel, outputChannel, header, numChunks, fileSize);
+            if (done == null) {
+                done = new boolean[numChunks];
+                startBuild(outputChannel, progressChannel, header, index, numChunks, fileSize);
+            }
+
+            int[] pending = new int[numChunks];
+            int numPending = 0;
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                if (!done[chunk]) {
+                    pending[numPending++] = chunk;
+                }
+            }
+            runChunks(semanticUtils, index, outputChannel, progressChannel, recordsStart, pending, numPending);
+
+            ByteBuffer complete = ByteBuffer.allocate(4).putInt(0, 1);
+            writeFully(outputChannel, complete, COMPLETE_OFFSET);
+            outputChannel.force(true);
+        }
+        if (!progressFile.delete()) {
+            throw new IOException("Unable to delete " + progressFile);
+        }
+    }
+
+    /**
+     * Returns the finished chunks of an earlier build with the same header, or null if
+     * there is nothing to resume.
+     */
+    private static boolean[] readProgress(FileChannel progressChannel, FileChannel outputChannel, ByteBuffer header,
+                                          int numChunks, long fileSize) throws IOException {
+        if (progressChannel.size() != PROGRESS_HEADER_SIZE + numChunks || outputChannel.size() != fileSize) {
+            return null;
+        }
+        ByteBuffer progressHeader = ByteBuffer.allocate(PROGRESS_HEADER_SIZE);
+        readFully(progressChannel, progressHeader, 0);
+        ByteBuffer outputHeader = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(outputChannel, outputHeader, 0);
+        if (progressHeader.getInt(0) != PROGRESS_MAGIC
+                || !sameSlice(progressHeader, 4, header, 0, 32)
+                || !sameSlice(outputHeader, 0, header, 0, 32)) {
+            return null;
+        }
+        ByteBuffer flags = ByteBuffer.allocate(numChunks);
+        readFully(progressChannel, flags, PROGRESS_HEADER_SIZE);
+        boolean[] done = new boolean[numChunks];
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            done[chunk] = flags.get(chunk) != 0;
+        }
+        return done;
+    }
+
+    private static boolean sameSlice(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a.get(aOffset + i) != b.get(bOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Truncates the output and progress files and writes their headers.
+     */
+    private static void startBuild(FileChannel outputChannel, FileChannel progressChannel, ByteBuffer header,
+                                   SynsetIdIndex index, int numChunks, long fileSize) throws IOException {
+        outputChannel.truncate(0);
+        ByteBuffer ids = ByteBuffer.allocate(4 * index.size());
+        for (int node = 0; node < index.size(); node++) {
+            ids.putInt(4 * node, index.getSynsetId(node));
+        }
+        writeFully(outputChannel, header.duplicate(), 0);
+        writeFully(outputChannel, ids, HEADER_SIZE);
+        // extend to the full size; the records are written by the chunks
+        writeFully(outputChannel, ByteBuffer.allocate(1), fileSize - 1);
+        outputChannel.force(true);
+
+        progressChannel.truncate(0);
+        ByteBuffer progressHeader = ByteBuffer.allocate(PROGRESS_HEADER_SIZE + numChunks);
+        progressHeader.putInt(0, PROGRESS_MAGIC);
+        System.arraycopy(header.array(), 0, progressHeader.array(), 4, 32);
+        writeFully(progressChannel, progressHeader, 0);
+        progressChannel.force(true);
+    }
+
+    private void runChunks(SemanticUtils semanticUtils, SynsetIdIndex index, FileChannel outputChannel,
+                           FileChannel progressChannel, long recordsStart, int[] pending, int numPending)
+            throws IOException {
+        int numNodes = index.size();
+        int recordSize = 8 * k;
+        AtomicInteger nextTask = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        Object progressLock = new Object();
+
+        Runnable worker = () -> {
+            int[] ids = new int[k];
+            double[] scores = new double[k];
+            int task;
+            while (!Thread.currentThread().isInterrupted() && (task = nextTask.getAndIncrement()) < numPending) {
+                int chunk = pending[task];
+                int start = chunk * CHUNK_SIZE;
+                int end = Math.min(start + CHUNK_SIZE, numNodes);
+                ByteBuffer records = ByteBuffer.allocate((end - start) * recordSize);
+                for (int node = start; node < end; node++) {
+                    int found = semanticUtils.mostSimilar(semRelMeasure, index.getSynsetId(node), k, null,
+                            normalizedMax, ids, scores);
+                    int base = (node - start) * recordSize;
+                    for (int i = 0; i < k; i++) {
+                        records.putInt(base + 4 * i, (i < found) ? ids[i] : -1);
+                        records.putFloat(base + 4 * (k + i), (i < found) ? (float) scores[i] : Float.NaN);
+                    }
+                }
+                try {
+                    writeFully(outputChannel, records, recordsStart + (long) start * recordSize);
+                    synchronized (progressLock) {
+                        // the records must be on disk before the chunk is marked as done
+                        outputChannel.force(false);
+                        writeFully(progressChannel, ByteBuffer.wrap(new byte[]{1}), PROGRESS_HEADER_SIZE + chunk);
+                        progressChannel.force(false);
+                    }
+                    finished.incrementAndGet();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        };
+
+        int threads = Math.min(numThreads, Math.max(numPending, 1));
+        try {
+            if (threads == 1) {
+                worker.run();
+            } else {
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                try {
+                    Future<?>[] futures = new Future<?>[threads];
+                    for (int i = 0; i < threads; i++) {
+                        futures[i] = executor.submit(worker);
+                    }
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof UncheckedIOException) {
+                        throw ((UncheckedIOException) cause).getCause();
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        // an interrupted build leaves the finished chunks marked in the progress file
+        if (finished.get() < numPending) {
+            throw new InterruptedIOException("Interrupted while computing neighbors: "
+                    + finished.get() + " of " + numPending + " chunks done");
+        }
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread safe cache of the least common subsumer (LCS) information of
+ * synset pairs, used by <code>SemanticUtils</code> to avoid scanning the common
+ * hypernyms of frequently compared pairs again. For each pair, the length of the
+ * shortest path, the depth and ID of the deepest LCS and the highest Information
+ * Content of any LCS are stored in primitive arrays.<br><br>
+ * <p>
+ * Pairs are keyed on the ordered pair of synset IDs packed into a <code>long</code>.
+ * The table is 4-way set associative with open addressing inside each set; when a
+ * set is full, its entries are replaced round-robin. Sets are guarded by striped
+ * locks. Hit and miss counts are available for monitoring.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class LcsPairCache {
+    private static final int WAYS = 4;
+    private static final int NUM_LOCKS = 64;
+    private static final long EMPTY = -1L;
+
+    private final int setMask;
+    private final long[] keys;
+    private final int[] pathLengths;
+    private final int[] lcsDepths;
+    private final int[] lcsIds;
+    private final double[] lcsICs;
+    private final byte[] victims;
+    private final Object[] locks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs an empty cache for at least <code>capacity</code> pairs.
+     *
+     * @param capacity the number of pairs to hold, rounded up to a power of 2
+     */
+    LcsPairCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+        }
+        int numSets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS));
+        if (numSets * WAYS < capacity && numSets < (1 << 28)) {
+            numSets <<= 1;
+        }
+        setMask = numSets - 1;
+        int slots = numSets * WAYS;
+        keys = new long[slots];
+        Arrays.fill(keys, EMPTY);
+        pathLengths = new int[slots];
+        lcsDepths = new int[slots];
+        lcsIds = new int[slots];
+        lcsICs = new double[slots];
+        victims = new byte[numSets];
+        locks = new Object[NUM_LOCKS];
+        for (int i = 0; i < NUM_LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Returns the key of a pair of synset IDs, independent of their order.
+     */
+    static long key(int synsetId1, int synsetId2) {
+        int lo = Math.min(synsetId1, synsetId2);
+        int hi = Math.max(synsetId1, synsetId2);
+        return ((long) lo << 32) | (hi & 0xFFFFFFFFL);
+    }
+
+    private int setOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & setMask;
+    }
+
+    /**
+     * Copies the entry for <code>key</code> into <code>scan</code>.
+     *
+     * @return true if the pair was found
+     */
+    boolean get(long key, PairScan scan) {
+        int set = setOf(key);
+        int base = set * WAYS;
+        synchronized (locks[set & (NUM_LOCKS - 1)]) {
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (keys[slot] == key) {
+                    scan.pathLength = pathLengths[slot];
+                    scan.lcsDepth = lcsDepths[slot];
+                    scan.lcsId = lcsIds[slot];
+                    scan.lcsIC = lcsICs[slot];
+                    hits.increment();
+                    return true;
+                }
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Stores the entry for <code>key</code>, replacing an older entry if the set is full.
+     */
+    void put(long key, PairScan scan) {
+        int set = setOf(key);
+        int base = set * WAYS;
+        synchronized (locks[set & (NUM_LOCKS - 1)]) {
+            int target = -1;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (keys[slot] == key || keys[slot] == EMPTY) {
+                    target = slot;
+                    break;
+                }
+            }
+            if (target < 0) {
+                target = base + victims[set];
+                victims[set] = (byte) ((victims[set] + 1) % WAYS);
+            }
+            keys[target] = key;
+            pathLengths[target] = scan.pathLength;
+            lcsDepths[target] = scan.lcsDepth;
+            lcsIds[target] = scan.lcsId;
+            lcsICs[target] = scan.lcsIC;
+        }
+    }
+
+    /**
+     * Returns the maximum number of pairs this cache holds.
+     *
+     * @return the maximum number of pairs this cache holds
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of lookups which found their pair.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which did not find their pair.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups which found their pair.
+     *
+     * @return the hit ratio, or 0.0 if there were no lookups
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return (total == 0) ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Removes all entries and resets the hit and miss counts.
+     */
+    public void clear() {
+        for (int i = 0; i < NUM_LOCKS; i++) {
+            synchronized (locks[i]) {
+                for (int set = i; set <= setMask; set += NUM_LOCKS) {
+                    Arrays.fill(keys, set * WAYS, (set + 1) * WAYS, EMPTY);
+                }
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * The result of scanning the common hypernyms of a pair of synsets.
+     */
+    static final class PairScan {
+        int pathLength;
+        int lcsDepth;
+        int lcsId;
+        double lcsIC;
+    }
+}
@@ -30,6 +30,7 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import it.unimi.dsi.fastutil.objects.ObjectList;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectSet;
 
@@ -70,7 +71,10 @@ import it.unimi.dsi.fastutil.objects.ObjectSet;
  * </code>
  * <p>
  * Unless otherwise stated, methods will return an empty List rather than null
- * to indicate that no objects exist for the given request.
+ * to indicate that no objects exist for the given request.<br><br>
+ * <p>
+ * A <code>LexUnit</code> is frozen when loading is done: from then on it is never
+ * modified, and the public setters throw an <code>IllegalStateException</code>.
  *
  * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
  * @version 13.0
@@ -84,16 +88,17 @@ public class  LexUnit {
     private String comment;
     private List<String> allOrthForms;
     private int sense;
-    private ArrayList<Frame> frames;
-    private ArrayList<Example> examples;
-    private ArrayList<IliRecord> iliRecords;
-    private ArrayList<WiktionaryParaphrase> wiktionaryParaphrases;
+    private List<Frame> frames;
+    private List<Example> examples;
+    private List<IliRecord> iliRecords;
+    private List<WiktionaryParaphrase> wiktionaryParaphrases;
     // Relations of this LexUnit
     private Object2ObjectMap<LexRel, ObjectSet<LexUnit>> outgoingRelations;
     private Object2ObjectMap<LexRel, ObjectSet<LexUnit>> incomingRelations;
     private CompoundInfo compoundInfo;
     private String particle;
     private String baseVerb;
+    private boolean frozen;
 
     /**
      * Constructs a <code>LexUnit</code> with the specified attributes.
@@ -133,7 +138,13 @@ public class  LexUnit {
         this.examples = new ArrayList<>();
         this.iliRecords = new ArrayList<>();
         this.wiktionaryParaphrases = new ArrayList<>();
+        updateAllOrthForms();
 
+        this.particle = particle;
+        this.baseVerb = baseVerb;
+    }
+
+    private void updateAllOrthForms() {
         allOrthForms = new ObjectArrayList<>();
         allOrthForms.add(orthForm);
         if (orthVar != null) {
@@ -146,9 +157,115 @@ public class  LexUnit {
             allOrthForms.add(oldOrthVar);
         }
         Collections.sort(allOrthForms);
-        
-        this.particle = particle;
-        this.baseVerb = baseVerb;
+    }
+
+    /**
+     * Moves this <code>LexUnit</code> to another <code>Synset</code>. The caller
+     * updates the <code>Synsets</code> themselves.
+     *
+     * @param synset the new <code>Synset</code> of this <code>LexUnit</code>
+     */
+    void setSynset(Synset synset) {
+        this.synset = synset;
+    }
+
+    /**
+     * Sets the sense number of this <code>LexUnit</code>.
+     *
+     * @param sense the sense number
+     */
+    void setSense(int sense) {
+        this.sense = sense;
+    }
+
+    /**
+     * Sets the source of this <code>LexUnit</code>.
+     *
+     * @param source the source
+     */
+    void setSource(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Sets the <code>styleMarking</code> attribute.
+     *
+     * @param styleMarking the <code>styleMarking</code> attribute
+     */
+    void setStyleMarking(boolean styleMarking) {
+        this.styleMarking = styleMarking;
+    }
+
+    /**
+     * Sets the <code>artificial</code> attribute.
+     *
+     * @param artificial the <code>artificial</code> attribute
+     */
+    void setArtificial(boolean artificial) {
+        this.artificial = artificial;
+    }
+
+    /**
+     * Sets the <code>namedEntity</code> attribute.
+     *
+     * @param namedEntity the <code>namedEntity</code> attribute
+     */
+    void setNamedEntity(boolean namedEntity) {
+        this.namedEntity = namedEntity;
+    }
+
+    /**
+     * Sets the annotator comment of this <code>LexUnit</code>.
+     *
+     * @param comment the comment
+     */
+    void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    /**
+     * Sets the orthForm variant specified by <code>variant</code>. Since the
+     * hash code depends on the orthographic form, the caller removes this
+     * <code>LexUnit</code> from all hash based collections beforehand.
+     *
+     * @param variant the orthForm variant to set
+     * @param value   the new value (null to remove a variant other than
+     *                <code>orthForm</code>)
+     */
+    void setOrthForm(OrthFormVariant variant, String value) {
+        switch (variant) {
+            case orthForm:
+                orthForm = value;
+                break;
+            case orthVar:
+                orthVar = value;
+                break;
+            case oldOrthForm:
+                oldOrthForm = value;
+                break;
+            case oldOrthVar:
+                oldOrthVar = value;
+                break;
+        }
+        updateAllOrthForms();
+    }
+
+    /**
+     * Replaces the <code>Frames</code> of this <code>LexUnit</code>.
+     *
+     * @param frames the new <code>Frames</code>
+     */
+    void setFrames(List<Frame> frames) {
+        this.frames = new ArrayList<>(frames);
+    }
+
+    /**
+     * Replaces the <code>Examples</code> of this <code>LexUnit</code>.
+     *
+     * @param examples the new <code>Examples</code>
+     */
+    void setExamples(List<Example> examples) {
+        this.examples = new ArrayList<>(examples);
     }
 
     /**
@@ -206,13 +323,64 @@ public class  LexUnit {
     }
 
     /**
-     * Trims all <code>ArrayLists</code>
+     * Replaces the strings, <code>Frames</code> and <code>Examples</code> of this
+     * <code>LexUnit</code> by their pooled instances, right after parsing.
+     *
+     * @param pool the pool to use
      */
-    void trimAll() {
-        frames.trimToSize();
-        examples.trimToSize();
-        iliRecords.trimToSize();
-        wiktionaryParaphrases.trimToSize();
+    void share(SharedDataPool pool) {
+        orthForm = pool.string(orthForm);
+        orthVar = pool.string(orthVar);
+        oldOrthForm = pool.string(oldOrthForm);
+        oldOrthVar = pool.string(oldOrthVar);
+        comment = pool.string(comment);
+        source = pool.string(source);
+        particle = pool.string(particle);
+        baseVerb = pool.string(baseVerb);
+        for (int i = 0; i < allOrthForms.size(); i++) {
+            allOrthForms.set(i, pool.string(allOrthForms.get(i)));
+        }
+        for (int i = 0; i < frames.size(); i++) {
+            frames.set(i, pool.frame(frames.get(i)));
+        }
+        for (int i = 0; i < examples.size(); i++) {
+            examples.set(i, pool.example(examples.get(i)));
+        }
+        if (compoundInfo != null) {
+            compoundInfo.share(pool);
+        }
+    }
+
+    /**
+     * Freezes this <code>LexUnit</code> once loading is done: all lists and
+     * relation sets are replaced by unmodifiable, exactly sized arrays, and the
+     * public setters are disabled. See <code>Synset.freeze()</code>.
+     *
+     * @param pool the pool to share the lists with, or null
+     */
+    void freeze(SharedDataPool pool) {
+        allOrthForms = (pool != null) ? pool.list(allOrthForms) : freezeList(allOrthForms);
+        frames = (pool != null) ? pool.list(frames) : freezeList(frames);
+        examples = (pool != null) ? pool.list(examples) : freezeList(examples);
+        iliRecords = freezeList(iliRecords);
+        wiktionaryParaphrases = freezeList(wiktionaryParaphrases);
+        outgoingRelations = Synset.freezeRelations(outgoingRelations);
+        incomingRelations = Synset.freezeRelations(incomingRelations);
+        frozen = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> freezeList(List<T> list) {
+        if (list.isEmpty()) {
+            return ObjectLists.emptyList();
+        }
+        return ObjectLists.unmodifiable(ObjectArrayList.wrap((T[]) list.toArray()));
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("LexUnit " + id + " cannot be modified after loading");
+        }
     }
 
     /**
@@ -277,6 +445,7 @@ public class  LexUnit {
      * Returns a <code>List</code> of all orthographic forms of this
      * <code>LexUnit</code> (i.e. the attributes <code>orthForm</code>,
      * <code>orthVar</code>, <code>oldOrthForm</code>, and <code>oldOrthVar</code>).
+     * The <code>List</code> is unmodifiable.
      *
      * @return a <code>List</code> of all orthographic forms of this
      * <code>LexUnit</code> (i.e. the attributes <code>orthForm</code>,
@@ -318,6 +487,46 @@ public class  LexUnit {
         relations.put(type, related);
     }
 
+    /**
+     * Removes the relation of the specified type and direction between this
+     * <code>LexUnit</code> and <code>target</code>, if it exists.
+     *
+     * @param type      the type of relation (eg. <code>LexRel.antonymy</code>)
+     * @param target    the target <code>LexUnit</code>
+     * @param direction the direction of the relation.
+     * @return true if the relation existed
+     */
+    boolean removeRelation(LexRel type, LexUnit target, RelDirection direction) {
+        Object2ObjectMap<LexRel, ObjectSet<LexUnit>> relations;
+
+        relations = (direction == RelDirection.outgoing) ? outgoingRelations : incomingRelations;
+
+        ObjectSet<LexUnit> related = relations.get(type);
+        if (related == null || !related.remove(target)) {
+            return false;
+        }
+        if (related.isEmpty()) {
+            relations.remove(type);
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if this <code>LexUnit</code> has a relation of the specified
+     * type and direction to <code>target</code>. Synonyms are not stored as
+     * relations, see <code>getSynonyms()</code>.
+     *
+     * @param type      the type of relation (eg. <code>LexRel.antonymy</code>)
+     * @param target    the target <code>LexUnit</code>
+     * @param direction the direction of the relation.
+     * @return true if the relation exists
+     */
+    boolean hasRelation(LexRel type, LexUnit target, RelDirection direction) {
+        ObjectSet<LexUnit> related = (direction == RelDirection.outgoing)
+                ? outgoingRelations.get(type) : incomingRelations.get(type);
+        return related != null && related.contains(target);
+    }
+
     /**
      * Returns a <code>List</code> of <code>LexUnits</code> for which this
      * <code>LexUnit</code> has an outgoing <code>type</code> relation.
@@ -578,6 +787,15 @@ public class  LexUnit {
         iliRecords.add(record);
     }
 
+    /**
+     * Remove an <code>IliRecord</code> from this <code>LexUnit</code>.
+     *
+     * @param record <code>IliRecord</code> to remove from this <code>LexUnit</code>
+     */
+    void removeIliRecord(IliRecord record) {
+        iliRecords.remove(record);
+    }
+
     /**
      * Return the <code>CompoundInfo</code> for this <code>LexUnit</code>, if it exists.
      *
@@ -611,8 +829,10 @@ public class  LexUnit {
      * Add a <code>WiktionaryParaphrase</code> to this <code>LexUnit</code>.
      *
      * @param paraphrase <code>WiktionaryParaphrase</code> to add to this <code>LexUnit</code>
+     * @throws IllegalStateException if loading is done
      */
     public void addWiktionaryParaphrase(WiktionaryParaphrase paraphrase) {
+        checkNotFrozen();
         wiktionaryParaphrases.add(paraphrase);
     }
 
@@ -625,8 +845,10 @@ public class  LexUnit {
 
 	/**
 	 * @param particle the particle to set
+	 * @throws IllegalStateException if loading is done
 	 */
 	public void setParticle(String particle) {
+		checkNotFrozen();
 		this.particle = particle;
 	}
 
@@ -639,8 +861,10 @@ public class  LexUnit {
 
 	/**
 	 * @param baseVerb the baseVerb to set
+	 * @throws IllegalStateException if loading is done
 	 */
 	public void setBaseVerb(String baseVerb) {
+		checkNotFrozen();
 		this.baseVerb = baseVerb;
 	}
 
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.util.Objects;
+
+/**
+ * Options for loading a <code>GermaNet</code> object with
+ * <code>GermaNet(File, LoadOptions)</code>.<br><br>
+ * Default values:<br>
+ * ignoreCase: false<br>
+ * frequency sources: none (the Information Content measures are not available)<br>
+ * initSemanticUtils: false<br>
+ * progressListener: none<br>
+ * patch: none<br>
+ * validationMode: Off<br>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class LoadOptions {
+    private boolean ignoreCase;
+    private FrequencySource nounFreqSource;
+    private FrequencySource verbFreqSource;
+    private FrequencySource adjFreqSource;
+    private boolean initSemanticUtils;
+    private LoadProgressListener progressListener;
+    private GermaNetPatch patch;
+    private GermaNetValidator.Mode validationMode;
+
+    /**
+     * Constructs <code>LoadOptions</code> with the default values.
+     */
+    public LoadOptions() {
+        this.ignoreCase = false;
+        this.initSemanticUtils = false;
+        this.validationMode = GermaNetValidator.Mode.Off;
+    }
+
+    /**
+     * Constructs a copy of <code>options</code>.
+     *
+     * @param options the options to copy
+     */
+    public LoadOptions(LoadOptions options) {
+        this.ignoreCase = options.ignoreCase;
+        this.nounFreqSource = options.nounFreqSource;
+        this.verbFreqSource = options.verbFreqSource;
+        this.adjFreqSource = options.adjFreqSource;
+        this.initSemanticUtils = options.initSemanticUtils;
+        this.progressListener = options.progressListener;
+        this.patch = options.patch;
+        this.validationMode = options.validationMode;
+    }
+
+    /**
+     * Returns true if lookups ignore case.
+     *
+     * @return true if lookups ignore case
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Set whether lookups ignore case.
+     *
+     * @param ignoreCase if true ignore case on lookups, otherwise do case
+     *                   sensitive searches
+     */
+    public void setIgnoreCase(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Returns the noun frequency list.
+     *
+     * @return the noun frequency list, or null if none is set
+     */
+    public FrequencySource getNounFreqSource() {
+        return nounFreqSource;
+    }
+
+    /**
+     * Returns the verb frequency list.
+     *
+     * @return the verb frequency list, or null if none is set
+     */
+    public FrequencySource getVerbFreqSource() {
+        return verbFreqSource;
+    }
+
+    /**
+     * Returns the adj frequency list.
+     *
+     * @return the adj frequency list, or null if none is set
+     */
+    public FrequencySource getAdjFreqSource() {
+        return adjFreqSource;
+    }
+
+    /**
+     * Set the frequency lists which are used for the Information Content measures of
+     * <code>SemanticUtils</code>. Either all or none of them must be given.
+     *
+     * @param nounFreqSource noun frequency list
+     * @param verbFreqSource verb frequency list
+     * @param adjFreqSource adj frequency list
+     * @throws IllegalArgumentException if some, but not all frequency lists are null
+     */
+    public void setFrequencySources(FrequencySource nounFreqSource, FrequencySource verbFreqSource,
+                                    FrequencySource adjFreqSource) {
+        boolean none = nounFreqSource == null && verbFreqSource == null && adjFreqSource == null;
+        boolean all = nounFreqSource != null && verbFreqSource != null && adjFreqSource != null;
+        if (!none && !all) {
+            throw new IllegalArgumentException("Either all or none of the frequency lists must be given");
+        }
+        this.nounFreqSource = nounFreqSource;
+        this.verbFreqSource = verbFreqSource;
+        this.adjFreqSource = adjFreqSource;
+    }
+
+    /**
+     * Returns true if the <code>SemanticUtils</code> object is initialized in the
+     * background as soon as the data is loaded.
+     *
+     * @return true if <code>SemanticUtils</code> is initialized after loading
+     */
+    public boolean isInitSemanticUtils() {
+        return initSemanticUtils;
+    }
+
+    /**
+     * Set whether the <code>SemanticUtils</code> object is initialized in the background
+     * as soon as the data is loaded, so that it is ready (or being prepared) when it is
+     * first needed. It is initialized on the executor of <code>GermaNet.loadAsync()</code>,
+     * and in the common <code>ForkJoinPool</code> otherwise. Use
+     * <code>GermaNet.getSemanticUtilsAsync()</code> to wait for it.
+     *
+     * @param initSemanticUtils if true initialize <code>SemanticUtils</code> after loading
+     */
+    public void setInitSemanticUtils(boolean initSemanticUtils) {
+        this.initSemanticUtils = initSemanticUtils;
+    }
+
+    /**
+     * Returns the listener which is notified about loading progress.
+     *
+     * @return the progress listener, or null if none is set
+     */
+    public LoadProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Set the listener which is notified each time a data file has been parsed.
+     *
+     * @param progressListener the progress listener, or null for none
+     */
+    public void setProgressListener(LoadProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Returns the patch which is applied to the data after it has been parsed.
+     *
+     * @return the patch, or null if none is set
+     */
+    public GermaNetPatch getPatch() {
+        return patch;
+    }
+
+    /**
+     * Set a patch which is applied to the data after it has been parsed, to load
+     * the release the patch leads to instead of the release in the data files.
+     *
+     * @param patch the patch, or null for none
+     */
+    public void setPatch(GermaNetPatch patch) {
+        this.patch = patch;
+    }
+
+    /**
+     * Returns how the data is validated when it is loaded.
+     *
+     * @return how the data is validated
+     */
+    public GermaNetValidator.Mode getValidationMode() {
+        return validationMode;
+    }
+
+    /**
+     * Set how the data is validated when it is loaded, see
+     * <code>GermaNetValidator.Mode</code>.
+     *
+     * @param validationMode how the data is validated
+     * @throws IllegalArgumentException if <code>validationMode</code> is null
+     */
+    public void setValidationMode(GermaNetValidator.Mode validationMode) {
+        if (validationMode == null) {
+            throw new IllegalArgumentException("validationMode must not be null");
+        }
+        this.validationMode = validationMode;
+    }
+
+    /**
+     * Return true if the other <code>LoadOptions</code> have the same values.
+     * The progress listener is not compared, as it does not affect the loaded data.
+     *
+     * @param o the <code>LoadOptions</code> to compare to
+     * @return true if the other <code>LoadOptions</code> have the same values
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LoadOptions that = (LoadOptions) o;
+
+        if (ignoreCase != that.ignoreCase) return false;
+        if (initSemanticUtils != that.initSemanticUtils) return false;
+        if (!Objects.equals(nounFreqSource, that.nounFreqSource)) return false;
+        if (!Objects.equals(verbFreqSource, that.verbFreqSource)) return false;
+        if (!Objects.equals(adjFreqSource, that.adjFreqSource)) return false;
+        if (validationMode != that.validationMode) return false;
+        return Objects.equals(patch, that.patch);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (ignoreCase ? 1 : 0);
+        result = 31 * result + (initSemanticUtils ? 1 : 0);
+        result = 31 * result + Objects.hashCode(nounFreqSource);
+        result = 31 * result + Objects.hashCode(verbFreqSource);
+        result = 31 * result + Objects.hashCode(adjFreqSource);
+        result = 31 * result + Objects.hashCode(patch);
+        result = 31 * result + validationMode.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadOptions{ignoreCase=" + ignoreCase
+                + ", nounFreqSource=" + nounFreqSource
+                + ", verbFreqSource=" + verbFreqSource
+                + ", adjFreqSource=" + adjFreqSource
+                + ", initSemanticUtils=" + initSemanticUtils
+                + ", patch=" + patch
+                + ", validationMode=" + validationMode + '}';
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+/**
+ * Receives progress notifications while GermaNet data is loaded. The listener
+ * is called once for every data file that has been parsed completely (synset files,
+ * the relation file, the ILI file and the Wiktionary files), on the loading thread.<br>
+ * Set it with <code>LoadOptions.setProgressListener()</code>.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+@FunctionalInterface
+public interface LoadProgressListener {
+
+    /**
+     * Called after the file <code>fileName</code> has been parsed.
+     *
+     * @param fileName    name of the file that has just been parsed
+     * @param filesLoaded number of files parsed so far, including this one
+     * @param totalFiles  number of files to parse
+     * @param percentage  <code>filesLoaded</code> as a percentage of <code>totalFiles</code>
+     *                    (0.0 - 100.0)
+     */
+    void fileLoaded(String fileName, int filesLoaded, int totalFiles, double percentage);
+}
@@ -4,11 +4,14 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.*;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 /**
  * Simple class to transfer data from the loaders to the GermaNet object.
@@ -25,10 +28,23 @@ class LoaderData {
     private List<InputStream> wiktInputStreams;
     private List<String> wiktXmlNames;
 
+    // progress and cancellation
+    private final LoadProgressListener progressListener;
+    // shared with other GermaNet objects, or null
+    private final SharedDataPool pool;
+    private final List<Closeable> resources;
+    private volatile boolean cancelled;
+    private int totalFiles;
+    private int filesLoaded;
+
     private List<IliRecord> iliRecords;
     private List<WiktionaryParaphrase> wiktionaryParaphrases;
     Object2IntMap<WordCategory> catMaxHypernymDistanceMap;
 
+    // relations to unknown IDs which were skipped, or null if they fail loading
+    private List<ValidationReport.Problem> danglingRelations;
+    private ValidationReport validationReport;
+
     private List<Synset> synsets;
     private List<LexUnit> lexUnits;
     private Int2ObjectOpenHashMap<Synset> synsetIdMap;
@@ -39,6 +55,20 @@ class LoaderData {
     private Object2ObjectMap<String, ObjectSet<String>> lowerToUpperMap;
 
     LoaderData() {
+        this(null, null);
+    }
+
+    LoaderData(LoadProgressListener progressListener) {
+        this(progressListener, null);
+    }
+
+    LoaderData(LoadProgressListener progressListener, SharedDataPool pool) {
+        this.progressListener = progressListener;
+        this.pool = pool;
+        resources = new ArrayList<>();
+        cancelled = false;
+        totalFiles = 0;
+        filesLoaded = 0;
         inputStreams = new ArrayList<>();
         xmlNames = new ArrayList<>();
         relsInputStream = null;
@@ -47,7 +77,78 @@ class LoaderData {
         iliXmlName = null;
         wiktInputStreams = new ArrayList<>();
         wiktXmlNames = new ArrayList<>();
+    }
 
+    /**
+     * Registers a resource (a stream or the archive the streams are read from),
+     * which is closed by <code>close()</code> or <code>cancel()</code>. If loading
+     * has already been cancelled, the resource is closed immediately.
+     *
+     * @param resource the resource to register
+     * @throws CancellationException if loading has been cancelled
+     */
+    void addResource(Closeable resource) {
+        synchronized (resources) {
+            if (!cancelled) {
+                resources.add(resource);
+                return;
+            }
+        }
+        closeQuietly(resource);
+        throw new CancellationException("Loading GermaNet data was cancelled.");
+    }
+
+    /**
+     * Cancels loading: all registered streams are closed, so that a parser
+     * working on one of them fails, and the loaders stop at the next file.
+     */
+    void cancel() {
+        cancelled = true;
+        close();
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Closes all registered streams.
+     */
+    void close() {
+        List<Closeable> toClose;
+        synchronized (resources) {
+            toClose = new ArrayList<>(resources);
+            resources.clear();
+        }
+        for (Closeable resource : toClose) {
+            closeQuietly(resource);
+        }
+    }
+
+    private static void closeQuietly(Closeable resource) {
+        try {
+            resource.close();
+        } catch (IOException ex) {
+            // nothing left to do with this resource
+        }
+    }
+
+    /**
+     * Records that the file <code>fileName</code> has been parsed and notifies
+     * the progress listener.
+     *
+     * @param fileName name of the file that has been parsed
+     * @throws CancellationException if loading has been cancelled
+     */
+    void fileLoaded(String fileName) {
+        if (cancelled) {
+            throw new CancellationException("Loading GermaNet data was cancelled.");
+        }
+        filesLoaded++;
+        if (progressListener != null) {
+            int total = Math.max(totalFiles, filesLoaded);
+            progressListener.fileLoaded(fileName, filesLoaded, total, 100.0 * filesLoaded / total);
+        }
     }
 
     /**
@@ -56,32 +157,43 @@ class LoaderData {
      *
      * @param fileName name of the file, for logging
      * @param stream input stream to add
+     * @throws java.util.concurrent.CancellationException if loading has been cancelled
      */
     void addStreamToLists(String fileName, InputStream stream) {
+        addResource(stream);
         if (fileName.startsWith("wiktionary") && fileName.endsWith(".xml")) {
             wiktInputStreams.add(stream);
             wiktXmlNames.add(fileName);
+            totalFiles++;
         } else if (fileName.startsWith("interLingualIndex") && fileName.endsWith(".xml")) {
             iliInputStream = stream;
             iliXmlName = fileName;
+            totalFiles++;
         } else if (fileName.equals("gn_relations.xml")) {
             relsInputStream = stream;
             relsXmlName = fileName;
+            totalFiles++;
         } else if (fileName.endsWith(".xml") &&
                 (fileName.startsWith("nomen.")
                         || fileName.startsWith("adj.")
                         || fileName.startsWith("verben."))) {
             inputStreams.add(stream);
             xmlNames.add(fileName);
+            totalFiles++;
         }
     }
 
-    void trimAll() {
+    /**
+     * Freezes all <code>Synsets</code> and <code>LexUnits</code> (see
+     * <code>Synset.freeze()</code>) and trims the lookup structures. Nothing that
+     * is reachable from the loaded data is modified after this.
+     */
+    void freeze() {
         ObjectIterator<Synset> iterator = ObjectIterators.asObjectIterator(synsets.iterator());
         Synset synset;
         while (iterator.hasNext()) {
             synset = iterator.next();
-            synset.trimAll();
+            synset.freeze(pool);
         }
 
         ((ObjectArrayList<Synset>) synsets).trim();
@@ -90,6 +202,10 @@ class LoaderData {
         lexUnitIdMap.trim();
     }
 
+    SharedDataPool getPool() {
+        return pool;
+    }
+
     List<InputStream> getInputStreams() {
         return inputStreams;
     }
@@ -166,6 +282,22 @@ class LoaderData {
         this.catMaxHypernymDistanceMap = catMaxHypernymDistanceMap;
     }
 
+    void setDanglingRelations(List<ValidationReport.Problem> danglingRelations) {
+        this.danglingRelations = danglingRelations;
+    }
+
+    void setValidationReport(ValidationReport validationReport) {
+        this.validationReport = validationReport;
+    }
+
+    List<ValidationReport.Problem> getDanglingRelations() {
+        return danglingRelations;
+    }
+
+    ValidationReport getValidationReport() {
+        return validationReport;
+    }
+
     List<Synset> getSynsets() {
         return synsets;
     }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An open addressing hash table over the UTF-8 bytes of a fixed set of
+ * orthographic forms, so that forms read from a byte stream can be looked up
+ * without decoding them into <code>Strings</code> first.
+ */
+final class OrthFormTable {
+    private final String[] forms;
+    private final byte[][] keys;
+    private final int[] slots;
+    private final int mask;
+
+    /**
+     * Constructs a table over the given forms. Duplicates are removed.
+     *
+     * @param orthForms the forms to index
+     */
+    OrthFormTable(Collection<String> orthForms) {
+        int capacity = Integer.highestOneBit(Math.max(4, orthForms.size() * 2 - 1)) << 1;
+        mask = capacity - 1;
+        slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        String[] tmpForms = new String[orthForms.size()];
+        byte[][] tmpKeys = new byte[orthForms.size()][];
+        int size = 0;
+        for (String form : orthForms) {
+            byte[] key = form.getBytes(StandardCharsets.UTF_8);
+            int slot = hash(key, 0, key.length) & mask;
+            boolean duplicate = false;
+            while (slots[slot] >= 0) {
+                if (equals(tmpKeys[slots[slot]], key, 0, key.length)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!duplicate) {
+                slots[slot] = size;
+                tmpForms[size] = form;
+                tmpKeys[size] = key;
+                size++;
+            }
+        }
+        forms = Arrays.copyOf(tmpForms, size);
+        keys = Arrays.copyOf(tmpKeys, size);
+    }
+
+    /**
+     * Returns the number of distinct forms.
+     */
+    int size() {
+        return forms.length;
+    }
+
+    /**
+     * Returns the form with the given index.
+     */
+    String getForm(int index) {
+        return forms[index];
+    }
+
+    /**
+     * Returns the index of the form whose UTF-8 bytes are
+     * <code>buf[offset, offset + length)</code>, or -1 if there is none.
+     */
+    int indexOf(byte[] buf, int offset, int length) {
+        int slot = hash(buf, offset, length) & mask;
+        int index;
+        while ((index = slots[slot]) >= 0) {
+            if (equals(keys[index], buf, offset, length)) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(byte[] buf, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ buf[i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equals(byte[] key, byte[] buf, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != buf[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
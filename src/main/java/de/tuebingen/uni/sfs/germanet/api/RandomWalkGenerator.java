@@ -0,0 +1,512 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates random walks over a <code>SynsetGraph</code>, for training synset
+ * embeddings with DeepWalk or node2vec.<br><br>
+ * <p>
+ * Starting from every node of the graph, <code>walksPerNode</code> walks of at most
+ * <code>walkLength</code> nodes are generated. A walk ends early if it reaches a
+ * node without outgoing edges. With the default return parameter <code>p = 1</code>
+ * and in-out parameter <code>q = 1</code>, every step picks a uniformly random
+ * neighbor (DeepWalk). Otherwise, the step from <code>v</code> (reached from
+ * <code>t</code>) to a neighbor <code>x</code> is weighted by node2vec's
+ * second-order bias: <code>1/p</code> if <code>x == t</code>, <code>1</code> if
+ * <code>t</code> has an edge to <code>x</code>, and <code>1/q</code> otherwise.<br><br>
+ * <p>
+ * Walks are never materialized as a whole: they are handed to a
+ * <code>WalkConsumer</code>, or written line by line to a <code>Writer</code> or
+ * <code>WritableByteChannel</code>, with the nodes of a walk separated by a single
+ * space. Each node is written as its synset ID or as its first orthographic form
+ * (see <code>WalkLabel</code>).<br><br>
+ * <p>
+ * The start nodes are split into chunks, each with its own random number
+ * generator split from the seed in a fixed order. The walks of each chunk therefore
+ * only depend on the seed, not on the number of threads. With more than one
+ * thread, the order in which chunks are written is not deterministic.<br><br>
+ * <p>
+ * Default values:<br>
+ * walkLength: 40<br>
+ * walksPerNode: 10<br>
+ * returnParameter (p): 1.0<br>
+ * inOutParameter (q): 1.0<br>
+ * seed: 42<br>
+ * numThreads: 1<br>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class RandomWalkGenerator {
+    private static final int CHUNK_SIZE = 1024;
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    /**
+     * How nodes are written by <code>writeWalks</code>.
+     */
+    public enum WalkLabel {
+        /**
+         * The synset ID.
+         */
+        Id,
+        /**
+         * The first orthographic form of the <code>Synset</code>, with
+         * whitespace replaced by underscores.
+         */
+        OrthForm
+    }
+
+    /**
+     * Receives generated walks.
+     */
+    public interface WalkConsumer {
+        /**
+         * Called for each generated walk. The array is reused for the next walk,
+         * so it must be copied if it is kept. If more than one thread is used,
+         * this method is called concurrently.
+         *
+         * @param walk   the synset IDs of the walk, in the first <code>length</code> elements
+         * @param length the number of nodes in the walk
+         */
+        void accept(int[] walk, int length);
+    }
+
+    private final SynsetGraph graph;
+    private int walkLength;
+    private int walksPerNode;
+    private double returnParameter;
+    private double inOutParameter;
+    private long seed;
+    private int numThreads;
+    private String[] orthFormLabels;
+
+    /**
+     * Constructs a <code>RandomWalkGenerator</code> over <code>graph</code> with the
+     * default values.
+     *
+     * @param graph the graph to walk on
+     */
+    public RandomWalkGenerator(SynsetGraph graph) {
+        this.graph = graph;
+        this.walkLength = 40;
+        this.walksPerNode = 10;
+        this.returnParameter = 1.0;
+        this.inOutParameter = 1.0;
+        this.seed = 42L;
+        this.numThreads = 1;
+    }
+
+    /**
+     * Returns the maximum number of nodes in a walk.
+     *
+     * @return the maximum number of nodes in a walk
+     */
+    public int getWalkLength() {
+        return walkLength;
+    }
+
+    /**
+     * Set the maximum number of nodes in a walk.
+     *
+     * @param walkLength the maximum number of nodes in a walk (at least 1)
+     */
+    public void setWalkLength(int walkLength) {
+        if (walkLength < 1) {
+            throw new IllegalArgumentException("walkLength must be at least 1: " + walkLength);
+        }
+        this.walkLength = walkLength;
+    }
+
+    /**
+     * Returns the number of walks started from each node.
+     *
+     * @return the number of walks started from each node
+     */
+    public int getWalksPerNode() {
+        return walksPerNode;
+    }
+
+    /**
+     * Set the number of walks started from each node.
+     *
+     * @param walksPerNode the number of walks started from each node (at least 1)
+     */
+    public void setWalksPerNode(int walksPerNode) {
+        if (walksPerNode < 1) {
+            throw new IllegalArgumentException("walksPerNode must be at least 1: " + walksPerNode);
+        }
+        this.walksPerNode = walksPerNode;
+    }
+
+    /**
+     * Returns the node2vec return parameter p.
+     *
+     * @return the node2vec return parameter p
+     */
+    public double getReturnParameter() {
+        return returnParameter;
+    }
+
+    /**
+     * Set the node2vec return parameter p. Higher values make it less likely
+     * to step back to the previous node.
+     *
+     * @param p the node2vec return parameter (greater than 0)
+     */
+    public void setReturnParameter(double p) {
+        if (!(p > 0)) {
+            throw new IllegalArgumentException("p must be greater than 0: " + p);
+        }
+        this.returnParameter = p;
+    }
+
+    /**
+     * Returns the node2vec in-out parameter q.
+     *
+     * @return the node2vec in-out parameter q
+     */
+    public double getInOutParameter() {
+        return inOutParameter;
+    }
+
+    /**
+     * Set the node2vec in-out parameter q. Values above 1 keep walks close to
+     * the previous node, values below 1 make them move outward.
+     *
+     * @param q the node2vec in-out parameter (greater than 0)
+     */
+    public void setInOutParameter(double q) {
+        if (!(q > 0)) {
+            throw new IllegalArgumentException("q must be greater than 0: " + q);
+        }
+        this.inOutParameter = q;
+    }
+
+    /**
+     * Returns the random seed.
+     *
+     * @return the random seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Set the random seed.
+     *
+     * @param seed the random seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the number of threads used to generate walks.
+     *
+     * @return the number of threads used to generate walks
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Set the number of threads used to generate walks.
+     *
+     * @param numThreads the number of threads used to generate walks (at least 1)
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be at least 1: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Generates all walks and hands them to <code>consumer</code>.
+     *
+     * @param consumer receives each walk as a sequence of synset IDs
+     */
+    public void generate(WalkConsumer consumer) {
+        run(() -> new WalkSink() {
+            @Override
+            public void walk(int[] nodes, int length) {
+                for (int i = 0; i < length; i++) {
+                    nodes[i] = graph.getSynsetId(nodes[i]);
+                }
+                consumer.accept(nodes, length);
+            }
+
+            @Override
+            public void flush() {
+            }
+        });
+    }
+
+    /**
+     * Generates all walks and writes them to <code>out</code>, one walk per line.
+     * <code>out</code> is not flushed or closed.
+     *
+     * @param out   the <code>Writer</code> to write to
+     * @param label how to write the nodes of a walk
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeWalks(Writer out, WalkLabel label) throws IOException {
+        String[] labels = getLabels(label);
+        runUnchecked(() -> new TextSink(labels) {
+            @Override
+            void write(StringBuilder sb) throws IOException {
+                synchronized (out) {
+                    out.append(sb);
+                }
+            }
+        });
+    }
+
+    /**
+     * Generates all walks and writes them to <code>out</code> as UTF-8 text, one
+     * walk per line. <code>out</code> is not closed.
+     *
+     * @param out   the channel to write to
+     * @param label how to write the nodes of a walk
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeWalks(WritableByteChannel out, WalkLabel label) throws IOException {
+        String[] labels = getLabels(label);
+        runUnchecked(() -> new TextSink(labels) {
+            @Override
+            void write(StringBuilder sb) throws IOException {
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(sb));
+                synchronized (out) {
+                    while (bytes.hasRemaining()) {
+                        out.write(bytes);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Generates a single walk starting at <code>start</code>.
+     *
+     * @param start the start node
+     * @param walk  receives the nodes of the walk, of length <code>walkLength</code>
+     * @param rng   the random number generator to use
+     * @return the number of nodes in the walk
+     */
+    int walk(int start, int[] walk, SplittableRandom rng) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        boolean biased = (returnParameter != 1.0 || inOutParameter != 1.0);
+        double returnWeight = 1.0 / returnParameter;
+        double inOutWeight = 1.0 / inOutParameter;
+        double maxWeight = Math.max(1.0, Math.max(returnWeight, inOutWeight));
+
+        walk[0] = start;
+        int length = 1;
+        while (length < walkLength) {
+            int current = walk[length - 1];
+            int from = offsets[current];
+            int degree = offsets[current + 1] - from;
+            if (degree == 0) {
+                break;
+            }
+
+            int next;
+            if (!biased || length == 1) {
+                next = targets[from + rng.nextInt(degree)];
+            } else {
+                // rejection sampling avoids precomputing alias tables for every edge pair
+                int previous = walk[length - 2];
+                while (true) {
+                    int candidate = targets[from + rng.nextInt(degree)];
+                    double weight;
+                    if (candidate == previous) {
+                        weight = returnWeight;
+                    } else if (graph.hasEdge(previous, candidate)) {
+                        weight = 1.0;
+                    } else {
+                        weight = inOutWeight;
+                    }
+                    if (rng.nextDouble() * maxWeight < weight) {
+                        next = candidate;
+                        break;
+                    }
+                }
+            }
+            walk[length++] = next;
+        }
+        return length;
+    }
+
+    private String[] getLabels(WalkLabel label) {
+        if (label != WalkLabel.OrthForm) {
+            return null;
+        }
+        if (orthFormLabels == null) {
+            String[] labels = new String[graph.numNodes()];
+            for (int node = 0; node < labels.length; node++) {
+                List<String> orthForms = graph.getSynset(node).getAllOrthForms();
+                labels[node] = orthForms.isEmpty()
+                        ? Integer.toString(graph.getSynsetId(node))
+                        : orthForms.get(0).replaceAll("\\s+", "_");
+            }
+            orthFormLabels = labels;
+        }
+        return orthFormLabels;
+    }
+
+    private void runUnchecked(SinkFactory sinkFactory) throws IOException {
+        try {
+            run(sinkFactory);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void run(SinkFactory sinkFactory) {
+        int numNodes = graph.numNodes();
+        int numChunks = (numNodes + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = numChunks * walksPerNode;
+
+        // split in task order, so each task gets the same generator for any number of threads
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] rngs = new SplittableRandom[numTasks];
+        for (int i = 0; i < numTasks; i++) {
+            rngs[i] = root.split();
+        }
+
+        AtomicInteger nextTask = new AtomicInteger();
+        Runnable worker = () -> {
+            WalkSink sink = sinkFactory.create();
+            int[] walk = new int[walkLength];
+            int task;
+            while ((task = nextTask.getAndIncrement()) < numTasks) {
+                SplittableRandom rng = rngs[task];
+                int start = (task % numChunks) * CHUNK_SIZE;
+                int end = Math.min(start + CHUNK_SIZE, numNodes);
+                for (int node = start; node < end; node++) {
+                    int length = walk(node, walk, rng);
+                    sink.walk(walk, length);
+                }
+            }
+            sink.flush();
+        };
+
+        int threads = Math.min(numThreads, Math.max(numTasks, 1));
+        if (threads == 1) {
+            worker.run();
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(worker);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating walks", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface SinkFactory {
+        WalkSink create();
+    }
+
+    /**
+     * Per-thread receiver of walks over dense node indices.
+     */
+    private interface WalkSink {
+        void walk(int[] nodes, int length);
+
+        void flush();
+    }
+
+    /**
+     * Buffers walks as text and writes them in blocks of whole lines.
+     */
+    private abstract class TextSink implements WalkSink {
+        private final String[] labels;
+        private final StringBuilder sb = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+        TextSink(String[] labels) {
+            this.labels = labels;
+        }
+
+        abstract void write(StringBuilder sb) throws IOException;
+
+        @Override
+        public void walk(int[] nodes, int length) {
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                if (labels != null) {
+                    sb.append(labels[nodes[i]]);
+                } else {
+                    sb.append(graph.getSynsetId(nodes[i]));
+                }
+            }
+            sb.append('\n');
+            if (sb.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (sb.length() == 0) {
+                return;
+            }
+            try {
+                write(sb);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            sb.setLength(0);
+        }
+    }
+}
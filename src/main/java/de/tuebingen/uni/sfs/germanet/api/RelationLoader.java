@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -43,11 +44,13 @@ class RelationLoader {
      * Loads relations from the specified file into this
      * <code>RelationLoader</code>'s <code>GermaNet</code> object.
      * @param relationFile file containing GermaNet relation data
+     * @param danglingRelations list to add relations to unknown IDs to, or null
      * @throws java.io.FileNotFoundException if the file is not found
      * @throws javax.xml.stream.XMLStreamException if there is a problem with the stream
      */
-    static void loadRelations(File relationFile, Map<Integer, Synset> synsetIdMap, Map<Integer, LexUnit> lexUnitIdMap) throws FileNotFoundException, XMLStreamException {
-        RelationLoader.loadRelations(new FileInputStream(relationFile), synsetIdMap, lexUnitIdMap);
+    static void loadRelations(File relationFile, Map<Integer, Synset> synsetIdMap, Map<Integer, LexUnit> lexUnitIdMap,
+                              List<ValidationReport.Problem> danglingRelations) throws FileNotFoundException, XMLStreamException {
+        RelationLoader.loadRelations(new FileInputStream(relationFile), synsetIdMap, lexUnitIdMap, danglingRelations);
     }
 
     /**
@@ -56,11 +59,15 @@ class RelationLoader {
      * @param inputStream containing GermaNet relation data
      * @param synsetIdMap map of all synset IDs to the Synsets
      * @param lexUnitIdMap map of all lexUnit IDs to the LexUnits
-     * @throws XMLStreamException if there is a problem with the steam
+     * @param danglingRelations list to add relations to unknown IDs to, which are
+     *                          skipped, or null to fail on the first such relation
+     * @throws XMLStreamException if there is a problem with the steam, or a
+     * relation to an unknown ID if <code>danglingRelations</code> is null
      */
     static void loadRelations(InputStream inputStream,
                               Map<Integer, Synset> synsetIdMap,
-                              Map<Integer, LexUnit> lexUnitIdMap) throws XMLStreamException {
+                              Map<Integer, LexUnit> lexUnitIdMap,
+                              List<ValidationReport.Problem> danglingRelations) throws XMLStreamException {
         XMLInputFactory factory = XMLInputFactory.newInstance();
         XMLStreamReader parser = factory.createXMLStreamReader(inputStream);
         String namespace = null;
@@ -80,9 +87,9 @@ class RelationLoader {
                 case XMLStreamConstants.START_ELEMENT:
                     nodeName = parser.getLocalName();
                     if (nodeName.equals(GermaNet.XML_LEX_REL)) {
-                        processLexRel(parser, namespace, lexUnitIdMap);
+                        processLexRel(parser, namespace, lexUnitIdMap, danglingRelations);
                     } else if (nodeName.equals(GermaNet.XML_CON_REL)) {
-                        processConRel(parser, namespace, synsetIdMap);
+                        processConRel(parser, namespace, synsetIdMap, danglingRelations);
                     }
                     break;
             }
@@ -95,8 +102,11 @@ class RelationLoader {
      * Processes the lexical relation for which the start tag was
      * just encountered.
      * @param parser the <code>XMLStreamParser</code> to get the attributes from
+     * @throws XMLStreamException if a lex unit is unknown and
+     * <code>danglingRelations</code> is null
      */
-    static private void processLexRel(XMLStreamReader parser, String namespace, Map<Integer, LexUnit> lexUnitIdMap) {
+    static private void processLexRel(XMLStreamReader parser, String namespace, Map<Integer, LexUnit> lexUnitIdMap,
+                                      List<ValidationReport.Problem> danglingRelations) throws XMLStreamException {
         String name, direction;
         int fromLexUnitId, toLexUnitId;
         LexUnit fromLexUnit, toLexUnit;
@@ -112,6 +122,11 @@ class RelationLoader {
         // look up the LexUnits
         fromLexUnit = lexUnitIdMap.get(fromLexUnitId);
         toLexUnit = lexUnitIdMap.get(toLexUnitId);
+        if (fromLexUnit == null || toLexUnit == null) {
+            danglingRelation(parser, ValidationReport.ProblemType.DanglingLexRel, fromLexUnitId, name, toLexUnitId,
+                    danglingRelations);
+            return;
+        }
 
         // add outgoing relation "from" -> "to"
         fromLexUnit.addRelation(rel, toLexUnit, RelDirection.outgoing);
@@ -134,8 +149,11 @@ class RelationLoader {
      * Processes the conceptual relation for which the start tag was
      * just encountered.
      * @param parser the <code>XMLStreamReader</code> to get the attributes from
+     * @throws XMLStreamException if a synset is unknown and
+     * <code>danglingRelations</code> is null
      */
-    static private void processConRel(XMLStreamReader parser, String namespace, Map<Integer, Synset> synsetIdMap) {
+    static private void processConRel(XMLStreamReader parser, String namespace, Map<Integer, Synset> synsetIdMap,
+                                      List<ValidationReport.Problem> danglingRelations) throws XMLStreamException {
         String name, direction;
         int fromSynsetId, toSynsetId;
         Synset fromSynset, toSynset;
@@ -151,6 +169,11 @@ class RelationLoader {
         // look up the Synsets
         fromSynset = synsetIdMap.get(fromSynsetId);
         toSynset = synsetIdMap.get(toSynsetId);
+        if (fromSynset == null || toSynset == null) {
+            danglingRelation(parser, ValidationReport.ProblemType.DanglingConRel, fromSynsetId, name, toSynsetId,
+                    danglingRelations);
+            return;
+        }
 
         // add outgoing relation "from" -> "to"
         fromSynset.addRelation(rel, toSynset, RelDirection.outgoing);
@@ -168,4 +191,18 @@ class RelationLoader {
             fromSynset.addRelation(invRel, toSynset, RelDirection.incoming);
         }
     }
+
+    /**
+     * Adds a relation to an unknown ID to <code>danglingRelations</code>, or
+     * fails if it is null.
+     */
+    static private void danglingRelation(XMLStreamReader parser, ValidationReport.ProblemType type, int fromId,
+                                         String name, int toId, List<ValidationReport.Problem> danglingRelations)
+            throws XMLStreamException {
+        if (danglingRelations == null) {
+            throw new XMLStreamException("Relation " + name + " from " + fromId + " to " + toId
+                    + " refers to an unknown ID", parser.getLocation());
+        }
+        danglingRelations.add(new ValidationReport.Problem(type, fromId, name + " " + toId));
+    }
 }
@@ -23,11 +23,20 @@ import it.unimi.dsi.fastutil.ints.*;
 import it.unimi.dsi.fastutil.objects.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.UncheckedIOException;
+import java.nio.DoubleBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
 
 /**
  * Utility class for doing calculations needed by the semantic relatedness algorithms.
@@ -37,29 +46,54 @@ import java.util.*;
 public class SemanticUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SemanticUtils.class);
+    private static final int JOIN_PARTITION_SIZE = 256;
+    // per-thread buffer for the LCS information of the pair being compared, so that
+    // lookups in the pair cache do not allocate
+    private static final ThreadLocal<LcsPairCache.PairScan> PAIR_SCAN =
+            ThreadLocal.withInitial(LcsPairCache.PairScan::new);
 
-    private boolean freqFilesFound;
+    /**
+     * Name of the <code>ICProfile</code> computed from the frequency files passed to
+     * the <code>GermaNet</code> constructor.
+     */
+    public static final String DEFAULT_IC_PROFILE = "default";
+
+    private GermaNet gnet;
     private Object2IntMap<WordCategory> catMaxHypernymDistanceMap;
     private Map<WordCategory, Set<Synset>> catSynsetMap;
     private Int2ObjectMap<Synset> synsetIDMap;
+    private DescendantIndex descendantIndex;
     private Object2ObjectMap<WordCategory, ObjectSet<LeastCommonSubsumer>> catLongestLCSMap;
     private Object2IntMap<WordCategory> catMaxDepthMap;
     private Object2ObjectMap<WordCategory, Object2ObjectMap<SemRelMeasure, ObjectList<Double>>> catNormalizationMap;
-    private Object2ObjectMap<WordCategory, Int2DoubleMap> catICMap;
-
-    // used only during construction to generate IC maps
-    private Object2ObjectMap<WordCategory, Object2LongMap<String>> formFreqMaps;
-    private Object2ObjectMap<WordCategory, Int2LongMap> individualFreqMaps;
-    private Object2ObjectMap<WordCategory, Int2LongMap> cumulativeFreqMaps;
-
-    SemanticUtils(Object2IntMap<WordCategory> catMaxHypernymDistanceMap,
+    // the default IC profile, null without frequency files, and all named profiles
+    private ICProfile icProfile;
+    private final Map<String, ICProfile> icProfiles = new ConcurrentHashMap<>();
+
+    // primitive copies of the normalization values and path constants, indexed by ordinal
+    private double[][] normalizationMin;
+    private double[][] normalizationMax;
+    private int[] catMaxShortestPathLengths;
+    private int[] catMaxDepths;
+
+    // optional LRU cache of word-level similarities, null if disabled
+    private volatile Map<String, Double> wordPairCache;
+    // optional cache of LCS information of synset pairs, null if disabled
+    private volatile LcsPairCache pairCache;
+
+    SemanticUtils(GermaNet gnet,
+                  Object2IntMap<WordCategory> catMaxHypernymDistanceMap,
                   Map<WordCategory, Set<Synset>> catSynsetMap,
                   Int2ObjectMap<Synset> synsetIDMap,
-                  File nounFreqFile, File verbFreqFile, File adjFreqFile) throws IOException {
+                  DescendantIndex descendantIndex,
+                  FrequencySource nounFreqSource, FrequencySource verbFreqSource,
+                  FrequencySource adjFreqSource) throws IOException {
 
+        this.gnet = gnet;
         this.catMaxHypernymDistanceMap = catMaxHypernymDistanceMap;
         this.catSynsetMap = catSynsetMap;
         this.synsetIDMap = synsetIDMap;
+        this.descendantIndex = descendantIndex;
         catMaxDepthMap = new Object2IntOpenHashMap<>(WordCategory.values().length);
         catNormalizationMap = new Object2ObjectOpenHashMap<>(WordCategory.values().length);
 
@@ -67,58 +101,70 @@ public class SemanticUtils {
         LOGGER.info("Initializing SemanticUtils object...");
         initCatLongestLCSMap();
         initMaxDepthMap();
+        initPathConstants();
 
         LOGGER.info("Initializing normalization values for Path algorithms...");
         initPathNormalizationValues();
 
-        if (nounFreqFile == null || verbFreqFile == null || adjFreqFile == null) {
-            freqFilesFound = false;
-        } else {
-            catICMap = new Object2ObjectOpenHashMap<>(WordCategory.values().length);
-            formFreqMaps = new Object2ObjectOpenHashMap<>(WordCategory.values().length);
-            individualFreqMaps = new Object2ObjectOpenHashMap<>(WordCategory.values().length);
-            cumulativeFreqMaps = new Object2ObjectOpenHashMap<>(WordCategory.values().length);
-
-            LOGGER.info("Loading frequency lists...");
-            formFreqMaps.put(WordCategory.nomen, loadFreqData(nounFreqFile));
-            formFreqMaps.put(WordCategory.verben, loadFreqData(verbFreqFile));
-            formFreqMaps.put(WordCategory.adj, loadFreqData(adjFreqFile));
-            freqFilesFound = true;
-
-            // initialize individual frequency maps
-            LOGGER.info("Calculating individual frequencies...");
-            initIndividualFreqMaps();
-
-            // calculate cumulative frequency of each synset
-            LOGGER.info("Calculating cumulative frequencies...");
-            initCumulativeFreqMaps();
-
-            // calculate the Information Content of each synset and normalization values for each word category
-            LOGGER.info("Calculating Information Content values and normalization values...");
-            initICMaps();
-
-            // Delete maps that are not needed any more
-            formFreqMaps = null;
-            individualFreqMaps = null;
-            cumulativeFreqMaps = null;
+        if (nounFreqSource != null && verbFreqSource != null && adjFreqSource != null) {
+            icProfile = buildICProfile(DEFAULT_IC_PROFILE, nounFreqSource, verbFreqSource, adjFreqSource);
+            icProfiles.put(DEFAULT_IC_PROFILE, icProfile);
         }
 
+        initNormalizationArrays();
+
         long endTime = System.currentTimeMillis();
         double processingTime = (double) (endTime - startTime) / 1000;
         LOGGER.info("Done initializing SemanticUtils object ({} seconds).", processingTime);
     }
 
-    private void initICMaps() throws IOException {
+    /**
+     * Computes the IC profile <code>name</code> from frequency lists: loads the lists,
+     * sums up the frequencies of the orthForms of each synset, accumulates them over all
+     * hyponyms, and calculates the Information Content of each synset and the normalization
+     * values of each word category.
+     */
+    private ICProfile buildICProfile(String name, FrequencySource nounFreqSource, FrequencySource verbFreqSource,
+                                     FrequencySource adjFreqSource) throws IOException {
+        LOGGER.info("Loading frequency lists for IC profile {}...", name);
+        Object2ObjectMap<WordCategory, FrequencySource> freqSources =
+                new Object2ObjectOpenHashMap<>(WordCategory.values().length);
+        freqSources.put(WordCategory.nomen, nounFreqSource);
+        freqSources.put(WordCategory.verben, verbFreqSource);
+        freqSources.put(WordCategory.adj, adjFreqSource);
+        Object2ObjectMap<WordCategory, Object2LongMap<String>> formFreqMaps = loadFreqData(freqSources);
+
+        // initialize individual frequency maps
+        LOGGER.info("Calculating individual frequencies...");
+        Object2ObjectMap<WordCategory, Int2LongMap> individualFreqMaps = initIndividualFreqMaps(formFreqMaps);
+
+        // calculate cumulative frequency of each synset
+        LOGGER.info("Calculating cumulative frequencies...");
+        long[] rootCumulativeFreqs = new long[WordCategory.values().length];
+        long[] cumulativeFreqs = initCumulativeFreqs(individualFreqMaps, rootCumulativeFreqs);
+
+        // calculate the Information Content of each synset and normalization values for each word category
+        LOGGER.info("Calculating Information Content values and normalization values...");
+        return initICProfile(name, cumulativeFreqs, rootCumulativeFreqs);
+    }
+
+    /**
+     * Computes the Information Content of each synset and the normalization values of each
+     * word category from cumulative frequencies (see <code>initCumulativeFreqs</code>).
+     */
+    ICProfile initICProfile(String name, long[] cumulativeFreqs, long[] rootCumulativeFreqs) {
+        SynsetIdIndex index = descendantIndex.getIndex();
+        Int2DoubleMap[] catICMaps = new Int2DoubleMap[WordCategory.values().length];
+        double[][] icNormalizationMax = new double[WordCategory.values().length][SemRelMeasure.values().length];
 
         for (WordCategory wordCategory : WordCategory.values()) {
             // calculate the Information Content of each synset in wordCategory
             // keep track of max IC values for the normalization map
             // min IC is always 0.0 (value for root)
 
-            Int2DoubleMap icMap = new Int2DoubleOpenHashMap(175000);
-            Int2LongMap cumulativeFreqMap = cumulativeFreqMaps.get(wordCategory);
             Set<Synset> synsetsByWordCat = catSynsetMap.get(wordCategory);
-            long cumFreqRoot = cumulativeFreqMap.get(GermaNet.GNROOT_ID);
+            Int2DoubleMap icMap = new Int2DoubleOpenHashMap(synsetsByWordCat.size() + 1);
+            long cumFreqRoot = rootCumulativeFreqs[wordCategory.ordinal()];
 
             double maxIC = Double.MIN_VALUE;
 
@@ -127,7 +173,10 @@ public class SemanticUtils {
             while (iterator.hasNext()) {
                 synset = iterator.next();
                 int synsetID = synset.getId();
-                long cumulativeFreq = cumulativeFreqMap.getOrDefault(synsetID, 0);
+                if (synsetID == GermaNet.GNROOT_ID) {
+                    continue;
+                }
+                long cumulativeFreq = cumulativeFreqs[index.getDenseId(synsetID)];
 
                 // calculate the IC for this synset
                 double ic = -Math.log10((double) cumulativeFreq / cumFreqRoot);
@@ -143,56 +192,75 @@ public class SemanticUtils {
             // the root node will always have IC = 0.0
             // add an entry for root to the icMap for each WordCategory
             icMap.put(GermaNet.GNROOT_ID, 0.0);
-            catICMap.put(wordCategory, icMap);
+            catICMaps[wordCategory.ordinal()] = icMap;
 
-            // for each of the IC measures,
-            // put the min/max IC values in the normalization map for this wordCategory
-            Object2ObjectMap<SemRelMeasure, ObjectList<Double>> normMap = catNormalizationMap.get(wordCategory);
+            // for each of the IC measures, store the max value for this wordCategory
+            // (the min value is always 0.0)
+            double[] maxValues = icNormalizationMax[wordCategory.ordinal()];
+            Arrays.fill(maxValues, Double.NaN);
 
-            // Resnik: min 0.0, max maxIC
-            ObjectList<Double> minMaxList = new ObjectArrayList<>(2);
-            minMaxList.add(0.0);
-            minMaxList.add(maxIC);
-            normMap.put(SemRelMeasure.Resnik, minMaxList);
-
-            // JiangAndConrath: min 0.0, max 2 * -log10(1.0 / cumFreqRoot)
-            minMaxList = new ObjectArrayList<>(2);
-            double min = 0.0;
-            double max = 2 * -Math.log10(1.0 / cumFreqRoot);
-            minMaxList.add(min);
-            minMaxList.add(max);
-            normMap.put(SemRelMeasure.JiangAndConrath, minMaxList);
-
-            // Lin: min 0.0, max 1.0
-            minMaxList = new ObjectArrayList<>(2);
-            min = 0.0;
-            max = 1.0;
-            minMaxList.add(min);
-            minMaxList.add(max);
-            normMap.put(SemRelMeasure.Lin, minMaxList);
-            catNormalizationMap.put(wordCategory, normMap);
-        }
-    }
-
-    private Object2LongMap<String> loadFreqData(File file) throws IOException {
-        Object2LongMap<String> freqMap = new Object2LongOpenHashMap<>();
-        Files.lines(Paths.get(file.getPath()))
-                .map(line -> line.split("\\s+"))
-                .forEach(splits -> {
-                    if (splits.length == 2) {
-                        String word = splits[0];
-                        long freq = Long.parseLong(splits[1]);
-                        long curFreq = freqMap.getOrDefault(word, -1);
-                        if (curFreq > 0) {
-                            freq += curFreq;
-                        }
-                        freqMap.put(word, freq);
+            // Resnik: max maxIC
+            maxValues[SemRelMeasure.Resnik.ordinal()] = maxIC;
+
+            // JiangAndConrath: max 2 * -log10(1.0 / cumFreqRoot)
+            maxValues[SemRelMeasure.JiangAndConrath.ordinal()] = 2 * -Math.log10(1.0 / cumFreqRoot);
+
+            // Lin: max 1.0
+            maxValues[SemRelMeasure.Lin.ordinal()] = 1.0;
+        }
+        return new ICProfile(name, catICMaps, icNormalizationMax);
+    }
+
+    /**
+     * Loads the frequency lists of all word categories in parallel. Only the
+     * frequencies of orthographic forms of synsets in the respective word category
+     * are kept.
+     */
+    private Object2ObjectMap<WordCategory, Object2LongMap<String>> loadFreqData(
+            Object2ObjectMap<WordCategory, FrequencySource> freqSources) throws IOException {
+        Object2ObjectMap<WordCategory, Future<Object2LongMap<String>>> futures =
+                new Object2ObjectOpenHashMap<>(freqSources.size());
+        ExecutorService executor = Executors.newFixedThreadPool(freqSources.size());
+        try {
+            for (WordCategory wordCategory : freqSources.keySet()) {
+                FrequencySource freqSource = freqSources.get(wordCategory);
+                Set<String> orthForms = new ObjectOpenHashSet<>();
+                for (Synset synset : catSynsetMap.get(wordCategory)) {
+                    orthForms.addAll(synset.getAllOrthForms());
+                }
+                futures.put(wordCategory, executor.submit(() -> freqSource.load(new OrthFormTable(orthForms))));
+            }
+
+            Object2ObjectMap<WordCategory, Object2LongMap<String>> freqMaps =
+                    new Object2ObjectOpenHashMap<>(freqSources.size());
+            for (WordCategory wordCategory : futures.keySet()) {
+                try {
+                    freqMaps.put(wordCategory, futures.get(wordCategory).get());
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof IOException) {
+                        throw new IOException("Unable to load frequency file " + freqSources.get(wordCategory)
+                                + ": " + cause.getMessage(), cause);
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
                     }
-                });
-        return freqMap;
+                    throw new IllegalStateException(cause);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while loading frequency files", ex);
+                }
+            }
+            return freqMaps;
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
-    private void initIndividualFreqMaps() {
+    private Object2ObjectMap<WordCategory, Int2LongMap> initIndividualFreqMaps(
+            Object2ObjectMap<WordCategory, Object2LongMap<String>> formFreqMaps) {
+        Object2ObjectMap<WordCategory, Int2LongMap> individualFreqMaps =
+                new Object2ObjectOpenHashMap<>(WordCategory.values().length);
 
         for (WordCategory wordCategory : WordCategory.values()) {
             Int2LongMap individualFreqMap = new Int2LongOpenHashMap();
@@ -224,33 +292,42 @@ public class SemanticUtils {
 
             individualFreqMaps.put(wordCategory, individualFreqMap);
         }
+        return individualFreqMaps;
     }
 
-    private void initCumulativeFreqMaps() {
-
-        for (WordCategory wordCategory : WordCategory.values()) {
-
-            Int2LongMap cumulativeFreqMap = new Int2LongOpenHashMap();
-            Set<Synset> synsetsByWordCat = catSynsetMap.get(wordCategory);
-            ObjectIterator<Synset> iterator = ObjectIterators.asObjectIterator(synsetsByWordCat.iterator());
-            Synset synset;
-
-            while (iterator.hasNext()) {
-                synset = iterator.next();
-                int synsetID = synset.getId();
-
-                // ROOT is a special case that is handled separately
-                // its word category is noun, but it has hyponyms of all word categories
-                if (synsetID == GermaNet.GNROOT_ID) {
-                    continue;
-                }
-                if (cumulativeFreqMap.getOrDefault(synsetID, -1L) == -1L) {
-                    calcCumulativeSynsetFreq(synset, cumulativeFreqMap);
-                }
+    /**
+     * Returns the cumulative frequency of each synset, indexed by the dense ids of the
+     * descendant index. The entry of ROOT is 0; the cumulative frequency of ROOT in each
+     * word category is stored in <code>rootCumulativeFreqs</code>, indexed by ordinal.
+     */
+    private long[] initCumulativeFreqs(Object2ObjectMap<WordCategory, Int2LongMap> individualFreqMaps,
+                                       long[] rootCumulativeFreqs) {
+
+        // cumulative frequency of each synset: its own frequency plus the cumulative frequencies
+        // of all its hyponyms, so a hyponym reachable over several paths is counted once per path.
+        // The post-order of the descendant index visits all hyponyms before their hypernyms.
+        SynsetIdIndex index = descendantIndex.getIndex();
+        int[] children = descendantIndex.getChildren();
+        long[] cumulativeFreqs = new long[index.size()];
+        for (int node : descendantIndex.getPostOrder()) {
+            Synset synset = descendantIndex.getSynset(node);
+            int synsetID = synset.getId();
+
+            // ROOT is a special case that is handled separately
+            // its word category is noun, but it has hyponyms of all word categories
+            if (synsetID == GermaNet.GNROOT_ID) {
+                continue;
+            }
+            long cumulativeFreq = individualFreqMaps.get(synset.getWordCategory()).get(synsetID);
+            for (int i = descendantIndex.getChildOffset(node); i < descendantIndex.getChildOffset(node + 1); i++) {
+                cumulativeFreq += cumulativeFreqs[children[i]];
             }
+            cumulativeFreqs[node] = cumulativeFreq;
+        }
 
-            // add an entry for ROOT
-            // count only cum freqs of hyponyms with the same word category
+        // cumulative frequency of ROOT for each word category:
+        // count only cum freqs of hyponyms with the same word category
+        for (WordCategory wordCategory : WordCategory.values()) {
             List<Synset>  rootHyponyms = synsetIDMap.get(GermaNet.GNROOT_ID).getRelatedSynsets(ConRel.has_hyponym);
             long rootCumFreq = 1L;
             ObjectIterator<Synset> hyponymIterator = ObjectIterators.asObjectIterator(rootHyponyms.iterator());
@@ -258,43 +335,13 @@ public class SemanticUtils {
             while (hyponymIterator.hasNext()) {
                 hyponym = hyponymIterator.next();
                 if (hyponym.getWordCategory() == wordCategory) {
-                    rootCumFreq += cumulativeFreqMap.getOrDefault(hyponym.getId(), 0);
+                    rootCumFreq += cumulativeFreqs[index.getDenseId(hyponym.getId())];
                 }
             }
-            cumulativeFreqMap.put(GermaNet.GNROOT_ID, rootCumFreq);
-
-            cumulativeFreqMaps.put(wordCategory, cumulativeFreqMap);
-            LOGGER.info("Cumulative frequency for root ({}): {}", wordCategory, cumulativeFreqMap.get(GermaNet.GNROOT_ID));
-        }
-    }
-
-    // recursively fill in the cumulativeFreqMap
-    private Long calcCumulativeSynsetFreq(Synset synset, Int2LongMap cumulativeFreqMap) {
-
-        // See if we already calculated the cumulative frequency of the synset
-        int synsetID = synset.getId();
-        long cumulativeFreq = cumulativeFreqMap.getOrDefault(synsetID, -1);
-        if (cumulativeFreq != -1) {
-            return cumulativeFreq;
-        }
-
-        // Calculate and store cumulative freq for this synset (ie freq of this synset plus all its hyponyms (transitive))
-        Int2LongMap individualFreqMap = individualFreqMaps.get(synset.getWordCategory());
-        long individualFreq = individualFreqMap.get(synsetID); // this should never be null
-
-        // include synset's own freq in its cumulativeFreq
-        cumulativeFreq = individualFreq;
-        List<Synset> hyponyms = synset.getRelatedSynsets(ConRel.has_hyponym);
-        ObjectIterator<Synset> hyponymIterator = ObjectIterators.asObjectIterator(hyponyms.iterator());
-        Synset hyponym;
-
-        while (hyponymIterator.hasNext()) {
-            hyponym = hyponymIterator.next();
-            cumulativeFreq += calcCumulativeSynsetFreq(hyponym, cumulativeFreqMap);
+            rootCumulativeFreqs[wordCategory.ordinal()] = rootCumFreq;
+            LOGGER.info("Cumulative frequency for root ({}): {}", wordCategory, rootCumFreq);
         }
-        cumulativeFreqMap.put(synsetID, cumulativeFreq);
-
-        return cumulativeFreq;
+        return cumulativeFreqs;
     }
 
     private void initMaxDepthMap() {
@@ -371,17 +418,53 @@ public class SemanticUtils {
      * @param rawValue      raw value of the algorithm
      * @param normalizedMax upper bound on normalization range (lower bound is 0)
      * @return the normalized value, taking into consideration the WordCategory, algorithm, and requested upper bound.
-     * If rawValue is null, this method returns null.
      */
-    private Double normalize(WordCategory wordCategory, SemRelMeasure semRelMeasure, Double rawValue, int normalizedMax) {
-        if (rawValue == null)
-            return null;
-        double minVal = catNormalizationMap.get(wordCategory).get(semRelMeasure).get(0);
-        double maxVal = catNormalizationMap.get(wordCategory).get(semRelMeasure).get(1);
+    private double normalize(WordCategory wordCategory, SemRelMeasure semRelMeasure, double rawValue, int normalizedMax) {
+        double minVal = normalizationMin[wordCategory.ordinal()][semRelMeasure.ordinal()];
+        double maxVal = normalizationMax[wordCategory.ordinal()][semRelMeasure.ordinal()];
 
         return ((rawValue - minVal) / (maxVal - minVal)) * normalizedMax;
     }
 
+    /**
+     * Copy the longest shortest path and the max depth of each word category into arrays
+     * indexed by ordinal, for use by the path measures.
+     */
+    private void initPathConstants() {
+        int numCats = WordCategory.values().length;
+        catMaxShortestPathLengths = new int[numCats];
+        catMaxDepths = new int[numCats];
+        for (WordCategory wordCategory : WordCategory.values()) {
+            int cat = wordCategory.ordinal();
+            catMaxShortestPathLengths[cat] = catLongestLCSMap.get(wordCategory).iterator().next().getDistance();
+            catMaxDepths[cat] = catMaxDepthMap.getOrDefault(wordCategory, 0);
+        }
+    }
+
+    /**
+     * Copy the normalization values into arrays indexed by ordinal, so the similarity
+     * measures can read them without boxing. The values of the IC measures depend on the
+     * <code>ICProfile</code> and are NaN here.
+     */
+    private void initNormalizationArrays() {
+        int numCats = WordCategory.values().length;
+        int numMeasures = SemRelMeasure.values().length;
+        normalizationMin = new double[numCats][numMeasures];
+        normalizationMax = new double[numCats][numMeasures];
+        for (WordCategory wordCategory : WordCategory.values()) {
+            int cat = wordCategory.ordinal();
+            Arrays.fill(normalizationMin[cat], Double.NaN);
+            Arrays.fill(normalizationMax[cat], Double.NaN);
+            Object2ObjectMap<SemRelMeasure, ObjectList<Double>> normMap = catNormalizationMap.get(wordCategory);
+            if (normMap != null) {
+                for (Object2ObjectMap.Entry<SemRelMeasure, ObjectList<Double>> entry : normMap.object2ObjectEntrySet()) {
+                    normalizationMin[cat][entry.getKey().ordinal()] = entry.getValue().get(0);
+                    normalizationMax[cat][entry.getKey().ordinal()] = entry.getValue().get(1);
+                }
+            }
+        }
+    }
+
     private void initCatLongestLCSMap() {
         if (catLongestLCSMap == null) {
             catLongestLCSMap = new Object2ObjectOpenHashMap<>(WordCategory.values().length);
@@ -581,37 +664,146 @@ public class SemanticUtils {
      * similarity cannot be computed. See documentation of each algorithm for more information.
      */
     public Double getSimilarity(SemRelMeasure semRelMeasure, Synset s1, Synset s2, int normalizedMax) {
-        Double rval;
+        if (semRelMeasure == null || !isComputable(semRelMeasure, s1, s2, icProfile)) {
+            return null;
+        }
+        return computeSimilarity(semRelMeasure, s1, s2, normalizedMax, icProfile);
+    }
+
+    /**
+     * Primitive version of <code>getSimilarity</code>, which does not box its result.
+     * Returns <code>Double.NaN</code> where <code>getSimilarity</code> returns null:
+     * if the synsets do not belong to the same WordCategory, or if an Information Content
+     * measure is requested without frequency files.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param s1 first synset
+     * @param s2 second synset
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return The similarity using the algorithm selected - with optional normalization, or
+     * <code>Double.NaN</code> if similarity cannot be computed.
+     */
+    public double similarity(SemRelMeasure semRelMeasure, Synset s1, Synset s2, int normalizedMax) {
+        return similarity(semRelMeasure, s1, s2, normalizedMax, null);
+    }
+
+    /**
+     * Primitive version of <code>getSimilarity</code>, which computes the Information
+     * Content measures with the given <code>ICProfile</code>. The path measures do not
+     * depend on the profile.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param s1 first synset
+     * @param s2 second synset
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param icProfile the IC profile to use, or null for the default profile
+     * @return The similarity using the algorithm selected - with optional normalization, or
+     * <code>Double.NaN</code> if similarity cannot be computed.
+     */
+    public double similarity(SemRelMeasure semRelMeasure, Synset s1, Synset s2, int normalizedMax,
+                             ICProfile icProfile) {
+        ICProfile profile = (icProfile != null) ? icProfile : this.icProfile;
+        if (!isComputable(semRelMeasure, s1, s2, profile)) {
+            return Double.NaN;
+        }
+        return computeSimilarity(semRelMeasure, s1, s2, normalizedMax, profile);
+    }
+
+    /**
+     * Primitive version of <code>getSimilarity</code> for synset IDs. Returns
+     * <code>Double.NaN</code> if either ID is unknown, or if the similarity cannot be
+     * computed (see <code>similarity(SemRelMeasure, Synset, Synset, int)</code>).
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synsetId1 ID of the first synset
+     * @param synsetId2 ID of the second synset
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return The similarity using the algorithm selected - with optional normalization, or
+     * <code>Double.NaN</code> if similarity cannot be computed.
+     */
+    public double similarity(SemRelMeasure semRelMeasure, int synsetId1, int synsetId2, int normalizedMax) {
+        return similarity(semRelMeasure, synsetIDMap.get(synsetId1), synsetIDMap.get(synsetId2), normalizedMax);
+    }
+
+    /**
+     * Primitive version of <code>getSimilarity</code> for synset IDs, which computes the
+     * Information Content measures with the given <code>ICProfile</code>. See
+     * <code>similarity(SemRelMeasure, Synset, Synset, int, ICProfile)</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synsetId1 ID of the first synset
+     * @param synsetId2 ID of the second synset
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param icProfile the IC profile to use, or null for the default profile
+     * @return The similarity using the algorithm selected - with optional normalization, or
+     * <code>Double.NaN</code> if similarity cannot be computed.
+     */
+    public double similarity(SemRelMeasure semRelMeasure, int synsetId1, int synsetId2, int normalizedMax,
+                             ICProfile icProfile) {
+        return similarity(semRelMeasure, synsetIDMap.get(synsetId1), synsetIDMap.get(synsetId2), normalizedMax,
+                icProfile);
+    }
+
+    /**
+     * Primitive version of <code>getDistanceBetweenSynsets</code>: the shortest distance
+     * between two Synsets using hypernym / hyponym relations only.
+     *
+     * @param synset1 one Synset
+     * @param synset2 another Synset
+     * @return The distance between the Synsets, or -1 if either is null or both do not belong
+     * to the same WordCategory.
+     */
+    public int distance(Synset synset1, Synset synset2) {
+        if ((synset1 == null) || (synset2 == null) || !synset2.inWordCategory(synset1.getWordCategory())) {
+            return -1;
+        }
+        return (int) (scanLeastCommonSubsumers(synset1, synset2) >>> 32);
+    }
 
+    /**
+     * Primitive version of <code>getDistanceBetweenSynsets</code> for synset IDs.
+     *
+     * @param synsetId1 ID of one Synset
+     * @param synsetId2 ID of another Synset
+     * @return The distance between the Synsets, or -1 if either ID is unknown or both do not
+     * belong to the same WordCategory.
+     */
+    public int distance(int synsetId1, int synsetId2) {
+        return distance(synsetIDMap.get(synsetId1), synsetIDMap.get(synsetId2));
+    }
+
+    /**
+     * Returns true if <code>semRelMeasure</code> can be computed for the synsets with
+     * the IC profile (which may be null).
+     */
+    private boolean isComputable(SemRelMeasure semRelMeasure, Synset s1, Synset s2, ICProfile profile) {
+        if ((s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
+            return false;
+        }
+        return profile != null || semRelMeasure.isMeasureType(SemRelMeasure.MeasureType.Path);
+    }
+
+    /**
+     * Computes the similarity of two comparable synsets.
+     */
+    private double computeSimilarity(SemRelMeasure semRelMeasure, Synset s1, Synset s2, int normalizedMax,
+                                     ICProfile profile) {
         switch (semRelMeasure) {
             case SimplePath:
-                rval = getSimilaritySimplePath(s1, s2, normalizedMax);
-                break;
-
+                return simplePath(s1, s2, normalizedMax);
             case LeacockAndChodorow:
-                rval = getSimilarityLeacockChodorow(s1, s2, normalizedMax);
-                break;
-
+                return leacockChodorow(s1, s2, normalizedMax);
             case WuAndPalmer:
-                rval = getSimilarityWuAndPalmer(s1, s2, normalizedMax);
-                break;
-
+                return wuAndPalmer(s1, s2, normalizedMax);
             case Resnik:
-                rval = getSimilarityResnik(s1, s2, normalizedMax);
-                break;
-
+                return resnik(s1, s2, normalizedMax, profile);
             case JiangAndConrath:
-                rval = getSimilarityJiangAndConrath(s1, s2, normalizedMax);
-                break;
-
+                return jiangAndConrath(s1, s2, normalizedMax, profile);
             case Lin:
-                rval = getSimilarityLin(s1, s2, normalizedMax);
-                break;
-
+                return lin(s1, s2, normalizedMax, profile);
             default:
-                rval = null;
+                return Double.NaN;
         }
-        return rval;
     }
 
     /**
@@ -633,21 +825,21 @@ public class SemanticUtils {
      * the synsets do not belong to the same WordCategory.
      */
     public Double getSimilaritySimplePath(Synset s1, Synset s2, int normalizedMax) {
-        if ((s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
-            return null;
-        }
+        return getSimilarity(SemRelMeasure.SimplePath, s1, s2, normalizedMax);
+    }
+
+    private double simplePath(Synset s1, Synset s2, int normalizedMax) {
+        int pathLength = (int) (scanLeastCommonSubsumers(s1, s2) >>> 32);
+        return simplePathFromDistance(s1.getWordCategory(), pathLength, normalizedMax);
+    }
 
+    private double simplePathFromDistance(WordCategory wordCategory, int pathLength, int normalizedMax) {
         // the longest LCS for any two synsets in GermaNet for the WordCategory that
         // s1 and s2 belong to
-        Set<LeastCommonSubsumer> catLongestLCSs = catLongestLCSMap.get(s1.getWordCategory());
-
-        // all LCS's have the same distance, just get the first one
-        int maxShortestPathLength = catLongestLCSs.iterator().next().getDistance();
-
-        int pathLength = s1.getLeastCommonSubsumers(s2).iterator().next().getDistance();
+        int maxShortestPathLength = catMaxShortestPathLengths[wordCategory.ordinal()];
 
         double rawValue = (maxShortestPathLength - pathLength) / (double) maxShortestPathLength;
-        return (normalizedMax > 0) ? normalize(s1.getWordCategory(), SemRelMeasure.SimplePath, rawValue, normalizedMax) : rawValue;
+        return (normalizedMax > 0) ? normalize(wordCategory, SemRelMeasure.SimplePath, rawValue, normalizedMax) : rawValue;
     }
 
 
@@ -673,26 +865,18 @@ public class SemanticUtils {
      * the synsets do not belong to the same WordCategory.
      */
     public Double getSimilarityWuAndPalmer(Synset s1, Synset s2, int normalizedMax) {
+        return getSimilarity(SemRelMeasure.WuAndPalmer, s1, s2, normalizedMax);
+    }
 
-        if ((s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
-            return null;
-        }
-
-        Set<LeastCommonSubsumer> lcsSet = s1.getLeastCommonSubsumers(s2);
-
-        int maxLCSdistToRoot = 0;
-        for (LeastCommonSubsumer lcs : lcsSet) {
-            Synset lcsSynset = synsetIDMap.get(lcs.getLcsID());
-            int lcsSynsetDistToRoot = lcsSynset.getDistanceToHypernym(GermaNet.GNROOT_ID);
-            if (lcsSynsetDistToRoot > maxLCSdistToRoot) {
-                maxLCSdistToRoot = lcsSynsetDistToRoot;
-            }
-        }
+    private double wuAndPalmer(Synset s1, Synset s2, int normalizedMax) {
+        long scan = scanLeastCommonSubsumers(s1, s2);
+        return wuAndPalmerFromDistance(s1.getWordCategory(), (int) (scan >>> 32), (int) scan, normalizedMax);
+    }
 
-        int pathLength = lcsSet.iterator().next().getDistance(); //same as s1.getDistanceToSynset(s2);
+    private double wuAndPalmerFromDistance(WordCategory wordCategory, int pathLength, int maxLCSdistToRoot, int normalizedMax) {
         double doubleMaxLCSdistToRoot = 2.0 * maxLCSdistToRoot;
         double rawValue = doubleMaxLCSdistToRoot / (pathLength + doubleMaxLCSdistToRoot);
-        return (normalizedMax > 0) ? normalize(s1.getWordCategory(), SemRelMeasure.WuAndPalmer, rawValue, normalizedMax) : rawValue;
+        return (normalizedMax > 0) ? normalize(wordCategory, SemRelMeasure.WuAndPalmer, rawValue, normalizedMax) : rawValue;
     }
 
     /**
@@ -719,19 +903,24 @@ public class SemanticUtils {
      * the synsets do not belong to the same WordCategory.
      */
     public Double getSimilarityLeacockChodorow(Synset s1, Synset s2, int normalizedMax) {
-        if ((s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
-            return null;
-        }
+        return getSimilarity(SemRelMeasure.LeacockAndChodorow, s1, s2, normalizedMax);
+    }
+
+    private double leacockChodorow(Synset s1, Synset s2, int normalizedMax) {
+        int pathLength = (int) (scanLeastCommonSubsumers(s1, s2) >>> 32);
+        return leacockChodorowFromDistance(s1.getWordCategory(), pathLength, normalizedMax);
+    }
 
+    private double leacockChodorowFromDistance(WordCategory wordCategory, int distance, int normalizedMax) {
         // maxDepth and pathLength represent the number of edges
         // add 1 to get the number of nodes
-        int maxDepth = catMaxDepthMap.getOrDefault(s1.getWordCategory(), 0) + 1;
+        int maxDepth = catMaxDepths[wordCategory.ordinal()] + 1;
 
         // the distance, using hypernym relations, between s1 and s2
-        int pathLength = s1.getDistanceToSynset(s2) + 1;
+        int pathLength = distance + 1;
 
         double rawValue = -Math.log10(pathLength / (2.0 * maxDepth));
-        return (normalizedMax > 0) ? normalize(s1.getWordCategory(), SemRelMeasure.LeacockAndChodorow, rawValue, normalizedMax) : rawValue;
+        return (normalizedMax > 0) ? normalize(wordCategory, SemRelMeasure.LeacockAndChodorow, rawValue, normalizedMax) : rawValue;
     }
 
     /**
@@ -771,12 +960,16 @@ public class SemanticUtils {
      * calculate the similarity (such as missing frequency files).
      */
     public Double getSimilarityResnik(Synset s1, Synset s2, int normalizedMax) {
-        if (!freqFilesFound || (s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
-            return null;
-        }
+        return getSimilarity(SemRelMeasure.Resnik, s1, s2, normalizedMax);
+    }
+
+    private double resnik(Synset s1, Synset s2, int normalizedMax, ICProfile profile) {
+        double maxIC = getMaxICofLCSs(s1, s2, profile);
+        return resnikFromIC(profile, s1.getWordCategory(), maxIC, normalizedMax);
+    }
 
-        double maxIC = getMaxICofLCSs(s1, s2);
-        return (normalizedMax > 0) ? normalize(s1.getWordCategory(), SemRelMeasure.Resnik, maxIC, normalizedMax) : maxIC;
+    private double resnikFromIC(ICProfile profile, WordCategory wordCategory, double lcsIC, int normalizedMax) {
+        return (normalizedMax > 0) ? profile.normalize(wordCategory, SemRelMeasure.Resnik, lcsIC, normalizedMax) : lcsIC;
     }
 
     /**
@@ -806,22 +999,22 @@ public class SemanticUtils {
      * calculate the similarity (such as missing frequency files).
      */
     public Double getSimilarityJiangAndConrath(Synset s1, Synset s2, int normalizedMax) {
+        return getSimilarity(SemRelMeasure.JiangAndConrath, s1, s2, normalizedMax);
+    }
 
-        if (!freqFilesFound || (s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
-            return null;
-        }
-
-        WordCategory cat = s1.getWordCategory();
-        Map<Integer, Double> icMap = catICMap.get(cat);
-        double lcsIC = getMaxICofLCSs(s1, s2);
+    private double jiangAndConrath(Synset s1, Synset s2, int normalizedMax, ICProfile profile) {
+        Int2DoubleMap icMap = profile.getICMap(s1.getWordCategory());
+        double lcsIC = getMaxICofLCSs(s1, s2, profile);
+        return jiangAndConrathFromIC(profile, s1.getWordCategory(), icMap.get(s1.getId()), icMap.get(s2.getId()), lcsIC, normalizedMax);
+    }
 
-        double icS1 = icMap.get(s1.getId());
-        double icS2 = icMap.get(s2.getId());
-        double jcnMaxDist = catNormalizationMap.get(cat).get(SemRelMeasure.JiangAndConrath).get(1);
+    private double jiangAndConrathFromIC(ICProfile profile, WordCategory wordCategory, double icS1, double icS2,
+                                         double lcsIC, int normalizedMax) {
+        double jcnMaxDist = profile.getNormalizationMax(wordCategory, SemRelMeasure.JiangAndConrath);
         double jcnDist = icS1 + icS2 - (2 * lcsIC);
 
         double sim = jcnMaxDist - jcnDist;
-        return (normalizedMax > 0) ? normalize(s1.getWordCategory(), SemRelMeasure.JiangAndConrath, sim, normalizedMax) : sim;
+        return (normalizedMax > 0) ? profile.normalize(wordCategory, SemRelMeasure.JiangAndConrath, sim, normalizedMax) : sim;
     }
 
     /**
@@ -844,55 +1037,1221 @@ public class SemanticUtils {
      * calculate the similarity (such as missing frequency files).
      */
     public Double getSimilarityLin(Synset s1, Synset s2, int normalizedMax) {
+        return getSimilarity(SemRelMeasure.Lin, s1, s2, normalizedMax);
+    }
 
-        if (!freqFilesFound || (s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
-            return null;
-        }
-
-        WordCategory cat = s1.getWordCategory();
-        Int2DoubleMap icMap = catICMap.get(cat);
-        double lcsIC = getMaxICofLCSs(s1, s2);
-
-        double icS1 = icMap.get(s1.getId());
-        double icS2 = icMap.get(s2.getId());
+    private double lin(Synset s1, Synset s2, int normalizedMax, ICProfile profile) {
+        Int2DoubleMap icMap = profile.getICMap(s1.getWordCategory());
+        double lcsIC = getMaxICofLCSs(s1, s2, profile);
+        return linFromIC(profile, s1.getWordCategory(), icMap.get(s1.getId()), icMap.get(s2.getId()), lcsIC, normalizedMax);
+    }
 
+    private double linFromIC(ICProfile profile, WordCategory wordCategory, double icS1, double icS2, double lcsIC,
+                             int normalizedMax) {
         double sim = (2 * lcsIC) / (icS1 + icS2);
-        return (normalizedMax > 0) ? normalize(s1.getWordCategory(), SemRelMeasure.Lin, sim, normalizedMax) : sim;
+        return (normalizedMax > 0) ? profile.normalize(wordCategory, SemRelMeasure.Lin, sim, normalizedMax) : sim;
     }
 
+    /**
+     * Computes all similarity measures for a pair of synsets at once. The common
+     * hypernyms of the synsets are scanned a single time, and every measure is derived
+     * from the resulting path length, LCS depth and LCS Information Content. The values
+     * are identical to those of <code>getSimilarity</code> for each measure.
+     *
+     * @param s1 first synset
+     * @param s2 second synset
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param profile profile to fill, or null to create a new one
+     * @return <code>profile</code> (or a new <code>SimilarityProfile</code>), filled with the
+     * values for s1 and s2
+     */
+    public SimilarityProfile similarityProfile(Synset s1, Synset s2, int normalizedMax, SimilarityProfile profile) {
+        return similarityProfile(s1, s2, normalizedMax, null, profile);
+    }
 
     /**
-     * Return the maximum Information Content (IC) value of the Least Common Subsumer(s) of s1 and s2.
-     * Helper method for the IC-based similarity measures.
+     * Computes all similarity measures for a pair of synsets at once, with the Information
+     * Content measures computed from the given <code>ICProfile</code>. See
+     * <code>similarityProfile(Synset, Synset, int, SimilarityProfile)</code>.
      *
      * @param s1 first synset
      * @param s2 second synset
-     * @return the maximum Information Content (IC) value of the Least Common Subsumer(s) of s1 and s2.
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param icProfile the IC profile to use, or null for the default profile
+     * @param profile profile to fill, or null to create a new one
+     * @return <code>profile</code> (or a new <code>SimilarityProfile</code>), filled with the
+     * values for s1 and s2
      */
-    private double getMaxICofLCSs(Synset s1, Synset s2) {
-        Set<LeastCommonSubsumer> leastCommonSubsumers = getLeastCommonSubsumers(s1, s2);
-        Int2DoubleMap icMap = catICMap.get(s1.getWordCategory());
-        double curIC;
-        double prevIC = Double.MIN_EXPONENT;
-        double maxIC = Double.MIN_EXPONENT;
-        double epsilon = 0.00001;
-
-        boolean prevICNull = true;
-
-        for (LeastCommonSubsumer leastCommonSubsumer : leastCommonSubsumers) {
-            int lcsID = leastCommonSubsumer.getLcsID();
-            if (icMap.containsKey(lcsID)) {
-                curIC = icMap.getOrDefault(lcsID,-1);
-                if (prevICNull) {
-                    maxIC = curIC;
-                } else {
-                    double diff = curIC - prevIC;
-                    if (diff > epsilon) {
-                        maxIC = curIC;
-                    }
+    public SimilarityProfile similarityProfile(Synset s1, Synset s2, int normalizedMax, ICProfile icProfile,
+                                               SimilarityProfile profile) {
+        if (profile == null) {
+            profile = new SimilarityProfile();
+        }
+        profile.clear();
+        if ((s1 == null) || (s2 == null) || !s2.inWordCategory(s1.getWordCategory())) {
+            return profile;
+        }
+        WordCategory wordCategory = s1.getWordCategory();
+        LcsPairCache cache = pairCache;
+        LcsPairCache.PairScan scan = PAIR_SCAN.get();
+        if (cache != null) {
+            cachedScan(cache, s1, s2, scan);
+        } else {
+            scanPair(s1, s2, scan);
+        }
+        int shortestDistance = scan.pathLength;
+        int maxLCSdistToRoot = scan.lcsDepth;
+        int lcsId = scan.lcsId;
+        double lcsIC = scan.lcsIC;
+        ICProfile defaultICProfile = this.icProfile;
+        if (icProfile == null) {
+            icProfile = defaultICProfile;
+        }
+        double maxIC = (icProfile == defaultICProfile) ? lcsIC : getMaxICofLCSs(s1, s2, icProfile);
+
+        profile.set(shortestDistance, maxLCSdistToRoot, lcsId, maxIC);
+        profile.setValue(SemRelMeasure.SimplePath,
+                simplePathFromDistance(wordCategory, shortestDistance, normalizedMax));
+        profile.setValue(SemRelMeasure.LeacockAndChodorow,
+                leacockChodorowFromDistance(wordCategory, shortestDistance, normalizedMax));
+        profile.setValue(SemRelMeasure.WuAndPalmer,
+                wuAndPalmerFromDistance(wordCategory, shortestDistance, maxLCSdistToRoot, normalizedMax));
+        if (icProfile != null) {
+            Int2DoubleMap icMap = icProfile.getICMap(wordCategory);
+            double icS1 = icMap.get(s1.getId());
+            double icS2 = icMap.get(s2.getId());
+            profile.setValue(SemRelMeasure.Resnik, resnikFromIC(icProfile, wordCategory, maxIC, normalizedMax));
+            profile.setValue(SemRelMeasure.Lin, linFromIC(icProfile, wordCategory, icS1, icS2, maxIC, normalizedMax));
+            profile.setValue(SemRelMeasure.JiangAndConrath,
+                    jiangAndConrathFromIC(icProfile, wordCategory, icS1, icS2, maxIC, normalizedMax));
+        }
+        return profile;
+    }
+
+    /**
+     * Computes all similarity measures for a pair of synsets at once, into a caller supplied
+     * array indexed by <code>SemRelMeasure.ordinal()</code>. See
+     * <code>similarityProfile(Synset, Synset, int, SimilarityProfile)</code>.
+     *
+     * @param s1 first synset
+     * @param s2 second synset
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param result array of length at least <code>SemRelMeasure.values().length</code>,
+     *               which receives the values (<code>Double.NaN</code> where not computable)
+     */
+    public void similarityProfile(Synset s1, Synset s2, int normalizedMax, double[] result) {
+        if (result.length < SemRelMeasure.values().length) {
+            throw new IllegalArgumentException("Result must hold " + SemRelMeasure.values().length + " values");
+        }
+        similarityProfile(s1, s2, normalizedMax, new SimilarityProfile(result));
+    }
+
+    /**
+     * Computes all similarity measures for a pair of synset IDs at once. See
+     * <code>similarityProfile(Synset, Synset, int, SimilarityProfile)</code>.
+     *
+     * @param synsetId1 ID of the first synset
+     * @param synsetId2 ID of the second synset
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param profile profile to fill, or null to create a new one
+     * @return the filled profile; not comparable if either ID is unknown
+     */
+    public SimilarityProfile similarityProfile(int synsetId1, int synsetId2, int normalizedMax, SimilarityProfile profile) {
+        return similarityProfile(synsetIDMap.get(synsetId1), synsetIDMap.get(synsetId2), normalizedMax, profile);
+    }
+
+    /**
+     * Returns the synset IDs of the senses of <code>orthForm</code>, using the lookup
+     * of <code>GermaNet.getLexUnits(String)</code>. The IDs are ordered by the sense number
+     * of the <code>LexUnits</code> (lowest first) and each synset occurs only once. The
+     * result can be reused for any number of calls to
+     * <code>wordSimilarity(SemRelMeasure, int[], int[], SenseAggregation, int)</code>.
+     *
+     * @param orthForm the orthForm to look up
+     * @param wordCategory WordCategory to restrict the senses to, or null for all
+     * @return the synset IDs of the senses of <code>orthForm</code>, empty if there are none
+     */
+    public int[] getSenseSynsetIds(String orthForm, WordCategory wordCategory) {
+        List<LexUnit> lexUnits = (wordCategory == null) ? gnet.getLexUnits(orthForm) : gnet.getLexUnits(orthForm, wordCategory);
+        return getSenseSynsetIds(lexUnits);
+    }
+
+    private static int[] getSenseSynsetIds(Collection<LexUnit> lexUnits) {
+        LexUnit[] sorted = lexUnits.toArray(new LexUnit[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(LexUnit::getSense).thenComparingInt(LexUnit::getId));
+        IntLinkedOpenHashSet synsetIds = new IntLinkedOpenHashSet(sorted.length);
+        for (LexUnit lexUnit : sorted) {
+            synsetIds.add(lexUnit.getSynset().getId());
+        }
+        return synsetIds.toIntArray();
+    }
+
+    /**
+     * Word-level similarity: combines the similarities of all senses of <code>orthForm1</code>
+     * with all senses of <code>orthForm2</code> according to <code>senseAggregation</code>.
+     * If the word-pair cache is enabled (see <code>setWordPairCacheSize</code>), results are
+     * cached.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param orthForm1 first word
+     * @param orthForm2 second word
+     * @param wordCategory WordCategory to restrict the senses to, or null for all
+     * @param senseAggregation how to combine the similarities of the senses
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the aggregated similarity, or <code>Double.NaN</code> if either word is unknown
+     * or no pair of senses can be compared
+     */
+    public double wordSimilarity(SemRelMeasure semRelMeasure, String orthForm1, String orthForm2,
+                                 WordCategory wordCategory, SenseAggregation senseAggregation, int normalizedMax) {
+        Map<String, Double> cache = wordPairCache;
+        String key = null;
+        if (cache != null) {
+            key = semRelMeasure + "\t" + senseAggregation + "\t" + normalizedMax + "\t" + wordCategory
+                    + "\t" + orthForm1 + "\t" + orthForm2;
+            synchronized (cache) {
+                Double cached = cache.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+        double result = wordSimilarity(semRelMeasure, getSenseSynsetIds(orthForm1, wordCategory),
+                getSenseSynsetIds(orthForm2, wordCategory), senseAggregation, normalizedMax);
+        if (cache != null) {
+            synchronized (cache) {
+                cache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Word-level similarity over all WordCategories. See
+     * <code>wordSimilarity(SemRelMeasure, String, String, WordCategory, SenseAggregation, int)</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param orthForm1 first word
+     * @param orthForm2 second word
+     * @param senseAggregation how to combine the similarities of the senses
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the aggregated similarity, or <code>Double.NaN</code> if it can not be computed
+     */
+    public double wordSimilarity(SemRelMeasure semRelMeasure, String orthForm1, String orthForm2,
+                                 SenseAggregation senseAggregation, int normalizedMax) {
+        return wordSimilarity(semRelMeasure, orthForm1, orthForm2, null, senseAggregation, normalizedMax);
+    }
+
+    /**
+     * Similarity of two groups of <code>LexUnits</code>, e.g. the senses of two words,
+     * combined according to <code>senseAggregation</code>. The first sense of a group is
+     * the <code>LexUnit</code> with the lowest sense number.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param lexUnits1 first group of LexUnits
+     * @param lexUnits2 second group of LexUnits
+     * @param senseAggregation how to combine the similarities of the senses
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the aggregated similarity, or <code>Double.NaN</code> if it can not be computed
+     */
+    public double lexUnitSimilarity(SemRelMeasure semRelMeasure, Collection<LexUnit> lexUnits1,
+                                    Collection<LexUnit> lexUnits2, SenseAggregation senseAggregation, int normalizedMax) {
+        return wordSimilarity(semRelMeasure, getSenseSynsetIds(lexUnits1), getSenseSynsetIds(lexUnits2),
+                senseAggregation, normalizedMax);
+    }
+
+    /**
+     * Similarity of two <code>LexUnits</code>, i.e. of the <code>Synsets</code> they belong to.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param lexUnit1 first LexUnit
+     * @param lexUnit2 second LexUnit
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the similarity, or <code>Double.NaN</code> if it can not be computed
+     */
+    public double lexUnitSimilarity(SemRelMeasure semRelMeasure, LexUnit lexUnit1, LexUnit lexUnit2, int normalizedMax) {
+        if ((lexUnit1 == null) || (lexUnit2 == null)) {
+            return Double.NaN;
+        }
+        return similarity(semRelMeasure, lexUnit1.getSynset(), lexUnit2.getSynset(), normalizedMax);
+    }
+
+    /**
+     * Combines the similarities of two arrays of sense synset IDs, as returned by
+     * <code>getSenseSynsetIds</code>, according to <code>senseAggregation</code>.
+     * <code>Max</code> stops as soon as the highest possible value for the measure is
+     * reached, e.g. for a synset shared by both words.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param senses1 synset IDs of the senses of the first word, first sense first
+     * @param senses2 synset IDs of the senses of the second word, first sense first
+     * @param senseAggregation how to combine the similarities of the senses
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the aggregated similarity, or <code>Double.NaN</code> if no pair of senses can be compared
+     */
+    public double wordSimilarity(SemRelMeasure semRelMeasure, int[] senses1, int[] senses2,
+                                 SenseAggregation senseAggregation, int normalizedMax) {
+        if (senses1.length == 0 || senses2.length == 0) {
+            return Double.NaN;
+        }
+        switch (senseAggregation) {
+            case FirstSense:
+                return similarity(semRelMeasure, senses1[0], senses2[0], normalizedMax);
+            case Mean:
+                double sum = 0.0;
+                int count = 0;
+                for (int id1 : senses1) {
+                    for (int id2 : senses2) {
+                        double value = similarity(semRelMeasure, id1, id2, normalizedMax);
+                        if (!Double.isNaN(value)) {
+                            sum += value;
+                            count++;
+                        }
+                    }
+                }
+                return (count > 0) ? sum / count : Double.NaN;
+            case Max:
+            default:
+                double max = Double.NaN;
+                for (int id1 : senses1) {
+                    Synset s1 = synsetIDMap.get(id1);
+                    if (s1 == null) {
+                        continue;
+                    }
+                    double upperBound = (normalizedMax > 0) ? normalizedMax
+                            : getRawMax(s1.getWordCategory(), semRelMeasure);
+                    for (int id2 : senses2) {
+                        double value = similarity(semRelMeasure, s1, synsetIDMap.get(id2), normalizedMax);
+                        if (Double.isNaN(max) || value > max) {
+                            max = value;
+                            if (max >= upperBound) {
+                                return max;
+                            }
+                        }
+                    }
+                }
+                return max;
+        }
+    }
+
+    /**
+     * Enables a cache of word-level similarity results with at most <code>maxEntries</code>
+     * entries; the least recently used entries are evicted first. A value &lt;= 0 disables
+     * (and clears) the cache, which is the default.
+     *
+     * @param maxEntries maximum number of cached word pairs
+     */
+    public void setWordPairCacheSize(int maxEntries) {
+        if (maxEntries <= 0) {
+            wordPairCache = null;
+            return;
+        }
+        wordPairCache = new LinkedHashMap<String, Double>(Math.min(maxEntries, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Finds the <code>k</code> synsets most similar to the synset with ID <code>synsetId</code>.
+     * Instead of comparing it with every synset of its WordCategory, the search starts at
+     * the ancestors of the synset which allow the highest similarity, and compares the synset
+     * with their descendants. It stops as soon as no remaining ancestor can lead to a synset
+     * which is more similar than the k-th best one found so far. If the candidates would cover
+     * most of the WordCategory, all synsets of the WordCategory are compared in parallel instead.
+     * <br><br>
+     * The results are sorted by decreasing similarity, ties are broken by increasing synset ID.
+     * Neither the synset itself nor the artificial root synset is included.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synsetId ID of the synset to find similar synsets for
+     * @param k maximum number of synsets to find
+     * @param wordClass only return synsets of this WordClass, or null for all
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param resultIds receives the IDs of the most similar synsets, length at least <code>k</code>
+     * @param resultScores receives their similarities, length at least <code>k</code>
+     * @return the number of synsets found, 0 if the synset is unknown or the measure can not be computed
+     */
+    public int mostSimilar(SemRelMeasure semRelMeasure, int synsetId, int k, WordClass wordClass, int normalizedMax,
+                           int[] resultIds, double[] resultScores) {
+        if (k < 0 || resultIds.length < k || resultScores.length < k) {
+            throw new IllegalArgumentException("Results must hold k = " + k + " values");
+        }
+        Synset synset = synsetIDMap.get(synsetId);
+        if (synset == null || k == 0 || !isComputable(semRelMeasure, synset, synset, icProfile)) {
+            return 0;
+        }
+        WordCategory wordCategory = synset.getWordCategory();
+        int catSize = catSynsetMap.get(wordCategory).size();
+
+        // order the ancestors by the highest similarity a synset below them can reach
+        IntSet hypernymIds = synset.getHypernymIds();
+        int[] ancestors = hypernymIds.toIntArray();
+        double[] bounds = new double[ancestors.length];
+        Integer[] order = new Integer[ancestors.length];
+        for (int i = 0; i < ancestors.length; i++) {
+            bounds[i] = similarityBound(semRelMeasure, synset, ancestors[i], normalizedMax);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> (bounds[a] != bounds[b]) ? Double.compare(bounds[b], bounds[a])
+                : Integer.compare(ancestors[a], ancestors[b]));
+
+        TopK topK = new TopK(k);
+        IntOpenHashSet compared = new IntOpenHashSet();
+        compared.add(synsetId);
+        compared.add(GermaNet.GNROOT_ID);
+        for (Integer i : order) {
+            if (topK.isFull() && bounds[i] < topK.worstScore()) {
+                break;
+            }
+            int ancestorId = ancestors[i];
+            if (compared.size() + descendantIndex.countDescendants(ancestorId, wordCategory) > catSize / 2) {
+                return scanMostSimilar(semRelMeasure, synset, k, wordClass, normalizedMax, resultIds, resultScores);
+            }
+            if (compared.add(ancestorId)) {
+                offerCandidate(topK, semRelMeasure, synset, synsetIDMap.get(ancestorId), wordClass, normalizedMax);
+            }
+            descendantIndex.forEachDescendant(ancestorId, wordCategory, id -> {
+                if (compared.add(id)) {
+                    offerCandidate(topK, semRelMeasure, synset, synsetIDMap.get(id), wordClass, normalizedMax);
+                }
+            });
+        }
+        return topK.drainTo(resultIds, resultScores);
+    }
+
+    /**
+     * Finds the <code>k</code> synsets most similar to <code>synset</code>. See
+     * <code>mostSimilar(SemRelMeasure, int, int, WordClass, int, int[], double[])</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synset the synset to find similar synsets for
+     * @param k maximum number of synsets to find
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the most similar synsets, most similar first
+     */
+    public List<Synset> getMostSimilarSynsets(SemRelMeasure semRelMeasure, Synset synset, int k, int normalizedMax) {
+        int[] ids = new int[k];
+        int found = mostSimilar(semRelMeasure, synset.getId(), k, null, normalizedMax, ids, new double[k]);
+        List<Synset> rval = new ObjectArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            rval.add(synsetIDMap.get(ids[i]));
+        }
+        return rval;
+    }
+
+    /**
+     * Finds the <code>k</code> synsets most similar to <code>synset</code> by comparing it
+     * with all synsets of its WordCategory in parallel.
+     */
+    private int scanMostSimilar(SemRelMeasure semRelMeasure, Synset synset, int k, WordClass wordClass,
+                                int normalizedMax, int[] resultIds, double[] resultScores) {
+        Synset[] candidates = catSynsetMap.get(synset.getWordCategory()).toArray(new Synset[0]);
+        TopK topK = Arrays.stream(candidates).parallel()
+                .filter(candidate -> candidate.getId() != synset.getId())
+                .collect(() -> new TopK(k),
+                        (result, candidate) -> offerCandidate(result, semRelMeasure, synset, candidate, wordClass, normalizedMax),
+                        TopK::addAll);
+        return topK.drainTo(resultIds, resultScores);
+    }
+
+    private void offerCandidate(TopK topK, SemRelMeasure semRelMeasure, Synset synset, Synset candidate,
+                                WordClass wordClass, int normalizedMax) {
+        if (wordClass != null && !candidate.inWordClass(wordClass)) {
+            return;
+        }
+        double score = similarity(semRelMeasure, synset, candidate, normalizedMax);
+        if (!Double.isNaN(score)) {
+            topK.offer(candidate.getId(), score);
+        }
+    }
+
+    /**
+     * Receives the pairs found by <code>similarityJoin</code>.
+     */
+    public interface SimilarityConsumer {
+        /**
+         * Called for each pair of synsets whose similarity reaches the threshold.
+         * Called concurrently from several threads.
+         *
+         * @param synsetId1 ID of the synset from the first set
+         * @param synsetId2 ID of the synset from the second set
+         * @param similarity the similarity of the synsets
+         */
+        void accept(int synsetId1, int synsetId2, double similarity);
+    }
+
+    /**
+     * Finds all pairs (a, b) of a synset a from <code>synsetIdsA</code> and a synset b from
+     * <code>synsetIdsB</code> whose similarity is at least <code>threshold</code>, and passes
+     * them to <code>consumer</code> as they are found.<br><br>
+     * <p>
+     * Instead of comparing all pairs, the synsets of the second set are grouped by their
+     * ancestors. For each synset a, only the groups of those ancestors of a are compared
+     * whose distance to a, depth and IC still allow a similarity of at least
+     * <code>threshold</code> (the same bounds as in <code>mostSimilar</code>). The first set is
+     * split into partitions which are processed in parallel.<br><br>
+     * <p>
+     * If both arguments are the same array, each unordered pair of different positions is
+     * reported once. Unknown IDs and incomparable pairs are skipped.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synsetIdsA synset IDs of the first set
+     * @param synsetIdsB synset IDs of the second set
+     * @param threshold minimal similarity of a reported pair
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param consumer receives the pairs, concurrently
+     */
+    public void similarityJoin(SemRelMeasure semRelMeasure, int[] synsetIdsA, int[] synsetIdsB, double threshold,
+                               int normalizedMax, SimilarityConsumer consumer) {
+        Synset[] synsetsA = resolveSynsets(synsetIdsA);
+        Synset[] synsetsB = (synsetIdsB == synsetIdsA) ? synsetsA : resolveSynsets(synsetIdsB);
+        boolean selfJoin = (synsetIdsB == synsetIdsA);
+
+        // group the positions in B by all of their ancestors (including themselves)
+        Int2IntOpenHashMap groupOf = new Int2IntOpenHashMap();
+        groupOf.defaultReturnValue(-1);
+        IntArrayList groupSizes = new IntArrayList();
+        for (Synset synset : synsetsB) {
+            if (synset == null) {
+                continue;
+            }
+            IntIterator iterator = synset.getHypernymIds().iterator();
+            while (iterator.hasNext()) {
+                int ancestorId = iterator.nextInt();
+                int group = groupOf.get(ancestorId);
+                if (group < 0) {
+                    group = groupSizes.size();
+                    groupOf.put(ancestorId, group);
+                    groupSizes.add(0);
+                }
+                groupSizes.set(group, groupSizes.getInt(group) + 1);
+            }
+        }
+        int[] groupOffsets = new int[groupSizes.size() + 1];
+        for (int group = 0; group < groupSizes.size(); group++) {
+            groupOffsets[group + 1] = groupOffsets[group] + groupSizes.getInt(group);
+        }
+        int[] groupMembers = new int[groupOffsets[groupSizes.size()]];
+        int[] fill = Arrays.copyOf(groupOffsets, groupSizes.size());
+        for (int j = 0; j < synsetsB.length; j++) {
+            if (synsetsB[j] == null) {
+                continue;
+            }
+            IntIterator iterator = synsetsB[j].getHypernymIds().iterator();
+            while (iterator.hasNext()) {
+                groupMembers[fill[groupOf.get(iterator.nextInt())]++] = j;
+            }
+        }
+
+        int numPartitions = (synsetsA.length + JOIN_PARTITION_SIZE - 1) / JOIN_PARTITION_SIZE;
+        IntStream.range(0, numPartitions).parallel().forEach(partition -> {
+            // stamp of the last position in A each position in B was compared with
+            int[] compared = new int[synsetsB.length];
+            Arrays.fill(compared, -1);
+            int end = Math.min((partition + 1) * JOIN_PARTITION_SIZE, synsetsA.length);
+            for (int i = partition * JOIN_PARTITION_SIZE; i < end; i++) {
+                Synset a = synsetsA[i];
+                if (a == null || !isComputable(semRelMeasure, a, a, icProfile)) {
+                    continue;
+                }
+                IntIterator iterator = a.getHypernymIds().iterator();
+                while (iterator.hasNext()) {
+                    int ancestorId = iterator.nextInt();
+                    int group = groupOf.get(ancestorId);
+                    if (group < 0 || similarityBound(semRelMeasure, a, ancestorId, normalizedMax) < threshold) {
+                        continue;
+                    }
+                    for (int m = groupOffsets[group]; m < groupOffsets[group + 1]; m++) {
+                        int j = groupMembers[m];
+                        if (compared[j] == i || (selfJoin && j <= i)) {
+                            continue;
+                        }
+                        compared[j] = i;
+                        double score = similarity(semRelMeasure, a, synsetsB[j], normalizedMax);
+                        if (score >= threshold) {
+                            consumer.accept(a.getId(), synsetsB[j].getId(), score);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the highest raw value of <code>semRelMeasure</code> in <code>wordCategory</code>,
+     * using the default IC profile for the IC measures (NaN without frequency files).
+     */
+    private double getRawMax(WordCategory wordCategory, SemRelMeasure semRelMeasure) {
+        if (semRelMeasure.isMeasureType(SemRelMeasure.MeasureType.Path)) {
+            return normalizationMax[wordCategory.ordinal()][semRelMeasure.ordinal()];
+        }
+        ICProfile profile = icProfile;
+        return (profile != null) ? profile.getNormalizationMax(wordCategory, semRelMeasure) : Double.NaN;
+    }
+
+    /**
+     * Returns an upper bound on the similarity of <code>synset</code> to any synset
+     * whose least common subsumer with <code>synset</code> is <code>ancestorId</code>.
+     * The distance from <code>synset</code> to any such synset is at least the distance
+     * to the ancestor, and the IC of such a synset is at least the IC of the ancestor.
+     */
+    private double similarityBound(SemRelMeasure semRelMeasure, Synset synset, int ancestorId, int normalizedMax) {
+        WordCategory wordCategory = synset.getWordCategory();
+        int distance = synset.getDistanceToHypernym(ancestorId);
+        double bound;
+        if (semRelMeasure.isMeasureType(SemRelMeasure.MeasureType.Path)) {
+            switch (semRelMeasure) {
+                case SimplePath:
+                    bound = simplePathFromDistance(wordCategory, distance, normalizedMax);
+                    break;
+                case LeacockAndChodorow:
+                    bound = leacockChodorowFromDistance(wordCategory, distance, normalizedMax);
+                    break;
+                default:
+                    int depth = Math.max(0, synsetIDMap.get(ancestorId).getDistanceToHypernym(GermaNet.GNROOT_ID));
+                    bound = wuAndPalmerFromDistance(wordCategory, distance, depth, normalizedMax);
+                    break;
+            }
+        } else {
+            ICProfile profile = icProfile;
+            Int2DoubleMap icMap = profile.getICMap(wordCategory);
+            double lcsIC = icMap.getOrDefault(ancestorId, Double.NaN);
+            double ic = icMap.get(synset.getId());
+            switch (semRelMeasure) {
+                case Resnik:
+                    bound = resnikFromIC(profile, wordCategory, lcsIC, normalizedMax);
+                    break;
+                case Lin:
+                    bound = linFromIC(profile, wordCategory, ic, lcsIC, lcsIC, normalizedMax);
+                    break;
+                default:
+                    bound = jiangAndConrathFromIC(profile, wordCategory, ic, lcsIC, lcsIC, normalizedMax);
+                    break;
+            }
+        }
+        if (Double.isNaN(bound)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // allow for rounding differences to the exact computation
+        return bound + 1e-9 * Math.max(1.0, Math.abs(bound));
+    }
+
+    /**
+     * Collects the k best (ID, score) pairs: highest score first, ties broken by lowest ID.
+     * The worst retained pair is at the root of a binary heap.
+     */
+    private static final class TopK {
+        private final int k;
+        private final int[] ids;
+        private final double[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.k = k;
+            this.ids = new int[k];
+            this.scores = new double[k];
+        }
+
+        boolean isFull() {
+            return size == k;
+        }
+
+        double worstScore() {
+            return scores[0];
+        }
+
+        // true if (id1, score1) ranks below (id2, score2)
+        private static boolean worse(int id1, double score1, int id2, double score2) {
+            return (score1 < score2) || (score1 == score2 && id1 > id2);
+        }
+
+        void offer(int id, double score) {
+            if (k == 0) {
+                return;
+            }
+            if (size < k) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!worse(id, score, ids[parent], scores[parent])) {
+                        break;
+                    }
+                    ids[i] = ids[parent];
+                    scores[i] = scores[parent];
+                    i = parent;
+                }
+                ids[i] = id;
+                scores[i] = score;
+            } else if (worse(ids[0], scores[0], id, score)) {
+                siftDown(id, score);
+            }
+        }
+
+        private void siftDown(int id, double score) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && worse(ids[child + 1], scores[child + 1], ids[child], scores[child])) {
+                    child++;
+                }
+                if (!worse(ids[child], scores[child], id, score)) {
+                    break;
+                }
+                ids[i] = ids[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            ids[i] = id;
+            scores[i] = score;
+        }
+
+        void addAll(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.ids[i], other.scores[i]);
+            }
+        }
+
+        /**
+         * Writes the pairs, best first, and empties this collector.
+         */
+        int drainTo(int[] resultIds, double[] resultScores) {
+            int count = size;
+            for (int i = count - 1; i >= 0; i--) {
+                resultIds[i] = ids[0];
+                resultScores[i] = scores[0];
+                size--;
+                if (size > 0) {
+                    siftDown(ids[size], scores[size]);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Computes the similarity of every row synset with every column synset, in parallel.
+     * The result is stored row-major: the similarity of <code>rowSynsetIds[i]</code> and
+     * <code>colSynsetIds[j]</code> is at index <code>i * colSynsetIds.length + j</code>.
+     * Pairs which can not be compared (see <code>similarity</code>) are <code>Double.NaN</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param rowSynsetIds synset IDs of the rows
+     * @param colSynsetIds synset IDs of the columns
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the similarity matrix, of length <code>rowSynsetIds.length * colSynsetIds.length</code>
+     */
+    public double[] similarityMatrix(SemRelMeasure semRelMeasure, int[] rowSynsetIds, int[] colSynsetIds, int normalizedMax) {
+        double[] result = new double[Math.multiplyExact(rowSynsetIds.length, colSynsetIds.length)];
+        similarityMatrix(semRelMeasure, rowSynsetIds, colSynsetIds, normalizedMax, result);
+        return result;
+    }
+
+    /**
+     * Computes the similarity of every row synset with every column synset, in parallel,
+     * into <code>result</code>. See <code>similarityMatrix(SemRelMeasure, int[], int[], int)</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param rowSynsetIds synset IDs of the rows
+     * @param colSynsetIds synset IDs of the columns
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param result receives the matrix, of length at least <code>rowSynsetIds.length * colSynsetIds.length</code>
+     */
+    public void similarityMatrix(SemRelMeasure semRelMeasure, int[] rowSynsetIds, int[] colSynsetIds, int normalizedMax,
+                                 double[] result) {
+        checkMatrixSize(rowSynsetIds, colSynsetIds, result.length);
+        computeMatrix(semRelMeasure, rowSynsetIds, colSynsetIds, false, normalizedMax,
+                (index, value) -> result[index] = value);
+    }
+
+    /**
+     * Computes the similarity of every row synset with every column synset, in parallel,
+     * into <code>result</code> (which may be a direct, off-heap buffer), starting at its
+     * current position. The position of <code>result</code> is not changed. See
+     * <code>similarityMatrix(SemRelMeasure, int[], int[], int)</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param rowSynsetIds synset IDs of the rows
+     * @param colSynsetIds synset IDs of the columns
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param result receives the matrix, with at least <code>rowSynsetIds.length * colSynsetIds.length</code>
+     *               elements remaining
+     */
+    public void similarityMatrix(SemRelMeasure semRelMeasure, int[] rowSynsetIds, int[] colSynsetIds, int normalizedMax,
+                                 DoubleBuffer result) {
+        checkMatrixSize(rowSynsetIds, colSynsetIds, result.remaining());
+        int offset = result.position();
+        computeMatrix(semRelMeasure, rowSynsetIds, colSynsetIds, false, normalizedMax,
+                (index, value) -> result.put(offset + index, value));
+    }
+
+    /**
+     * Computes the symmetric similarity matrix of a set of synsets, in parallel. Only the
+     * upper triangle (including the diagonal) is computed; the lower triangle is mirrored.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synsetIds synset IDs of the rows and columns
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @return the similarity matrix, of length <code>synsetIds.length * synsetIds.length</code>
+     */
+    public double[] similarityMatrix(SemRelMeasure semRelMeasure, int[] synsetIds, int normalizedMax) {
+        double[] result = new double[Math.multiplyExact(synsetIds.length, synsetIds.length)];
+        similarityMatrix(semRelMeasure, synsetIds, normalizedMax, result);
+        return result;
+    }
+
+    /**
+     * Computes the symmetric similarity matrix of a set of synsets, in parallel, into
+     * <code>result</code>. See <code>similarityMatrix(SemRelMeasure, int[], int)</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synsetIds synset IDs of the rows and columns
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param result receives the matrix, of length at least <code>synsetIds.length * synsetIds.length</code>
+     */
+    public void similarityMatrix(SemRelMeasure semRelMeasure, int[] synsetIds, int normalizedMax, double[] result) {
+        checkMatrixSize(synsetIds, synsetIds, result.length);
+        computeMatrix(semRelMeasure, synsetIds, synsetIds, true, normalizedMax, (index, value) -> result[index] = value);
+    }
+
+    /**
+     * Computes the symmetric similarity matrix of a set of synsets, in parallel, into
+     * <code>result</code> (which may be a direct, off-heap buffer), starting at its current
+     * position. The position of <code>result</code> is not changed. See
+     * <code>similarityMatrix(SemRelMeasure, int[], int)</code>.
+     *
+     * @param semRelMeasure similarity algorithm to use
+     * @param synsetIds synset IDs of the rows and columns
+     * @param normalizedMax value to use for maximal similarity (raw value is returned if &lt;= 0)
+     * @param result receives the matrix, with at least <code>synsetIds.length * synsetIds.length</code>
+     *               elements remaining
+     */
+    public void similarityMatrix(SemRelMeasure semRelMeasure, int[] synsetIds, int normalizedMax, DoubleBuffer result) {
+        checkMatrixSize(synsetIds, synsetIds, result.remaining());
+        int offset = result.position();
+        computeMatrix(semRelMeasure, synsetIds, synsetIds, true, normalizedMax,
+                (index, value) -> result.put(offset + index, value));
+    }
+
+    private static void checkMatrixSize(int[] rowSynsetIds, int[] colSynsetIds, int available) {
+        long size = (long) rowSynsetIds.length * colSynsetIds.length;
+        if (size > available) {
+            throw new IllegalArgumentException("Result holds " + available + " values, but the matrix has " + size);
+        }
+    }
+
+    private void computeMatrix(SemRelMeasure semRelMeasure, int[] rowSynsetIds, int[] colSynsetIds, boolean symmetric,
+                               int normalizedMax, MatrixSink sink) {
+        Synset[] rows = resolveSynsets(rowSynsetIds);
+        Synset[] cols = symmetric ? rows : resolveSynsets(colSynsetIds);
+        ForkJoinPool.commonPool().invoke(new MatrixTask(this, icProfile, semRelMeasure, normalizedMax, rows, cols,
+                symmetric, sink, 0, rows.length, 0, cols.length));
+    }
+
+    /**
+     * Looks up the synsets, which are null for unknown IDs.
+     */
+    private Synset[] resolveSynsets(int[] synsetIds) {
+        Synset[] synsets = new Synset[synsetIds.length];
+        for (int i = 0; i < synsetIds.length; i++) {
+            synsets[i] = synsetIDMap.get(synsetIds[i]);
+        }
+        return synsets;
+    }
+
+    /**
+     * Receives the cells of a similarity matrix.
+     */
+    private interface MatrixSink {
+        void put(int index, double value);
+    }
+
+    /**
+     * Splits the matrix into tiles along the larger dimension until a tile is small
+     * enough to compute sequentially. In symmetric mode, tiles below the diagonal
+     * are skipped and the cells of the upper triangle are mirrored.
+     */
+    private static class MatrixTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int TILE_CELLS = 4096;
+
+        private final SemanticUtils semanticUtils;
+        private final ICProfile icProfile;
+        private final SemRelMeasure semRelMeasure;
+        private final int normalizedMax;
+        private final Synset[] rows;
+        private final Synset[] cols;
+        private final boolean symmetric;
+        private final MatrixSink sink;
+        private final int rowStart;
+        private final int rowEnd;
+        private final int colStart;
+        private final int colEnd;
+
+        MatrixTask(SemanticUtils semanticUtils, ICProfile icProfile, SemRelMeasure semRelMeasure, int normalizedMax,
+                   Synset[] rows, Synset[] cols, boolean symmetric, MatrixSink sink,
+                   int rowStart, int rowEnd, int colStart, int colEnd) {
+            this.semanticUtils = semanticUtils;
+            this.icProfile = icProfile;
+            this.semRelMeasure = semRelMeasure;
+            this.normalizedMax = normalizedMax;
+            this.rows = rows;
+            this.cols = cols;
+            this.symmetric = symmetric;
+            this.sink = sink;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.colStart = colStart;
+            this.colEnd = colEnd;
+        }
+
+        @Override
+        protected void compute() {
+            if (symmetric && colEnd <= rowStart) {
+                // entirely below the diagonal, filled by mirroring
+                return;
+            }
+            int numRows = rowEnd - rowStart;
+            int numCols = colEnd - colStart;
+            if ((long) numRows * numCols <= TILE_CELLS || (numRows <= 1 && numCols <= 1)) {
+                computeTile();
+            } else if (numRows >= numCols) {
+                int mid = (rowStart + rowEnd) >>> 1;
+                invokeAll(split(rowStart, mid, colStart, colEnd), split(mid, rowEnd, colStart, colEnd));
+            } else {
+                int mid = (colStart + colEnd) >>> 1;
+                invokeAll(split(rowStart, rowEnd, colStart, mid), split(rowStart, rowEnd, mid, colEnd));
+            }
+        }
+
+        private MatrixTask split(int newRowStart, int newRowEnd, int newColStart, int newColEnd) {
+            return new MatrixTask(semanticUtils, icProfile, semRelMeasure, normalizedMax, rows, cols, symmetric, sink,
+                    newRowStart, newRowEnd, newColStart, newColEnd);
+        }
+
+        private void computeTile() {
+            int width = cols.length;
+            for (int i = rowStart; i < rowEnd; i++) {
+                Synset row = rows[i];
+                for (int j = symmetric ? Math.max(colStart, i) : colStart; j < colEnd; j++) {
+                    Synset col = cols[j];
+                    double value = semanticUtils.isComputable(semRelMeasure, row, col, icProfile)
+                            ? semanticUtils.computeSimilarity(semRelMeasure, row, col, normalizedMax, icProfile)
+                            : Double.NaN;
+                    sink.put(i * width + j, value);
+                    if (symmetric && j != i) {
+                        sink.put(j * width + i, value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up the LCS information of s1 and s2 in <code>cache</code> and copies it
+     * into <code>scan</code>, scanning and storing it on a miss.
+     */
+    private void cachedScan(LcsPairCache cache, Synset s1, Synset s2, LcsPairCache.PairScan scan) {
+        long key = LcsPairCache.key(s1.getId(), s2.getId());
+        if (!cache.get(key, scan)) {
+            scanPair(s1, s2, scan);
+            cache.put(key, scan);
+        }
+    }
+
+    /**
+     * Scans the common hypernyms of s1 and s2 once, and collects everything the
+     * similarity measures need: the length of the shortest path, the depth and ID of the
+     * deepest LCS (the lowest ID if there are several), and the highest IC of any LCS
+     * with the default IC profile (NaN without frequency files), into <code>scan</code>.
+     * Both synsets must be in the same WordCategory.
+     */
+    private void scanPair(Synset s1, Synset s2, LcsPairCache.PairScan scan) {
+        ICProfile profile = icProfile;
+        Int2DoubleMap icMap = (profile != null) ? profile.getICMap(s1.getWordCategory()) : null;
+        int shortestDistance = Integer.MAX_VALUE;
+        int maxLCSdistToRoot = 0;
+        int lcsId = -1;
+        double maxIC = Double.MIN_EXPONENT;
+
+        IntIterator iterator = s1.getHypernymIds().iterator();
+        while (iterator.hasNext()) {
+            int hypernymID = iterator.nextInt();
+            int distance2 = s2.getDistanceToHypernym(hypernymID);
+            if (distance2 < 0) {
+                continue;
+            }
+            int distance = s1.getDistanceToHypernym(hypernymID) + distance2;
+            if (distance > shortestDistance) {
+                continue;
+            }
+            int distToRoot = synsetIDMap.get(hypernymID).getDistanceToHypernym(GermaNet.GNROOT_ID);
+            if (distance < shortestDistance) {
+                shortestDistance = distance;
+                maxLCSdistToRoot = Math.max(0, distToRoot);
+                lcsId = hypernymID;
+                maxIC = Double.MIN_EXPONENT;
+            } else if (distToRoot > maxLCSdistToRoot || (distToRoot == maxLCSdistToRoot && hypernymID < lcsId)) {
+                maxLCSdistToRoot = Math.max(0, distToRoot);
+                lcsId = hypernymID;
+            }
+            if (icMap != null) {
+                double ic = icMap.getOrDefault(hypernymID, Double.NaN);
+                if (!Double.isNaN(ic) && ic > maxIC) {
+                    maxIC = ic;
+                }
+            }
+        }
+
+        scan.pathLength = shortestDistance;
+        scan.lcsDepth = maxLCSdistToRoot;
+        scan.lcsId = lcsId;
+        scan.lcsIC = (icMap != null) ? maxIC : Double.NaN;
+    }
+
+    /**
+     * Enables a cache of the least common subsumer information of synset pairs, which is
+     * consulted by all similarity measures, <code>similarityProfile</code> and
+     * <code>distance</code>. A capacity &lt;= 0 disables the cache, which is the default.
+     *
+     * @param capacity the number of synset pairs to cache
+     */
+    public void setPairCacheCapacity(int capacity) {
+        pairCache = (capacity > 0) ? new LcsPairCache(capacity) : null;
+    }
+
+    /**
+     * Returns the pair cache, e.g. to read its hit ratio.
+     *
+     * @return the pair cache, or null if it is disabled
+     */
+    public LcsPairCache getPairCache() {
+        return pairCache;
+    }
+
+    /**
+     * Returns the default <code>ICProfile</code>, computed from the frequency files passed
+     * to the <code>GermaNet</code> constructor.
+     *
+     * @return the default IC profile, or null if no frequency files were given
+     */
+    public ICProfile getICProfile() {
+        return icProfile;
+    }
+
+    /**
+     * Returns the <code>ICProfile</code> with the given name.
+     *
+     * @param name the name of the profile
+     * @return the profile, or null if no profile with this name has been loaded (yet)
+     */
+    public ICProfile getICProfile(String name) {
+        return icProfiles.get(name);
+    }
+
+    /**
+     * Returns the names of all loaded <code>ICProfiles</code>, including
+     * <code>DEFAULT_IC_PROFILE</code> if there are frequency files.
+     *
+     * @return the names of all loaded IC profiles
+     */
+    public Set<String> getICProfileNames() {
+        return Collections.unmodifiableSet(icProfiles.keySet());
+    }
+
+    /**
+     * Computes an additional named <code>ICProfile</code> from noun, verb and adjective
+     * frequency lists, e.g. for a specific domain, in the common
+     * <code>ForkJoinPool</code>. See
+     * <code>loadICProfile(String, FrequencySource, FrequencySource, FrequencySource, Executor)</code>.
+     *
+     * @param name the name of the profile
+     * @param nounFreqSource noun frequency list
+     * @param verbFreqSource verb frequency list
+     * @param adjFreqSource adj frequency list
+     * @return a future which completes with the new profile
+     * @throws IllegalArgumentException if name is null or <code>DEFAULT_IC_PROFILE</code>,
+     * or a frequency list is null
+     */
+    public CompletableFuture<ICProfile> loadICProfile(String name, FrequencySource nounFreqSource,
+                                                      FrequencySource verbFreqSource, FrequencySource adjFreqSource) {
+        return loadICProfile(name, nounFreqSource, verbFreqSource, adjFreqSource, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes an additional named <code>ICProfile</code> from noun, verb and adjective
+     * frequency lists, e.g. for a specific domain, on <code>executor</code>. All path based
+     * information is shared with the other profiles. When the returned future completes,
+     * the profile is registered under <code>name</code>, replacing any previous profile
+     * of that name, and can be passed to the similarity methods. If a list can not be
+     * read, the future completes exceptionally with an <code>UncheckedIOException</code>.
+     *
+     * @param name the name of the profile
+     * @param nounFreqSource noun frequency list
+     * @param verbFreqSource verb frequency list
+     * @param adjFreqSource adj frequency list
+     * @param executor the executor which reads the lists and computes the profile
+     * @return a future which completes with the new profile
+     * @throws IllegalArgumentException if name is null or <code>DEFAULT_IC_PROFILE</code>,
+     * or a frequency list or the executor is null
+     */
+    public CompletableFuture<ICProfile> loadICProfile(String name, FrequencySource nounFreqSource,
+                                                      FrequencySource verbFreqSource, FrequencySource adjFreqSource,
+                                                      Executor executor) {
+        checkICProfileName(name);
+        if (nounFreqSource == null || verbFreqSource == null || adjFreqSource == null) {
+            throw new IllegalArgumentException("Frequency lists must not be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                ICProfile profile = buildICProfile(name, nounFreqSource, verbFreqSource, adjFreqSource);
+                icProfiles.put(name, profile);
+                return profile;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+    }
+
+    /**
+     * Creates an <code>ICUpdater</code> which keeps the named <code>ICProfile</code> up to
+     * date with frequency changes, starting from the given frequency lists. The initial
+     * profile is registered under <code>name</code> before this method returns.
+     *
+     * @param name the name of the profile
+     * @param nounFreqSource initial noun frequency list
+     * @param verbFreqSource initial verb frequency list
+     * @param adjFreqSource initial adj frequency list
+     * @return the new updater
+     * @throws IOException if a frequency list can not be read
+     * @throws IllegalArgumentException if name is null or <code>DEFAULT_IC_PROFILE</code>,
+     * or a frequency list is null
+     */
+    public ICUpdater createICUpdater(String name, FrequencySource nounFreqSource, FrequencySource verbFreqSource,
+                                     FrequencySource adjFreqSource) throws IOException {
+        checkICProfileName(name);
+        if (nounFreqSource == null || verbFreqSource == null || adjFreqSource == null) {
+            throw new IllegalArgumentException("Frequency lists must not be null");
+        }
+        Object2ObjectMap<WordCategory, FrequencySource> freqSources =
+                new Object2ObjectOpenHashMap<>(WordCategory.values().length);
+        freqSources.put(WordCategory.nomen, nounFreqSource);
+        freqSources.put(WordCategory.verben, verbFreqSource);
+        freqSources.put(WordCategory.adj, adjFreqSource);
+        return new ICUpdater(this, name, catSynsetMap, descendantIndex, loadFreqData(freqSources));
+    }
+
+    /**
+     * Creates an <code>ICUpdater</code> which keeps the named <code>ICProfile</code> up to
+     * date with frequency changes, starting without any frequencies. The initial profile
+     * is registered under <code>name</code> before this method returns.
+     *
+     * @param name the name of the profile
+     * @return the new updater
+     * @throws IllegalArgumentException if name is null or <code>DEFAULT_IC_PROFILE</code>
+     */
+    public ICUpdater createICUpdater(String name) {
+        checkICProfileName(name);
+        return new ICUpdater(this, name, catSynsetMap, descendantIndex, null);
+    }
+
+    /**
+     * Registers (or replaces) a named IC profile.
+     */
+    void registerICProfile(ICProfile profile) {
+        icProfiles.put(profile.getName(), profile);
+    }
+
+    private static void checkICProfileName(String name) {
+        if (name == null || name.equals(DEFAULT_IC_PROFILE)) {
+            throw new IllegalArgumentException("Invalid IC profile name: " + name);
+        }
+    }
+
+    /**
+     * Scans the common hypernyms of s1 and s2 once, without creating
+     * <code>LeastCommonSubsumer</code> objects. Both synsets must be in the same WordCategory.
+     *
+     * @param s1 first synset
+     * @param s2 second synset
+     * @return the length of the shortest path between s1 and s2 in the upper 32 bits, and
+     * the largest distance to ROOT of any least common subsumer in the lower 32 bits
+     */
+    private long scanLeastCommonSubsumers(Synset s1, Synset s2) {
+        LcsPairCache cache = pairCache;
+        if (cache != null) {
+            LcsPairCache.PairScan scan = PAIR_SCAN.get();
+            cachedScan(cache, s1, s2, scan);
+            return ((long) scan.pathLength << 32) | scan.lcsDepth;
+        }
+        int shortestDistance = Integer.MAX_VALUE;
+        int maxLCSdistToRoot = 0;
+
+        IntIterator iterator = s1.getHypernymIds().iterator();
+        while (iterator.hasNext()) {
+            int hypernymID = iterator.nextInt();
+            int distance2 = s2.getDistanceToHypernym(hypernymID);
+            if (distance2 < 0) {
+                continue;
+            }
+            int distance = s1.getDistanceToHypernym(hypernymID) + distance2;
+            if (distance <= shortestDistance) {
+                int distToRoot = synsetIDMap.get(hypernymID).getDistanceToHypernym(GermaNet.GNROOT_ID);
+                if (distance < shortestDistance) {
+                    shortestDistance = distance;
+                    maxLCSdistToRoot = Math.max(0, distToRoot);
+                } else if (distToRoot > maxLCSdistToRoot) {
+                    maxLCSdistToRoot = distToRoot;
+                }
+            }
+        }
+        return ((long) shortestDistance << 32) | maxLCSdistToRoot;
+    }
+
+    /**
+     * Return the maximum Information Content (IC) value of the Least Common Subsumer(s) of s1 and s2.
+     * Helper method for the IC-based similarity measures.
+     *
+     * @param s1 first synset
+     * @param s2 second synset
+     * @param profile the IC profile
+     * @return the maximum Information Content (IC) value of the Least Common Subsumer(s) of s1 and s2.
+     */
+    private double getMaxICofLCSs(Synset s1, Synset s2, ICProfile profile) {
+        LcsPairCache cache = pairCache;
+        if (cache != null && profile == icProfile) {
+            LcsPairCache.PairScan scan = PAIR_SCAN.get();
+            cachedScan(cache, s1, s2, scan);
+            return scan.lcsIC;
+        }
+        Int2DoubleMap icMap = profile.getICMap(s1.getWordCategory());
+        int shortestDistance = Integer.MAX_VALUE;
+        double maxIC = Double.MIN_EXPONENT;
+
+        IntIterator iterator = s1.getHypernymIds().iterator();
+        while (iterator.hasNext()) {
+            int hypernymID = iterator.nextInt();
+            int distance2 = s2.getDistanceToHypernym(hypernymID);
+            if (distance2 < 0) {
+                continue;
+            }
+            int distance = s1.getDistanceToHypernym(hypernymID) + distance2;
+            if (distance < shortestDistance) {
+                shortestDistance = distance;
+                maxIC = Double.MIN_EXPONENT;
+            }
+            if (distance == shortestDistance) {
+                double ic = icMap.getOrDefault(hypernymID, Double.NaN);
+                if (!Double.isNaN(ic) && ic > maxIC) {
+                    maxIC = ic;
                 }
-                prevIC = curIC;
-                prevICNull = false;
             }
         }
         return maxIC;
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+/**
+ * How the similarities of the senses of two words are combined into a single
+ * word-level similarity:<br>
+ * <code>Max</code>: the highest similarity of any pair of senses<br>
+ * <code>Mean</code>: the mean similarity of all comparable pairs of senses<br>
+ * <code>FirstSense</code>: the similarity of the first sense of each word, i.e. the
+ * <code>LexUnit</code> with the lowest sense number<br>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public enum SenseAggregation {
+    Max,
+    Mean,
+    FirstSense
+}
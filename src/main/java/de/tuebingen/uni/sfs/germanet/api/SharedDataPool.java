@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical instances of strings and immutable payloads, shared by all
+ * <code>GermaNet</code> objects loaded with the same pool (see
+ * <code>GermaNetReleases</code>). Each method returns the pooled instance equal to
+ * its argument, adding the argument if there is none yet, and accounts for the
+ * memory saved when an equal instance already exists. The sizes are estimates for
+ * a 64-bit JVM with compressed references and compact strings.<br>
+ * All methods are synchronized, so that several releases can be loaded at once.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+final class SharedDataPool {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private final Map<String, String> strings = new Object2ObjectOpenHashMap<>();
+    private final Map<String, Frame> frames = new Object2ObjectOpenHashMap<>();
+    private final Map<List<Object>, Example> examples = new Object2ObjectOpenHashMap<>();
+    private final Map<List<Object>, IliRecord> iliRecords = new Object2ObjectOpenHashMap<>();
+    private final Map<List<Object>, WiktionaryParaphrase> wiktionaryParaphrases = new Object2ObjectOpenHashMap<>();
+    private final Map<List<?>, List<?>> lists = new Object2ObjectOpenHashMap<>();
+
+    private long sharedObjects = 0;
+    private long bytesSaved = 0;
+
+    synchronized String string(String str) {
+        if (str == null) {
+            return null;
+        }
+        String pooled = strings.putIfAbsent(str, str);
+        if (pooled == null) {
+            return str;
+        }
+        if (pooled != str) {
+            shared(stringSize(str));
+        }
+        return pooled;
+    }
+
+    synchronized Frame frame(Frame frame) {
+        String data = string(frame.getData());
+        Frame pooled = frames.get(data);
+        if (pooled == null) {
+            pooled = (data == frame.getData()) ? frame : new Frame(data);
+            frames.put(data, pooled);
+        } else if (pooled != frame) {
+            shared(align(OBJECT_HEADER + REFERENCE));
+        }
+        return pooled;
+    }
+
+    synchronized Example example(Example example) {
+        String text = string(example.getText());
+        Frame frame = (example.getFrame() == null) ? null : frame(new Frame(example.getFrame()));
+        List<Object> key = Arrays.asList(text, frame);
+        Example pooled = examples.get(key);
+        if (pooled == null) {
+            pooled = new Example(text);
+            pooled.setFrame(frame);
+            examples.put(key, pooled);
+        } else {
+            shared(align(OBJECT_HEADER + 2 * REFERENCE));
+        }
+        return pooled;
+    }
+
+    synchronized IliRecord iliRecord(IliRecord record) {
+        List<String> synonyms = record.getEnglishSynonyms();
+        for (int i = 0; i < synonyms.size(); i++) {
+            synonyms.set(i, string(synonyms.get(i)));
+        }
+        List<Object> key = Arrays.asList(record.getLexUnitId(), record.getEwnRelation(),
+                string(record.getPwnWord()), string(record.getPwn20Id()), string(record.getPwn30Id()),
+                string(record.getPwn20paraphrase()), string(record.getSource()), synonyms);
+        IliRecord pooled = iliRecords.get(key);
+        if (pooled == null) {
+            pooled = new IliRecord(record.getLexUnitId(), record.getEwnRelation(), (String) key.get(2),
+                    (String) key.get(3), (String) key.get(4), (String) key.get(5), (String) key.get(6));
+            for (String synonym : synonyms) {
+                pooled.addEnglishSynonym(synonym);
+            }
+            iliRecords.put(key, pooled);
+        } else {
+            shared(align(OBJECT_HEADER + 4 + 7 * REFERENCE)
+                    + align(OBJECT_HEADER + 4 + REFERENCE) + align(ARRAY_HEADER + synonyms.size() * REFERENCE));
+        }
+        return pooled;
+    }
+
+    synchronized WiktionaryParaphrase wiktionaryParaphrase(WiktionaryParaphrase paraphrase) {
+        String sense = string(paraphrase.getWiktionarySense());
+        List<Object> key = Arrays.asList(paraphrase.getLexUnitId(), paraphrase.getWiktionaryId(),
+                paraphrase.getWiktionarySenseId(), sense, paraphrase.hasBeenEdited());
+        WiktionaryParaphrase pooled = wiktionaryParaphrases.get(key);
+        if (pooled == null) {
+            pooled = new WiktionaryParaphrase(paraphrase.getLexUnitId(), paraphrase.getWiktionaryId(),
+                    paraphrase.getWiktionarySenseId(), sense, paraphrase.hasBeenEdited());
+            wiktionaryParaphrases.put(key, pooled);
+        } else {
+            shared(align(OBJECT_HEADER + 3 * 4 + REFERENCE + 1));
+        }
+        return pooled;
+    }
+
+    /**
+     * Returns the pooled unmodifiable list with the same elements as
+     * <code>list</code>, whose elements must be pooled instances themselves.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> List<T> list(List<T> list) {
+        if (list.isEmpty()) {
+            return ObjectLists.emptyList();
+        }
+        List<T> pooled = (List<T>) lists.get(list);
+        if (pooled == null) {
+            pooled = ObjectLists.unmodifiable(ObjectArrayList.wrap((T[]) list.toArray()));
+            lists.put(pooled, pooled);
+        } else {
+            shared(align(OBJECT_HEADER + REFERENCE) + align(OBJECT_HEADER + 4 + REFERENCE)
+                    + align(ARRAY_HEADER + list.size() * REFERENCE));
+        }
+        return pooled;
+    }
+
+    private void shared(long bytes) {
+        sharedObjects++;
+        bytesSaved += bytes;
+    }
+
+    synchronized long getSharedObjects() {
+        return sharedObjects;
+    }
+
+    synchronized long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    private static long stringSize(String str) {
+        boolean latin1 = true;
+        for (int i = 0; i < str.length() && latin1; i++) {
+            latin1 = str.charAt(i) < 256;
+        }
+        return align(OBJECT_HEADER + REFERENCE + 4 + 4) + align(ARRAY_HEADER + (long) str.length() * (latin1 ? 1 : 2));
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
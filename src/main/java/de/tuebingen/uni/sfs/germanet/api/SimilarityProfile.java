@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.util.Arrays;
+
+/**
+ * The values of all <code>SemRelMeasure</code>s for one pair of synsets, together
+ * with the quantities they are derived from: the length of the shortest path between
+ * the synsets, the depth of their deepest least common subsumer (LCS), and the highest
+ * Information Content (IC) of any LCS at the shortest distance.<br><br>
+ * <p>
+ * A <code>SimilarityProfile</code> is filled by
+ * <code>SemanticUtils.similarityProfile(Synset, Synset, int, SimilarityProfile)</code>
+ * and can be reused for any number of pairs to avoid allocation. It is not thread safe;
+ * use one instance per thread.<br><br>
+ * <p>
+ * Values which can not be computed are <code>Double.NaN</code>: all values if the
+ * synsets are not comparable, and the Information Content measures if no frequency
+ * files were loaded.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class SimilarityProfile {
+    private final double[] values;
+    private int pathLength;
+    private int lcsDepth;
+    private int lcsId;
+    private double lcsIC;
+
+    /**
+     * Constructs an empty <code>SimilarityProfile</code>.
+     */
+    public SimilarityProfile() {
+        this(new double[SemRelMeasure.values().length]);
+    }
+
+    /**
+     * Constructs a <code>SimilarityProfile</code> which stores its values in
+     * <code>values</code>, indexed by <code>SemRelMeasure.ordinal()</code>.
+     */
+    SimilarityProfile(double[] values) {
+        this.values = values;
+        clear();
+    }
+
+    /**
+     * Returns true if the synsets could be compared, i.e. they belong to the same WordCategory.
+     *
+     * @return true if the synsets could be compared
+     */
+    public boolean isComparable() {
+        return pathLength >= 0;
+    }
+
+    /**
+     * Returns the length of the shortest path between the synsets using hypernym relations.
+     *
+     * @return the length of the shortest path, or -1 if the synsets are not comparable
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Returns the largest distance to ROOT of any least common subsumer.
+     *
+     * @return the depth of the deepest LCS, or -1 if the synsets are not comparable
+     */
+    public int getLcsDepth() {
+        return lcsDepth;
+    }
+
+    /**
+     * Returns the ID of the deepest least common subsumer. If several LCSs have the
+     * same depth, the lowest ID is returned.
+     *
+     * @return the ID of the deepest LCS, or -1 if the synsets are not comparable
+     */
+    public int getLcsId() {
+        return lcsId;
+    }
+
+    /**
+     * Returns the highest Information Content of any least common subsumer.
+     *
+     * @return the highest IC of any LCS, or <code>Double.NaN</code> if it is not available
+     */
+    public double getLcsIC() {
+        return lcsIC;
+    }
+
+    /**
+     * Returns the value of <code>semRelMeasure</code>.
+     *
+     * @param semRelMeasure the measure
+     * @return the value of <code>semRelMeasure</code>, or <code>Double.NaN</code> if it
+     * could not be computed
+     */
+    public double get(SemRelMeasure semRelMeasure) {
+        return values[semRelMeasure.ordinal()];
+    }
+
+    /**
+     * Copies the values of all measures into <code>result</code>, indexed by
+     * <code>SemRelMeasure.ordinal()</code>.
+     *
+     * @param result array of length at least <code>SemRelMeasure.values().length</code>
+     */
+    public void copyValues(double[] result) {
+        System.arraycopy(values, 0, result, 0, SemRelMeasure.values().length);
+    }
+
+    void clear() {
+        Arrays.fill(values, 0, SemRelMeasure.values().length, Double.NaN);
+        pathLength = -1;
+        lcsDepth = -1;
+        lcsId = -1;
+        lcsIC = Double.NaN;
+    }
+
+    void set(int pathLength, int lcsDepth, int lcsId, double lcsIC) {
+        this.pathLength = pathLength;
+        this.lcsDepth = lcsDepth;
+        this.lcsId = lcsId;
+        this.lcsIC = lcsIC;
+    }
+
+    void setValue(SemRelMeasure semRelMeasure, double value) {
+        values[semRelMeasure.ordinal()] = value;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("pathLength: ").append(pathLength)
+                .append(" lcsDepth: ").append(lcsDepth)
+                .append(" lcsId: ").append(lcsId)
+                .append(" lcsIC: ").append(lcsIC);
+        for (SemRelMeasure semRelMeasure : SemRelMeasure.values()) {
+            sb.append(' ').append(semRelMeasure).append(": ").append(get(semRelMeasure));
+        }
+        return sb.toString();
+    }
+}
@@ -56,6 +56,7 @@ class StaxLoader {
         List<String> xmlNames = loaderData.getXmlNames();
         InputStream relsInputStream = loaderData.getRelsInputStream();
         String relsXmlName = loaderData.getRelsXmlName();
+        SharedDataPool pool = loaderData.getPool();
 
         int loadedFiles = 0;
         if (inputStreams == null || inputStreams.isEmpty()) {
@@ -92,6 +93,11 @@ class StaxLoader {
 
             LOGGER.info("Loading {}...", name);
             synsetsFromInputStream = SynsetLoader.loadSynsets(stream);
+            if (pool != null) {
+                for (Synset loaded : synsetsFromInputStream) {
+                    loaded.share(pool);
+                }
+            }
             synsets.addAll(synsetsFromInputStream);
             synsetIterator = ObjectIterators.asObjectIterator(synsetsFromInputStream.iterator());
 
@@ -122,34 +128,36 @@ class StaxLoader {
 
                     // add orthForm and lowercase orthForm to lowerToUpperMap
                     orthForm = lexUnit.getOrthForm();
-                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap);
+                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap, pool);
 
                     // get orthVar
                     // add orthVar and lowercase orthVar to lowerToUpperMap
                     orthForm = lexUnit.getOrthVar();
-                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap);
+                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap, pool);
 
                     // get oldOrthForm
                     // add oldOrthForm and lowercase oldOrthForm to lowerToUpperMap
                     orthForm = lexUnit.getOldOrthForm();
-                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap);
+                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap, pool);
 
                     // get oldOrthVar
                     // add oldOrthVar and lowercase oldOrthVar to lowerToUpperMap
                     orthForm = lexUnit.getOldOrthVar();
-                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap);
+                    StaxLoader.processOrthForm(orthForm, lexUnit, mapAllOrthForms, lowerToUpperMap, pool);
                 }
                 wordCategoryMapAllOrthForms.put(cat, mapAllOrthForms);
             }
 
             stream.close();
             loadedFiles++;
+            loaderData.fileLoaded(name);
         }
 
         // load relations with a RelationLoader
         LOGGER.info("Loading {}...", relsXmlName);
-        RelationLoader.loadRelations(relsInputStream, synsetIdMap, lexUnitIdMap);
+        RelationLoader.loadRelations(relsInputStream, synsetIdMap, lexUnitIdMap, loaderData.getDanglingRelations());
         loadedFiles++;
+        loaderData.fileLoaded(relsXmlName);
 
         if (loadedFiles >= NUMBER_OF_GERMANET_FILES) {
             LOGGER.info("Done loading {} GermaNet files.", loadedFiles);
@@ -169,15 +177,19 @@ class StaxLoader {
         return loaderData;
     }
 
-    private static void processOrthForm(String orthForm, LexUnit lexUnit,
+    static void processOrthForm(String orthForm, LexUnit lexUnit,
                                         Map<String, Set<LexUnit>> mapAllOrthForms,
-                                        Object2ObjectMap<String, ObjectSet<String>> lowerToUpperMap) {
+                                        Object2ObjectMap<String, ObjectSet<String>> lowerToUpperMap,
+                                        SharedDataPool pool) {
         String orthFormLower;
         ObjectSet<String> orthFormSet;
         Set<LexUnit> lexUnitSet;
 
         if (orthForm != null) {
             orthFormLower = orthForm.toLowerCase();
+            if (pool != null) {
+                orthFormLower = pool.string(orthFormLower);
+            }
             orthFormSet = lowerToUpperMap.getOrDefault(orthFormLower, new ObjectOpenHashSet<>());
             orthFormSet.add(orthForm);
             orthFormSet.add(orthFormLower);
@@ -61,7 +61,10 @@ import java.util.*;
  * </code>
  * <p>
  * Unless otherwise stated, methods will return an empty List rather than null
- * to indicate that no objects exist for the given request.
+ * to indicate that no objects exist for the given request.<br><br>
+ * <p>
+ * A <code>Synset</code> is frozen when loading is done: from then on it is never
+ * modified, so that it can be read by any number of threads without locking.
  *
  * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
  * @version 13.0
@@ -70,13 +73,13 @@ public class Synset implements Comparable {
     private int id;
     private WordCategory wordCategory;
     private WordClass wordClass;
-    private ObjectOpenHashSet<LexUnit> lexUnits;
+    private ObjectSet<LexUnit> lexUnits;
     private String paraphrase;
-    private ObjectList<String> allOrthForms;
+    private List<String> allOrthForms; // set by freeze()
 
     // for semantic relatedness utils
     private Int2IntMap distanceMap;
-    private IntSet hypernymIds;
+    private IntSet hypernymIds; // set by freeze()
     private int maxDistance; // to any hypernym on path to root
     private int depth; // distance from root
 
@@ -172,6 +175,15 @@ public class Synset implements Comparable {
         lexUnits.add(lexUnit);
     }
 
+    /**
+     * Removes a <code>LexUnit</code> from this <code>Synset</code>.
+     *
+     * @param lexUnit the <code>LexUnit</code> to remove.
+     */
+    void removeLexUnit(LexUnit lexUnit) {
+        lexUnits.remove(lexUnit);
+    }
+
     /**
      * Sets the paraphrase of this <code>Synset</code>.
      *
@@ -191,19 +203,78 @@ public class Synset implements Comparable {
     }
 
     /**
-     * Trims all <code>Lists</code> to conserve memory.
+     * Sets the word category of this <code>Synset</code>.
+     *
+     * @param wordCategory the word category to set for this <code>Synset</code>
      */
-    void trimAll() {
-        // trim set of lexunits
-        lexUnits.trim();
+    void setWordCategory(WordCategory wordCategory) {
+        this.wordCategory = wordCategory;
+    }
+
+    /**
+     * Replaces the strings of this <code>Synset</code> and its <code>LexUnits</code>
+     * by their pooled instances, right after parsing.
+     *
+     * @param pool the pool to use
+     */
+    void share(SharedDataPool pool) {
+        paraphrase = pool.string(paraphrase);
+        ObjectIterator<LexUnit> iterator = lexUnits.iterator();
+        while (iterator.hasNext()) {
+            iterator.next().share(pool);
+        }
+    }
 
-        // trim each lexunit
+    /**
+     * Freezes this <code>Synset</code> and its <code>LexUnits</code> once loading
+     * is done: the values which are otherwise computed on demand are computed
+     * once, and the sets of <code>LexUnits</code> and relations are replaced by
+     * unmodifiable, exactly sized arrays (keeping their iteration order). After
+     * this, no field is written anymore, so all read methods are free of data races
+     * as long as the <code>GermaNet</code> object has been published safely.
+     *
+     * @param pool the pool to share lists with, or null
+     */
+    void freeze(SharedDataPool pool) {
         ObjectIterator<LexUnit> iterator = lexUnits.iterator();
-        LexUnit lu;
         while (iterator.hasNext()) {
-            lu = iterator.next();
-            lu.trimAll();
+            iterator.next().freeze(pool);
         }
+        lexUnits = ObjectSets.unmodifiable(new ObjectArraySet<>(lexUnits.toArray(new LexUnit[0])));
+        outgoingRelations = freezeRelations(outgoingRelations);
+        incomingRelations = freezeRelations(incomingRelations);
+
+        allOrthForms = (pool != null) ? pool.list(computeAllOrthForms())
+                : Collections.unmodifiableList(computeAllOrthForms());
+        ((Int2IntOpenHashMap) distanceMap).trim();
+        hypernymIds = IntSets.unmodifiable(distanceMap.keySet());
+    }
+
+    /**
+     * Returns an unmodifiable copy of <code>relations</code>, backed by arrays.
+     *
+     * @param relations the relations to copy
+     * @param <R> the relation type
+     * @param <T> the type of the related objects
+     * @return an unmodifiable copy of <code>relations</code>
+     */
+    @SuppressWarnings("unchecked")
+    static <R, T> Object2ObjectMap<R, ObjectSet<T>> freezeRelations(Object2ObjectMap<R, ObjectSet<T>> relations) {
+        if (relations.isEmpty()) {
+            return Object2ObjectMaps.emptyMap();
+        }
+        Object[] types = new Object[relations.size()];
+        Object[] related = new Object[relations.size()];
+        int i = 0;
+        ObjectIterator<Object2ObjectMap.Entry<R, ObjectSet<T>>> iterator = Object2ObjectMaps.fastIterator(relations);
+        while (iterator.hasNext()) {
+            Object2ObjectMap.Entry<R, ObjectSet<T>> entry = iterator.next();
+            types[i] = entry.getKey();
+            related[i] = ObjectSets.unmodifiable(new ObjectArraySet<>(entry.getValue().toArray()));
+            i++;
+        }
+        Object2ObjectArrayMap<Object, Object> frozen = new Object2ObjectArrayMap<>(types, related);
+        return Object2ObjectMaps.unmodifiable((Object2ObjectMap<R, ObjectSet<T>>) (Object2ObjectMap<?, ?>) frozen);
     }
 
     /**
@@ -221,24 +292,26 @@ public class Synset implements Comparable {
      * Returns a <code>List</code> of all orthographic forms and variants
      * contained in all <code>LexUnits</code> of this <code>Synset</code>.
      * This <code>List</code> is never empty as the <code>List</code> of
-     * <code>LexUnits</code> is never empty.
+     * <code>LexUnits</code> is never empty. The <code>List</code> is unmodifiable.
      *
      * @return a <code>List</code> of all orthographic forms contained in all
      * <code>LexUnits</code> of this <code>Synset</code>
      */
     public List<String> getAllOrthForms() {
-        if (allOrthForms == null) {
-            Set<String> orthForms = new ObjectOpenHashSet<>();
+        return (allOrthForms != null) ? allOrthForms : computeAllOrthForms();
+    }
 
-            Iterator<LexUnit> iterator = lexUnits.iterator();
-            while (iterator.hasNext()) {
-                orthForms.addAll(iterator.next().getOrthForms());
-            }
+    private List<String> computeAllOrthForms() {
+        Set<String> orthForms = new ObjectOpenHashSet<>();
 
-            allOrthForms = new ObjectArrayList<>(orthForms);
-            Collections.sort(allOrthForms);
+        Iterator<LexUnit> iterator = lexUnits.iterator();
+        while (iterator.hasNext()) {
+            orthForms.addAll(iterator.next().getOrthForms());
         }
-        return allOrthForms;
+
+        List<String> sorted = new ObjectArrayList<>(orthForms);
+        Collections.sort(sorted);
+        return sorted;
     }
 
     /**
@@ -319,6 +392,45 @@ public class Synset implements Comparable {
         relations.put(type, related);
     }
 
+    /**
+     * Removes the relation of the specified type and direction between this
+     * <code>Synset</code> and <code>target</code>, if it exists.
+     *
+     * @param type      the type of relation (eg. <code>ConRel.has_hypernym</code>)
+     * @param target    the target <code>Synset</code>
+     * @param direction the direction of the relation.
+     * @return true if the relation existed
+     */
+    boolean removeRelation(ConRel type, Synset target, RelDirection direction) {
+        Object2ObjectMap<ConRel, ObjectSet<Synset>> relations;
+
+        relations = (direction == RelDirection.outgoing) ? outgoingRelations : incomingRelations;
+
+        ObjectSet<Synset> related = relations.get(type);
+        if (related == null || !related.remove(target)) {
+            return false;
+        }
+        if (related.isEmpty()) {
+            relations.remove(type);
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if this <code>Synset</code> has a relation of the specified
+     * type and direction to <code>target</code>.
+     *
+     * @param type      the type of relation (eg. <code>ConRel.has_hypernym</code>)
+     * @param target    the target <code>Synset</code>
+     * @param direction the direction of the relation.
+     * @return true if the relation exists
+     */
+    boolean hasRelation(ConRel type, Synset target, RelDirection direction) {
+        ObjectSet<Synset> related = (direction == RelDirection.outgoing)
+                ? outgoingRelations.get(type) : incomingRelations.get(type);
+        return related != null && related.contains(target);
+    }
+
     /**
      * Returns a <code>List</code> of <code>Synsets</code> for which this
      * <code>Synset</code> has an outgoing <code>type</code> relation.
@@ -579,6 +691,17 @@ public class Synset implements Comparable {
         }
     }
 
+    /**
+     * Resets the distance map to its initial state before it is rebuilt, after
+     * the hypernyms of this synset or of one of its hypernyms have changed.
+     */
+    void clearDistanceMap() {
+        distanceMap.clear();
+        distanceMap.put(id, 0);
+        maxDistance = 0;
+        depth = 0;
+    }
+
     /**
      * Return the set of all synset IDs that are on a path from this synset to ROOT,
      * using hypernym relations.
@@ -586,10 +709,7 @@ public class Synset implements Comparable {
      * using hypernym relations
      */
     IntSet getHypernymIds() {
-        if (hypernymIds == null) {
-            hypernymIds = new IntOpenHashSet(distanceMap.keySet());
-        }
-        return hypernymIds;
+        return (hypernymIds != null) ? hypernymIds : new IntOpenHashSet(distanceMap.keySet());
     }
 
     /**
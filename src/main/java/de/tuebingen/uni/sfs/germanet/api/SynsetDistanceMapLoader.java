@@ -81,7 +81,7 @@ class SynsetDistanceMapLoader {
      * @param hypernymOfSynset one of synset's hypernyms on the path up to root
      * @param depth            distance from synset to hypernymOfSynset
      */
-    private static void buildHypernymTree(Synset synset, Synset hypernymOfSynset, int depth) {
+    static void buildHypernymTree(Synset synset, Synset hypernymOfSynset, int depth) {
         // move up one level towards root
         ObjectArrayList<Synset> hypernymList =
                 new ObjectArrayList<>(hypernymOfSynset.getRelatedSynsets(ConRel.has_hypernym));
@@ -98,13 +98,14 @@ class SynsetDistanceMapLoader {
 
             // this hypernym has not been seen before by this synset, add it
             // or this distance is shorter than some previously calculated value, replace it
+            // and process the next level upwards for this synset; otherwise all
+            // hypernyms above have already been reached on a path which is not
+            // longer, which also stops the recursion on hypernym cycles
             if ((distanceToHypernym < 0)
                     || (depth < distanceToHypernym)) {
                 synset.updateDistanceMap(hypernymID, depth);
+                buildHypernymTree(synset, hypernym, depth);
             }
-
-            // process the next level upwards for this synset
-            buildHypernymTree(synset, hypernym, depth);
         }
     }
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A compact, read-only view of the GermaNet graph in compressed sparse row (CSR)
+ * form. Each node is a <code>Synset</code>, identified by a dense node index
+ * between 0 and <code>numNodes() - 1</code>. The outgoing edges of node
+ * <code>n</code> are the edge indices from <code>getEdgeOffset(n)</code>
+ * (inclusive) to <code>getEdgeOffset(n + 1)</code> (exclusive). Edges of a node
+ * are sorted by target node.<br><br>
+ * <p>
+ * Only the selected relation types are included. <code>ConRel</code> edges are
+ * taken directly from the <code>Synsets</code>. <code>LexRel</code> edges are
+ * lifted to the <code>Synset</code> level: if a <code>LexUnit</code> of synset
+ * <code>s</code> has a lexical relation to a <code>LexUnit</code> of synset
+ * <code>t</code>, the edge <code>s -&gt; t</code> is added. Lexical relations
+ * within the same <code>Synset</code> are ignored.<br><br>
+ * <p>
+ * Each edge is tagged with a relation code, see <code>getEdgeRelation</code>,
+ * <code>getConRel</code> and <code>getLexRel</code>.<br><br>
+ * <p>
+ * The view is built once and uses only primitive arrays, so traversals over it
+ * do not allocate:<br><br>
+ * <code>
+ * SynsetGraph graph = new SynsetGraph(gnet, EnumSet.of(ConRel.has_hypernym, ConRel.has_hyponym),
+ * EnumSet.noneOf(LexRel.class));<br>
+ * </code>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class SynsetGraph {
+    private static final ConRel[] CON_RELS = ConRel.values();
+    private static final LexRel[] LEX_RELS = LexRel.values();
+
+    final GermaNet gnet;
+    final SynsetIdIndex index;
+    final int[] offsets;
+    final int[] targets;
+    final byte[] relations;
+
+    /**
+     * Constructs a <code>SynsetGraph</code> containing all <code>Synsets</code>
+     * of <code>gnet</code> and all edges of the given relation types.
+     *
+     * @param gnet     the <code>GermaNet</code> object to build the graph from
+     * @param conRels  the conceptual relations to include (may be empty)
+     * @param lexRels  the lexical relations to include (may be empty)
+     */
+    public SynsetGraph(GermaNet gnet, Set<ConRel> conRels, Set<LexRel> lexRels) {
+        this.gnet = gnet;
+        this.index = SynsetIdIndex.of(gnet.getSynsets());
+
+        int numNodes = index.size();
+        this.offsets = new int[numNodes + 1];
+        IntArrayList targetList = new IntArrayList(numNodes * 2);
+        IntArrayList relationList = new IntArrayList(numNodes * 2);
+
+        // (target << 8 | relation code) of the current node's edges, sorted and deduplicated
+        LongArrayList scratch = new LongArrayList();
+        for (int node = 0; node < numNodes; node++) {
+            Synset synset = gnet.getSynsetByID(index.getSynsetId(node));
+            scratch.clear();
+
+            for (ConRel conRel : conRels) {
+                List<Synset> related = synset.getRelatedSynsets(conRel);
+                for (int i = 0; i < related.size(); i++) {
+                    int target = index.getDenseId(related.get(i).getId());
+                    scratch.add(((long) target << 8) | conRel.ordinal());
+                }
+            }
+
+            if (!lexRels.isEmpty()) {
+                for (LexUnit lexUnit : synset.getLexUnits()) {
+                    for (LexRel lexRel : lexRels) {
+                        List<LexUnit> related = lexUnit.getRelatedLexUnits(lexRel);
+                        for (int i = 0; i < related.size(); i++) {
+                            int targetId = related.get(i).getSynset().getId();
+                            if (targetId != synset.getId()) {
+                                int target = index.getDenseId(targetId);
+                                scratch.add(((long) target << 8) | (CON_RELS.length + lexRel.ordinal()));
+                            }
+                        }
+                    }
+                }
+            }
+
+            long[] edges = scratch.elements();
+            int numEdges = scratch.size();
+            Arrays.sort(edges, 0, numEdges);
+            for (int i = 0; i < numEdges; i++) {
+                if (i > 0 && edges[i] == edges[i - 1]) {
+                    continue;
+                }
+                targetList.add((int) (edges[i] >>> 8));
+                relationList.add((int) (edges[i] & 0xFF));
+            }
+            offsets[node + 1] = targetList.size();
+        }
+
+        this.targets = targetList.toIntArray();
+        this.relations = new byte[relationList.size()];
+        for (int i = 0; i < relations.length; i++) {
+            relations[i] = (byte) relationList.getInt(i);
+        }
+    }
+
+    /**
+     * Constructs a <code>SynsetGraph</code> from already built CSR arrays.
+     *
+     * @param gnet      the <code>GermaNet</code> object the nodes belong to
+     * @param index     maps node indices to synset IDs
+     * @param offsets   edge offsets, of length <code>index.size() + 1</code>
+     * @param targets   target node of each edge
+     * @param relations relation code of each edge
+     */
+    SynsetGraph(GermaNet gnet, SynsetIdIndex index, int[] offsets, int[] targets, byte[] relations) {
+        this.gnet = gnet;
+        this.index = index;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.relations = relations;
+    }
+
+    /**
+     * Returns the number of nodes in this graph.
+     *
+     * @return the number of nodes in this graph
+     */
+    public int numNodes() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of edges in this graph.
+     *
+     * @return the number of edges in this graph
+     */
+    public int numEdges() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the synset ID of a node.
+     *
+     * @param node the node index
+     * @return the synset ID of <code>node</code>
+     */
+    public int getSynsetId(int node) {
+        return index.getSynsetId(node);
+    }
+
+    /**
+     * Returns the <code>Synset</code> of a node.
+     *
+     * @param node the node index
+     * @return the <code>Synset</code> of <code>node</code>
+     */
+    public Synset getSynset(int node) {
+        return gnet.getSynsetByID(index.getSynsetId(node));
+    }
+
+    /**
+     * Returns the node index of a synset ID, or -1 if the synset is not part of
+     * this graph.
+     *
+     * @param synsetId the synset ID
+     * @return the node index of <code>synsetId</code>, or -1 if the synset is not
+     * part of this graph
+     */
+    public int getNode(int synsetId) {
+        return index.getDenseId(synsetId);
+    }
+
+    /**
+     * Returns the number of outgoing edges of a node.
+     *
+     * @param node the node index
+     * @return the number of outgoing edges of <code>node</code>
+     */
+    public int getOutDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of a node. The outgoing
+     * edges of <code>node</code> end (exclusive) at <code>getEdgeOffset(node + 1)</code>.
+     *
+     * @param node the node index, between 0 and <code>numNodes()</code> (inclusive)
+     * @return the index of the first outgoing edge of <code>node</code>
+     */
+    public int getEdgeOffset(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Returns the target node of an edge.
+     *
+     * @param edge the edge index
+     * @return the target node of <code>edge</code>
+     */
+    public int getEdgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the relation code of an edge. Codes below
+     * <code>ConRel.values().length</code> are <code>ConRel</code> ordinals,
+     * all other codes are <code>LexRel</code> ordinals shifted by
+     * <code>ConRel.values().length</code>.
+     *
+     * @param edge the edge index
+     * @return the relation code of <code>edge</code>
+     */
+    public int getEdgeRelation(int edge) {
+        return relations[edge] & 0xFF;
+    }
+
+    /**
+     * Returns the <code>ConRel</code> of an edge, or null if it is a lexical
+     * relation edge.
+     *
+     * @param edge the edge index
+     * @return the <code>ConRel</code> of <code>edge</code>, or null if it is a
+     * lexical relation edge
+     */
+    public ConRel getConRel(int edge) {
+        int code = getEdgeRelation(edge);
+        return (code < CON_RELS.length) ? CON_RELS[code] : null;
+    }
+
+    /**
+     * Returns the <code>LexRel</code> of an edge, or null if it is a conceptual
+     * relation edge.
+     *
+     * @param edge the edge index
+     * @return the <code>LexRel</code> of <code>edge</code>, or null if it is a
+     * conceptual relation edge
+     */
+    public LexRel getLexRel(int edge) {
+        int code = getEdgeRelation(edge);
+        return (code < CON_RELS.length) ? null : LEX_RELS[code - CON_RELS.length];
+    }
+
+    /**
+     * Returns the name of the relation of an edge.
+     *
+     * @param edge the edge index
+     * @return the name of the relation of <code>edge</code>
+     */
+    public String getRelationName(int edge) {
+        int code = getEdgeRelation(edge);
+        return (code < CON_RELS.length) ? CON_RELS[code].name() : LEX_RELS[code - CON_RELS.length].name();
+    }
+
+    /**
+     * Returns true if there is an edge from <code>fromNode</code> to
+     * <code>toNode</code>.
+     *
+     * @param fromNode the source node index
+     * @param toNode   the target node index
+     * @return true if there is an edge from <code>fromNode</code> to <code>toNode</code>
+     */
+    public boolean hasEdge(int fromNode, int toNode) {
+        return Arrays.binarySearch(targets, offsets[fromNode], offsets[fromNode + 1], toNode) >= 0;
+    }
+
+    /**
+     * Extracts the subgraph within <code>maxHops</code> edges of <code>seeds</code>,
+     * with at most <code>maxNodes</code> nodes. See <code>SynsetSubgraph</code>.
+     *
+     * @param seeds    the seed <code>Synsets</code>
+     * @param maxHops  the maximum number of edges between a node and the nearest seed
+     * @param maxNodes the maximum number of nodes in the subgraph
+     * @return the subgraph around <code>seeds</code>
+     */
+    public SynsetSubgraph subgraph(Collection<Synset> seeds, int maxHops, int maxNodes) {
+        return new SynsetSubgraph(this, seeds, maxHops, maxNodes);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Maps synset IDs to dense indices 0..size-1 and back. Dense indices are
+ * assigned in ascending synset ID order, so two indices built from the same
+ * synsets are identical. Used by the primitive, array-based views of the
+ * GermaNet graph.<br>
+ * Lookups use a direct table if the IDs are dense enough, and a binary search
+ * over the sorted IDs otherwise (e.g. for small subgraphs).
+ */
+final class SynsetIdIndex {
+    private static final int MAX_TABLE_FACTOR = 8;
+
+    private final int[] synsetIds;
+    private final int[] denseIds;
+
+    /**
+     * Constructs an index over the given synset IDs. Duplicate IDs are removed.
+     *
+     * @param ids synset IDs to index
+     */
+    SynsetIdIndex(int[] ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (size == 0 || sorted[size - 1] != sorted[i]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        this.synsetIds = Arrays.copyOf(sorted, size);
+
+        int maxId = (size == 0) ? 0 : synsetIds[size - 1];
+        if (maxId / MAX_TABLE_FACTOR > size) {
+            this.denseIds = null;
+        } else {
+            this.denseIds = new int[maxId + 1];
+            Arrays.fill(denseIds, -1);
+            for (int i = 0; i < size; i++) {
+                denseIds[synsetIds[i]] = i;
+            }
+        }
+    }
+
+    /**
+     * Constructs an index over the IDs of the given <code>Synsets</code>.
+     *
+     * @param synsets the <code>Synsets</code> to index
+     * @return an index over the IDs of the given <code>Synsets</code>
+     */
+    static SynsetIdIndex of(Collection<Synset> synsets) {
+        int[] ids = new int[synsets.size()];
+        int i = 0;
+        for (Synset synset : synsets) {
+            ids[i++] = synset.getId();
+        }
+        return new SynsetIdIndex(ids);
+    }
+
+    /**
+     * Returns the number of indexed synsets.
+     *
+     * @return the number of indexed synsets
+     */
+    int size() {
+        return synsetIds.length;
+    }
+
+    /**
+     * Returns the synset ID for a dense index.
+     *
+     * @param denseId a dense index between 0 and size-1
+     * @return the synset ID for <code>denseId</code>
+     */
+    int getSynsetId(int denseId) {
+        return synsetIds[denseId];
+    }
+
+    /**
+     * Returns the dense index for a synset ID, or -1 if the synset is not indexed.
+     *
+     * @param synsetId a synset ID
+     * @return the dense index for <code>synsetId</code>, or -1 if it is not indexed
+     */
+    int getDenseId(int synsetId) {
+        if (denseIds == null) {
+            int pos = Arrays.binarySearch(synsetIds, synsetId);
+            return (pos < 0) ? -1 : pos;
+        }
+        if (synsetId < 0 || synsetId >= denseIds.length) {
+            return -1;
+        }
+        return denseIds[synsetId];
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The subgraph of a <code>SynsetGraph</code> induced by all nodes within
+ * <code>maxHops</code> edges of a set of seed <code>Synsets</code>. Nodes are
+ * collected breadth-first, so if the number of nodes is limited, nodes closer to
+ * the seeds are preferred. The subgraph contains every edge of the underlying
+ * graph between two collected nodes.<br><br>
+ * <p>
+ * Nodes have dense local indices between 0 and <code>numNodes() - 1</code>, in
+ * ascending synset ID order; <code>getSynsetId</code> and <code>getNode</code>
+ * map between local indices and synset IDs. For each node, the word category,
+ * word class, depth in the taxonomy and hop distance to the nearest seed are
+ * available as attributes.<br><br>
+ * <p>
+ * <code>
+ * SynsetGraph graph = new SynsetGraph(gnet, EnumSet.of(ConRel.has_hypernym, ConRel.has_hyponym),
+ * EnumSet.noneOf(LexRel.class));<br>
+ * SynsetSubgraph subgraph = graph.subgraph(gnet.getSynsets("Baum"), 2, 500);<br>
+ * </code>
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public class SynsetSubgraph extends SynsetGraph {
+    private static final WordCategory[] WORD_CATEGORIES = WordCategory.values();
+    private static final WordClass[] WORD_CLASSES = WordClass.values();
+
+    private final byte[] wordCategories;
+    private final byte[] wordClasses;
+    private final int[] depths;
+    private final int[] hopDistances;
+    private final boolean truncated;
+
+    /**
+     * Extracts the subgraph of <code>graph</code> within <code>maxHops</code>
+     * edges of <code>seeds</code>, with at most <code>maxNodes</code> nodes.
+     * Seeds which are not part of <code>graph</code> are ignored.
+     *
+     * @param graph    the graph to extract from
+     * @param seeds    the seed <code>Synsets</code>
+     * @param maxHops  the maximum number of edges between a node and the nearest seed
+     * @param maxNodes the maximum number of nodes in the subgraph
+     */
+    public SynsetSubgraph(SynsetGraph graph, Collection<Synset> seeds, int maxHops, int maxNodes) {
+        this(graph, collect(graph, seeds, maxHops, maxNodes));
+    }
+
+    private SynsetSubgraph(SynsetGraph graph, Frontier frontier) {
+        super(graph.gnet, frontier.index, frontier.offsets, frontier.targets, frontier.relations);
+        int numNodes = frontier.index.size();
+        this.wordCategories = new byte[numNodes];
+        this.wordClasses = new byte[numNodes];
+        this.depths = new int[numNodes];
+        this.hopDistances = frontier.hopDistances;
+        this.truncated = frontier.truncated;
+
+        for (int node = 0; node < numNodes; node++) {
+            Synset synset = getSynset(node);
+            wordCategories[node] = (byte) synset.getWordCategory().ordinal();
+            wordClasses[node] = (byte) synset.getWordClass().ordinal();
+            depths[node] = synset.getDepth();
+        }
+    }
+
+    /**
+     * Returns the <code>WordCategory</code> of a node.
+     *
+     * @param node the local node index
+     * @return the <code>WordCategory</code> of <code>node</code>
+     */
+    public WordCategory getWordCategory(int node) {
+        return WORD_CATEGORIES[wordCategories[node]];
+    }
+
+    /**
+     * Returns the <code>WordClass</code> of a node.
+     *
+     * @param node the local node index
+     * @return the <code>WordClass</code> of <code>node</code>
+     */
+    public WordClass getWordClass(int node) {
+        return WORD_CLASSES[wordClasses[node]];
+    }
+
+    /**
+     * Returns the depth of a node, see <code>Synset.getDepth()</code>.
+     *
+     * @param node the local node index
+     * @return the depth of <code>node</code>
+     */
+    public int getDepth(int node) {
+        return depths[node];
+    }
+
+    /**
+     * Returns the number of edges between a node and the nearest seed, 0 for
+     * the seeds themselves.
+     *
+     * @param node the local node index
+     * @return the number of edges between <code>node</code> and the nearest seed
+     */
+    public int getHopDistance(int node) {
+        return hopDistances[node];
+    }
+
+    /**
+     * Returns true if nodes within <code>maxHops</code> were left out because
+     * <code>maxNodes</code> was reached.
+     *
+     * @return true if nodes were left out because <code>maxNodes</code> was reached
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Collects the nodes breadth-first and builds the induced CSR arrays.
+     */
+    private static Frontier collect(SynsetGraph graph, Collection<Synset> seeds, int maxHops, int maxNodes) {
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("maxHops must not be negative: " + maxHops);
+        }
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("maxNodes must not be negative: " + maxNodes);
+        }
+
+        // graph node -> hop distance; the queue holds graph nodes in discovery order
+        Int2IntOpenHashMap hops = new Int2IntOpenHashMap();
+        hops.defaultReturnValue(-1);
+        IntArrayList queue = new IntArrayList();
+        boolean truncated = false;
+
+        for (Synset seed : seeds) {
+            int node = graph.getNode(seed.getId());
+            if (node < 0 || hops.containsKey(node)) {
+                continue;
+            }
+            if (queue.size() >= maxNodes) {
+                truncated = true;
+                break;
+            }
+            hops.put(node, 0);
+            queue.add(node);
+        }
+
+        int head = 0;
+        expand:
+        while (head < queue.size()) {
+            int node = queue.getInt(head++);
+            int hop = hops.get(node);
+            if (hop >= maxHops) {
+                continue;
+            }
+            for (int edge = graph.offsets[node]; edge < graph.offsets[node + 1]; edge++) {
+                int target = graph.targets[edge];
+                if (hops.containsKey(target)) {
+                    continue;
+                }
+                if (queue.size() >= maxNodes) {
+                    truncated = true;
+                    break expand;
+                }
+                hops.put(target, hop + 1);
+                queue.add(target);
+            }
+        }
+
+        // graph nodes are in ascending synset ID order, so sorting them gives the local order
+        int[] nodes = queue.toIntArray();
+        Arrays.sort(nodes);
+        int numNodes = nodes.length;
+        int[] synsetIds = new int[numNodes];
+        int[] hopDistances = new int[numNodes];
+        Int2IntOpenHashMap localIds = new Int2IntOpenHashMap(numNodes);
+        localIds.defaultReturnValue(-1);
+        for (int i = 0; i < numNodes; i++) {
+            synsetIds[i] = graph.getSynsetId(nodes[i]);
+            hopDistances[i] = hops.get(nodes[i]);
+            localIds.put(nodes[i], i);
+        }
+
+        int numEdges = 0;
+        for (int node : nodes) {
+            for (int edge = graph.offsets[node]; edge < graph.offsets[node + 1]; edge++) {
+                if (localIds.containsKey(graph.targets[edge])) {
+                    numEdges++;
+                }
+            }
+        }
+
+        Frontier frontier = new Frontier();
+        frontier.index = new SynsetIdIndex(synsetIds);
+        frontier.offsets = new int[numNodes + 1];
+        frontier.targets = new int[numEdges];
+        frontier.relations = new byte[numEdges];
+        frontier.hopDistances = hopDistances;
+        frontier.truncated = truncated;
+
+        int pos = 0;
+        for (int i = 0; i < numNodes; i++) {
+            int node = nodes[i];
+            for (int edge = graph.offsets[node]; edge < graph.offsets[node + 1]; edge++) {
+                int target = localIds.get(graph.targets[edge]);
+                if (target >= 0) {
+                    frontier.targets[pos] = target;
+                    frontier.relations[pos] = graph.relations[edge];
+                    pos++;
+                }
+            }
+            frontier.offsets[i + 1] = pos;
+        }
+        return frontier;
+    }
+
+    /**
+     * Result of the breadth-first collection.
+     */
+    private static class Frontier {
+        SynsetIdIndex index;
+        int[] offsets;
+        int[] targets;
+        byte[] relations;
+        int[] hopDistances;
+        boolean truncated;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The integrity problems found in GermaNet data by <code>GermaNetValidator</code>.
+ * Each <code>Problem</code> is identified by an ID and, where the ID alone does
+ * not identify it, a key:<br>
+ * <code>DanglingConRel</code>: the ID of the source synset and the relation and
+ * target synset ID, separated by a space, e.g. "has_hypernym 51001"; either
+ * synset does not exist<br>
+ * <code>DanglingLexRel</code>: the ID of the source lex unit and the relation
+ * and target lex unit ID; either lex unit does not exist<br>
+ * <code>OrphanIliRecord</code>: the ID of the missing lex unit and the EWN
+ * relation and PWN 3.0 ID, e.g. "synonym ENG30-12345678-n"<br>
+ * <code>OrphanWiktionaryParaphrase</code>: the ID of the missing lex unit and
+ * the Wiktionary ID and sense ID, e.g. "12345 2"<br>
+ * <code>HypernymCycle</code>: the smallest synset ID in the cycle and the IDs of
+ * all synsets in the cycle in ascending order<br>
+ * <code>UnreachableSynset</code>: the ID of a synset which is not connected to
+ * the root synset by hypernym relations, no key<br>
+ * <code>AsymmetricConRel</code>: the ID of the source synset and the relation
+ * and target synset ID of a relation whose incoming counterpart or inverse
+ * relation (e.g. <code>has_hyponym</code> for <code>has_hypernym</code>) is
+ * missing<br>
+ * <code>AsymmetricLexRel</code>: the same for lexical relations<br><br>
+ * <p>
+ * Problems are ordered by type, ID and key.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+public final class ValidationReport {
+
+    /**
+     * The kinds of problems which are reported.
+     */
+    public enum ProblemType {
+        DanglingConRel,
+        DanglingLexRel,
+        OrphanIliRecord,
+        OrphanWiktionaryParaphrase,
+        HypernymCycle,
+        UnreachableSynset,
+        AsymmetricConRel,
+        AsymmetricLexRel
+    }
+
+    /**
+     * A single integrity problem.
+     */
+    public static final class Problem implements Comparable<Problem> {
+        private final ProblemType type;
+        private final int id;
+        private final String key;
+
+        Problem(ProblemType type, int id, String key) {
+            this.type = type;
+            this.id = id;
+            this.key = key;
+        }
+
+        /**
+         * Returns the kind of problem.
+         *
+         * @return the kind of problem
+         */
+        public ProblemType getType() {
+            return type;
+        }
+
+        /**
+         * Returns the ID of the <code>Synset</code> or <code>LexUnit</code> the
+         * problem belongs to.
+         *
+         * @return the ID the problem belongs to
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Returns the key of the problem, or null if the ID identifies it alone.
+         *
+         * @return the key of the problem, or null
+         */
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public int compareTo(Problem o) {
+            if (type != o.type) {
+                return type.compareTo(o.type);
+            }
+            if (id != o.id) {
+                return Integer.compare(id, o.id);
+            }
+            if (key == null || o.key == null) {
+                return (key == null) ? ((o.key == null) ? 0 : -1) : 1;
+            }
+            return key.compareTo(o.key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Problem that = (Problem) o;
+
+            if (id != that.id) return false;
+            if (type != that.type) return false;
+            return key != null ? key.equals(that.key) : that.key == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type.hashCode();
+            result = 31 * result + id;
+            result = 31 * result + (key != null ? key.hashCode() : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return type.name() + " " + id + ((key != null) ? " " + key : "");
+        }
+    }
+
+    private final List<Problem> problems;
+
+    ValidationReport(List<Problem> problems) {
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    /**
+     * Returns all problems, in the order described above.
+     *
+     * @return all problems
+     */
+    public List<Problem> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Returns all problems of the given kind.
+     *
+     * @param type the kind of problems
+     * @return all problems of the given kind
+     */
+    public List<Problem> getProblems(ProblemType type) {
+        List<Problem> rval = new ArrayList<>();
+        for (Problem problem : problems) {
+            if (problem.getType() == type) {
+                rval.add(problem);
+            }
+        }
+        return rval;
+    }
+
+    /**
+     * Returns the number of problems of the given kind.
+     *
+     * @param type the kind of problems
+     * @return the number of problems of the given kind
+     */
+    public int count(ProblemType type) {
+        int count = 0;
+        for (Problem problem : problems) {
+            if (problem.getType() == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of problems.
+     *
+     * @return the number of problems
+     */
+    public int size() {
+        return problems.size();
+    }
+
+    /**
+     * Returns true if no problems were found.
+     *
+     * @return true if there are no problems
+     */
+    public boolean isEmpty() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * Returns the number of problems of each kind.
+     *
+     * @return a summary of this <code>ValidationReport</code>
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ValidationReport{");
+        for (ProblemType type : ProblemType.values()) {
+            if (type.ordinal() > 0) {
+                sb.append(", ");
+            }
+            sb.append(type.name()).append('=').append(count(type));
+        }
+        return sb.append('}').toString();
+    }
+}
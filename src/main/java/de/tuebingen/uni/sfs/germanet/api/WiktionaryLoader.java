@@ -64,6 +64,7 @@ class WiktionaryLoader {
 
         String namespace = null;
         List<WiktionaryParaphrase> wiktionaryParaphrases = new ObjectArrayList<>();
+        SharedDataPool pool = loaderData.getPool();
         int wiktCnt = 0;
 
         for (int i = 0; i < wiktStreams.size(); i++) {
@@ -84,6 +85,9 @@ class WiktionaryLoader {
                         nodeName = parser.getLocalName();
                         if (nodeName.equals(GermaNet.XML_WIKTIONARY_PARAPHRASE)) {
                             WiktionaryParaphrase wikt = processWiktionaryParaphrase(parser, namespace);
+                            if (pool != null) {
+                                wikt = pool.wiktionaryParaphrase(wikt);
+                            }
                             wiktionaryParaphrases.add(wikt);
                             int lexUnitId = wikt.getLexUnitId();
                             LexUnit lexUnit = lexUnitIDMap.getOrDefault(lexUnitId, null);
@@ -97,6 +101,7 @@ class WiktionaryLoader {
                 }
             }
             parser.close();
+            loaderData.fileLoaded(wiktNames.get(i));
         }
 
         LOGGER.info("Done loading {} wiktionary records.", wiktCnt);
@@ -13,11 +13,8 @@ public class HypernymGraph {
             String destName;
             String word;
             int depth;
-            Writer dest;
             File gnetDir;
             List<Synset> synsets = null;
-            String dotCode = "";
-            HashSet<Synset> visited;
 
             System.out.println("HypernymGraph creates a GraphViz graph " +
                     "description of hypernyms and hyponyms of a GermaNet " +
@@ -37,64 +34,28 @@ public class HypernymGraph {
                 System.exit(0);
             }
 
-            dotCode += "graph G {\n";
-            dotCode += "overlap=false\n";
-            dotCode += "splines=true\n";
-            dotCode += "orientation=landscape\n";
-            dotCode += "size=\"13,15\"\n";
-
-            visited = new HashSet<Synset>();
-            for (Synset syn : synsets) {
-                dotCode += printHypernyms(syn, depth, visited);
+            // collect hypernyms and hyponyms up to depth, but draw each
+            // hypernym pair only once
+            SynsetGraph neighborhood = new SynsetGraph(gnet,
+                    EnumSet.of(ConRel.has_hypernym, ConRel.has_hyponym),
+                    EnumSet.noneOf(LexRel.class));
+            SynsetSubgraph collected = neighborhood.subgraph(synsets, depth, Integer.MAX_VALUE);
+            List<Synset> nodes = new ArrayList<Synset>();
+            for (int node = 0; node < collected.numNodes(); node++) {
+                nodes.add(collected.getSynset(node));
             }
+            SynsetGraph graph = new SynsetGraph(gnet,
+                    EnumSet.of(ConRel.has_hypernym),
+                    EnumSet.noneOf(LexRel.class));
+            SynsetSubgraph subgraph = graph.subgraph(nodes, 0, Integer.MAX_VALUE);
 
-            dotCode += "}";
-            dest = new BufferedWriter(new OutputStreamWriter(
-                    new FileOutputStream(new File(destName)), "UTF-8"));
-            dest.write(dotCode);
-            dest.close();
+            try (OutputStream dest = new FileOutputStream(new File(destName))) {
+                new GraphExporter(subgraph).export(dest, GraphExporter.Format.Dot);
+            }
 
         } catch (Exception ex) {
             ex.printStackTrace();
             System.exit(0);
         }
     }
-
-    static String printHypernyms(Synset synset, int depth,
-            HashSet<Synset> visited) {
-
-        String rval = "";
-        List<LexUnit> lexUnits;
-        String orthForm = "";
-        List<Synset> hypernyms = new ArrayList<Synset>();
-        List<Synset> relations;
-        String hypOrthForm;
-
-        visited.add(synset);
-
-        lexUnits = synset.getLexUnits();
-        // use just the first orthForm in the first LexUnit
-        orthForm = lexUnits.get(0).getOrthForm();
-        rval += "\"" + orthForm + "\" [fontname=Helvetica,fontsize=10]\n";
-
-        relations = synset.getRelatedSynsets(ConRel.has_hypernym);
-        hypernyms.addAll(relations);
-        relations = synset.getRelatedSynsets(ConRel.has_hyponym);
-        hypernyms.addAll(relations);
-
-        for (Synset syn : hypernyms) {
-            if (!visited.contains(syn)) {
-                hypOrthForm = syn.getLexUnits().get(0).getOrthForm();
-                rval += "\"" + orthForm + "\" -- \"" + hypOrthForm + "\";\n";
-
-                if (depth > 1) {
-                    rval += printHypernyms(syn, depth - 1, visited);
-                } else {
-                    rval += "\"" + hypOrthForm + "\" [fontname=Helvetica,fontsize=8]\n";
-                }
-            }
-        }
-        return rval;
-    }
 }
-
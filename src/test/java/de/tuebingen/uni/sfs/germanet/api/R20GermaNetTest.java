@@ -23,17 +23,33 @@ package de.tuebingen.uni.sfs.germanet.api;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import javax.xml.stream.XMLStreamException;
@@ -64,6 +80,7 @@ class R20GermaNetTest {
     static GermaNet gnetCaseSensitive;
     static GermaNet gnetIgnoreCase;
     static String dataPath;
+    static String goodDataPath;
     private static final Logger LOGGER = LoggerFactory.getLogger(R20GermaNetTest.class);
 
 
@@ -74,7 +91,7 @@ class R20GermaNetTest {
             String userHome = System.getProperty("user.home");
             String sep = System.getProperty("file.separator");
             dataPath = userHome + sep + "Data" + sep + "GermaNetForApiUnitTesting" + sep;
-            String goodDataPath = dataPath + "R" + release + sep + "XML-Valid" + sep;
+            goodDataPath = dataPath + "R" + release + sep + "XML-Valid" + sep;
 
             gnetCaseSensitive = new GermaNet(goodDataPath, false);
             gnetIgnoreCase = new GermaNet(goodDataPath, true);
@@ -1977,4 +1994,325 @@ class R20GermaNetTest {
         LexUnit lexUnit = gnetIgnoreCase.getLexUnitByID(-1);
         assertEquals(null, lexUnit);
     }
+
+    @Test
+    void loadAsyncTest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LoadOptions options = new LoadOptions();
+            List<Double> percentages = Collections.synchronizedList(new ArrayList<>());
+            options.setProgressListener((fileName, filesLoaded, totalFiles, percentage) -> percentages.add(percentage));
+            options.setInitSemanticUtils(true);
+            CompletableFuture<GermaNet> future = GermaNet.loadAsync(new File(goodDataPath), options, executor);
+            GermaNet gnet = future.get();
+            assertEquals(gnetCaseSensitive.numSynsets(), gnet.numSynsets());
+            assertTrue(percentages.size() >= GermaNet.NUMBER_OF_GERMANET_FILES);
+            assertEquals(100.0, percentages.get(percentages.size() - 1), 0.0);
+            assertTrue(gnet.getSemanticUtilsAsync().isDone());
+
+            // cancel after the first file has been parsed
+            CountDownLatch firstFile = new CountDownLatch(1);
+            CountDownLatch cancelled = new CountDownLatch(1);
+            LoadOptions cancelOptions = new LoadOptions();
+            cancelOptions.setProgressListener((fileName, filesLoaded, totalFiles, percentage) -> {
+                firstFile.countDown();
+                try {
+                    cancelled.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            CompletableFuture<GermaNet> cancelledFuture = GermaNet.loadAsync(new File(goodDataPath), cancelOptions, executor);
+            firstFile.await();
+            assertTrue(cancelledFuture.cancel(true));
+            cancelled.countDown();
+            assertThrows(CancellationException.class, cancelledFuture::join);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long readAll(GermaNet gnet, List<Synset> synsets) {
+        long hash = 1;
+        for (Synset synset : synsets) {
+            hash = 31 * hash + synset.getAllOrthForms().hashCode();
+            hash = 31 * hash + synset.getHypernymIds().size() + synset.getDepth();
+            for (Synset related : synset.getRelatedSynsets()) {
+                hash = 31 * hash + related.getId();
+            }
+            for (Synset related : synset.getRelatedSynsets(RelDirection.incoming)) {
+                hash = 31 * hash + related.getId();
+            }
+            for (LexUnit lexUnit : synset.getLexUnits()) {
+                hash = 31 * hash + lexUnit.getId() + lexUnit.getOrthForms().hashCode()
+                        + lexUnit.getRelatedLexUnits().size() + lexUnit.getExamples().size()
+                        + lexUnit.getFrames().size() + lexUnit.getIliRecords().size();
+            }
+            hash = 31 * hash + gnet.getSynsets(synset.getAllOrthForms().get(0)).size();
+        }
+        return hash;
+    }
+
+    @Test
+    void frozenConcurrentReadTest() throws Exception {
+        List<Synset> synsets = gnetCaseSensitive.getSynsets();
+        long expected = readAll(gnetCaseSensitive, synsets);
+
+        int numThreads = 32;
+        CyclicBarrier start = new CyclicBarrier(numThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return readAll(gnetCaseSensitive, synsets);
+                }));
+            }
+            for (Future<Long> future : futures) {
+                assertEquals(expected, (long) future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Synset synset = synsets.get(0);
+        LexUnit lexUnit = synset.getLexUnits().get(0);
+        assertThrows(UnsupportedOperationException.class, () -> synset.getAllOrthForms().add("x"));
+        assertThrows(UnsupportedOperationException.class, () -> lexUnit.getOrthForms().add("x"));
+        assertThrows(IllegalStateException.class, () -> lexUnit.setParticle("x"));
+    }
+
+    @Test
+    void germaNetHandleTest() {
+        GermaNetHandle handle = new GermaNetHandle(gnetCaseSensitive);
+        GermaNetHandle.Version first = handle.getCurrentVersion();
+        assertEquals(1, first.getVersionId());
+
+        GermaNetHandle.Lease lease = handle.acquire();
+        assertTrue(lease.getGermaNet() == gnetCaseSensitive);
+        assertEquals(1, first.getNumLeases());
+
+        GermaNetHandle.Version second = handle.swap(gnetIgnoreCase);
+        assertEquals(2, second.getVersionId());
+        assertTrue(second.getActivationTime() >= first.getActivationTime());
+        assertTrue(first.isRetired());
+        assertTrue(!first.isReleased());
+
+        // the old lease keeps its pinned version, new leases get the new one
+        assertTrue(lease.getGermaNet() == gnetCaseSensitive);
+        try (GermaNetHandle.Lease newLease = handle.acquire()) {
+            assertTrue(newLease.getGermaNet() == gnetIgnoreCase);
+            assertEquals(second, newLease.getVersion());
+        }
+
+        lease.close();
+        lease.close();
+        assertTrue(first.isReleased());
+        assertTrue(first.whenReleased().isDone());
+        assertTrue(!second.isReleased());
+        assertThrows(IllegalStateException.class, lease::getGermaNet);
+    }
+
+    @Test
+    void germaNetRegistryTest() throws Exception {
+        GermaNetRegistry registry = new GermaNetRegistry();
+        int numThreads = 4;
+        CyclicBarrier start = new CyclicBarrier(numThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        List<GermaNetRegistry.Lease> leases = new ArrayList<>();
+        try {
+            List<Future<GermaNetRegistry.Lease>> futures = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return registry.acquire(new File(goodDataPath));
+                }));
+            }
+            for (Future<GermaNetRegistry.Lease> future : futures) {
+                leases.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        GermaNet shared = leases.get(0).getGermaNet();
+        for (GermaNetRegistry.Lease lease : leases) {
+            assertTrue(shared == lease.getGermaNet());
+        }
+        assertEquals(1, registry.size());
+        assertEquals(gnetCaseSensitive.numSynsets(), shared.numSynsets());
+
+        for (GermaNetRegistry.Lease lease : leases) {
+            lease.close();
+        }
+        assertEquals(0, registry.size());
+        assertThrows(IllegalStateException.class, leases.get(0)::getGermaNet);
+        assertThrows(IOException.class, () -> registry.acquire(new File(dataPath, "missing")));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void germaNetReleasesTest() throws Exception {
+        GermaNetReleases releases = new GermaNetReleases();
+        GermaNet first = releases.load("A", new File(goodDataPath));
+        GermaNet second = releases.load("B", new File(goodDataPath), new LoadOptions());
+        assertEquals(Arrays.asList("A", "B"), releases.getReleaseNames());
+        assertTrue(releases.getBytesSaved() > 0);
+        assertThrows(IllegalArgumentException.class, () -> releases.load("A", new File(goodDataPath)));
+
+        assertEquals(gnetCaseSensitive.numSynsets(), second.numSynsets());
+        assertEquals(gnetCaseSensitive.numLexUnits(), second.numLexUnits());
+        for (LexUnit lexUnit : first.getLexUnits()) {
+            LexUnit other = second.getLexUnitByID(lexUnit.getId());
+            assertTrue(lexUnit.getOrthForm() == other.getOrthForm());
+            assertEquals(gnetCaseSensitive.getLexUnitByID(lexUnit.getId()).toString(), other.toString());
+            assertEquals(lexUnit.getExamples(), other.getExamples());
+        }
+
+        assertTrue(releases.remove("A") == first);
+        assertEquals(1, releases.size());
+        assertNull(releases.get("A"));
+    }
+
+    @Test
+    void germaNetDiffTest() throws Exception {
+        GermaNetDiff diff = new GermaNetDiff();
+        assertTrue(diff.compare(gnetCaseSensitive, gnetIgnoreCase).isEmpty());
+
+        String sep = System.getProperty("file.separator");
+        GermaNet previous = new GermaNet(dataPath + "R19" + sep + "XML-Valid" + sep);
+        ChangeSet changes = diff.compare(previous, gnetCaseSensitive);
+        ChangeSet reverse = diff.compare(gnetCaseSensitive, previous);
+        assertTrue(!changes.isEmpty());
+        assertEquals(changes.size(), reverse.size());
+        for (ChangeSet.EntityType entityType : ChangeSet.EntityType.values()) {
+            assertEquals(changes.count(entityType, ChangeSet.ChangeType.Added),
+                    reverse.count(entityType, ChangeSet.ChangeType.Removed));
+            assertEquals(changes.count(entityType, ChangeSet.ChangeType.Modified),
+                    reverse.count(entityType, ChangeSet.ChangeType.Modified));
+        }
+        for (ChangeSet.Change change : changes.getChanges(ChangeSet.EntityType.Synset)) {
+            if (change.getChangeType() == ChangeSet.ChangeType.Added) {
+                assertNull(previous.getSynsetByID(change.getId()));
+                assertNotNull(gnetCaseSensitive.getSynsetByID(change.getId()));
+            }
+        }
+
+        diff.setNumThreads(1);
+        assertEquals(changes.getChanges(), diff.compare(previous, gnetCaseSensitive).getChanges());
+        assertThrows(IllegalArgumentException.class, () -> diff.setNumThreads(0));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        changes.writeNdjson(out);
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(changes.size(), lines.length);
+        assertEquals(changes.getChanges().get(0).toString(), lines[0]);
+    }
+
+    @Test
+    void germaNetPatchTest() throws Exception {
+        String sep = System.getProperty("file.separator");
+        String previousPath = dataPath + "R19" + sep + "XML-Valid" + sep;
+        GermaNet previous = new GermaNet(previousPath);
+        GermaNetPatch patch = GermaNetPatch.of(new GermaNetDiff().compare(previous, gnetCaseSensitive));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        patch.write(out);
+        GermaNetPatch read = GermaNetPatch.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(patch, read);
+
+        LoadOptions options = new LoadOptions();
+        options.setIgnoreCase(false);
+        options.setPatch(read);
+        GermaNet patched = new GermaNet(new File(previousPath), options);
+        assertTrue(new GermaNetDiff().compare(patched, gnetCaseSensitive).isEmpty());
+        assertEquals(gnetCaseSensitive.numSynsets(), patched.numSynsets());
+        assertEquals(gnetCaseSensitive.numLexUnits(), patched.numLexUnits());
+        assertEquals(gnetCaseSensitive.getIliRecords().size(), patched.getIliRecords().size());
+
+        LoadOptions current = new LoadOptions(options);
+        assertThrows(IllegalArgumentException.class, () -> new GermaNet(new File(goodDataPath), current));
+        assertThrows(IOException.class, () -> GermaNetPatch.read(
+                new ByteArrayInputStream("{\"entity\":\"Foo\"}\n".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void germaNetValidatorTest() throws Exception {
+        GermaNetValidator validator = new GermaNetValidator();
+        ValidationReport report = validator.validate(gnetCaseSensitive);
+        assertEquals(Collections.emptyList(), report.getProblems());
+        assertTrue(report.isEmpty());
+        assertNull(gnetCaseSensitive.getValidationReport());
+
+        validator.setNumThreads(1);
+        assertEquals(report.getProblems(), validator.validate(gnetCaseSensitive).getProblems());
+        assertThrows(IllegalArgumentException.class, () -> validator.setNumThreads(0));
+
+        LoadOptions options = new LoadOptions();
+        options.setIgnoreCase(false);
+        options.setValidationMode(GermaNetValidator.Mode.Lenient);
+        GermaNet validated = new GermaNet(new File(goodDataPath), options);
+        assertEquals(report.getProblems(), validated.getValidationReport().getProblems());
+        assertThrows(IllegalArgumentException.class, () -> options.setValidationMode(null));
+    }
+
+    @Test
+    void danglingRelationTest() throws Exception {
+        Synset synset = gnetCaseSensitive.getSynsets().get(0);
+        LexUnit lexUnit = synset.getLexUnits().get(0);
+        Map<Integer, Synset> synsetIdMap = new HashMap<>();
+        synsetIdMap.put(synset.getId(), synset);
+        Map<Integer, LexUnit> lexUnitIdMap = new HashMap<>();
+        lexUnitIdMap.put(lexUnit.getId(), lexUnit);
+        String relations = "<relations>"
+                + "<con_rel name=\"has_hypernym\" from=\"s" + synset.getId() + "\" to=\"s999999999\" dir=\"revert\" inv=\"has_hyponym\"/>"
+                + "<lex_rel name=\"has_antonym\" from=\"l" + lexUnit.getId() + "\" to=\"l888888888\" dir=\"both\"/>"
+                + "</relations>";
+
+        assertThrows(XMLStreamException.class, () -> RelationLoader.loadRelations(
+                new ByteArrayInputStream(relations.getBytes(StandardCharsets.UTF_8)), synsetIdMap, lexUnitIdMap, null));
+
+        List<ValidationReport.Problem> danglingRelations = new ArrayList<>();
+        RelationLoader.loadRelations(new ByteArrayInputStream(relations.getBytes(StandardCharsets.UTF_8)),
+                synsetIdMap, lexUnitIdMap, danglingRelations);
+        assertEquals(Arrays.asList(
+                new ValidationReport.Problem(ValidationReport.ProblemType.DanglingConRel, synset.getId(), "has_hypernym 999999999"),
+                new ValidationReport.Problem(ValidationReport.ProblemType.DanglingLexRel, lexUnit.getId(), "has_antonym 888888888")),
+                danglingRelations);
+    }
+
+    @Test
+    void strictValidationTest() throws Exception {
+        Synset synset = gnetCaseSensitive.getSynsets().get(0);
+        Path dir = Files.createTempDirectory("germanet");
+        try {
+            for (File file : new File(goodDataPath).listFiles()) {
+                if (file.isFile()) {
+                    Files.copy(file.toPath(), dir.resolve(file.getName()));
+                }
+            }
+            Path relationFile = dir.resolve("gn_relations.xml");
+            String relations = new String(Files.readAllBytes(relationFile), StandardCharsets.UTF_8);
+            relations = relations.replace("</relations>", "<con_rel name=\"has_hypernym\" from=\"s" + synset.getId()
+                    + "\" to=\"s999999999\" dir=\"revert\" inv=\"has_hyponym\"/>\n</relations>");
+            Files.write(relationFile, relations.getBytes(StandardCharsets.UTF_8));
+
+            LoadOptions options = new LoadOptions();
+            options.setIgnoreCase(false);
+            assertThrows(XMLStreamException.class, () -> new GermaNet(dir.toFile(), options));
+
+            options.setValidationMode(GermaNetValidator.Mode.Strict);
+            GermaNetValidationException ex = assertThrows(GermaNetValidationException.class,
+                    () -> new GermaNet(dir.toFile(), options));
+            assertEquals(Collections.singletonList(new ValidationReport.Problem(
+                    ValidationReport.ProblemType.DanglingConRel, synset.getId(), "has_hypernym 999999999")),
+                    ex.getReport().getProblems());
+        } finally {
+            for (File file : dir.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(dir);
+        }
+    }
 }
@@ -20,16 +20,34 @@
 package de.tuebingen.uni.sfs.germanet.api;
 
 import static de.tuebingen.uni.sfs.germanet.api.GermaNet.GNROOT_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -55,6 +73,8 @@ public class R20SemanticUtilsTest {
     static GermaNet gnet;
     static SemanticUtils semanticUtils;
     static String dataPath;
+    static String freqListDir;
+    static String goodDataPath;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(R20SemanticUtilsTest.class);
 
@@ -128,8 +148,8 @@ public class R20SemanticUtilsTest {
             String userHome = System.getProperty("user.home");
             String sep = System.getProperty("file.separator");
             dataPath = userHome + sep + "Data" + sep + "GermaNetForApiUnitTesting" + sep;
-            String goodDataPath = dataPath + "R" + release + sep + "XML-Valid" + sep;
-            String freqListDir = dataPath + "R" + release + sep + "GN_V" + release + "0-FreqLists" + sep;
+            goodDataPath = dataPath + "R" + release + sep + "XML-Valid" + sep;
+            freqListDir = dataPath + "R" + release + sep + "GN_V" + release + "0-FreqLists" + sep;
             String nounFreqListPath = freqListDir + "noun_freqs_decow14_16.txt";
             String verbFreqListPath = freqListDir + "verb_freqs_decow14_16.txt";
             String adjFreqListPath = freqListDir + "adj_freqs_decow14_16.txt";
@@ -537,6 +557,454 @@ public class R20SemanticUtilsTest {
         }
     }
 
+    @ParameterizedTest(name = "{0} {1} {2} {3} {4}")
+    @MethodSource({"simplePathProvider",
+            "leacockChodorowProvider",
+            "wuAndPalmerProvider",
+            "resnikProvider",
+            "jiangAndConrathProvider",
+            "linProvider"})
+    void primitiveSimilarityMeasuresTest(SemRelMeasure semRelMeasure, Integer sID1, Integer sID2, int normalizedMax, Double expected) {
+        Synset synset1 = (sID1 == null) ? null : gnet.getSynsetByID(sID1);
+        Synset synset2 = (sID2 == null) ? null : gnet.getSynsetByID(sID2);
+
+        double epsilon = 0.01; // tolerance for working with doubles
+        double actual = semanticUtils.similarity(semRelMeasure, synset1, synset2, normalizedMax);
+
+        if (sID1 == null || sID2 == null) {
+            assertTrue(Double.isNaN(actual));
+        } else {
+            assertEquals(expected, actual, epsilon);
+            assertEquals(actual, semanticUtils.similarity(semRelMeasure, sID1, sID2, normalizedMax));
+            assertEquals(semanticUtils.getDistanceBetweenSynsets(synset1, synset2).intValue(),
+                    semanticUtils.distance(sID1, sID2));
+        }
+    }
+
+    @Test
+    void similarityMatrixTest() {
+        int[] ids = {bambusID, veilchenID, baumID, holzpflanzeID, apfelID, birneID, fahrenID, -1};
+        int[] cols = {baumID, pflanzeID, gebenID};
+
+        for (SemRelMeasure semRelMeasure : SemRelMeasure.values()) {
+            double[] matrix = semanticUtils.similarityMatrix(semRelMeasure, ids, cols, 10);
+            DoubleBuffer buffer = ByteBuffer.allocateDirect(Double.BYTES * matrix.length).asDoubleBuffer();
+            semanticUtils.similarityMatrix(semRelMeasure, ids, cols, 10, buffer);
+            for (int i = 0; i < ids.length; i++) {
+                for (int j = 0; j < cols.length; j++) {
+                    double expected = semanticUtils.similarity(semRelMeasure, ids[i], cols[j], 10);
+                    assertEquals(expected, matrix[i * cols.length + j]);
+                    assertEquals(expected, buffer.get(i * cols.length + j));
+                }
+            }
+
+            double[] symmetric = semanticUtils.similarityMatrix(semRelMeasure, ids, 0);
+            for (int i = 0; i < ids.length; i++) {
+                for (int j = 0; j < ids.length; j++) {
+                    assertEquals(semanticUtils.similarity(semRelMeasure, ids[i], ids[j], 0), symmetric[i * ids.length + j]);
+                }
+            }
+            // passing the same array twice computes the full matrix
+            assertArrayEquals(symmetric, semanticUtils.similarityMatrix(semRelMeasure, ids, ids, 0));
+            DoubleBuffer symmetricBuffer = ByteBuffer.allocateDirect(Double.BYTES * symmetric.length).asDoubleBuffer();
+            semanticUtils.similarityMatrix(semRelMeasure, ids, 0, symmetricBuffer);
+            for (int i = 0; i < symmetric.length; i++) {
+                assertEquals(symmetric[i], symmetricBuffer.get(i));
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> semanticUtils.similarityMatrix(SemRelMeasure.Lin, ids, cols, 0, new double[ids.length]));
+    }
+
+    @Test
+    void similarityProfileTest() {
+        int[][] pairs = {{bambusID, veilchenID}, {apfelID, birneID}, {baumID, baumID}, {baumID, fahrenID},
+                {kleinesJohanniswuermchenID, lebertransplantationID}, {bemehlenID, anmusternID}};
+        SimilarityProfile profile = new SimilarityProfile();
+        double[] values = new double[SemRelMeasure.values().length];
+
+        for (int[] pair : pairs) {
+            for (int normalizedMax : new int[]{0, 10}) {
+                semanticUtils.similarityProfile(pair[0], pair[1], normalizedMax, profile);
+                semanticUtils.similarityProfile(gnet.getSynsetByID(pair[0]), gnet.getSynsetByID(pair[1]), normalizedMax, values);
+                for (SemRelMeasure semRelMeasure : SemRelMeasure.values()) {
+                    double expected = semanticUtils.similarity(semRelMeasure, pair[0], pair[1], normalizedMax);
+                    assertEquals(expected, profile.get(semRelMeasure));
+                    assertEquals(expected, values[semRelMeasure.ordinal()]);
+                }
+                assertEquals(semanticUtils.distance(pair[0], pair[1]), profile.getPathLength());
+            }
+        }
+        assertTrue(profile.isComparable());
+
+        semanticUtils.similarityProfile(baumID, fahrenID, 0, profile);
+        assertTrue(!profile.isComparable());
+        assertTrue(Double.isNaN(profile.get(SemRelMeasure.Lin)));
+    }
+
+    @Test
+    void wordSimilarityTest() {
+        int[] pferdSenses = semanticUtils.getSenseSynsetIds("Pferd", WordCategory.nomen);
+        assertTrue(pferdSenses.length >= 2);
+        int[] baumSenses = semanticUtils.getSenseSynsetIds("Baum", WordCategory.nomen);
+
+        for (SemRelMeasure semRelMeasure : SemRelMeasure.values()) {
+            double max = Double.NaN;
+            double sum = 0.0;
+            for (int id1 : pferdSenses) {
+                for (int id2 : baumSenses) {
+                    double value = semanticUtils.similarity(semRelMeasure, id1, id2, 10);
+                    max = Double.isNaN(max) ? value : Math.max(max, value);
+                    sum += value;
+                }
+            }
+            double epsilon = 0.000001;
+            assertEquals(max, semanticUtils.wordSimilarity(semRelMeasure, "Pferd", "Baum", SenseAggregation.Max, 10), epsilon);
+            assertEquals(sum / (pferdSenses.length * baumSenses.length),
+                    semanticUtils.wordSimilarity(semRelMeasure, "Pferd", "Baum", SenseAggregation.Mean, 10), epsilon);
+            assertEquals(semanticUtils.similarity(semRelMeasure, pferdSenses[0], baumSenses[0], 10),
+                    semanticUtils.wordSimilarity(semRelMeasure, "Pferd", "Baum", SenseAggregation.FirstSense, 10));
+        }
+
+        assertEquals(10.0, semanticUtils.wordSimilarity(SemRelMeasure.SimplePath, "Pferd", "Pferd", SenseAggregation.Max, 10), 0.000001);
+        assertTrue(Double.isNaN(semanticUtils.wordSimilarity(SemRelMeasure.Lin, "Pferd", "nonexistingword", SenseAggregation.Max, 0)));
+
+        LexUnit baum = gnet.getSynsetByID(baumID).getLexUnits().get(0);
+        LexUnit pferd = gnet.getSynsetByID(pferdAnimalID).getLexUnits().get(0);
+        assertEquals(semanticUtils.similarity(SemRelMeasure.WuAndPalmer, baumID, pferdAnimalID, 0),
+                semanticUtils.lexUnitSimilarity(SemRelMeasure.WuAndPalmer, baum, pferd, 0));
+
+        semanticUtils.setWordPairCacheSize(100);
+        double uncached = semanticUtils.wordSimilarity(SemRelMeasure.Lin, "Apfel", "Birne", SenseAggregation.Max, 0);
+        assertEquals(uncached, semanticUtils.wordSimilarity(SemRelMeasure.Lin, "Apfel", "Birne", SenseAggregation.Max, 0));
+        semanticUtils.setWordPairCacheSize(0);
+    }
+
+    @Test
+    void pairCacheTest() {
+        int[] ids = {bambusID, veilchenID, baumID, holzpflanzeID, apfelID, birneID, kernobstID, obstbaumID};
+        double[] expected = semanticUtils.similarityMatrix(SemRelMeasure.WuAndPalmer, ids, ids.clone(), 0);
+
+        semanticUtils.setPairCacheCapacity(1000);
+        try {
+            for (int pass = 0; pass < 2; pass++) {
+                assertArrayEquals(expected, semanticUtils.similarityMatrix(SemRelMeasure.WuAndPalmer, ids, ids.clone(), 0));
+            }
+            LcsPairCache pairCache = semanticUtils.getPairCache();
+            assertTrue(pairCache.getHitCount() >= ids.length * ids.length);
+            assertTrue(pairCache.getHitRatio() > 0.0);
+
+            SimilarityProfile profile = semanticUtils.similarityProfile(apfelID, birneID, 0, null);
+            Set<Integer> lcsIds = new HashSet<>();
+            for (LeastCommonSubsumer lcs : semanticUtils.getLeastCommonSubsumers(gnet.getSynsetByID(apfelID), gnet.getSynsetByID(birneID))) {
+                lcsIds.add(lcs.getLcsID());
+            }
+            assertTrue(lcsIds.contains(profile.getLcsId()));
+        } finally {
+            semanticUtils.setPairCacheCapacity(0);
+        }
+        assertNull(semanticUtils.getPairCache());
+    }
+
+    @Test
+    void mostSimilarTest() {
+        int k = 10;
+        List<Synset> nouns = gnet.getSynsets(WordCategory.nomen);
+        for (SemRelMeasure semRelMeasure : new SemRelMeasure[]{SemRelMeasure.Lin, SemRelMeasure.WuAndPalmer}) {
+            for (int synsetId : new int[]{baumID, apfelID}) {
+                List<double[]> expected = new ArrayList<>();
+                for (Synset synset : nouns) {
+                    if (synset.getId() != synsetId) {
+                        expected.add(new double[]{semanticUtils.similarity(semRelMeasure, synsetId, synset.getId(), 0), synset.getId()});
+                    }
+                }
+                expected.sort((a, b) -> (a[0] != b[0]) ? Double.compare(b[0], a[0]) : Double.compare(a[1], b[1]));
+
+                int[] ids = new int[k];
+                double[] scores = new double[k];
+                assertEquals(k, semanticUtils.mostSimilar(semRelMeasure, synsetId, k, null, 0, ids, scores));
+                for (int i = 0; i < k; i++) {
+                    assertEquals((int) expected.get(i)[1], ids[i]);
+                    assertEquals(expected.get(i)[0], scores[i]);
+                }
+            }
+        }
+
+        int found = semanticUtils.mostSimilar(SemRelMeasure.WuAndPalmer, baumID, k, WordClass.Pflanze, 0, new int[k], new double[k]);
+        assertTrue(found > 0);
+        List<Synset> similar = semanticUtils.getMostSimilarSynsets(SemRelMeasure.WuAndPalmer, gnet.getSynsetByID(baumID), k, 10);
+        assertEquals(k, similar.size());
+        assertTrue(!similar.contains(gnet.getSynsetByID(baumID)));
+    }
+
+    @Test
+    void knnGraphTest() throws IOException {
+        File file = File.createTempFile("knn", ".bin");
+        try {
+            KnnGraphBuilder builder = new KnnGraphBuilder(gnet);
+            builder.setK(5);
+            builder.setNumThreads(2);
+            builder.build(file);
+            assertTrue(!new File(file.getPath() + ".progress").exists());
+
+            KnnGraph knnGraph = KnnGraph.load(file, gnet);
+            assertEquals(SemRelMeasure.WuAndPalmer, knnGraph.getSemRelMeasure());
+            int[] expectedIds = new int[5];
+            double[] expectedScores = new double[5];
+            int[] ids = new int[5];
+            double[] scores = new double[5];
+            for (int synsetId : new int[]{baumID, apfelID, fahrenID}) {
+                int found = semanticUtils.mostSimilar(SemRelMeasure.WuAndPalmer, synsetId, 5, null, 0, expectedIds, expectedScores);
+                assertEquals(found, knnGraph.getNeighbors(synsetId, ids, scores));
+                for (int i = 0; i < found; i++) {
+                    assertEquals(expectedIds[i], ids[i]);
+                    assertEquals(expectedScores[i], scores[i], 0.00001);
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void knnGraphResumeTest() throws IOException {
+        File cleanFile = File.createTempFile("knn", ".bin");
+        File resumedFile = File.createTempFile("knn", ".bin");
+        File progressFile = new File(resumedFile.getPath() + ".progress");
+        try {
+            KnnGraphBuilder builder = new KnnGraphBuilder(gnet);
+            builder.setK(3);
+            builder.setNumThreads(2);
+            builder.build(cleanFile);
+            byte[] clean = Files.readAllBytes(cleanFile.toPath());
+
+            // simulate an interrupted build: every other chunk is done, the rest is empty
+            int numNodes = ByteBuffer.wrap(clean).getInt(28);
+            int numChunks = (numNodes + KnnGraphBuilder.CHUNK_SIZE - 1) / KnnGraphBuilder.CHUNK_SIZE;
+            int recordSize = 8 * builder.getK();
+            int recordsStart = KnnGraphBuilder.HEADER_SIZE + 4 * numNodes;
+            byte[] partial = clean.clone();
+            ByteBuffer.wrap(partial).putInt(KnnGraphBuilder.COMPLETE_OFFSET, 0);
+            byte[] progress = new byte[KnnGraphBuilder.PROGRESS_HEADER_SIZE + numChunks];
+            ByteBuffer.wrap(progress).putInt(0, KnnGraphBuilder.PROGRESS_MAGIC);
+            System.arraycopy(clean, 0, progress, 4, 32);
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                if (chunk % 2 == 0) {
+                    progress[KnnGraphBuilder.PROGRESS_HEADER_SIZE + chunk] = 1;
+                } else {
+                    int start = recordsStart + chunk * KnnGraphBuilder.CHUNK_SIZE * recordSize;
+                    int end = Math.min(start + KnnGraphBuilder.CHUNK_SIZE * recordSize, partial.length);
+                    Arrays.fill(partial, start, end, (byte) 0);
+                }
+            }
+
+            for (int numThreads : new int[]{1, 2}) {
+                Files.write(resumedFile.toPath(), partial);
+                Files.write(progressFile.toPath(), progress);
+                builder.setNumThreads(numThreads);
+                builder.build(resumedFile);
+                assertTrue(!progressFile.exists());
+                assertArrayEquals(clean, Files.readAllBytes(resumedFile.toPath()));
+            }
+        } finally {
+            cleanFile.delete();
+            resumedFile.delete();
+            progressFile.delete();
+        }
+    }
+
+    @Test
+    void similarityJoinTest() {
+        int[] idsA = {bambusID, veilchenID, baumID, holzpflanzeID, apfelID, birneID, kernobstID, fahrenID};
+        int[] idsB = {obstbaumID, nutzpflanzeID, heilpflanzeID, krautID, chinarindenbaumID, pferdAnimalID, gebenID};
+        double threshold = 0.6;
+
+        for (SemRelMeasure semRelMeasure : new SemRelMeasure[]{SemRelMeasure.WuAndPalmer, SemRelMeasure.Lin}) {
+            Set<String> expected = new HashSet<>();
+            for (int idA : idsA) {
+                for (int idB : idsB) {
+                    double similarity = semanticUtils.similarity(semRelMeasure, idA, idB, 0);
+                    if (similarity >= threshold) {
+                        expected.add(idA + "-" + idB);
+                    }
+                }
+            }
+            Set<String> actual = Collections.synchronizedSet(new HashSet<>());
+            semanticUtils.similarityJoin(semRelMeasure, idsA, idsB, threshold, 0, (idA, idB, similarity) -> {
+                assertTrue(similarity >= threshold);
+                actual.add(idA + "-" + idB);
+            });
+            assertEquals(expected, actual);
+        }
+
+        List<String> selfPairs = Collections.synchronizedList(new ArrayList<>());
+        semanticUtils.similarityJoin(SemRelMeasure.SimplePath, idsA, idsA, 0.9, 0, (idA, idB, similarity) -> selfPairs.add(idA + "-" + idB));
+        assertTrue(selfPairs.contains(apfelID + "-" + birneID));
+        assertTrue(!selfPairs.contains(birneID + "-" + apfelID));
+    }
+
+    @Test
+    void frequencySourceTest() throws IOException {
+        String lines = "Baum 5\r\nBaum 3\nHaus 0\nHaus 4\n Auto 7\nTisch\t2  \nStuhl 1 2\n\n\u00C4pfel 9";
+        OrthFormTable orthForms = new OrthFormTable(Arrays.asList("Baum", "Haus", "Auto", "Tisch", "Stuhl", "\u00C4pfel", "Birne"));
+        File plainFile = File.createTempFile("freq", ".txt");
+        File gzipFile = File.createTempFile("freq", ".txt.gz");
+        try {
+            Files.write(plainFile.toPath(), lines.getBytes(StandardCharsets.UTF_8));
+            try (OutputStream out = new GZIPOutputStream(new FileOutputStream(gzipFile))) {
+                out.write(lines.getBytes(StandardCharsets.UTF_8));
+            }
+            Map<String, Long> plain = FrequencySource.of(plainFile).load(orthForms);
+            assertEquals(5, plain.size());
+            assertEquals(8L, (long) plain.get("Baum"));
+            assertEquals(4L, (long) plain.get("Haus"));
+            assertEquals(2L, (long) plain.get("Tisch"));
+            assertEquals(9L, (long) plain.get("\u00C4pfel"));
+            assertEquals(plain, FrequencySource.of(gzipFile).load(orthForms));
+
+            Files.write(plainFile.toPath(), "Baum 5\nHaus x\n".getBytes(StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> FrequencySource.of(plainFile).load(orthForms));
+        } finally {
+            plainFile.delete();
+            gzipFile.delete();
+        }
+    }
+
+    @Test
+    void icProfileTest() throws Exception {
+        ICProfile defaultProfile = semanticUtils.getICProfile();
+        assertEquals(SemanticUtils.DEFAULT_IC_PROFILE, defaultProfile.getName());
+        assertThrows(IllegalArgumentException.class, () -> semanticUtils.loadICProfile(SemanticUtils.DEFAULT_IC_PROFILE,
+                FrequencySource.of(new File(freqListDir + "noun_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "verb_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "adj_freqs_decow14_16.txt"))));
+
+        ICProfile copy = semanticUtils.loadICProfile("copy",
+                FrequencySource.of(new File(freqListDir + "noun_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "verb_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "adj_freqs_decow14_16.txt"))).get();
+        assertTrue(copy == semanticUtils.getICProfile("copy"));
+        assertTrue(semanticUtils.getICProfileNames().contains(SemanticUtils.DEFAULT_IC_PROFILE));
+        assertEquals(defaultProfile.getMaxIC(WordCategory.nomen), copy.getMaxIC(WordCategory.nomen), 0.0);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ICProfile executorCopy = semanticUtils.loadICProfile("executorCopy",
+                    FrequencySource.of(new File(freqListDir + "noun_freqs_decow14_16.txt")),
+                    FrequencySource.of(new File(freqListDir + "verb_freqs_decow14_16.txt")),
+                    FrequencySource.of(new File(freqListDir + "adj_freqs_decow14_16.txt")), executor).get();
+            assertTrue(executorCopy == semanticUtils.getICProfile("executorCopy"));
+            assertEquals(copy.getMaxIC(WordCategory.nomen), executorCopy.getMaxIC(WordCategory.nomen), 0.0);
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> semanticUtils.loadICProfile("noExecutor",
+                FrequencySource.of(new File(freqListDir + "noun_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "verb_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "adj_freqs_decow14_16.txt")), null));
+
+        int[] ids = {baumID, holzpflanzeID, apfelID, birneID, kernobstID, pflanzeID};
+        for (int id1 : ids) {
+            assertEquals(defaultProfile.getIC(gnet.getSynsetByID(id1)), copy.getIC(gnet.getSynsetByID(id1)), 0.0);
+            for (int id2 : ids) {
+                for (SemRelMeasure semRelMeasure : SemRelMeasure.values()) {
+                    assertEquals(semanticUtils.similarity(semRelMeasure, id1, id2, 10),
+                            semanticUtils.similarity(semRelMeasure, id1, id2, 10, copy), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void icUpdaterTest() throws IOException {
+        ICUpdater updater = semanticUtils.createICUpdater("live",
+                FrequencySource.of(new File(freqListDir + "noun_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "verb_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "adj_freqs_decow14_16.txt")));
+        ICProfile initial = updater.getICProfile();
+        assertTrue(initial == semanticUtils.getICProfile("live"));
+        Synset baum = gnet.getSynsetByID(baumID);
+        Synset holzpflanze = gnet.getSynsetByID(holzpflanzeID);
+        ICProfile defaultProfile = semanticUtils.getICProfile();
+        for (Synset synset : new Synset[]{baum, holzpflanze, gnet.getSynsetByID(pflanzeID)}) {
+            assertEquals(defaultProfile.getIC(synset), initial.getIC(synset), 0.0);
+        }
+
+        String orthForm = baum.getAllOrthForms().get(0);
+        long count = updater.getCount(WordCategory.nomen, orthForm);
+        updater.addCount(WordCategory.nomen, orthForm, 1000000);
+        assertTrue(initial == semanticUtils.getICProfile("live"));
+        ICProfile updated = updater.publish();
+        assertTrue(updated == semanticUtils.getICProfile("live"));
+        assertEquals(count + 1000000, updater.getCount(WordCategory.nomen, orthForm));
+        assertTrue(updated.getIC(baum) < initial.getIC(baum));
+        assertTrue(updated.getIC(holzpflanze) < initial.getIC(holzpflanze));
+
+        updater.addCount(WordCategory.nomen, orthForm, -1000000);
+        ICProfile restored = updater.publish();
+        assertEquals(initial.getIC(baum), restored.getIC(baum), 0.0);
+        assertEquals(initial.getIC(holzpflanze), restored.getIC(holzpflanze), 0.0);
+        assertEquals(initial.getMaxIC(WordCategory.nomen), restored.getMaxIC(WordCategory.nomen), 0.0);
+    }
+
+    @Test
+    void concurrentSemanticUtilsInitTest() throws Exception {
+        LoadOptions options = new LoadOptions();
+        options.setFrequencySources(FrequencySource.of(new File(freqListDir + "noun_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "verb_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "adj_freqs_decow14_16.txt")));
+        options.setInitSemanticUtils(true);
+        GermaNet germaNet = new GermaNet(new File(goodDataPath), options);
+
+        int numThreads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<SemanticUtils>> futures = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                boolean async = i % 2 == 0;
+                futures.add(executor.submit(() -> async ? germaNet.getSemanticUtilsAsync().get() : germaNet.getSemanticUtils()));
+            }
+            SemanticUtils expected = germaNet.getSemanticUtils();
+            for (Future<SemanticUtils> future : futures) {
+                assertTrue(expected == future.get());
+            }
+            assertEquals(semanticUtils.similarity(SemRelMeasure.Lin, baumID, holzpflanzeID, 0),
+                    expected.similarity(SemRelMeasure.Lin, baumID, holzpflanzeID, 0), 0.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void semanticUtilsExecutorTest() throws Exception {
+        LoadOptions options = new LoadOptions();
+        options.setFrequencySources(FrequencySource.of(new File(freqListDir + "noun_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "verb_freqs_decow14_16.txt")),
+                FrequencySource.of(new File(freqListDir + "adj_freqs_decow14_16.txt")));
+        GermaNet germaNet = new GermaNet(new File(goodDataPath), options);
+        assertThrows(IllegalArgumentException.class, () -> germaNet.getSemanticUtilsAsync(null));
+
+        ExecutorService rejecting = Executors.newSingleThreadExecutor();
+        rejecting.shutdown();
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> germaNet.getSemanticUtilsAsync(rejecting).get());
+        assertTrue(ex.getCause() instanceof RejectedExecutionException);
+
+        List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(() -> {
+            threadNames.add(Thread.currentThread().getName());
+            runnable.run();
+        }, "semanticUtilsExecutorTest"));
+        try {
+            SemanticUtils utils = germaNet.getSemanticUtilsAsync(executor).get();
+            assertEquals(Collections.singletonList("semanticUtilsExecutorTest"), threadNames);
+            assertTrue(utils == germaNet.getSemanticUtils());
+            assertTrue(utils == germaNet.getSemanticUtilsAsync().get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private static Stream<Arguments> simplePathProvider() {
 
         double bambusVeilchenRawExpected = 0.88571;
@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2026 Department of General and Computational Linguistics,
+ * University of Tuebingen
+ *
+ * This file is part of the Java API to GermaNet.
+ *
+ * The Java API to GermaNet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The Java API to GermaNet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this API; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.tuebingen.uni.sfs.germanet.api;
+
+import static de.tuebingen.uni.sfs.germanet.api.GermaNet.GNROOT_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Junit tests for the primitive graph views of the GermaNet API.
+ *
+ * @author University of Tuebingen, Department of Linguistics (germanetinfo at uni-tuebingen.de)
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class R20SynsetGraphTest {
+    static GermaNet gnet;
+    static SynsetGraph taxonomy;
+    static String dataPath;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(R20SynsetGraphTest.class);
+
+    static int baumID = 46042;
+    static int holzpflanzeID = 46041;
+    static int pflanzeID = 44960;
+
+    @BeforeAll
+    static void setUp() {
+        try {
+            String release = "20";
+            String userHome = System.getProperty("user.home");
+            String sep = System.getProperty("file.separator");
+            dataPath = userHome + sep + "Data" + sep + "GermaNetForApiUnitTesting" + sep;
+            String goodDataPath = dataPath + "R" + release + sep + "XML-Valid" + sep;
+
+            gnet = new GermaNet(goodDataPath);
+            taxonomy = new SynsetGraph(gnet, EnumSet.of(ConRel.has_hypernym, ConRel.has_hyponym),
+                    EnumSet.noneOf(LexRel.class));
+        } catch (IOException ex) {
+            LOGGER.error("\nGermaNet data not found at {} \nAborting...", dataPath, ex);
+            System.exit(0);
+        } catch (XMLStreamException ex) {
+            LOGGER.error("\nUnable to load GermaNet data at {} \nAborting...", dataPath, ex);
+            System.exit(0);
+        }
+    }
+
+    @AfterAll
+    void cleanup() {
+        gnet = null;
+        taxonomy = null;
+    }
+
+    @Test
+    void graphMatchesRelatedSynsetsTest() {
+        assertEquals(gnet.numSynsets(), taxonomy.numNodes());
+        for (int node = 0; node < taxonomy.numNodes(); node++) {
+            Synset synset = taxonomy.getSynset(node);
+            Set<Integer> expected = new HashSet<>();
+            for (Synset related : synset.getRelatedSynsets(ConRel.has_hypernym)) {
+                expected.add(related.getId());
+            }
+            for (Synset related : synset.getRelatedSynsets(ConRel.has_hyponym)) {
+                expected.add(related.getId());
+            }
+            Set<Integer> actual = new HashSet<>();
+            for (int edge = taxonomy.getEdgeOffset(node); edge < taxonomy.getEdgeOffset(node + 1); edge++) {
+                actual.add(taxonomy.getSynsetId(taxonomy.getEdgeTarget(edge)));
+            }
+            assertEquals(expected, actual);
+        }
+        assertTrue(taxonomy.hasEdge(taxonomy.getNode(baumID), taxonomy.getNode(holzpflanzeID)));
+    }
+
+    @Test
+    void randomWalksFollowEdgesTest() {
+        RandomWalkGenerator generator = new RandomWalkGenerator(taxonomy);
+        generator.setWalkLength(10);
+        generator.setWalksPerNode(2);
+        generator.setReturnParameter(0.5);
+        generator.setInOutParameter(2.0);
+        generator.generate((walk, length) -> {
+            assertTrue(length >= 1 && length <= 10);
+            for (int i = 1; i < length; i++) {
+                assertTrue(taxonomy.hasEdge(taxonomy.getNode(walk[i - 1]), taxonomy.getNode(walk[i])));
+            }
+        });
+    }
+
+    @Test
+    void randomWalksDeterministicTest() throws IOException {
+        RandomWalkGenerator generator = new RandomWalkGenerator(taxonomy);
+        generator.setWalkLength(20);
+        generator.setWalksPerNode(1);
+        generator.setSeed(7L);
+
+        StringWriter single = new StringWriter();
+        generator.writeWalks(single, RandomWalkGenerator.WalkLabel.Id);
+        generator.setNumThreads(4);
+        StringWriter multi = new StringWriter();
+        generator.writeWalks(multi, RandomWalkGenerator.WalkLabel.Id);
+
+        List<String> singleLines = new ArrayList<>(Arrays.asList(single.toString().split("\n")));
+        List<String> multiLines = new ArrayList<>(Arrays.asList(multi.toString().split("\n")));
+        assertEquals(taxonomy.numNodes(), singleLines.size());
+        Collections.sort(singleLines);
+        Collections.sort(multiLines);
+        assertEquals(singleLines, multiLines);
+        assertTrue(single.toString().contains(Integer.toString(GNROOT_ID)));
+    }
+
+    @Test
+    void subgraphTest() {
+        List<Synset> seeds = Collections.singletonList(gnet.getSynsetByID(baumID));
+        SynsetSubgraph subgraph = taxonomy.subgraph(seeds, 2, 1000);
+        int baumNode = subgraph.getNode(baumID);
+        assertEquals(0, subgraph.getHopDistance(baumNode));
+        assertEquals(1, subgraph.getHopDistance(subgraph.getNode(holzpflanzeID)));
+        assertEquals(WordCategory.nomen, subgraph.getWordCategory(baumNode));
+        assertEquals(gnet.getSynsetByID(baumID).getDepth(), subgraph.getDepth(baumNode));
+
+        for (int node = 0; node < subgraph.numNodes(); node++) {
+            assertTrue(subgraph.getHopDistance(node) <= 2);
+            int from = taxonomy.getNode(subgraph.getSynsetId(node));
+            for (int edge = subgraph.getEdgeOffset(node); edge < subgraph.getEdgeOffset(node + 1); edge++) {
+                int to = taxonomy.getNode(subgraph.getSynsetId(subgraph.getEdgeTarget(edge)));
+                assertTrue(taxonomy.hasEdge(from, to));
+            }
+        }
+
+        SynsetSubgraph limited = taxonomy.subgraph(seeds, 2, 5);
+        assertEquals(5, limited.numNodes());
+        assertTrue(limited.isTruncated());
+    }
+
+    @Test
+    void exportTest() throws IOException {
+        List<Synset> seeds = Collections.singletonList(gnet.getSynsetByID(baumID));
+        SynsetSubgraph subgraph = taxonomy.subgraph(seeds, 1, 1000);
+        GraphExporter exporter = new GraphExporter(subgraph);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(out, GraphExporter.Format.EdgeList);
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(subgraph.numEdges() + 1, lines.length);
+
+        out.reset();
+        exporter.setNodeLabel(GraphExporter.NodeLabel.Id);
+        exporter.export(out, GraphExporter.Format.Dot);
+        String dot = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(dot.startsWith("digraph G {"));
+        assertTrue(dot.contains(baumID + " -> " + holzpflanzeID + " [label=\"has_hypernym\"];"));
+
+        out.reset();
+        exporter.export(out, GraphExporter.Format.GraphML);
+        String graphML = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(graphML.contains("<node id=\"n" + baumID + "\">"));
+    }
+
+    @Test
+    void descendantIndexTest() {
+        DescendantIndex descendantIndex = gnet.getDescendantIndex();
+        for (int synsetId : new int[]{baumID, holzpflanzeID, pflanzeID, GNROOT_ID}) {
+            Synset synset = gnet.getSynsetByID(synsetId);
+            Set<Integer> expected = new HashSet<>();
+            for (List<Synset> level : synset.getTransRelatedSynsets(ConRel.has_hyponym)) {
+                for (Synset hyponym : level) {
+                    expected.add(hyponym.getId());
+                }
+            }
+            expected.remove(synsetId);
+
+            List<Integer> actual = new ArrayList<>();
+            descendantIndex.forEachDescendant(synsetId, actual::add);
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected, new HashSet<>(actual));
+            assertEquals(expected.size(), descendantIndex.countDescendants(synset));
+
+            for (WordCategory wordCategory : WordCategory.values()) {
+                long expectedCount = expected.stream()
+                        .filter(id -> gnet.getSynsetByID(id).getWordCategory() == wordCategory)
+                        .count();
+                assertEquals(expectedCount, descendantIndex.countDescendants(synsetId, wordCategory));
+            }
+        }
+        assertTrue(descendantIndex.isDescendant(holzpflanzeID, baumID));
+        assertTrue(!descendantIndex.isDescendant(baumID, holzpflanzeID));
+        assertEquals(gnet.numSynsets() - 1, descendantIndex.countDescendants(GNROOT_ID));
+    }
+
+    @Test
+    void ancestorTableTest() throws IOException {
+        AncestorTable table = new AncestorTable(gnet, 2, 3, 4);
+        assertArrayEquals(new int[]{2, 3, 4}, table.getDepths());
+        assertEquals(-1, table.getAncestor(GNROOT_ID, 2));
+
+        for (int synsetId : new int[]{baumID, holzpflanzeID, pflanzeID}) {
+            Synset synset = gnet.getSynsetByID(synsetId);
+            for (int depth : table.getDepths()) {
+                List<Integer> expected = new ArrayList<>();
+                for (int hypernymId : synset.getHypernymIds()) {
+                    if (gnet.getSynsetByID(hypernymId).getDepth() == depth) {
+                        expected.add(hypernymId);
+                    }
+                }
+                Collections.sort(expected);
+                int[] actual = table.getAncestors(synsetId, depth);
+                assertEquals(expected.size(), actual.length);
+                for (int i = 0; i < actual.length; i++) {
+                    assertEquals((int) expected.get(i), actual[i]);
+                }
+            }
+        }
+
+        // a synset is its own ancestor at its depth
+        int[] ownDepths = new int[3];
+        int[] ownIds = {baumID, holzpflanzeID, pflanzeID};
+        for (int i = 0; i < ownIds.length; i++) {
+            ownDepths[i] = gnet.getSynsetByID(ownIds[i]).getDepth();
+        }
+        AncestorTable ownTable = new AncestorTable(gnet, ownDepths);
+        for (int i = 0; i < ownIds.length; i++) {
+            assertEquals(ownIds[i], ownTable.getAncestor(ownIds[i], ownDepths[i]));
+        }
+
+        // a synset with direct hypernyms at different depths, checked against the
+        // hypernym closure computed from the relations
+        Synset multiple = null;
+        for (Synset synset : gnet.getSynsets()) {
+            Set<Integer> hypernymDepths = new HashSet<>();
+            for (Synset hypernym : synset.getRelatedSynsets(ConRel.has_hypernym)) {
+                hypernymDepths.add(hypernym.getDepth());
+            }
+            if (hypernymDepths.size() > 1) {
+                multiple = synset;
+                break;
+            }
+        }
+        assertNotNull(multiple);
+        Set<Synset> closure = new HashSet<>();
+        List<Synset> queue = new ArrayList<>(Collections.singletonList(multiple));
+        while (!queue.isEmpty()) {
+            Synset next = queue.remove(queue.size() - 1);
+            if (closure.add(next)) {
+                queue.addAll(next.getRelatedSynsets(ConRel.has_hypernym));
+            }
+        }
+        int[] allDepths = new int[multiple.getDepth() + 3];
+        for (int depth = 0; depth < allDepths.length; depth++) {
+            allDepths[depth] = depth;
+        }
+        AncestorTable allTable = new AncestorTable(gnet, allDepths);
+        for (int depth : allDepths) {
+            List<Integer> expected = new ArrayList<>();
+            for (Synset ancestor : closure) {
+                if (ancestor.getDepth() == depth) {
+                    expected.add(ancestor.getId());
+                }
+            }
+            Collections.sort(expected);
+            int[] actual = allTable.getAncestors(multiple.getId(), depth);
+            assertEquals(expected.size(), actual.length);
+            for (int i = 0; i < actual.length; i++) {
+                assertEquals((int) expected.get(i), actual[i]);
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.save(out);
+        AncestorTable loaded = AncestorTable.load(new ByteArrayInputStream(out.toByteArray()), gnet);
+        int[] ids = {baumID, holzpflanzeID, pflanzeID, GNROOT_ID};
+        int[] expected = new int[ids.length];
+        int[] actual = new int[ids.length];
+        table.getAncestors(ids, 3, expected);
+        loaded.getAncestors(ids, 3, actual);
+        assertArrayEquals(expected, actual);
+    }
+}